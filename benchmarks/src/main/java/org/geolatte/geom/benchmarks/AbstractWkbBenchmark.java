@@ -0,0 +1,86 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.ByteBuffer;
+import org.geolatte.geom.ByteOrder;
+import org.geolatte.geom.Envelope;
+import org.geolatte.geom.Geometry;
+import org.geolatte.geom.codec.Wkb;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class for the WKB benchmarks. Subclasses declare the dialects and position types to benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public abstract class AbstractWkbBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private Geometry<?> geometry;
+    private ByteBuffer wkb;
+    private java.nio.ByteBuffer directWkb;
+    private java.nio.ByteBuffer target;
+
+    abstract Wkb.Dialect dialect();
+
+    abstract PositionType positionType();
+
+    @Setup
+    public void setup() {
+        geometry = BenchmarkGeometries.polygon(positionType(), size);
+        wkb = Wkb.newEncoder(dialect()).encode(geometry, ByteOrder.NDR);
+        byte[] bytes = wkb.toByteArray();
+        directWkb = java.nio.ByteBuffer.allocateDirect(bytes.length);
+        directWkb.put(bytes).flip();
+        target = java.nio.ByteBuffer.allocateDirect(bytes.length);
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        return Wkb.newEncoder(dialect()).encode(geometry, ByteOrder.NDR);
+    }
+
+    @Benchmark
+    public Geometry<?> decode() {
+        return Wkb.newDecoder(dialect()).decode(wkb);
+    }
+
+    @Benchmark
+    public int encodeIntoDirectBuffer() {
+        target.clear();
+        return Wkb.getEncoder(dialect()).encode(geometry, ByteOrder.NDR, target);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeShared() {
+        return Wkb.getEncoder(dialect()).encode(geometry, ByteOrder.NDR);
+    }
+
+    @Benchmark
+    public Geometry<?> decodeShared() {
+        return Wkb.getDecoder(dialect()).decode(wkb);
+    }
+
+    @Benchmark
+    public Geometry<?> decodeFromDirectBuffer() {
+        return Wkb.getDecoder(dialect()).decode(directWkb);
+    }
+
+    @Benchmark
+    public Envelope<?> decodeAndGetEnvelope() {
+        return Wkb.newDecoder(dialect()).decode(wkb).getEnvelope();
+    }
+
+    @Benchmark
+    public String encodeToHex() {
+        return Wkb.newEncoder(dialect()).encode(geometry, ByteOrder.NDR).toString();
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.Envelope;
+import org.geolatte.geom.G2D;
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.geolatte.geom.crs.CrsRegistry;
+import org.geolatte.geom.crs.trans.ApproximateTransformOperation;
+import org.geolatte.geom.crs.trans.TransformOperation;
+import org.geolatte.geom.crs.trans.TransformOperations;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.geolatte.geom.crs.CoordinateReferenceSystems.WGS84;
+
+/**
+ * Compares the exact transformation of vertices within an extent with the grid-based approximation of
+ * {@code ApproximateTransformOperation}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApproximateTransformBenchmark {
+
+    /**
+     * The EPSG code of the target reference system (from WGS 84)
+     */
+    @Param({"31370", "3857"})
+    public int target;
+
+    /**
+     * The maximum error in meter
+     */
+    @Param({"1", "0.1"})
+    public double maxError;
+
+    @Param({"100000"})
+    public int size;
+
+    /**
+     * The order of the vertices: uniformly scattered over the extent, or along a random walk (as the vertices of
+     * geometries are)
+     */
+    @Param({"scattered", "path"})
+    public String order;
+
+    private TransformOperation<G2D, ?> exact;
+    private Envelope<G2D> extent;
+    private ApproximateTransformOperation<G2D, ?> approximate;
+    private double[] coordinates;
+    private double[] transformed;
+
+    @Setup
+    public void setup() {
+        CoordinateReferenceSystem<?> targetCrs = CrsRegistry.getCoordinateReferenceSystemForEPSG(target, null);
+        exact = TransformOperations.from(WGS84, targetCrs);
+        // Belgium, resp. a map tile at zoom level 8
+        extent = target == 31370 ? new Envelope<>(2.5, 49.5, 6.4, 51.5, WGS84) : new Envelope<>(4.2, 50.7, 5.6, 51.6, WGS84);
+        approximate = new ApproximateTransformOperation<>(exact, extent, maxError);
+        Random random = new Random(42);
+        double minX = extent.lowerLeft().getLon();
+        double minY = extent.lowerLeft().getLat();
+        double width = extent.upperRight().getLon() - minX;
+        double height = extent.upperRight().getLat() - minY;
+        coordinates = new double[2 * size];
+        double x = 0.5;
+        double y = 0.5;
+        for (int i = 0; i < size; i++) {
+            if (order.equals("path")) {
+                x = Math.abs(x + (random.nextDouble() - 0.5) * 0.002) % 1;
+                y = Math.abs(y + (random.nextDouble() - 0.5) * 0.002) % 1;
+            } else {
+                x = random.nextDouble();
+                y = random.nextDouble();
+            }
+            coordinates[2 * i] = minX + x * width;
+            coordinates[2 * i + 1] = minY + y * height;
+        }
+        transformed = new double[2 * size];
+    }
+
+    @Benchmark
+    public double[] exact() {
+        exact.getOperation().forward(coordinates, 0, 2, transformed, 0, 2, size);
+        return transformed;
+    }
+
+    @Benchmark
+    public double[] approximate() {
+        approximate.getOperation().forward(coordinates, 0, 2, transformed, 0, 2, size);
+        return transformed;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ApproximateTransformOperation<G2D, ?> buildGrid() {
+        return new ApproximateTransformOperation<>(exact, extent, maxError);
+    }
+}
@@ -0,0 +1,92 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.*;
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+
+/**
+ * Deterministic geometry fixtures for the benchmarks.
+ *
+ * <p>Polygons are regular n-gons (so they are valid for JTS operations), linestrings follow a sine wave through the
+ * polygon's extent. Z-values and M-values, when the {@code PositionType} has them, are derived from the position
+ * index.</p>
+ */
+public class BenchmarkGeometries {
+
+    /**
+     * Creates a simple polygon with the specified number of positions (including the closing position).
+     *
+     * @param type      the position type
+     * @param numPoints the number of positions in the exterior ring
+     * @param <P>       the Position type
+     * @return a valid polygon
+     */
+    public static <P extends Position> Polygon<P> polygon(PositionType type, int numPoints) {
+        return polygon(type, numPoints, type.centerX(), type.centerY(), type.radius());
+    }
+
+    /**
+     * Creates a simple linestring with the specified number of positions
+     *
+     * @param type      the position type
+     * @param numPoints the number of positions
+     * @param <P>       the Position type
+     * @return a linestring
+     */
+    public static <P extends Position> LineString<P> lineString(PositionType type, int numPoints) {
+        CoordinateReferenceSystem<P> crs = type.crs();
+        PositionSequenceBuilder<P> builder = PositionSequenceBuilders.fixedSized(numPoints, crs.getPositionClass());
+        double[] co = new double[crs.getCoordinateDimension()];
+        double step = 2 * type.radius() / (numPoints - 1);
+        for (int i = 0; i < numPoints; i++) {
+            double x = type.centerX() - type.radius() + i * step;
+            double y = type.centerY() + type.radius() * Math.sin(i * Math.PI / 16);
+            fill(co, x, y, i);
+            builder.add(co);
+        }
+        return new LineString<>(builder.toPositionSequence(), crs);
+    }
+
+    /**
+     * Creates a multipolygon of non-overlapping polygons laid out on a grid.
+     *
+     * @param type              the position type
+     * @param numPolygons       the number of polygons
+     * @param pointsPerPolygon  the number of positions in each polygon's exterior ring
+     * @param <P>               the Position type
+     * @return a valid multipolygon
+     */
+    @SuppressWarnings("unchecked")
+    public static <P extends Position> MultiPolygon<P> multiPolygon(PositionType type, int numPolygons, int pointsPerPolygon) {
+        int cols = (int) Math.ceil(Math.sqrt(numPolygons));
+        double cellSize = 2 * type.radius() / cols;
+        Polygon<P>[] polygons = (Polygon<P>[]) new Polygon[numPolygons];
+        for (int i = 0; i < numPolygons; i++) {
+            double cx = type.centerX() - type.radius() + (i % cols + 0.5) * cellSize;
+            double cy = type.centerY() - type.radius() + (i / cols + 0.5) * cellSize;
+            polygons[i] = polygon(type, pointsPerPolygon, cx, cy, 0.45 * cellSize);
+        }
+        return new MultiPolygon<>(polygons);
+    }
+
+    private static <P extends Position> Polygon<P> polygon(PositionType type, int numPoints, double cx, double cy, double r) {
+        CoordinateReferenceSystem<P> crs = type.crs();
+        PositionSequenceBuilder<P> builder = PositionSequenceBuilders.fixedSized(numPoints, crs.getPositionClass());
+        double[] co = new double[crs.getCoordinateDimension()];
+        double step = 2 * Math.PI / (numPoints - 1);
+        for (int i = 0; i < numPoints - 1; i++) {
+            fill(co, cx + r * Math.cos(i * step), cy + r * Math.sin(i * step), i);
+            builder.add(co);
+        }
+        fill(co, cx + r, cy, 0);
+        builder.add(co);
+        return new Polygon<>(new LinearRing<>(builder.toPositionSequence(), crs));
+    }
+
+    private static void fill(double[] co, double x, double y, int index) {
+        co[0] = x;
+        co[1] = y;
+        for (int d = 2; d < co.length; d++) {
+            co[d] = index % 100;
+        }
+    }
+}
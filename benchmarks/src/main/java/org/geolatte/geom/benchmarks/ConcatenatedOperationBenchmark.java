@@ -0,0 +1,88 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.geolatte.geom.crs.CrsRegistry;
+import org.geolatte.geom.crs.trans.CoordinateOperation;
+import org.geolatte.geom.crs.trans.CoordinateOperations;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the coordinate operation chains that are built by {@code CoordinateOperations.transform()}, one
+ * coordinate at a time and in batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcatenatedOperationBenchmark {
+
+    /**
+     * The source and target EPSG codes, separated by '>'
+     */
+    @Param({"4326>31370", "31370>4326", "4313>4231", "4326>4258"})
+    public String chain;
+
+    @Param({"100000"})
+    public int size;
+
+    private CoordinateReferenceSystem<?> source;
+    private CoordinateReferenceSystem<?> target;
+    private CoordinateOperation operation;
+    private int inDim;
+    private int outDim;
+    private double[] coordinates;
+    private double[] transformed;
+
+    @Setup
+    public void setup() {
+        String[] codes = chain.split(">");
+        source = CrsRegistry.getCoordinateReferenceSystemForEPSG(Integer.parseInt(codes[0]), null);
+        target = CrsRegistry.getCoordinateReferenceSystemForEPSG(Integer.parseInt(codes[1]), null);
+        CoordinateReferenceSystem<?> wgs84 = CrsRegistry.getCoordinateReferenceSystemForEPSG(4326, null);
+        CoordinateOperation wgs84ToSource = wgs84.equals(source) ?
+                CoordinateOperations.identity(2) :
+                CoordinateOperations.transform(wgs84, source);
+        operation = CoordinateOperations.transform(source, target);
+        inDim = operation.inCoordinateDimension();
+        outDim = operation.outCoordinateDimension();
+        Random random = new Random(42);
+        double[] lonLat = new double[2];
+        double[] co = new double[inDim];
+        coordinates = new double[size * inDim];
+        for (int i = 0; i < size; i++) {
+            lonLat[0] = 3 + 2 * random.nextDouble();
+            lonLat[1] = 50 + random.nextDouble();
+            wgs84ToSource.forward(lonLat, co);
+            System.arraycopy(co, 0, coordinates, i * inDim, inDim);
+        }
+        transformed = new double[size * outDim];
+    }
+
+    @Benchmark
+    public double[] forwardOneByOne() {
+        double[] in = new double[inDim];
+        double[] out = new double[outDim];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(coordinates, i * inDim, in, 0, inDim);
+            operation.forward(in, out);
+            System.arraycopy(out, 0, transformed, i * outDim, outDim);
+        }
+        return transformed;
+    }
+
+    @Benchmark
+    public double[] forwardBatch() {
+        operation.forward(coordinates, 0, inDim, transformed, 0, outDim, size);
+        return transformed;
+    }
+
+    @Benchmark
+    public CoordinateOperation buildOperation() {
+        return CoordinateOperations.transform(source, target);
+    }
+}
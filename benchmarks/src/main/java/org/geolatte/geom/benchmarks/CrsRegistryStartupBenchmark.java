@@ -0,0 +1,42 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.crs.CrsRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to initialize the {@code CrsRegistry} and look up a few reference systems, as a short-lived job
+ * would do at startup.
+ *
+ * <p>Each invocation loads the library in a new class loader, so that the registry is initialized from scratch.</p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CrsRegistryStartupBenchmark {
+
+    private URL[] classPath;
+
+    @Setup
+    public void setup() {
+        classPath = new URL[]{CrsRegistry.class.getProtectionDomain().getCodeSource().getLocation()};
+    }
+
+    @Benchmark
+    public Object initializeAndLookup() throws Exception {
+        try (URLClassLoader loader = new URLClassLoader(classPath, null)) {
+            Class<?> registry = Class.forName(CrsRegistry.class.getName(), true, loader);
+            Method lookup = registry.getMethod("getCoordinateReferenceSystemForEPSG", int.class,
+                    loader.loadClass("org.geolatte.geom.crs.CoordinateReferenceSystem"));
+            lookup.invoke(null, 4326, null);
+            return lookup.invoke(null, 31370, null);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.Envelope;
+import org.geolatte.geom.G2D;
+import org.geolatte.geom.Position;
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.geolatte.geom.crs.CrsRegistry;
+import org.geolatte.geom.crs.trans.EnvelopeTransform;
+import org.geolatte.geom.crs.trans.TransformOperations;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the transformation of an envelope from WGS84 (e.g. the bounding box of a tile query).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnvelopeTransformBenchmark {
+
+    @Param({"3857", "31370"})
+    public int target;
+
+    @Param({"1", "4", "16"})
+    public int densification;
+
+    private EnvelopeTransform<G2D, ?> transform;
+    private Envelope<G2D> envelope;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        CoordinateReferenceSystem<G2D> wgs84 = (CoordinateReferenceSystem<G2D>) CrsRegistry.getCoordinateReferenceSystemForEPSG(4326, null);
+        CoordinateReferenceSystem<?> targetCrs = CrsRegistry.getCoordinateReferenceSystemForEPSG(target, null);
+        transform = new EnvelopeTransform<>(TransformOperations.from(wgs84, targetCrs), densification);
+        envelope = new Envelope<>(2.5, 49.5, 6.5, 51.5, wgs84);
+    }
+
+    @Benchmark
+    public Envelope<? extends Position> forward() {
+        return transform.forward(envelope);
+    }
+}
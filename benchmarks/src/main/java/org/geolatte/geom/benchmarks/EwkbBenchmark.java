@@ -0,0 +1,26 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.codec.Wkb;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks WKB encoding and decoding of geometries with Z- and/or M-coordinates for the dialects that support them.
+ */
+public class EwkbBenchmark extends AbstractWkbBenchmark {
+
+    @Param({"POSTGIS_EWKB_1", "HANA_EWKB"})
+    public Wkb.Dialect dialect;
+
+    @Param({"C3D", "C2DM", "C3DM", "G3DM"})
+    public PositionType positionType;
+
+    @Override
+    Wkb.Dialect dialect() {
+        return dialect;
+    }
+
+    @Override
+    PositionType positionType() {
+        return positionType;
+    }
+}
@@ -0,0 +1,51 @@
+package org.geolatte.geom.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.geolatte.geom.Geometry;
+import org.geolatte.geom.json.GeolatteGeomModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks GeoJson serialization and deserialization with the {@code GeometrySerializer} and
+ * {@code GeometryDeserializer}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeoJsonBenchmark {
+
+    @Param({"G2D", "G3DM"})
+    public PositionType positionType;
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private Geometry<?> geometry;
+    private String json;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        geometry = BenchmarkGeometries.polygon(positionType, size);
+        mapper = new ObjectMapper();
+        mapper.registerModule(new GeolatteGeomModule(geometry.getCoordinateReferenceSystem()));
+        json = mapper.writeValueAsString(geometry);
+    }
+
+    @Benchmark
+    public String serialize() throws JsonProcessingException {
+        return mapper.writeValueAsString(geometry);
+    }
+
+    @Benchmark
+    public Geometry<?> deserialize() throws JsonProcessingException {
+        return mapper.readValue(json, Geometry.class);
+    }
+
+}
@@ -0,0 +1,74 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.*;
+import org.geolatte.geom.jts.JTSConversionCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the JTS-backed {@code ProjectedGeometryOperations}.
+ *
+ * <p>Run with {@code -prof gc} to see the allocation rate of the JTS algorithms working on geolatte
+ * {@code PositionSequence}s.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeometryOperationsBenchmark {
+
+    @Param({"C2D", "C3DM"})
+    public PositionType positionType;
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private final ProjectedGeometryOperations ops = ProjectedGeometryOperations.Default;
+    private final ProjectedGeometryOperations cachingOps = new JTSGeometryOperations(new JTSConversionCache());
+    private Polygon<C2D> polygon;
+    private Polygon<C2D> other;
+    private LineString<C2D> lineString;
+    private MultiPolygon<C2D> multiPolygon;
+
+    @Setup
+    public void setup() {
+        polygon = BenchmarkGeometries.polygon(positionType, size);
+        other = BenchmarkGeometries.polygon(positionType, size / 2 + 4);
+        lineString = BenchmarkGeometries.lineString(positionType, size);
+        multiPolygon = BenchmarkGeometries.multiPolygon(positionType, size / 10, 10);
+    }
+
+    @Benchmark
+    public boolean intersectsPolygon() {
+        return ops.intersects(polygon, other);
+    }
+
+    @Benchmark
+    public boolean intersectsLineString() {
+        return ops.intersects(polygon, lineString);
+    }
+
+    @Benchmark
+    public Envelope<C2D> envelope() {
+        return polygon.getEnvelope();
+    }
+
+    @Benchmark
+    public Geometry<C2D> buffer() {
+        return ops.buffer(lineString, 10);
+    }
+
+    @Benchmark
+    public double areaOfMultiPolygon() {
+        return ops.area(multiPolygon);
+    }
+
+    @Benchmark
+    public double areaOfMultiPolygonCached() {
+        return cachingOps.area(multiPolygon);
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.ByteBuffer;
+import org.geolatte.geom.ByteOrder;
+import org.geolatte.geom.Geometry;
+import org.geolatte.geom.codec.Wkb;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the conversion of EWKB to and from its hexadecimal text form, as used by PostGIS in text mode.
+ *
+ * <p>The default size gives a polygon of about 1MB of EWKB.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HexBenchmark {
+
+    @Param({"100", "65536"})
+    public int size;
+
+    private ByteBuffer wkb;
+    private String hex;
+
+    @Setup
+    public void setup() {
+        Geometry<?> polygon = BenchmarkGeometries.polygon(PositionType.C2D, size);
+        wkb = Wkb.getEncoder(Wkb.Dialect.POSTGIS_EWKB_1).encode(polygon, ByteOrder.NDR);
+        hex = wkb.toString();
+    }
+
+    @Benchmark
+    public ByteBuffer fromHex() {
+        return ByteBuffer.from(hex);
+    }
+
+    @Benchmark
+    public String toHex() {
+        return wkb.toString();
+    }
+
+    @Benchmark
+    public Geometry<?> decodeHex() {
+        return Wkb.getDecoder(Wkb.Dialect.POSTGIS_EWKB_1).decode(ByteBuffer.from(hex));
+    }
+
+}
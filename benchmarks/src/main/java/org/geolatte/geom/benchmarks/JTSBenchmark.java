@@ -0,0 +1,78 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.Geometry;
+import org.geolatte.geom.jts.JTS;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the conversion between geolatte and JTS geometries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JTSBenchmark {
+
+    @Param({"C2D", "C3D", "C3DM"})
+    public PositionType positionType;
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private Geometry<?> geometry;
+    private org.locationtech.jts.geom.Geometry jtsGeometry;
+    private org.locationtech.jts.geom.Geometry jtsCopy;
+    private org.locationtech.jts.geom.Geometry jtsRead;
+    private org.locationtech.jts.geom.Geometry jtsArrayRead;
+
+    @Setup
+    public void setup() {
+        geometry = BenchmarkGeometries.multiPolygon(positionType, 16, size / 16 + 4);
+        jtsGeometry = JTS.to(geometry);
+        //a copy that is backed by JTS' own CoordinateSequences
+        jtsCopy = jtsGeometry.getFactory().createGeometry(jtsGeometry);
+        // geometries that JTS builds itself, by creating and filling coordinate sequences: either with the factory of
+        // the converted geometries, or with CoordinateArraySequences
+        byte[] wkb = new WKBWriter(positionType == PositionType.C2D ? 2 : 3).write(jtsGeometry);
+        try {
+            jtsRead = new WKBReader(jtsGeometry.getFactory()).read(wkb);
+            jtsArrayRead = new WKBReader(new GeometryFactory()).read(wkb);
+        } catch (ParseException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public org.locationtech.jts.geom.Geometry to() {
+        return JTS.to(geometry);
+    }
+
+    @Benchmark
+    public Geometry<?> from() {
+        return JTS.from(jtsCopy, geometry.getCoordinateReferenceSystem());
+    }
+
+    @Benchmark
+    public Geometry<?> fromBuiltByJTS() {
+        return JTS.from(jtsRead, geometry.getCoordinateReferenceSystem());
+    }
+
+    @Benchmark
+    public Geometry<?> fromCoordinateArraySequences() {
+        return JTS.from(jtsArrayRead, geometry.getCoordinateReferenceSystem());
+    }
+
+    @Benchmark
+    public Geometry<?> roundTrip() {
+        return JTS.from(JTS.to(geometry), geometry.getCoordinateReferenceSystem());
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.C2D;
+import org.geolatte.geom.G2D;
+import org.geolatte.geom.Geometry;
+import org.geolatte.geom.crs.CrsRegistry;
+import org.geolatte.geom.crs.ProjectedCoordinateReferenceSystem;
+import org.geolatte.geom.crs.trans.ParallelTransformer;
+import org.geolatte.geom.crs.trans.TransformOperation;
+import org.geolatte.geom.crs.trans.TransformOperations;
+import org.geolatte.geom.crs.trans.TransformVisitor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reprojection with the {@code TransformVisitor} on the calling thread, and with the
+ * {@code ParallelTransformer} on the common {@code ForkJoinPool}, for a single large geometry and for a batch of
+ * small geometries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelTransformBenchmark {
+
+    private TransformOperation<G2D, C2D> operation;
+    private ParallelTransformer<G2D, C2D> transformer;
+    private Geometry<G2D> multiPolygon;
+    private List<Geometry<G2D>> batch;
+
+    @Setup
+    public void setup() {
+        ProjectedCoordinateReferenceSystem lambert72 = CrsRegistry.getProjectedCoordinateReferenceSystemForEPSG(31370);
+        multiPolygon = BenchmarkGeometries.multiPolygon(PositionType.G2D, 100, 1000);
+        operation = TransformOperations.from(multiPolygon.getCoordinateReferenceSystem(), lambert72);
+        transformer = new ParallelTransformer<>(operation);
+        batch = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            batch.add(BenchmarkGeometries.polygon(PositionType.G2D, 10));
+        }
+    }
+
+    @Benchmark
+    public Geometry<C2D> largeGeometryWithVisitor() {
+        return transform(multiPolygon);
+    }
+
+    @Benchmark
+    public Geometry<C2D> largeGeometryInParallel() {
+        return transformer.transform(multiPolygon);
+    }
+
+    @Benchmark
+    public List<Geometry<C2D>> batchWithVisitor() {
+        List<Geometry<C2D>> result = new ArrayList<>(batch.size());
+        for (Geometry<G2D> geometry : batch) {
+            result.add(transform(geometry));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Geometry<C2D>> batchInParallel() {
+        return transformer.transformAll(batch);
+    }
+
+    private Geometry<C2D> transform(Geometry<G2D> geometry) {
+        TransformVisitor<G2D, C2D> visitor = new TransformVisitor<>(operation);
+        geometry.accept(visitor);
+        return visitor.getTransformed();
+    }
+}
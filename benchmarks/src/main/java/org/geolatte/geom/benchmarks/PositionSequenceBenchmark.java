@@ -0,0 +1,58 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks indexed access to the positions of a {@code MultiPolygon}, whose positions are stored in a nested
+ * {@code PositionSequence}, and to its flattened copy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PositionSequenceBenchmark {
+
+    @Param({"10", "1000"})
+    public int numPolygons;
+
+    private PositionSequence<C2D> nested;
+    private PositionSequence<C2D> flat;
+    private final double[] buffer = new double[2];
+
+    @Setup
+    public void setup() {
+        MultiPolygon<C2D> multiPolygon = BenchmarkGeometries.multiPolygon(PositionType.C2D, numPolygons, 20);
+        nested = multiPolygon.getPositions();
+        flat = Positions.flatten(nested);
+    }
+
+    @Benchmark
+    public double indexedNested() {
+        return sumByIndex(nested);
+    }
+
+    @Benchmark
+    public double indexedFlat() {
+        return sumByIndex(flat);
+    }
+
+    @Benchmark
+    public PositionSequence<C2D> flatten() {
+        return Positions.flatten(nested);
+    }
+
+    private double sumByIndex(PositionSequence<C2D> positions) {
+        double sum = 0;
+        for (int i = 0; i < positions.size(); i++) {
+            positions.getCoordinates(i, buffer);
+            sum += buffer[0];
+        }
+        return sum;
+    }
+
+}
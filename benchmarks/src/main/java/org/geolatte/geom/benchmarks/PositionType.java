@@ -0,0 +1,53 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.*;
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.geolatte.geom.crs.LinearUnit;
+
+import static org.geolatte.geom.crs.CoordinateReferenceSystems.*;
+
+/**
+ * The {@code Position} types against which the benchmarks are parameterised.
+ *
+ * <p>Each type knows its {@code CoordinateReferenceSystem} and a centre and radius in that system around which
+ * benchmark geometries are generated.</p>
+ */
+public enum PositionType {
+
+    C2D(PROJECTED_2D_METER, 150000, 170000, 10000),
+    C3D(PROJECTED_3D_METER, 150000, 170000, 10000),
+    C2DM(PROJECTED_2DM_METER, 150000, 170000, 10000),
+    C3DM(PROJECTED_3DM_METER, 150000, 170000, 10000),
+    G2D(WGS84, 4.4, 50.8, 0.5),
+    G3DM(addLinearSystem(addVerticalSystem(WGS84, G3D.class, LinearUnit.METER), G3DM.class, LinearUnit.METER),
+            4.4, 50.8, 0.5);
+
+    final private CoordinateReferenceSystem<?> crs;
+    final private double centerX;
+    final private double centerY;
+    final private double radius;
+
+    PositionType(CoordinateReferenceSystem<?> crs, double centerX, double centerY, double radius) {
+        this.crs = crs;
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.radius = radius;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <P extends Position> CoordinateReferenceSystem<P> crs() {
+        return (CoordinateReferenceSystem<P>) crs;
+    }
+
+    double centerX() {
+        return centerX;
+    }
+
+    double centerY() {
+        return centerY;
+    }
+
+    double radius() {
+        return radius;
+    }
+}
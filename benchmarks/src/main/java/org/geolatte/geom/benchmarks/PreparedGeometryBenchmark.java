@@ -0,0 +1,91 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.*;
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares evaluating predicates with a {@code PreparedGeometry} to the per-call {@code ProjectedGeometryOperations},
+ * for a polygon that is tested against a batch of points (as for geofencing) and against linestrings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PreparedGeometryBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    /**
+     * The number of points tested per invocation
+     */
+    @Param({"1000"})
+    public int points;
+
+    private final ProjectedGeometryOperations ops = ProjectedGeometryOperations.Default;
+    private Polygon<C2D> polygon;
+    private PreparedGeometry<C2D> prepared;
+    private Point<C2D>[] batch;
+    private LineString<C2D> lineString;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        polygon = BenchmarkGeometries.polygon(PositionType.C2D, size);
+        prepared = ops.prepare(polygon);
+        lineString = BenchmarkGeometries.lineString(PositionType.C2D, 100);
+        CoordinateReferenceSystem<C2D> crs = polygon.getCoordinateReferenceSystem();
+        Envelope<C2D> envelope = polygon.getEnvelope();
+        double minX = envelope.lowerLeft().getX();
+        double minY = envelope.lowerLeft().getY();
+        double width = envelope.upperRight().getX() - minX;
+        double height = envelope.upperRight().getY() - minY;
+        Random random = new Random(42);
+        batch = new Point[points];
+        for (int i = 0; i < points; i++) {
+            // a margin around the envelope, so that some points are rejected on the envelope
+            double x = minX + (1.2 * random.nextDouble() - 0.1) * width;
+            double y = minY + (1.2 * random.nextDouble() - 0.1) * height;
+            batch[i] = new Point<>(new C2D(x, y), crs);
+        }
+    }
+
+    @Benchmark
+    public int containsPerCall() {
+        int count = 0;
+        for (Point<C2D> point : batch) {
+            if (ops.contains(polygon, point)) count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int containsPrepared() {
+        int count = 0;
+        for (Point<C2D> point : batch) {
+            if (prepared.contains(point)) count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public boolean intersectsLineStringPerCall() {
+        return ops.intersects(polygon, lineString);
+    }
+
+    @Benchmark
+    public boolean intersectsLineStringPrepared() {
+        return prepared.intersects(lineString);
+    }
+
+    @Benchmark
+    public PreparedGeometry<C2D> prepare() {
+        return ops.prepare(polygon);
+    }
+}
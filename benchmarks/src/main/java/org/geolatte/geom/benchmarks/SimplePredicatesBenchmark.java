@@ -0,0 +1,84 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.*;
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.geolatte.geom.jts.JTS;
+import org.locationtech.jts.operation.relate.RelateOp;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the predicates that {@code ProjectedGeometryOperations} evaluates without JTS, for a point and a polygon,
+ * and for a rectangle and a point or linestring, to converting the {@code Geometry}s and computing the
+ * {@code RelateOp} intersection matrix.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimplePredicatesBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private final ProjectedGeometryOperations ops = ProjectedGeometryOperations.Default;
+    private Polygon<C2D> polygon;
+    private Polygon<C2D> rectangle;
+    private Point<C2D> point;
+    private LineString<C2D> lineString;
+
+    @Setup
+    public void setup() {
+        polygon = BenchmarkGeometries.polygon(PositionType.C2D, size);
+        CoordinateReferenceSystem<C2D> crs = polygon.getCoordinateReferenceSystem();
+        Envelope<C2D> envelope = polygon.getEnvelope();
+        double minX = envelope.lowerLeft().getX();
+        double minY = envelope.lowerLeft().getY();
+        double width = envelope.upperRight().getX() - minX;
+        double height = envelope.upperRight().getY() - minY;
+        point = new Point<>(new C2D(minX + 0.4 * width, minY + 0.6 * height), crs);
+        rectangle = new Polygon<>(new LinearRing<>(PositionSequenceBuilders.fixedSized(5, C2D.class)
+                .add(minX, minY).add(minX, minY + height / 2).add(minX + width / 2, minY + height / 2)
+                .add(minX + width / 2, minY).add(minX, minY).toPositionSequence(), crs));
+        // a zigzag linestring of the same size that runs above the rectangle, and only enters it at its end
+        PositionSequenceBuilder<C2D> builder = PositionSequenceBuilders.fixedSized(size, C2D.class);
+        for (int i = 0; i < size - 1; i++) {
+            builder.add(minX + width - 0.75 * width * i / (size - 1), minY + (i % 2 == 0 ? 0.7 : 0.9) * height);
+        }
+        builder.add(minX + 0.25 * width, minY + 0.25 * height);
+        lineString = new LineString<>(builder.toPositionSequence(), crs);
+    }
+
+    @Benchmark
+    public boolean pointInPolygon() {
+        return ops.contains(polygon, point);
+    }
+
+    @Benchmark
+    public boolean pointInPolygonRelateOp() {
+        return new RelateOp(JTS.to(polygon), JTS.to(point)).getIntersectionMatrix().isContains();
+    }
+
+    @Benchmark
+    public boolean pointInRectangle() {
+        return ops.intersects(rectangle, point);
+    }
+
+    @Benchmark
+    public boolean pointInRectangleRelateOp() {
+        return new RelateOp(JTS.to(rectangle), JTS.to(point)).getIntersectionMatrix().isIntersects();
+    }
+
+    @Benchmark
+    public boolean lineStringIntersectsRectangle() {
+        return ops.intersects(rectangle, lineString);
+    }
+
+    @Benchmark
+    public boolean lineStringIntersectsRectangleRelateOp() {
+        return new RelateOp(JTS.to(rectangle), JTS.to(lineString)).getIntersectionMatrix().isIntersects();
+    }
+}
@@ -0,0 +1,104 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.Geometry;
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.geolatte.geom.crs.CrsRegistry;
+import org.geolatte.geom.crs.trans.CoordinateOperation;
+import org.geolatte.geom.crs.trans.MathMode;
+import org.geolatte.geom.crs.trans.TransformOperation;
+import org.geolatte.geom.crs.trans.TransformOperations;
+import org.geolatte.geom.crs.trans.TransformVisitor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reprojection of geometries using the {@code TransformVisitor}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransformBenchmark {
+
+    /**
+     * The source and target EPSG codes, separated by '>'
+     */
+    @Param({"4326>3857", "4326>31370", "31370>4326", "4326>32631", "32631>4326"})
+    public String transform;
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    @Param({"STRICT", "FAST"})
+    public MathMode mathMode;
+
+    private Geometry geometry;
+    private TransformOperation operation;
+    private double[] coordinates;
+    private double[] transformed;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        String[] codes = transform.split(">");
+        CoordinateReferenceSystem<?> source = CrsRegistry.getCoordinateReferenceSystemForEPSG(Integer.parseInt(codes[0]), null);
+        CoordinateReferenceSystem<?> target = CrsRegistry.getCoordinateReferenceSystemForEPSG(Integer.parseInt(codes[1]), null);
+        Geometry<?> wgs84 = BenchmarkGeometries.polygon(PositionType.G2D, size);
+        geometry = source.equals(wgs84.getCoordinateReferenceSystem()) ?
+                wgs84 :
+                transform(TransformOperations.from(wgs84.getCoordinateReferenceSystem(), source), wgs84);
+        operation = TransformOperations.from(source, target, mathMode);
+        int dim = source.getCoordinateDimension();
+        double[] co = new double[dim];
+        coordinates = new double[size * dim];
+        for (int i = 0; i < size; i++) {
+            geometry.getPositions().getCoordinates(i, co);
+            System.arraycopy(co, 0, coordinates, i * dim, dim);
+        }
+        transformed = new double[size * target.getCoordinateDimension()];
+    }
+
+    @Benchmark
+    public Geometry<?> transformGeometry() {
+        return transform(operation, geometry);
+    }
+
+    @Benchmark
+    public double[] transformCoordinatesOneByOne() {
+        CoordinateOperation op = operation.getOperation();
+        int inDim = operation.getSource().getCoordinateDimension();
+        int outDim = operation.getTarget().getCoordinateDimension();
+        double[] in = new double[inDim];
+        double[] out = new double[outDim];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(coordinates, i * inDim, in, 0, inDim);
+            op.forward(in, out);
+            System.arraycopy(out, 0, transformed, i * outDim, outDim);
+        }
+        return transformed;
+    }
+
+    @Benchmark
+    public double[] transformCoordinatesBatch() {
+        int inDim = operation.getSource().getCoordinateDimension();
+        int outDim = operation.getTarget().getCoordinateDimension();
+        operation.getOperation().forward(coordinates, 0, inDim, transformed, 0, outDim, size);
+        return transformed;
+    }
+
+    @Benchmark
+    public TransformOperation<?, ?> buildOperation() {
+        return TransformOperations.from(operation.getSource(), operation.getTarget(), mathMode);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Geometry<?> transform(TransformOperation op, Geometry<?> geometry) {
+        TransformVisitor visitor = new TransformVisitor(op);
+        geometry.accept(visitor);
+        return visitor.getTransformed();
+    }
+
+}
@@ -0,0 +1,80 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.*;
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.geolatte.geom.crs.CoordinateReferenceSystems;
+import org.geolatte.geom.generator.GeometryGenerators;
+import org.geolatte.geom.jts.JTS;
+import org.locationtech.jts.operation.union.UnaryUnionOp;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the union of a large collection of polygons: generated triangles, one in each cell of a grid, that
+ * overlap the triangles of the neighbouring cells, in random order. The parallel {@code unionAll} is compared to
+ * running it on a single thread, and to the JTS cascaded union of all polygons at once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UnionAllBenchmark {
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    @Param({"256"})
+    public int partitionSize;
+
+    private final JTSGeometryOperations ops = new JTSGeometryOperations();
+    private List<Geometry<C2D>> polygons;
+    private ForkJoinPool singleThread;
+
+    @Setup
+    public void setup() {
+        CoordinateReferenceSystem<C2D> crs = CoordinateReferenceSystems.PROJECTED_2D_METER;
+        Random random = new Random(42);
+        int columns = (int) Math.sqrt(size);
+        polygons = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int column = i % columns;
+            int row = i / columns;
+            Box<C2D> cell = new Box<>(new C2D(column - 0.5, row - 0.5), new C2D(column + 1.5, row + 1.5), crs);
+            polygons.add(GeometryGenerators.polygon(4, cell, random).generate());
+        }
+        Collections.shuffle(polygons, random);
+        singleThread = new ForkJoinPool(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        singleThread.shutdown();
+    }
+
+    @Benchmark
+    public Geometry<C2D> unionAll() {
+        return ops.unionAll(polygons, ForkJoinPool.commonPool(), partitionSize);
+    }
+
+    @Benchmark
+    public Geometry<C2D> unionAllSingleThread() {
+        return ops.unionAll(polygons, singleThread, partitionSize);
+    }
+
+    @Benchmark
+    public org.locationtech.jts.geom.Geometry jtsUnaryUnion() {
+        List<org.locationtech.jts.geom.Geometry> jts = new ArrayList<>(polygons.size());
+        for (Geometry<C2D> polygon : polygons) {
+            jts.add(JTS.to(polygon));
+        }
+        return UnaryUnionOp.union(jts);
+    }
+}
@@ -0,0 +1,28 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.codec.Wkb;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks WKB encoding and decoding of 2D geometries for each {@code Wkb.Dialect}.
+ *
+ * <p>The MySQL dialect only supports 2D geometries, see {@link EwkbBenchmark} for the other dimensions.</p>
+ */
+public class WkbBenchmark extends AbstractWkbBenchmark {
+
+    @Param({"POSTGIS_EWKB_1", "MYSQL_WKB", "HANA_EWKB"})
+    public Wkb.Dialect dialect;
+
+    @Param({"C2D", "G2D"})
+    public PositionType positionType;
+
+    @Override
+    Wkb.Dialect dialect() {
+        return dialect;
+    }
+
+    @Override
+    PositionType positionType() {
+        return positionType;
+    }
+}
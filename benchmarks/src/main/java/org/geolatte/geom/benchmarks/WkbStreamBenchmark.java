@@ -0,0 +1,64 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.ByteOrder;
+import org.geolatte.geom.codec.Wkb;
+import org.geolatte.geom.codec.WkbEncoder;
+import org.geolatte.geom.codec.WkbStreamDecoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+/**
+ * Benchmarks decoding a sequence of back-to-back EWKB records, sequentially from a channel and in parallel with
+ * known record offsets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WkbStreamBenchmark {
+
+    @Param({"10000"})
+    public int records;
+
+    @Param({"50"})
+    public int size;
+
+    private byte[] bytes;
+    private int[] offsets;
+
+    @Setup
+    public void setup() {
+        WkbEncoder encoder = Wkb.getEncoder(Wkb.Dialect.POSTGIS_EWKB_1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        offsets = new int[records + 1];
+        for (int i = 0; i < records; i++) {
+            offsets[i] = out.size();
+            byte[] wkb = encoder.encode(BenchmarkGeometries.polygon(PositionType.C2D, size), ByteOrder.NDR).toByteArray();
+            out.write(wkb, 0, wkb.length);
+        }
+        offsets[records] = out.size();
+        bytes = out.toByteArray();
+    }
+
+    @Benchmark
+    public long channel() {
+        WkbStreamDecoder decoder = new WkbStreamDecoder(Channels.newChannel(new ByteArrayInputStream(bytes)),
+                Wkb.Dialect.POSTGIS_EWKB_1);
+        return decoder.stream().mapToInt(g -> g.getNumPositions()).sum();
+    }
+
+    @Benchmark
+    public long parallelWithOffsets() {
+        return StreamSupport.stream(
+                WkbStreamDecoder.spliterator(java.nio.ByteBuffer.wrap(bytes), offsets, Wkb.Dialect.POSTGIS_EWKB_1),
+                true).mapToInt(g -> g.getNumPositions()).sum();
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.Geometry;
+import org.geolatte.geom.codec.Wkt;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks WKT encoding and decoding for each {@code Wkt.Dialect}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WktBenchmark {
+
+    @Param({"POSTGIS_EWKT_1", "HANA_EWKT", "DB2_WKT"})
+    public Wkt.Dialect dialect;
+
+    @Param({"C2D", "G2D"})
+    public PositionType positionType;
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private Geometry<?> geometry;
+    private String wkt;
+
+    @Setup
+    public void setup() {
+        geometry = BenchmarkGeometries.polygon(positionType, size);
+        wkt = Wkt.newEncoder(dialect).encode(geometry);
+    }
+
+    @Benchmark
+    public String encode() {
+        return Wkt.newEncoder(dialect).encode(geometry);
+    }
+
+    @Benchmark
+    public Geometry<?> decode() {
+        return Wkt.newDecoder(dialect).decode(wkt, geometry.getCoordinateReferenceSystem());
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.geolatte.geom.benchmarks;
+
+import org.geolatte.geom.Geometry;
+import org.geolatte.geom.codec.Wkt;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks decoding large multipolygons from (E)WKT, where nearly all the work goes into parsing coordinates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WktMultiPolygonBenchmark {
+
+    @Param({"C2D", "G2D"})
+    public PositionType positionType;
+
+    @Param({"100", "1000"})
+    public int polygons;
+
+    @Param({"100"})
+    public int pointsPerPolygon;
+
+    private Geometry<?> geometry;
+    private String ewkt;
+
+    @Setup
+    public void setup() {
+        geometry = BenchmarkGeometries.multiPolygon(positionType, polygons, pointsPerPolygon);
+        ewkt = Wkt.toWkt(geometry);
+    }
+
+    @Benchmark
+    public Geometry<?> fromWkt() {
+        return Wkt.fromWkt(ewkt);
+    }
+
+    @Benchmark
+    public Geometry<?> fromWktWithCrs() {
+        return Wkt.fromWkt(ewkt, geometry.getCoordinateReferenceSystem());
+    }
+
+}
@@ -25,6 +25,7 @@ import org.locationtech.jts.geom.*;
 import org.locationtech.jts.geom.Envelope;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 /**
  * @author Karel Maesen, Geovise BVBA, 2011
@@ -87,50 +88,98 @@ abstract class AbstractPositionSequence<P extends Position> implements PositionS
     public abstract PositionSequence<P> clone();
 
 
+    /**
+     * Returns the value of the specified ordinate of the position at the specified index.
+     *
+     * <p>The ordinate is the index in the coordinate array of the position (as returned by
+     * {@link #getCoordinates(int, double[])}). Unlike the JTS {@code CoordinateSequence} methods, implementations do not
+     * allocate or copy the position.</p>
+     *
+     * @param index    the index of the position in this sequence
+     * @param ordinate the index of the ordinate in the position's coordinates
+     * @return the value of the ordinate
+     */
+    public abstract double getOrdinateAt(int index, int ordinate);
+
+    /**
+     * Returns the bounds of the positions in this sequence, or null if it contains no positions.
+     *
+     * <p>The bounds array has length twice the coordinate dimension. The first half holds the minimum value of each
+     * ordinate, the second half the maximum. The returned array must not be modified.</p>
+     *
+     * @return the bounds of the positions in this sequence
+     */
+    double[] getBounds() {
+        if (size() == 0) {
+            return null;
+        }
+        double[] bounds = knownBounds();
+        if (bounds != null) {
+            return bounds;
+        }
+        int dim = getCoordinateDimension();
+        bounds = emptyBounds(dim);
+        for (int i = 0; i < size(); i++) {
+            for (int o = 0; o < dim; o++) {
+                double v = getOrdinateAt(i, o);
+                bounds[o] = Math.min(bounds[o], v);
+                bounds[dim + o] = Math.max(bounds[dim + o], v);
+            }
+        }
+        return bounds;
+    }
+
+    /**
+     * Returns the bounds of the positions if these were already determined (e.g. when the sequence was built),
+     * or null otherwise.
+     *
+     * @return the precomputed bounds, or null
+     */
+    double[] knownBounds() {
+        return null;
+    }
+
+    static double[] emptyBounds(int dim) {
+        double[] bounds = new double[2 * dim];
+        Arrays.fill(bounds, 0, dim, Double.MAX_VALUE);
+        Arrays.fill(bounds, dim, 2 * dim, -Double.MAX_VALUE);
+        return bounds;
+    }
+
+    static void expandBounds(double[] bounds, double[] coordinates) {
+        int dim = bounds.length / 2;
+        for (int o = 0; o < dim; o++) {
+            bounds[o] = Math.min(bounds[o], coordinates[o]);
+            bounds[dim + o] = Math.max(bounds[dim + o], coordinates[o]);
+        }
+    }
+
     public org.locationtech.jts.geom.Coordinate getCoordinate(int i) {
-        double[] c = new double[getCoordinateDimension()];
-        getCoordinates(i, c);
         if (getCoordinateDimension() == 2) {
-            return toCoordinateXY(c);
+            return toCoordinateXY(i);
         } else if (factory.hasMComponent() && factory.hasZComponent()) {
-            return toCoordinateXYZM(c);
+            return toCoordinateXYZM(i);
         } else if (factory.hasZComponent()) {
-            return toCoordinateXYZ(c);
+            return toCoordinateXYZ(i);
         } else {
-            return toCoordinateXYM(c);
+            return toCoordinateXYM(i);
         }
     }
 
-    private CoordinateXY toCoordinateXY(double[] c) {
-        CoordinateXY co = new CoordinateXY();
-        co.setX(c[0]);
-        co.setY(c[1]);
-        return co;
+    private CoordinateXY toCoordinateXY(int i) {
+        return new CoordinateXY(getOrdinateAt(i, 0), getOrdinateAt(i, 1));
     }
 
-    private CoordinateXYM toCoordinateXYM(double[] c) {
-        CoordinateXYM co = new CoordinateXYM();
-        co.setX(c[0]);
-        co.setY(c[1]);
-        co.setM(c[2]);
-        return co;
+    private CoordinateXYM toCoordinateXYM(int i) {
+        return new CoordinateXYM(getOrdinateAt(i, 0), getOrdinateAt(i, 1), getOrdinateAt(i, 2));
     }
 
-    private Coordinate toCoordinateXYZ(double[] c) {
-        Coordinate co = new Coordinate();
-        co.setX(c[0]);
-        co.setY(c[1]);
-        co.setZ(c[2]);
-        return co;
+    private Coordinate toCoordinateXYZ(int i) {
+        return new Coordinate(getOrdinateAt(i, 0), getOrdinateAt(i, 1), getOrdinateAt(i, 2));
     }
 
-    private CoordinateXYZM toCoordinateXYZM(double[] c) {
-        CoordinateXYZM co = new CoordinateXYZM();
-        co.setX(c[0]);
-        co.setY(c[1]);
-        co.setZ(c[2]);
-        co.setM(c[3]);
-        return co;
+    private CoordinateXYZM toCoordinateXYZM(int i) {
+        return new CoordinateXYZM(getOrdinateAt(i, 0), getOrdinateAt(i, 1), getOrdinateAt(i, 2), getOrdinateAt(i, 3));
     }
 
     public org.locationtech.jts.geom.Coordinate getCoordinateCopy(int i) {
@@ -139,42 +188,48 @@ abstract class AbstractPositionSequence<P extends Position> implements PositionS
 
     @Override
     public void getCoordinate(int index, org.locationtech.jts.geom.Coordinate coord) {
-        double[] c = new double[getCoordinateDimension()];
-        getCoordinates(index, c);
-        coord.x = c[0];
-        coord.y = c[1];
+        coord.x = getOrdinateAt(index, 0);
+        coord.y = getOrdinateAt(index, 1);
     }
 
     @Override
     public double getX(int index) {
-        double[] c = new double[getCoordinateDimension()];
-        getCoordinates(index, c);
-        return c[0];
+        return getOrdinateAt(index, 0);
     }
 
     @Override
     public double getY(int index) {
-        double[] c = new double[getCoordinateDimension()];
-        getCoordinates(index, c);
-        return c[1];
+        return getOrdinateAt(index, 1);
+    }
+
+    @Override
+    public int getMeasures() {
+        return factory.hasMComponent() ? 1 : 0;
+    }
+
+    @Override
+    public double getZ(int index) {
+        return getOrdinate(index, CoordinateSequence.Z);
+    }
+
+    @Override
+    public double getM(int index) {
+        return getOrdinate(index, CoordinateSequence.M);
     }
 
     @Override
     public double getOrdinate(int i, int ordinateIndex) {
-        double[] c = new double[getCoordinateDimension()];
-        getCoordinates(i, c);
-        int idx = 0;
         switch (ordinateIndex) {
             case CoordinateSequence.X:
-                return c[0];
+                return getOrdinateAt(i, 0);
             case CoordinateSequence.Y:
-                return c[1];
+                return getOrdinateAt(i, 1);
             case CoordinateSequence.Z:
                 return factory.hasZComponent() ?
-                        c[2] : Double.NaN;
+                        getOrdinateAt(i, 2) : Double.NaN;
             case CoordinateSequence.M:
                 return factory.hasMComponent()?
-                        c[factory.getMComponentIndex()] : Double.NaN;
+                        getOrdinateAt(i, factory.getMComponentIndex()) : Double.NaN;
         }
         throw new IllegalArgumentException("Ordinate index " + ordinateIndex + " is not supported.");
     }
@@ -189,35 +244,13 @@ abstract class AbstractPositionSequence<P extends Position> implements PositionS
 
     @Override
     public Envelope expandEnvelope(Envelope envelope) {
-        EnvelopeExpander<P> expander = new EnvelopeExpander<P>(envelope);
-        this.accept(expander);
-        return expander.result();
+        for (int i = 0; i < size(); i++) {
+            envelope.expandToInclude(getOrdinateAt(i, 0), getOrdinateAt(i, 1));
+        }
+        return envelope;
     }
 
-
     @Override
     abstract public void accept(PositionVisitor<P> visitor);
 
-    private static class EnvelopeExpander<P extends Position> implements PositionVisitor<P> {
-
-        final private Envelope env;
-        final double[] buffer = new double[2];
-
-        EnvelopeExpander(Envelope env) {
-            this.env = env;
-        }
-
-        @Override
-        public void visit(P position) {
-
-            double ar[] = position.toArray(buffer);
-            this.env.expandToInclude(ar[0], ar[1]);
-        }
-
-        public Envelope result() {
-            return this.env;
-        }
-
-    }
-
 }
@@ -29,12 +29,14 @@ abstract class AbstractPositionSequenceBuilder<P extends Position> implements Po
 
     protected final PositionFactory<P> factory;
     protected final double[] coords;
+    private final double[] bounds;
     private int numAdded = 0;
 
     public AbstractPositionSequenceBuilder(PositionFactory<P> factory) {
         if (factory == null) throw new IllegalArgumentException("Require a non-null Coordinate reference system.");
         this.factory = factory;
         this.coords = new double[factory.getCoordinateDimension()];
+        this.bounds = AbstractPositionSequence.emptyBounds(factory.getCoordinateDimension());
     }
 
     @Override
@@ -44,6 +46,7 @@ abstract class AbstractPositionSequenceBuilder<P extends Position> implements Po
         for (int i = 0; i < factory.getCoordinateDimension(); i++) {
             addCoordinate(coordinates[i]);
         }
+        AbstractPositionSequence.expandBounds(bounds, coordinates);
         numAdded++;
         return this;
     }
@@ -54,6 +57,7 @@ abstract class AbstractPositionSequenceBuilder<P extends Position> implements Po
         for (double coord : coords) {
             addCoordinate(coord);
         }
+        AbstractPositionSequence.expandBounds(bounds, coords);
         numAdded++;
         return this;
     }
@@ -63,5 +67,15 @@ abstract class AbstractPositionSequenceBuilder<P extends Position> implements Po
         return numAdded;
     }
 
+    /**
+     * Returns the bounds of the positions added so far, or null if they are not worth retaining in the
+     * <code>PositionSequence</code> (i.e. when less than two positions have been added).
+     *
+     * @return the bounds of the added positions, in the layout of {@link AbstractPositionSequence#getBounds()}
+     */
+    protected double[] addedBounds() {
+        return numAdded > 1 ? bounds.clone() : null;
+    }
+
     protected abstract void addCoordinate(double val);
 }
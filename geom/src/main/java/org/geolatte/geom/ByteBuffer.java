@@ -55,6 +55,21 @@ public class ByteBuffer {
      */
     public static final long UINT_MAX_VALUE = 4294967295L;
 
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * The value of the hexadecimal digit for each ASCII char, or -1 if the char is not a hexadecimal digit.
+     */
+    private static final byte[] HEX_DIGIT_VALUES = new byte[128];
+
+    static {
+        java.util.Arrays.fill(HEX_DIGIT_VALUES, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX_DIGIT_VALUES[HEX_DIGITS[i]] = (byte) i;
+            HEX_DIGIT_VALUES[Character.toLowerCase(HEX_DIGITS[i])] = (byte) i;
+        }
+    }
+
     private final java.nio.ByteBuffer buffer;
 
     private ByteBuffer(java.nio.ByteBuffer buffer) {
@@ -73,31 +88,41 @@ public class ByteBuffer {
     public static ByteBuffer from(String hexString) {
         if (hexString == null) throw new IllegalArgumentException("Cannot create ByteBuffer from null input String.");
         int size = hexString.length() / 2; // this will drop the last char, if hexString is not even.
-        java.nio.ByteBuffer buffer = java.nio.ByteBuffer.allocate(size);
-        for (int i = 0; i < size * 2; i += 2) {
+        byte[] bytes = new byte[size];
+        for (int i = 0, j = 0; j < size; i += 2, j++) {
             final char firstLetterOrNumber = hexString.charAt(i);
             final char secondLetterOrNumber = hexString.charAt(i + 1);
-
-            final byte firstDigit;
-            final byte secondDigit;
-            if (firstLetterOrNumber == '+') {
-                firstDigit = 0;
-                secondDigit = charToHex(secondLetterOrNumber);
+            final int firstDigit = firstLetterOrNumber < 128 ? HEX_DIGIT_VALUES[firstLetterOrNumber] : -1;
+            final int secondDigit = secondLetterOrNumber < 128 ? HEX_DIGIT_VALUES[secondLetterOrNumber] : -1;
+            if ((firstDigit | secondDigit) >= 0) {
+                bytes[j] = (byte) ((firstDigit << 4) | secondDigit);
+            } else {
+                bytes[j] = signedOrInvalidByte(firstLetterOrNumber, secondLetterOrNumber);
             }
-            else if (firstLetterOrNumber == '-'){
-                firstDigit = 0;
-                secondDigit = (byte)-charToHex(secondLetterOrNumber);
+        }
+        return new ByteBuffer(java.nio.ByteBuffer.wrap(bytes));
+    }
 
-            }else {
-                firstDigit = charToHex(firstLetterOrNumber);
-                secondDigit = charToHex(secondLetterOrNumber);
-            }
+    /**
+     * Handles the pairs of chars that are not two hexadecimal digits: a '+' or '-' sign followed by a digit is
+     * accepted, everything else is rejected.
+     */
+    private static byte signedOrInvalidByte(char firstLetterOrNumber, char secondLetterOrNumber) {
+        final byte firstDigit;
+        final byte secondDigit;
+        if (firstLetterOrNumber == '+') {
+            firstDigit = 0;
+            secondDigit = charToHex(secondLetterOrNumber);
+        }
+        else if (firstLetterOrNumber == '-'){
+            firstDigit = 0;
+            secondDigit = (byte)-charToHex(secondLetterOrNumber);
 
-            final byte b = (byte)((firstDigit << 4) | secondDigit);
-            buffer.put(b);
+        }else {
+            firstDigit = charToHex(firstLetterOrNumber);
+            secondDigit = charToHex(secondLetterOrNumber);
         }
-        buffer.rewind();
-        return new ByteBuffer(buffer);
+        return (byte)((firstDigit << 4) | secondDigit);
     }
 
     /**
@@ -106,30 +131,14 @@ public class ByteBuffer {
      * @return A string representation of this ByteBuffer in hexadecimal form
      */
     public String toString() {
-        StringBuilder builder = new StringBuilder();
-        int savedPosition = buffer.position();
-        rewind();
-        for (int i = 0; i < limit(); i++) {
-            int hexValue = readByte();
-            appendHexByteRepresentation(builder, hexValue);
+        int limit = limit();
+        char[] hex = new char[2 * limit];
+        for (int i = 0; i < limit; i++) {
+            int value = buffer.get(i) & 0xFF;
+            hex[2 * i] = HEX_DIGITS[value >>> 4];
+            hex[2 * i + 1] = HEX_DIGITS[value & 0x0F];
         }
-        buffer.position(savedPosition);
-        return builder.toString();
-    }
-
-    private void appendHexByteRepresentation(StringBuilder builder, int hexValue) {
-        String byteStr = Integer.toHexString(hexValue).toUpperCase();
-        if (byteStr.length() == 1) {
-            builder.append("0").append(byteStr);
-        } else {
-            builder.append(byteStr);
-        }
-    }
-
-    private int readByte() {
-        int hexValue = get();
-        hexValue = (hexValue << 24) >>> 24;
-        return hexValue;
+        return new String(hex);
     }
 
     /**
@@ -146,6 +155,37 @@ public class ByteBuffer {
         return new ByteBuffer(buffer);
     }
 
+    /**
+     * Wraps a region of a byte array into a <code>ByteBuffer</code>.
+     *
+     * The new buffer will be backed by the given byte array, and its first element will be the byte at the specified
+     * offset. The new buffer's capacity and limit will be the specified length.
+     *
+     * @param bytes  The array that will back this buffer
+     * @param offset The offset of the first byte of the region
+     * @param length The number of bytes in the region
+     * @return The new byte buffer.
+     * @throws IndexOutOfBoundsException If the region does not lie within the array
+     */
+    public static ByteBuffer from(byte[] bytes, int offset, int length) {
+        return new ByteBuffer(java.nio.ByteBuffer.wrap(bytes, offset, length).slice());
+    }
+
+    /**
+     * Wraps the remaining bytes of a <code>java.nio.ByteBuffer</code> into a <code>ByteBuffer</code>.
+     *
+     * The new buffer shares the content of the given buffer, from its current position up to its limit, without
+     * copying. This works for heap buffers as well as direct and memory-mapped buffers. The position of the given
+     * buffer is not modified.
+     *
+     * @param buffer The buffer whose remaining bytes will back this buffer
+     * @return The new byte buffer.
+     */
+    public static ByteBuffer from(java.nio.ByteBuffer buffer) {
+        if (buffer == null) throw new IllegalArgumentException("Cannot create ByteBuffer from null buffer.");
+        return new ByteBuffer(buffer.slice());
+    }
+
     /**
      * Allocates a new <code>ByteBuffer</code> of the specified capacity.
      *
@@ -168,7 +208,7 @@ public class ByteBuffer {
     public byte get() {
         try {
             return buffer.get();
-        } catch (BufferOverflowException e) {
+        } catch (BufferUnderflowException e) {
             throw new BufferAccessException(e.getMessage());
         }
     }
@@ -205,6 +245,15 @@ public class ByteBuffer {
         return buffer.limit();
     }
 
+    /**
+     * Returns this buffer's position.
+     *
+     * @return The position of this buffer
+     */
+    public int position() {
+        return buffer.position();
+    }
+
     /**
      * Rewinds the buffer.
      *
@@ -344,7 +393,7 @@ public class ByteBuffer {
      * @param value The double value to be written
      * @throws BufferAccessException If there are fewer than eight bytes remaining in this buffer.
      */
-    public void putDouble(Double value) {
+    public void putDouble(double value) {
         try {
             buffer.putDouble(value);
         } catch (BufferOverflowException e) {
@@ -352,6 +401,17 @@ public class ByteBuffer {
         }
     }
 
+    /**
+     * Writes the specified double-value as 8 bytes to this instance at the current position, respecting the byte-order,
+     * and then increments the position by eight.
+     *
+     * @param value The double value to be written
+     * @throws BufferAccessException If there are fewer than eight bytes remaining in this buffer.
+     */
+    public void putDouble(Double value) {
+        putDouble(value.doubleValue());
+    }
+
     /**
      * Reads the next 4 bytes as an unsigned integer from this instance at the current position,
      * taking into account the byte-order, and then increments the position by four.
@@ -396,12 +456,22 @@ public class ByteBuffer {
     }
 
     /**
-     * Returns the byte array that backs this buffer.
+     * Returns the bytes of this buffer.
+     *
+     * <p>If this buffer wraps an entire byte array, that array is returned. Otherwise (e.g. for a direct buffer, or
+     * one that wraps a region of a byte array) a copy is returned.</p>
      *
-     * @return The array that backs this buffer
+     * @return The bytes of this buffer
      */
     public byte[] toByteArray(){
-        return buffer.array();
+        if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.array().length == buffer.limit()) {
+            return buffer.array();
+        }
+        byte[] bytes = new byte[buffer.limit()];
+        java.nio.ByteBuffer view = buffer.duplicate();
+        view.rewind();
+        view.get(bytes);
+        return bytes;
     }
 
     @Override
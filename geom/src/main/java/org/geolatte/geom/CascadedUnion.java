@@ -0,0 +1,161 @@
+package org.geolatte.geom;
+
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.geolatte.geom.curve.MortonCode;
+import org.geolatte.geom.curve.MortonContext;
+import org.geolatte.geom.jts.JTS;
+import org.locationtech.jts.geom.util.GeometryCombiner;
+import org.locationtech.jts.operation.union.UnaryUnionOp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Computes the union of a collection of {@code Geometry}s in parallel.
+ *
+ * <p>The {@code Geometry}s are sorted by the Morton code of the center of their envelope, so that neighbouring
+ * {@code Geometry}s end up close to each other in the order. The sorted {@code Geometry}s are split in halves until
+ * the parts are no larger than the partition size. Each partition is converted to JTS and unioned with the JTS
+ * cascaded union, and the partial results are merged pairwise, as the tasks that computed them join, by unioning
+ * only the parts that can overlap. Only the {@code Geometry}s of the partitions that are being unioned are converted
+ * at any time, which bounds the memory that the conversion takes.</p>
+ *
+ * @param <P> the {@code Position} type of the {@code Geometry}s
+ */
+class CascadedUnion<P extends C2D> {
+
+    /**
+     * The depth of the quadtree of the Morton codes. This gives a grid of 4096 by 4096 cells, which is fine enough to
+     * order the {@code Geometry}s.
+     */
+    private static final int MORTON_DEPTH = 12;
+
+    final private Function<Geometry<P>, org.locationtech.jts.geom.Geometry> toJTS;
+    final private ForkJoinPool pool;
+    final private int partitionSize;
+
+    CascadedUnion(Function<Geometry<P>, org.locationtech.jts.geom.Geometry> toJTS, ForkJoinPool pool, int partitionSize) {
+        if (partitionSize < 2) {
+            throw new IllegalArgumentException("Partition size must be at least 2");
+        }
+        this.toJTS = toJTS;
+        this.pool = pool;
+        this.partitionSize = partitionSize;
+    }
+
+    /**
+     * Computes the union of the {@code Geometry}s, which must be non-empty and have the same reference system.
+     */
+    Geometry<P> union(Collection<? extends Geometry<P>> geometries, CoordinateReferenceSystem<P> crs) {
+        List<Geometry<P>> sorted = sortInMortonOrder(geometries, crs);
+        org.locationtech.jts.geom.Geometry union = pool.invoke(new UnionTask(sorted, 0, sorted.size()));
+        return JTS.from(union, crs);
+    }
+
+    private List<Geometry<P>> sortInMortonOrder(Collection<? extends Geometry<P>> geometries,
+                                               CoordinateReferenceSystem<P> crs) {
+        List<Geometry<P>> list = new ArrayList<>(geometries);
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (Geometry<P> geometry : list) {
+            Envelope<P> envelope = geometry.getEnvelope();
+            minX = Math.min(minX, envelope.getMinC0());
+            minY = Math.min(minY, envelope.getMinC1());
+            maxX = Math.max(maxX, envelope.getMaxC0());
+            maxY = Math.max(maxY, envelope.getMaxC1());
+        }
+        if (list.size() <= partitionSize || minX == maxX || minY == maxY) {
+            return list;
+        }
+        Envelope<P> extent = new Envelope<>(minX, minY, maxX, maxY, crs);
+        MortonCode<P> mortonCode = new MortonCode<>(new MortonContext<>(extent, MORTON_DEPTH));
+        double[] center = new double[crs.getCoordinateDimension()];
+        String[] codes = new String[list.size()];
+        Integer[] order = new Integer[list.size()];
+        for (int i = 0; i < codes.length; i++) {
+            Envelope<P> envelope = list.get(i).getEnvelope();
+            center[0] = (envelope.getMinC0() + envelope.getMaxC0()) / 2;
+            center[1] = (envelope.getMinC1() + envelope.getMaxC1()) / 2;
+            codes[i] = mortonCode.ofPosition(Positions.mkPosition(crs, center));
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> codes[i]));
+        List<Geometry<P>> sorted = new ArrayList<>(list.size());
+        for (Integer i : order) {
+            sorted.add(list.get(i));
+        }
+        return sorted;
+    }
+
+    private class UnionTask extends RecursiveTask<org.locationtech.jts.geom.Geometry> {
+
+        final private List<Geometry<P>> geometries;
+        final private int from;
+        final private int to;
+
+        UnionTask(List<Geometry<P>> geometries, int from, int to) {
+            this.geometries = geometries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected org.locationtech.jts.geom.Geometry compute() {
+            if (to - from <= partitionSize) {
+                List<org.locationtech.jts.geom.Geometry> partition = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    partition.add(toJTS.apply(geometries.get(i)));
+                }
+                return UnaryUnionOp.union(partition);
+            }
+            int middle = (from + to) >>> 1;
+            UnionTask left = new UnionTask(geometries, from, middle);
+            left.fork();
+            org.locationtech.jts.geom.Geometry right = new UnionTask(geometries, middle, to).compute();
+            return merge(left.join(), right);
+        }
+    }
+
+    /**
+     * Merges two partial results. For polygonal results, only the polygons that intersect the common envelope can
+     * overlap, so only these are unioned, and the others are added to the result as is, as the JTS
+     * {@code CascadedPolygonUnion} does. Unioning all polygons would repeat the work of the partial unions.
+     */
+    private static org.locationtech.jts.geom.Geometry merge(org.locationtech.jts.geom.Geometry geometry,
+                                                            org.locationtech.jts.geom.Geometry other) {
+        if (!(geometry instanceof org.locationtech.jts.geom.Polygonal)
+                || !(other instanceof org.locationtech.jts.geom.Polygonal)) {
+            return UnaryUnionOp.union(Arrays.asList(geometry, other));
+        }
+        org.locationtech.jts.geom.Envelope common =
+                geometry.getEnvelopeInternal().intersection(other.getEnvelopeInternal());
+        List<org.locationtech.jts.geom.Geometry> disjoint = new ArrayList<>();
+        org.locationtech.jts.geom.Geometry overlapping = extractIntersecting(geometry, common, disjoint)
+                .union(extractIntersecting(other, common, disjoint));
+        disjoint.add(overlapping);
+        return GeometryCombiner.combine(disjoint);
+    }
+
+    private static org.locationtech.jts.geom.Geometry extractIntersecting(org.locationtech.jts.geom.Geometry geometry,
+                                                                          org.locationtech.jts.geom.Envelope envelope,
+                                                                          List<org.locationtech.jts.geom.Geometry> disjoint) {
+        List<org.locationtech.jts.geom.Geometry> intersecting = new ArrayList<>();
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+            org.locationtech.jts.geom.Geometry polygon = geometry.getGeometryN(i);
+            if (polygon.getEnvelopeInternal().intersects(envelope)) {
+                intersecting.add(polygon);
+            } else {
+                disjoint.add(polygon);
+            }
+        }
+        return geometry.getFactory().buildGeometry(intersecting);
+    }
+}
@@ -0,0 +1,93 @@
+package org.geolatte.geom;
+
+/**
+ * An implementation of {@code PreparedGeometry} that evaluates each predicate with the per-call operations of a
+ * {@code ProjectedGeometryOperations}.
+ *
+ * <p>Nothing is prepared, so this is no faster than calling the operations directly. It is returned by the default
+ * {@link ProjectedGeometryOperations#prepare(Geometry)}, so that implementations that do not override it still
+ * provide the {@code PreparedGeometry} API. The predicates that the operations lack are evaluated with
+ * {@link ProjectedGeometryOperations#relates(Geometry, Geometry, String)}.</p>
+ *
+ * @param <P> the {@code Position} type of the prepared {@code Geometry}
+ */
+class DelegatingPreparedGeometry<P extends C2D> implements PreparedGeometry<P> {
+
+    // the intersection patterns of which at least one matches if the first geometry covers the second
+    private static final String[] COVERS = new String[]{"T*****FF*", "*T****FF*", "***T**FF*", "****T*FF*"};
+
+    private static final String CONTAINS_PROPERLY = "T**FF*FF*";
+
+    final private ProjectedGeometryOperations operations;
+    final private Geometry<P> geometry;
+
+    DelegatingPreparedGeometry(ProjectedGeometryOperations operations, Geometry<P> geometry) {
+        if (operations == null || geometry == null) {
+            throw new IllegalArgumentException("No null parameters accepted");
+        }
+        this.operations = operations;
+        this.geometry = geometry;
+    }
+
+    @Override
+    public Geometry<P> getGeometry() {
+        return geometry;
+    }
+
+    @Override
+    public boolean intersects(Geometry<P> other) {
+        return operations.intersects(geometry, other);
+    }
+
+    @Override
+    public boolean disjoint(Geometry<P> other) {
+        return !intersects(other);
+    }
+
+    @Override
+    public boolean contains(Geometry<P> other) {
+        return operations.contains(geometry, other);
+    }
+
+    @Override
+    public boolean containsProperly(Geometry<P> other) {
+        return operations.relates(geometry, other, CONTAINS_PROPERLY);
+    }
+
+    @Override
+    public boolean covers(Geometry<P> other) {
+        return covers(geometry, other);
+    }
+
+    @Override
+    public boolean coveredBy(Geometry<P> other) {
+        return covers(other, geometry);
+    }
+
+    @Override
+    public boolean within(Geometry<P> other) {
+        return operations.contains(other, geometry);
+    }
+
+    @Override
+    public boolean touches(Geometry<P> other) {
+        return operations.touches(geometry, other);
+    }
+
+    @Override
+    public boolean crosses(Geometry<P> other) {
+        return operations.crosses(geometry, other);
+    }
+
+    @Override
+    public boolean overlaps(Geometry<P> other) {
+        return operations.overlaps(geometry, other);
+    }
+
+    private boolean covers(Geometry<P> first, Geometry<P> second) {
+        for (String pattern : COVERS) {
+            if (operations.relates(first, second, pattern)) return true;
+        }
+        return false;
+    }
+}
@@ -50,7 +50,7 @@ class FixedSizePositionSequenceBuilder<P extends Position> extends AbstractPosit
             throw new IllegalStateException("PointSequence not filled to capacity. Index at " + index + " and not at "
                     + coordinates.length );
         }
-        return new PackedPositionSequence<P>(factory, this.coordinates);
+        return new PackedPositionSequence<P>(factory, this.coordinates, addedBounds());
     }
 
 }
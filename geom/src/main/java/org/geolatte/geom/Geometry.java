@@ -49,6 +49,10 @@ public abstract class Geometry<P extends Position> implements Serializable {
     private final PositionSequence<P> positions;
     private final CoordinateReferenceSystem<P> crs;
 
+    // Lazily computed. Envelope and Box are immutable, so a racy single check suffices for thread-safety.
+    private transient Envelope<P> envelope;
+    private transient Box<P> boundingBox;
+
 
     /**
      * Creates a new {@code Geometry} with the positions from the specified geometry and having the specified
@@ -231,10 +235,27 @@ public abstract class Geometry<P extends Position> implements Serializable {
 
     /**
      * Returns the 2D {@code Envelope} of this instance.
+     *
+     * <p>The {@code Envelope} is computed on first request, and then retained.</p>
+     *
      * @return the {@code Envelope} of this instance.
      */
     public Envelope<P> getEnvelope() {
+        Envelope<P> result = this.envelope;
+        if (result == null) {
+            result = computeEnvelope();
+            this.envelope = result;
+        }
+        return result;
+    }
+
+    private Envelope<P> computeEnvelope() {
         if (isEmpty()) return new Envelope<P>(getCoordinateReferenceSystem());
+        double[] bounds = getBounds();
+        if (bounds != null) {
+            int dim = bounds.length / 2;
+            return new Envelope<P>(bounds[0], bounds[1], bounds[dim], bounds[dim + 1], getCoordinateReferenceSystem());
+        }
         PositionSequence<P> positions = getPositions();
         EnvelopeVisitor<P> visitor = new EnvelopeVisitor<P>(getCoordinateReferenceSystem());
         positions.accept(visitor);
@@ -243,15 +264,43 @@ public abstract class Geometry<P extends Position> implements Serializable {
 
     /**
      * Returns the bounding {@code Box} of this instance
+     *
+     * <p>The {@code Box} is computed on first request, and then retained.</p>
+     *
      * @return Returns a {@code Box} that encloses this geometry
      */
     public Box<P> getBoundingBox(){
+        Box<P> result = this.boundingBox;
+        if (result == null) {
+            result = computeBoundingBox();
+            this.boundingBox = result;
+        }
+        return result;
+    }
+
+    private Box<P> computeBoundingBox() {
         if (isEmpty()) return Box.mkEmpty(crs);
+        double[] bounds = getBounds();
+        if (bounds != null && bounds.length == 2 * crs.getCoordinateDimension()) {
+            int dim = bounds.length / 2;
+            return new Box<>(Positions.mkPosition(crs, Arrays.copyOfRange(bounds, 0, dim)),
+                    Positions.mkPosition(crs, Arrays.copyOfRange(bounds, dim, bounds.length)), crs);
+        }
         BoxVisitor bv = new BoxVisitor<P>(crs);
         getPositions().accept(bv);
         return bv.build();
     }
 
+    /**
+     * Returns the bounds of the positions, or null if the {@code PositionSequence} can't provide them.
+     */
+    private double[] getBounds() {
+        PositionSequence<P> positions = getPositions();
+        return positions instanceof AbstractPositionSequence ?
+                ((AbstractPositionSequence<P>) positions).getBounds() :
+                null;
+    }
+
     @Override
     public int hashCode() {
         int result = getGeometryType().hashCode();
@@ -31,15 +31,52 @@ import org.locationtech.jts.operation.overlay.snap.SnapIfNeededOverlayOp;
 import org.locationtech.jts.operation.relate.RelateOp;
 import org.geolatte.geom.crs.CoordinateReferenceSystem;
 import org.geolatte.geom.jts.JTS;
+import org.geolatte.geom.jts.JTSConversionCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * An implementation of {@code ProjectedGeometryOperations} that delegates to the corresponding JTS operations.
  *
+ * <p>The predicates are evaluated without JTS for simple combinations of {@code Geometry} types, such as a point and
+ * a polygon, or a linestring and a rectangle (see {@link SimplePredicates}).</p>
+ *
  * @author Karel Maesen, Geovise BVBA
  *         creation-date: 5/3/11
  */
 public class JTSGeometryOperations implements ProjectedGeometryOperations {
 
+    /**
+     * The default maximum number of {@code Geometry}s that {@link #unionAll(Collection)} unions in a single task.
+     */
+    public static final int DEFAULT_UNION_PARTITION_SIZE = 256;
+
+    final private JTSConversionCache conversionCache;
+
+    /**
+     * Creates an instance that converts the {@code Geometry}s to JTS for every operation.
+     */
+    public JTSGeometryOperations() {
+        this(null);
+    }
+
+    /**
+     * Creates an instance that reuses the JTS geometries of the specified cache, so that a sequence of operations on
+     * the same {@code Geometry} converts it only once.
+     *
+     * @param conversionCache the cache of JTS geometries, or null to convert the {@code Geometry}s for every operation
+     */
+    public JTSGeometryOperations(JTSConversionCache conversionCache) {
+        this.conversionCache = conversionCache;
+    }
+
+    private <P extends C2D> org.locationtech.jts.geom.Geometry toJTS(Geometry<P> geometry) {
+        return conversionCache == null ? JTS.to(geometry) : conversionCache.get(geometry);
+    }
+
     private <P extends C2D> boolean envelopeIntersect(Geometry<P> geometry1, Geometry<P> geometry2) {
         return (geometry1.getEnvelope().intersects(geometry2.getEnvelope()));
     }
@@ -64,12 +101,12 @@ public class JTSGeometryOperations implements ProjectedGeometryOperations {
 
     @Override
     public <P extends C2D> boolean isSimple(final Geometry<P> geometry) {
-        return new IsSimpleOp(JTS.to(geometry)).isSimple();
+        return new IsSimpleOp(toJTS(geometry)).isSimple();
     }
 
     @Override
     public <P extends C2D> Geometry<P> boundary(final Geometry<P> geometry) {
-        final BoundaryOp boundaryOp = new BoundaryOp(JTS.to(geometry));
+        final BoundaryOp boundaryOp = new BoundaryOp(toJTS(geometry));
         final CoordinateReferenceSystem<P> crs = geometry.getCoordinateReferenceSystem();
         return JTS.from(boundaryOp.getBoundary(), crs);
     }
@@ -114,7 +151,9 @@ public class JTSGeometryOperations implements ProjectedGeometryOperations {
         if (geometry.isEmpty() || other.isEmpty()) return Boolean.FALSE;
         checkCompatibleCRS(geometry, other);
         if (!envelopeIntersect(geometry, other)) return Boolean.FALSE;
-        RelateOp relateOp = new RelateOp(JTS.to(geometry), JTS.to(other));
+        Boolean simple = SimplePredicates.intersects(geometry, other);
+        if (simple != null) return simple;
+        RelateOp relateOp = new RelateOp(toJTS(geometry), toJTS(other));
         return relateOp.getIntersectionMatrix().isIntersects();
 
     }
@@ -124,7 +163,9 @@ public class JTSGeometryOperations implements ProjectedGeometryOperations {
         if (geometry.isEmpty() || other.isEmpty()) return Boolean.FALSE;
         checkCompatibleCRS(geometry, other);
         if (!envelopeIntersect(geometry, other)) return Boolean.FALSE;
-        final RelateOp relateOp = new RelateOp(JTS.to(geometry), JTS.to(other));
+        Boolean simple = SimplePredicates.touches(geometry, other);
+        if (simple != null) return simple;
+        final RelateOp relateOp = new RelateOp(toJTS(geometry), toJTS(other));
         return relateOp.getIntersectionMatrix().isTouches(geometry.getDimension(), other.getDimension());
 
     }
@@ -134,7 +175,7 @@ public class JTSGeometryOperations implements ProjectedGeometryOperations {
         if (geometry.isEmpty() || other.isEmpty()) return Boolean.FALSE;
         checkCompatibleCRS(geometry, other);
         if (!envelopeIntersect(geometry, other)) return Boolean.FALSE;
-        final RelateOp relateOp = new RelateOp(JTS.to(geometry), JTS.to(other));
+        final RelateOp relateOp = new RelateOp(toJTS(geometry), toJTS(other));
         return relateOp.getIntersectionMatrix().isCrosses(geometry.getDimension(), other.getDimension());
     }
 
@@ -143,7 +184,9 @@ public class JTSGeometryOperations implements ProjectedGeometryOperations {
         if (geometry.isEmpty() || other.isEmpty()) return Boolean.FALSE;
         checkCompatibleCRS(geometry, other);
         if (!geometry.getEnvelope().contains(other.getEnvelope())) return Boolean.FALSE;
-        final RelateOp relateOp = new RelateOp(JTS.to(geometry), JTS.to(other));
+        Boolean simple = SimplePredicates.contains(geometry, other);
+        if (simple != null) return simple;
+        final RelateOp relateOp = new RelateOp(toJTS(geometry), toJTS(other));
         return relateOp.getIntersectionMatrix().isContains();
     }
 
@@ -152,7 +195,7 @@ public class JTSGeometryOperations implements ProjectedGeometryOperations {
         if (geometry.isEmpty() || other.isEmpty()) return Boolean.FALSE;
         checkCompatibleCRS(geometry, other);
         if (!envelopeIntersect(geometry, other)) return Boolean.FALSE;
-        final RelateOp relateOp = new RelateOp(JTS.to(geometry), JTS.to(other));
+        final RelateOp relateOp = new RelateOp(toJTS(geometry), toJTS(other));
         return relateOp.getIntersectionMatrix().isOverlaps(geometry.getDimension(), other.getDimension());
     }
 
@@ -160,26 +203,32 @@ public class JTSGeometryOperations implements ProjectedGeometryOperations {
     public <P extends C2D> boolean relates(final Geometry<P> geometry, final Geometry<P> other, final String matrix) {
         if (geometry.isEmpty() || other.isEmpty()) return Boolean.FALSE;
         checkCompatibleCRS(geometry, other);
-        final RelateOp relateOp = new RelateOp(JTS.to(geometry), JTS.to(other));
+        final RelateOp relateOp = new RelateOp(toJTS(geometry), toJTS(other));
         return relateOp.getIntersectionMatrix().matches(matrix);
     }
 
 
+    @Override
+    public <P extends C2D> PreparedGeometry<P> prepare(final Geometry<P> geometry) {
+        return new JTSPreparedGeometry<P>(geometry, toJTS(geometry));
+    }
+
+
     @Override
     public <P extends C2D> double distance(final Geometry<P> geometry, final Geometry<P> other) {
-        final DistanceOp op = new DistanceOp(JTS.to(geometry), JTS.to(other));
+        final DistanceOp op = new DistanceOp(toJTS(geometry), toJTS(other));
         return op.distance();
     }
 
     @Override
     public <P extends C2D> Geometry<P> buffer(final Geometry<P> geometry, final double distance) {
-        final BufferOp op = new BufferOp(JTS.to(geometry));
+        final BufferOp op = new BufferOp(toJTS(geometry));
         return JTS.from(op.getResultGeometry(distance), geometry.getCoordinateReferenceSystem());
     }
 
     @Override
     public <P extends C2D> Geometry<P> convexHull(final Geometry<P> geometry) {
-        final ConvexHull convexHull = new ConvexHull(JTS.to(geometry));
+        final ConvexHull convexHull = new ConvexHull(toJTS(geometry));
         return JTS.from(convexHull.getConvexHull(), geometry.getCoordinateReferenceSystem());
 
     }
@@ -190,7 +239,7 @@ public class JTSGeometryOperations implements ProjectedGeometryOperations {
         if (geometry.isEmpty() || other.isEmpty()) return new Point<P>(geometry.getCoordinateReferenceSystem());
         checkNotGeometryCollection(geometry);
         checkNotGeometryCollection(other);
-        org.locationtech.jts.geom.Geometry intersection = SnapIfNeededOverlayOp.overlayOp(JTS.to(geometry), JTS.to(other), OverlayOp.INTERSECTION);
+        org.locationtech.jts.geom.Geometry intersection = SnapIfNeededOverlayOp.overlayOp(toJTS(geometry), toJTS(other), OverlayOp.INTERSECTION);
         return JTS.from(intersection, geometry.getCoordinateReferenceSystem());
     }
 
@@ -201,11 +250,57 @@ public class JTSGeometryOperations implements ProjectedGeometryOperations {
         if (other.isEmpty()) return geometry;
         checkNotGeometryCollection(geometry);
         checkNotGeometryCollection(other);
-        org.locationtech.jts.geom.Geometry union = SnapIfNeededOverlayOp.overlayOp(JTS.to(geometry), JTS.to(other), OverlayOp.UNION);
+        org.locationtech.jts.geom.Geometry union = SnapIfNeededOverlayOp.overlayOp(toJTS(geometry), toJTS(other), OverlayOp.UNION);
         return JTS.from(union, geometry.getCoordinateReferenceSystem());
 
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The union is computed on the common {@code ForkJoinPool}, in partitions of
+     * {@value #DEFAULT_UNION_PARTITION_SIZE} {@code Geometry}s (see
+     * {@link #unionAll(Collection, ForkJoinPool, int)}).</p>
+     */
+    @Override
+    public <P extends C2D> Geometry<P> unionAll(final Collection<? extends Geometry<P>> geometries) {
+        return unionAll(geometries, ForkJoinPool.commonPool(), DEFAULT_UNION_PARTITION_SIZE);
+    }
+
+    /**
+     * Calculates the point set union of all the specified {@code Geometry}s, in parallel on the specified pool.
+     *
+     * <p>The {@code Geometry}s are ordered along a Morton (Z-order) curve, so that neighbouring {@code Geometry}s
+     * are in the same partition. The partitions are unioned with the JTS cascaded union, and the partial results are
+     * merged pairwise. Only the partitions that are being unioned are converted to JTS, so the partition size bounds
+     * the memory that is used for the conversions.</p>
+     *
+     * @param geometries    the {@code Geometry}s, which must all have the same coordinate reference system
+     * @param pool          the pool that computes the partial unions
+     * @param partitionSize the maximum number of {@code Geometry}s that are unioned in a single task
+     * @return a {@code Geometry} representing the point set union of the specified {@code Geometry}s
+     * @throws IllegalArgumentException if the collection is empty, or the partition size is less than 2
+     */
+    public <P extends C2D> Geometry<P> unionAll(final Collection<? extends Geometry<P>> geometries,
+                                                final ForkJoinPool pool, final int partitionSize) {
+        if (geometries == null || pool == null) {
+            throw new IllegalArgumentException("No null parameters accepted");
+        }
+        if (geometries.isEmpty()) {
+            throw new IllegalArgumentException("No geometries to union");
+        }
+        Geometry<P> first = geometries.iterator().next();
+        List<Geometry<P>> nonEmpty = new ArrayList<>(geometries.size());
+        for (Geometry<P> geometry : geometries) {
+            checkCompatibleCRS(first, geometry);
+            checkNotGeometryCollection(geometry);
+            if (!geometry.isEmpty()) nonEmpty.add(geometry);
+        }
+        if (nonEmpty.isEmpty()) return first;
+        if (nonEmpty.size() == 1) return nonEmpty.get(0);
+        return new CascadedUnion<P>(this::toJTS, pool, partitionSize).union(nonEmpty, first.getCoordinateReferenceSystem());
+    }
+
     @Override
     public <P extends C2D> Geometry<P> difference(final Geometry<P> geometry, final Geometry<P> other) {
         checkCompatibleCRS(geometry, other);
@@ -213,7 +308,7 @@ public class JTSGeometryOperations implements ProjectedGeometryOperations {
         if (other.isEmpty()) return geometry;
         checkNotGeometryCollection(geometry);
         checkNotGeometryCollection(other);
-        org.locationtech.jts.geom.Geometry difference = SnapIfNeededOverlayOp.overlayOp(JTS.to(geometry), JTS.to(other), OverlayOp.DIFFERENCE);
+        org.locationtech.jts.geom.Geometry difference = SnapIfNeededOverlayOp.overlayOp(toJTS(geometry), toJTS(other), OverlayOp.DIFFERENCE);
         return JTS.from(difference, geometry.getCoordinateReferenceSystem());
 
     }
@@ -225,26 +320,26 @@ public class JTSGeometryOperations implements ProjectedGeometryOperations {
                 if (other.isEmpty()) return geometry;
                 checkNotGeometryCollection(geometry);
                 checkNotGeometryCollection(other);
-                org.locationtech.jts.geom.Geometry symDifference = SnapIfNeededOverlayOp.overlayOp(JTS.to(geometry), JTS.to(other), OverlayOp.SYMDIFFERENCE);
+                org.locationtech.jts.geom.Geometry symDifference = SnapIfNeededOverlayOp.overlayOp(toJTS(geometry), toJTS(other), OverlayOp.SYMDIFFERENCE);
                 return JTS.from(symDifference, geometry.getCoordinateReferenceSystem());
     }
 
     @Override
     public <P extends C2D, G extends Geometry<P> & Linear<P>> double length(final G geometry) {
-                return JTS.to(geometry).getLength();
+                return toJTS(geometry).getLength();
 
     }
 
     @Override
     public  <P extends C2D, G extends Geometry<P> & Polygonal<P>> double area(final G geometry) {
-                return JTS.to(geometry).getArea();
+                return toJTS(geometry).getArea();
 
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public  <P extends C2D, G extends Geometry<P> & Polygonal<P>> Point<P> centroid(final G geometry) {
-                return (Point<P>) JTS.from(JTS.to(geometry).getCentroid());
+                return (Point<P>) JTS.from(toJTS(geometry).getCentroid());
 
     }
 
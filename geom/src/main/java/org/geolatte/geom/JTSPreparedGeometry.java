@@ -0,0 +1,139 @@
+package org.geolatte.geom;
+
+import org.geolatte.geom.jts.JTS;
+import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+
+/**
+ * An implementation of {@code PreparedGeometry} that delegates to a JTS {@code PreparedGeometry}.
+ *
+ * <p>The JTS geometry and the envelope are computed once, when the instance is created, so that other
+ * {@code Geometry}s that are clearly outside are rejected without being converted. For polygonal geometries, points
+ * are located directly with an {@code IndexedPointInAreaLocator}; this avoids converting the points, and the lock
+ * with which the JTS {@code PreparedPolygon} guards its lazily created locator. The locator builds its index on the
+ * first query, without synchronization, so it is queried once when the instance is created.</p>
+ *
+ * @param <P> the {@code Position} type of the prepared {@code Geometry}
+ */
+class JTSPreparedGeometry<P extends C2D> implements PreparedGeometry<P> {
+
+    final private Geometry<P> geometry;
+    final private Envelope<P> envelope;
+    final private org.locationtech.jts.geom.prep.PreparedGeometry prepared;
+    final private IndexedPointInAreaLocator locator;
+
+    JTSPreparedGeometry(Geometry<P> geometry, org.locationtech.jts.geom.Geometry jtsGeometry) {
+        this.geometry = geometry;
+        this.envelope = geometry.getEnvelope();
+        // computes the cached envelope, before the instance is shared
+        jtsGeometry.getEnvelopeInternal();
+        this.prepared = PreparedGeometryFactory.prepare(jtsGeometry);
+        this.locator = geometry instanceof Polygonal && !geometry.isEmpty() ?
+                new IndexedPointInAreaLocator(jtsGeometry) :
+                null;
+        if (locator != null) {
+            // builds the index, before the instance is shared
+            locator.locate(jtsGeometry.getCoordinate());
+        }
+    }
+
+    @Override
+    public Geometry<P> getGeometry() {
+        return geometry;
+    }
+
+    @Override
+    public boolean intersects(Geometry<P> other) {
+        if (isEmpty(other)) return false;
+        if (!envelope.intersects(other.getEnvelope())) return false;
+        if (isLocatable(other)) return locate(other) != Location.EXTERIOR;
+        return prepared.intersects(JTS.to(other));
+    }
+
+    @Override
+    public boolean disjoint(Geometry<P> other) {
+        return !intersects(other);
+    }
+
+    @Override
+    public boolean contains(Geometry<P> other) {
+        if (isEmpty(other)) return false;
+        if (!envelope.contains(other.getEnvelope())) return false;
+        if (isLocatable(other)) return locate(other) == Location.INTERIOR;
+        return prepared.contains(JTS.to(other));
+    }
+
+    @Override
+    public boolean containsProperly(Geometry<P> other) {
+        if (isEmpty(other)) return false;
+        if (!envelope.contains(other.getEnvelope())) return false;
+        if (isLocatable(other)) return locate(other) == Location.INTERIOR;
+        return prepared.containsProperly(JTS.to(other));
+    }
+
+    @Override
+    public boolean covers(Geometry<P> other) {
+        if (isEmpty(other)) return false;
+        if (!envelope.contains(other.getEnvelope())) return false;
+        if (isLocatable(other)) return locate(other) != Location.EXTERIOR;
+        return prepared.covers(JTS.to(other));
+    }
+
+    @Override
+    public boolean coveredBy(Geometry<P> other) {
+        if (isEmpty(other)) return false;
+        if (!other.getEnvelope().contains(envelope)) return false;
+        return prepared.coveredBy(JTS.to(other));
+    }
+
+    @Override
+    public boolean within(Geometry<P> other) {
+        if (isEmpty(other)) return false;
+        if (!other.getEnvelope().contains(envelope)) return false;
+        return prepared.within(JTS.to(other));
+    }
+
+    @Override
+    public boolean touches(Geometry<P> other) {
+        if (isEmpty(other)) return false;
+        if (!envelope.intersects(other.getEnvelope())) return false;
+        if (isLocatable(other)) return locate(other) == Location.BOUNDARY;
+        return prepared.touches(JTS.to(other));
+    }
+
+    @Override
+    public boolean crosses(Geometry<P> other) {
+        if (isEmpty(other)) return false;
+        if (!envelope.intersects(other.getEnvelope())) return false;
+        return prepared.crosses(JTS.to(other));
+    }
+
+    @Override
+    public boolean overlaps(Geometry<P> other) {
+        if (isEmpty(other)) return false;
+        if (!envelope.intersects(other.getEnvelope())) return false;
+        return prepared.overlaps(JTS.to(other));
+    }
+
+    /**
+     * Returns true if either {@code Geometry} is empty, after checking that the reference systems are the same.
+     */
+    private boolean isEmpty(Geometry<P> other) {
+        if (geometry.isEmpty() || other.isEmpty()) return true;
+        if (!geometry.getCoordinateReferenceSystem().equals(other.getCoordinateReferenceSystem())) {
+            throw new IllegalArgumentException("Geometries have different CRS's");
+        }
+        return false;
+    }
+
+    private boolean isLocatable(Geometry<P> other) {
+        return locator != null && other instanceof Point;
+    }
+
+    private int locate(Geometry<P> point) {
+        P position = ((Point<P>) point).getPosition();
+        return locator.locate(new Coordinate(position.getCoordinate(0), position.getCoordinate(1)));
+    }
+}
@@ -34,11 +34,17 @@ class NestedPositionSequence<P extends Position> extends AbstractPositionSequenc
     protected final PositionSequence<P>[] children;
     private final int size;
 
+    /**
+     * offsets[i] is the index in this sequence of the first position of children[i]; the last element holds the size.
+     */
+    private final int[] offsets;
+
 
     NestedPositionSequence(PositionSequence<P>[] children) {
         super(extractFactory(children));
         this.children = children;
-        this.size = calculateSize();
+        this.offsets = calculateOffsets(children);
+        this.size = offsets[children.length];
     }
 
     private static <C extends Position> PositionFactory<C> extractFactory(PositionSequence<C>[] children) {
@@ -63,13 +69,79 @@ class NestedPositionSequence<P extends Position> extends AbstractPositionSequenc
         }
     }
 
-    private int calculateSize() {
-        int size = 0;
-        for (PositionSequence<P> child : getChildren()) {
-            size += child.size();
+    private static int[] calculateOffsets(PositionSequence<?>[] children) {
+        int[] offsets = new int[children.length + 1];
+        for (int i = 0; i < children.length; i++) {
+            offsets[i + 1] = offsets[i] + children[i].size();
         }
-        return size;
+        return offsets;
+    }
 
+    /**
+     * Returns the index of the child sequence that holds the position at the specified index.
+     *
+     * <p>The child is located by a binary search on the offsets, so empty children are skipped.</p>
+     */
+    private int childIndexOf(int position) {
+        if (position < 0 || position >= size) {
+            throw new ArrayIndexOutOfBoundsException(String.format("Index %d not found in collection of size %d", position, size));
+        }
+        int low = 0;
+        int high = children.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= position) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    double[] getBounds() {
+        if (size == 0) {
+            return null;
+        }
+        double[] bounds = emptyBounds(getCoordinateDimension());
+        int dim = getCoordinateDimension();
+        for (PositionSequence<P> child : children) {
+            double[] childBounds = ((AbstractPositionSequence<P>) child).getBounds();
+            if (childBounds == null) continue;
+            for (int o = 0; o < dim; o++) {
+                bounds[o] = Math.min(bounds[o], childBounds[o]);
+                bounds[dim + o] = Math.max(bounds[dim + o], childBounds[dim + o]);
+            }
+        }
+        return bounds;
+    }
+
+    /**
+     * Returns a <code>PositionSequence</code> with the same positions as this instance, stored in a single
+     * coordinate array.
+     *
+     * <p>This is useful when the positions of a large nested sequence are accessed at random, since the packed
+     * sequence gives constant time access. The returned sequence is a copy.</p>
+     *
+     * @return a packed copy of this sequence
+     */
+    PositionSequence<P> flatten() {
+        if (size == 0) {
+            return this;
+        }
+        int dim = getCoordinateDimension();
+        double[] coordinates = new double[size * dim];
+        double[] buffer = new double[dim];
+        for (int i = 0; i < children.length; i++) {
+            PositionSequence<P> child = children[i];
+            int offset = offsets[i] * dim;
+            for (int j = 0; j < child.size(); j++) {
+                child.getCoordinates(j, buffer);
+                System.arraycopy(buffer, 0, coordinates, offset + j * dim, dim);
+            }
+        }
+        return new PackedPositionSequence<>(getPositionFactory(), coordinates);
     }
 
     public PositionSequence<P>[] getChildren() {
@@ -100,46 +172,33 @@ class NestedPositionSequence<P extends Position> extends AbstractPositionSequenc
 
     @Override
     public void setOrdinate(int position, int ordinateIndex, double value) {
-        int childOffset = position;
-        for (PositionSequence<P> pChild : getChildren()) {
-            CoordinateSequence child = (CoordinateSequence)pChild;
-            if (childOffset < child.size()) {
-                child.setOrdinate(childOffset, ordinateIndex, value);
-                return;
-            } else {
-                childOffset -= child.size();
-            }
-        }
-        throw new ArrayIndexOutOfBoundsException(String.format("Index %d not found in collection of size %d", position, size()));
+        int i = childIndexOf(position);
+        ((CoordinateSequence) children[i]).setOrdinate(position - offsets[i], ordinateIndex, value);
     }
 
     @Override
     public void getCoordinates(int position, double[] coordinates) {
-        int childOffset = position;
-        for (PositionSequence<P> child : getChildren()) {
-            if (childOffset < child.size()) {
-                child.getCoordinates(childOffset, coordinates);
-                return;
-            } else {
-                childOffset -= child.size();
-            }
-        }
-        throw new ArrayIndexOutOfBoundsException(String.format("Index %d not found in collection of size %d", position, size()));
-
+        int i = childIndexOf(position);
+        children[i].getCoordinates(position - offsets[i], coordinates);
     }
 
+    @Override
+    public double getOrdinateAt(int position, int ordinate) {
+        int i = childIndexOf(position);
+        return ((AbstractPositionSequence<P>) children[i]).getOrdinateAt(position - offsets[i], ordinate);
+    }
 
 
     @Override
     public void accept(PositionVisitor<P> visitor) {
-        for (PositionSequence<P> child : getChildren()) {
+        for (PositionSequence<P> child : children) {
             child.accept(visitor);
         }
     }
 
     @Override
     public void accept(LLAPositionVisitor visitor) {
-        for (PositionSequence<P> child : getChildren()) {
+        for (PositionSequence<P> child : children) {
             child.accept(visitor);
         }
     }
@@ -193,7 +252,7 @@ class NestedPositionSequence<P extends Position> extends AbstractPositionSequenc
         builder.append("[");
         for (int i = 0; i < children.length; i++) {
             if (i > 0) builder.append(",");
-            builder.append(getChildren()[i].toString());
+            builder.append(children[i].toString());
         }
         builder.append("]");
         return builder.toString();
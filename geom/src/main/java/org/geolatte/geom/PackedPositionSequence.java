@@ -21,6 +21,8 @@
 
 package org.geolatte.geom;
 
+import org.locationtech.jts.geom.CoordinateSequence;
+
 import java.util.Arrays;
 import java.util.Iterator;
 
@@ -31,9 +33,19 @@ class PackedPositionSequence<P extends Position> extends AbstractPositionSequenc
 
     private final double[] coordinates;
 
+    /**
+     * The bounds of the coordinates, if known on construction; reset to null when a coordinate is modified.
+     */
+    private transient double[] bounds;
+
 
     PackedPositionSequence(PositionFactory<P> factory, double[] coordinates) {
+        this(factory, coordinates, null);
+    }
+
+    PackedPositionSequence(PositionFactory<P> factory, double[] coordinates, double[] bounds) {
         super(factory);
+        this.bounds = bounds;
         if (coordinates == null) {
             this.coordinates = new double[0];
         } else {
@@ -95,18 +107,40 @@ class PackedPositionSequence<P extends Position> extends AbstractPositionSequenc
     @Deprecated
     @Override
     public PositionSequence<P> clone() {
-        return new PackedPositionSequence<>(getPositionFactory(), Arrays.copyOf(this.coordinates, this.coordinates.length));
+        return new PackedPositionSequence<>(getPositionFactory(), Arrays.copyOf(this.coordinates, this.coordinates.length), this.bounds);
     }
 
     @Override
     public PackedPositionSequence<P> copy() {
-        return new PackedPositionSequence<>(getPositionFactory(), Arrays.copyOf(this.coordinates, this.coordinates.length));
+        return new PackedPositionSequence<>(getPositionFactory(), Arrays.copyOf(this.coordinates, this.coordinates.length), this.bounds);
     }
 
+    /**
+     * Sets an ordinate, as JTS does when it fills the sequences it creates. As in {@link #getOrdinate(int, int)}, the
+     * ordinate index is that of {@code CoordinateSequence}; Z- and M-ordinates that positions of this type don't have
+     * are ignored.
+     */
     @Override
     public void setOrdinate(int index, int ordinateIndex, double value) {
-        int dim = getCoordinateDimension();
-        this.coordinates[index * dim + ordinateIndex] = value;
+        int ordinate;
+        switch (ordinateIndex) {
+            case CoordinateSequence.X:
+            case CoordinateSequence.Y:
+                ordinate = ordinateIndex;
+                break;
+            case CoordinateSequence.Z:
+                if (!getPositionFactory().hasZComponent()) return;
+                ordinate = 2;
+                break;
+            case CoordinateSequence.M:
+                if (!getPositionFactory().hasMComponent()) return;
+                ordinate = getPositionFactory().getMComponentIndex();
+                break;
+            default:
+                throw new IllegalArgumentException("Ordinate index " + ordinateIndex + " is not supported.");
+        }
+        this.coordinates[index * getCoordinateDimension() + ordinate] = value;
+        this.bounds = null;
     }
 
     @Override
@@ -120,6 +154,23 @@ class PackedPositionSequence<P extends Position> extends AbstractPositionSequenc
         }
     }
 
+    /**
+     * Returns the coordinate array that backs this instance. The array must not be modified.
+     */
+    double[] coordinateArray() {
+        return this.coordinates;
+    }
+
+    @Override
+    double[] knownBounds() {
+        return this.bounds;
+    }
+
+    @Override
+    public double getOrdinateAt(int index, int ordinate) {
+        return this.coordinates[index * getCoordinateDimension() + ordinate];
+    }
+
 
     @Override
     public boolean equals(Object o) {
@@ -22,11 +22,14 @@
 package org.geolatte.geom;
 
 import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.geolatte.geom.crs.trans.CoordinateOperation;
 
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Factories for creating Positions.
@@ -130,6 +133,195 @@ public class Positions {
 		return builder.toPositionSequence();
 	}
 
+	/**
+	 * Returns a {@code PositionSequence} with the same positions as the source, in which all positions are stored
+	 * in a single coordinate array.
+	 *
+	 * <p>The {@code PositionSequence}s of multi-part geometries are composed of the sequences of their parts.
+	 * Flattening such a sequence is worthwhile when its positions are accessed at random. If the source is already
+	 * flat, it is returned as is.</p>
+	 *
+	 * @param source the source positions
+	 * @param <P> the type of {@code Position}
+	 *
+	 * @return a flat {@code PositionSequence} with the positions of the source
+	 */
+	public static <P extends Position> PositionSequence<P> flatten(PositionSequence<P> source) {
+		if ( source instanceof NestedPositionSequence ) {
+			return ( (NestedPositionSequence<P>) source ).flatten();
+		}
+		return source;
+	}
+
+	/**
+	 * Creates a packed {@code PositionSequence} of the specified number of positions, of which all coordinates are 0.
+	 *
+	 * <p>This is meant for the JTS {@code CoordinateSequenceFactory}: JTS creates coordinate sequences of a given size,
+	 * and then sets their coordinates with {@code CoordinateSequence.setOrdinate()}. The coordinates must not be
+	 * modified once the sequence is used by a {@code Geometry}.</p>
+	 *
+	 * @param size     the number of positions
+	 * @param posClass the type of {@code Position}
+	 * @param <P>      the type of {@code Position}
+	 *
+	 * @return a new sequence of the specified size
+	 */
+	public static <P extends Position> PositionSequence<P> createPacked(int size, Class<P> posClass) {
+		PositionFactory<P> factory = getFactoryFor( posClass );
+		return new PackedPositionSequence<>( factory, new double[size * factory.getCoordinateDimension()] );
+	}
+
+	/**
+	 * Determines whether positions of the specified types have the same coordinates, i.e. the same coordinate
+	 * dimension and the same Z- and M-components, as for instance {@code C2D} and {@code G2D}.
+	 *
+	 * @param posClass      a type of {@code Position}
+	 * @param otherPosClass another type of {@code Position}
+	 *
+	 * @return true if the coordinate arrays of positions of both types are interchangeable
+	 */
+	public static boolean haveSameCoordinates(Class<? extends Position> posClass, Class<? extends Position> otherPosClass) {
+		PositionFactory<?> factory = getFactoryFor( posClass );
+		PositionFactory<?> other = getFactoryFor( otherPosClass );
+		return factory.getCoordinateDimension() == other.getCoordinateDimension()
+				&& factory.hasZComponent() == other.hasZComponent()
+				&& factory.hasMComponent() == other.hasMComponent();
+	}
+
+	/**
+	 * Returns a {@code PositionSequence} with the coordinates of the source, as positions of the specified type.
+	 *
+	 * <p>If the source is packed, the returned sequence shares its coordinate array, so that no coordinates are
+	 * copied. If the source already has positions of the specified type, it is returned as is. Either way, the source
+	 * must not be changed afterwards, e.g. through its {@code CoordinateSequence} methods.</p>
+	 *
+	 * @param source         the source positions
+	 * @param targetPosClass target type of {@code Position}
+	 * @param <P>            the target type of {@code Position}
+	 *
+	 * @return a sequence of the target type with the coordinates of the source
+	 * @throws IllegalArgumentException if the positions of the source and of the target type don't have the same
+	 *                                  coordinates (see {@link #haveSameCoordinates(Class, Class)})
+	 */
+	@SuppressWarnings("unchecked")
+	public static <P extends Position> PositionSequence<P> reinterpret(
+			PositionSequence<?> source,
+			Class<P> targetPosClass) {
+		if ( source.getPositionClass().equals( targetPosClass ) ) {
+			return (PositionSequence<P>) source;
+		}
+		if ( !haveSameCoordinates( source.getPositionClass(), targetPosClass ) ) {
+			throw new IllegalArgumentException( "Positions of the source and of the target type have different coordinates" );
+		}
+		PositionSequence<?> flat = flatten( source );
+		double[] bounds = flat instanceof PackedPositionSequence ? ( (PackedPositionSequence<?>) flat ).knownBounds() : null;
+		return new PackedPositionSequence<>( getFactoryFor( targetPosClass ), coordinateArray( flat ), bounds );
+	}
+
+	/**
+	 * Returns a new {@code PositionSequence} with the positions of the source transformed by the specified
+	 * {@code CoordinateOperation}.
+	 *
+	 * <p>The positions are transformed with a single call to the batch method
+	 * {@link CoordinateOperation#forward(double[], int, int, double[], int, int, int)}, which reads the coordinate array
+	 * of the source and writes directly in the coordinate array of the result. Target coordinates that are not written
+	 * by the operation are 0.</p>
+	 *
+	 * @param source         the source positions
+	 * @param operation      the operation to apply
+	 * @param targetPosClass target type of {@code Position}
+	 * @param <P>            the target type of {@code Position}
+	 *
+	 * @return a new sequence with the transformed positions
+	 * @throws IllegalArgumentException if the coordinate dimensions of source or target are smaller than those of the
+	 *                                  operation
+	 */
+	public static <P extends Position> PositionSequence<P> transform(
+			PositionSequence<?> source,
+			CoordinateOperation operation,
+			Class<P> targetPosClass) {
+		PositionFactory<P> factory = getFactoryFor( targetPosClass );
+		int srcDim = source.getCoordinateDimension();
+		int dstDim = factory.getCoordinateDimension();
+		checkDimensions( operation, srcDim, dstDim );
+		double[] src = coordinateArray( source );
+		double[] dst = new double[source.size() * dstDim];
+		operation.forward( src, 0, srcDim, dst, 0, dstDim, source.size() );
+		return new PackedPositionSequence<>( factory, dst );
+	}
+
+	/**
+	 * Asynchronously transforms the positions of the source, in chunks that run in parallel on the specified
+	 * {@code Executor}.
+	 *
+	 * <p>The result is the same as that of {@link #transform(PositionSequence, CoordinateOperation, Class)}. Each
+	 * chunk writes its own range of the coordinate array of the result, so the operation must be thread-safe. This
+	 * method doesn't block, so it can be called from tasks that run on the same executor.</p>
+	 *
+	 * @param source         the source positions
+	 * @param operation      the (thread-safe) operation to apply
+	 * @param targetPosClass target type of {@code Position}
+	 * @param executor       the executor that runs the chunks
+	 * @param chunkSize      the maximum number of positions per chunk
+	 * @param <P>            the target type of {@code Position}
+	 *
+	 * @return a future that completes with a new sequence of the transformed positions
+	 * @throws IllegalArgumentException if the coordinate dimensions of source or target are smaller than those of the
+	 *                                  operation, or if the chunk size is not positive
+	 */
+	public static <P extends Position> CompletableFuture<PositionSequence<P>> transformAsync(
+			PositionSequence<?> source,
+			CoordinateOperation operation,
+			Class<P> targetPosClass,
+			Executor executor,
+			int chunkSize) {
+		if ( chunkSize <= 0 ) {
+			throw new IllegalArgumentException( "Chunk size must be positive" );
+		}
+		PositionFactory<P> factory = getFactoryFor( targetPosClass );
+		int srcDim = source.getCoordinateDimension();
+		int dstDim = factory.getCoordinateDimension();
+		checkDimensions( operation, srcDim, dstDim );
+		double[] src = coordinateArray( source );
+		double[] dst = new double[source.size() * dstDim];
+		int size = source.size();
+		CompletableFuture<?>[] chunks = new CompletableFuture<?>[( size + chunkSize - 1 ) / chunkSize];
+		for ( int i = 0; i < chunks.length; i++ ) {
+			int start = i * chunkSize;
+			int count = Math.min( chunkSize, size - start );
+			chunks[i] = CompletableFuture.runAsync(
+					() -> operation.forward( src, start * srcDim, srcDim, dst, start * dstDim, dstDim, count ),
+					executor
+			);
+		}
+		return CompletableFuture.allOf( chunks ).thenApply( v -> new PackedPositionSequence<>( factory, dst ) );
+	}
+
+	private static void checkDimensions(CoordinateOperation operation, int srcDim, int dstDim) {
+		if ( operation.inCoordinateDimension() > srcDim || operation.outCoordinateDimension() > dstDim ) {
+			throw new IllegalArgumentException( "Coordinate dimensions of positions and operation don't match" );
+		}
+	}
+
+	/**
+	 * Returns the coordinates of the sequence in a packed array. This is the array of the sequence itself, if it is
+	 * packed, so it must not be modified.
+	 */
+	private static double[] coordinateArray(PositionSequence<?> source) {
+		PositionSequence<?> flat = flatten( source );
+		if ( flat instanceof PackedPositionSequence ) {
+			return ( (PackedPositionSequence<?>) flat ).coordinateArray();
+		}
+		int srcDim = source.getCoordinateDimension();
+		double[] src = new double[flat.size() * srcDim];
+		double[] coords = new double[srcDim];
+		for ( int i = 0; i < flat.size(); i++ ) {
+			flat.getCoordinates( i, coords );
+			System.arraycopy( coords, 0, src, i * srcDim, srcDim );
+		}
+		return src;
+	}
+
 	//Factories
 	public static class CanMakeP2D implements PositionFactory<C2D> {
 
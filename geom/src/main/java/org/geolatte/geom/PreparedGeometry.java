@@ -0,0 +1,97 @@
+package org.geolatte.geom;
+
+/**
+ * A {@code Geometry} that is prepared for repeatedly evaluating spatial predicates against other {@code Geometry}s.
+ *
+ * <p>Preparing a {@code Geometry} builds indexes over its components, so that each predicate evaluation is much
+ * cheaper than the corresponding operation of {@link ProjectedGeometryOperations}. This pays off when the same
+ * {@code Geometry} is tested against many others, e.g. a polygon against a large number of points.</p>
+ *
+ * <p>The predicates have the same semantics as those of {@link ProjectedGeometryOperations}: they return false if
+ * either {@code Geometry} is empty (except {@link #disjoint(Geometry)}, which returns true), and throw an
+ * {@code IllegalArgumentException} if the {@code Geometry}s have different coordinate reference systems. Instances
+ * are thread-safe.</p>
+ *
+ * @param <P> the {@code Position} type of the prepared {@code Geometry}
+ * @see ProjectedGeometryOperations#prepare(Geometry)
+ */
+public interface PreparedGeometry<P extends C2D> {
+
+    /**
+     * Returns the prepared {@code Geometry}.
+     * @return the prepared {@code Geometry}
+     */
+    Geometry<P> getGeometry();
+
+    /**
+     * Checks if the prepared {@code Geometry} intersects the specified {@code Geometry}.
+     * @param other the {@code Geometry} to test
+     * @return true iff the {@code Geometry}s spatially intersect
+     */
+    boolean intersects(Geometry<P> other);
+
+    /**
+     * Checks if the prepared {@code Geometry} and the specified {@code Geometry} are disjoint.
+     * @param other the {@code Geometry} to test
+     * @return true iff the {@code Geometry}s do not spatially intersect
+     */
+    boolean disjoint(Geometry<P> other);
+
+    /**
+     * Checks if the prepared {@code Geometry} contains the specified {@code Geometry}.
+     * @param other the {@code Geometry} to test
+     * @return true iff the prepared {@code Geometry} spatially contains the other
+     */
+    boolean contains(Geometry<P> other);
+
+    /**
+     * Checks if the prepared {@code Geometry} contains the specified {@code Geometry} in its interior, i.e. without
+     * the other touching its boundary.
+     * @param other the {@code Geometry} to test
+     * @return true iff the other {@code Geometry} lies in the interior of the prepared {@code Geometry}
+     */
+    boolean containsProperly(Geometry<P> other);
+
+    /**
+     * Checks if the prepared {@code Geometry} covers the specified {@code Geometry}, i.e. if no point of the other
+     * lies in the exterior of the prepared {@code Geometry}.
+     * @param other the {@code Geometry} to test
+     * @return true iff the prepared {@code Geometry} spatially covers the other
+     */
+    boolean covers(Geometry<P> other);
+
+    /**
+     * Checks if the prepared {@code Geometry} is covered by the specified {@code Geometry}.
+     * @param other the {@code Geometry} to test
+     * @return true iff the other {@code Geometry} spatially covers the prepared {@code Geometry}
+     */
+    boolean coveredBy(Geometry<P> other);
+
+    /**
+     * Checks if the prepared {@code Geometry} is within the specified {@code Geometry}.
+     * @param other the {@code Geometry} to test
+     * @return true iff the other {@code Geometry} spatially contains the prepared {@code Geometry}
+     */
+    boolean within(Geometry<P> other);
+
+    /**
+     * Checks if the prepared {@code Geometry} touches the specified {@code Geometry}.
+     * @param other the {@code Geometry} to test
+     * @return true iff the {@code Geometry}s spatially touch
+     */
+    boolean touches(Geometry<P> other);
+
+    /**
+     * Checks if the prepared {@code Geometry} crosses the specified {@code Geometry}.
+     * @param other the {@code Geometry} to test
+     * @return true iff the {@code Geometry}s spatially cross
+     */
+    boolean crosses(Geometry<P> other);
+
+    /**
+     * Checks if the prepared {@code Geometry} overlaps the specified {@code Geometry}.
+     * @param other the {@code Geometry} to test
+     * @return true iff the {@code Geometry}s spatially overlap
+     */
+    boolean overlaps(Geometry<P> other);
+}
@@ -21,6 +21,9 @@
 
 package org.geolatte.geom;
 
+import java.util.Collection;
+import java.util.Iterator;
+
 /**
 * Defines standard operations on {@code Geometry}s with projected coordinate systems.
 *
@@ -123,6 +126,21 @@ public interface ProjectedGeometryOperations {
     <P extends C2D> boolean relates(final Geometry<P> geometry, final Geometry<P> other, final String matrix);
 
 
+    /**
+     * Prepares the specified <code>Geometry</code> for repeatedly evaluating spatial predicates against other
+     * <code>Geometry</code>s.
+     *
+     * <p>The default implementation prepares nothing: the returned <code>PreparedGeometry</code> evaluates each
+     * predicate with the operations of this instance. Implementations should override this to build indexes.</p>
+     *
+     * @param geometry the <code>Geometry</code> to prepare
+     * @return a thread-safe <code>PreparedGeometry</code> for the specified <code>Geometry</code>, provided that this
+     * instance is thread-safe
+     */
+    default <P extends C2D> PreparedGeometry<P> prepare(final Geometry<P> geometry) {
+        return new DelegatingPreparedGeometry<>(this, geometry);
+    }
+
     /**
      * Calculates the shortest distance between any two points in the two <code>Geometry</code>s in the
      * coordinate reference system of this <code>Geometry</code>. Only the X/Y-coordinates are used in the distance
@@ -174,6 +192,32 @@ public interface ProjectedGeometryOperations {
      */
     <P extends C2D> Geometry<P> union(final Geometry<P> geometry, final Geometry<P> other);
 
+    /**
+     * Calculates the point set union of all the specified <code>Geometry</code>s.
+     *
+     * <p>The default implementation successively calculates the {@link #union(Geometry, Geometry)} with each
+     * <code>Geometry</code>. Implementations should override this with a faster algorithm, e.g. one that unions
+     * neighbouring <code>Geometry</code>s first, as {@link JTSGeometryOperations} does.</p>
+     *
+     * @param geometries the <code>Geometry</code>s, which must all have the same coordinate reference system
+     * @return a <code>Geometry</code> representing the point set union of the specified <code>Geometries</code>
+     * @throws IllegalArgumentException if the collection is empty
+     */
+    default <P extends C2D> Geometry<P> unionAll(final Collection<? extends Geometry<P>> geometries) {
+        if (geometries == null) {
+            throw new IllegalArgumentException("No null parameters accepted");
+        }
+        if (geometries.isEmpty()) {
+            throw new IllegalArgumentException("No geometries to union");
+        }
+        Iterator<? extends Geometry<P>> iterator = geometries.iterator();
+        Geometry<P> union = iterator.next();
+        while (iterator.hasNext()) {
+            union = union(union, iterator.next());
+        }
+        return union;
+    }
+
     /**
      * Calculates the point set difference of the specified <code>Geometry</code>s.
      *
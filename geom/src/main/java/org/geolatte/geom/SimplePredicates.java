@@ -0,0 +1,214 @@
+package org.geolatte.geom;
+
+import org.geolatte.geom.cga.NumericalMethods;
+import org.locationtech.jts.geom.Location;
+
+/**
+ * Spatial predicates for simple combinations of {@code Geometry} types, evaluated directly on the coordinates of the
+ * {@code PositionSequence}s.
+ *
+ * <p>These avoid the conversion to JTS and the computation of the full DE-9IM matrix by {@code RelateOp}, for a point
+ * and a polygonal {@code Geometry}, for two points, and for an axis-aligned rectangle and a point, rectangle or
+ * linestring. The results are identical to those of {@code RelateOp}: points are located in rings by counting the
+ * crossings of a ray, in the same way as JTS does, and all orientation tests are exact.</p>
+ *
+ * <p>Each predicate returns {@code null} when it does not apply to the {@code Geometry} types, and the caller must then
+ * fall back to {@code RelateOp}. The {@code Geometry}s are assumed to be non-empty, in the same reference system and
+ * to have intersecting envelopes.</p>
+ */
+class SimplePredicates {
+
+    private SimplePredicates() {
+    }
+
+    static <P extends C2D> Boolean intersects(Geometry<P> geometry, Geometry<P> other) {
+        if (geometry instanceof Point) {
+            return intersects((Point<P>) geometry, other);
+        }
+        if (other instanceof Point) {
+            return intersects((Point<P>) other, geometry);
+        }
+        if (isRectangle(geometry)) {
+            return intersectsRectangle(geometry.getEnvelope(), other);
+        }
+        if (isRectangle(other)) {
+            return intersectsRectangle(other.getEnvelope(), geometry);
+        }
+        return null;
+    }
+
+    private static <P extends C2D> Boolean intersects(Point<P> point, Geometry<P> other) {
+        // the envelopes intersect, so the other point or rectangle contains the point
+        if (other instanceof Point || isRectangle(other)) return Boolean.TRUE;
+        int location = locate(point, other);
+        return location == Location.NONE ? null : location != Location.EXTERIOR;
+    }
+
+    private static <P extends C2D> Boolean intersectsRectangle(Envelope<P> rectangle, Geometry<P> other) {
+        if (isRectangle(other)) return Boolean.TRUE;
+        if (!(other instanceof LineString)) return null;
+        // RelateOp treats a linestring of which all positions are equal differently from a point
+        Envelope<P> envelope = other.getEnvelope();
+        if (envelope.getMinC0() == envelope.getMaxC0() && envelope.getMinC1() == envelope.getMaxC1()) return null;
+        return intersects(rectangle, other.getPositions());
+    }
+
+    static <P extends C2D> Boolean contains(Geometry<P> geometry, Geometry<P> other) {
+        if (!(other instanceof Point)) return null;
+        int location = locate((Point<P>) other, geometry);
+        return location == Location.NONE ? null : location == Location.INTERIOR;
+    }
+
+    static <P extends C2D> Boolean touches(Geometry<P> geometry, Geometry<P> other) {
+        if (geometry instanceof Point && other instanceof Point) return Boolean.FALSE;
+        int location = Location.NONE;
+        if (geometry instanceof Point) {
+            location = locate((Point<P>) geometry, other);
+        } else if (other instanceof Point) {
+            location = locate((Point<P>) other, geometry);
+        }
+        return location == Location.NONE ? null : location == Location.BOUNDARY;
+    }
+
+    /**
+     * Locates a point with respect to a polygonal {@code Geometry}.
+     *
+     * @return the location of the point, or {@code Location.NONE} if the {@code Geometry} is not polygonal, or if the
+     * point lies on the boundary of more than one polygon of a {@code MultiPolygon}, for which {@code RelateOp} doesn't
+     * apply a consistent rule
+     */
+    private static <P extends C2D> int locate(Point<P> point, Geometry<P> geometry) {
+        P position = point.getPosition();
+        double x = position.getCoordinate(0);
+        double y = position.getCoordinate(1);
+        if (geometry instanceof Polygon) {
+            return locate(x, y, (Polygon<P>) geometry);
+        }
+        if (geometry instanceof MultiPolygon) {
+            MultiPolygon<P> multiPolygon = (MultiPolygon<P>) geometry;
+            int boundaries = 0;
+            for (int i = 0; i < multiPolygon.getNumGeometries(); i++) {
+                int location = locate(x, y, multiPolygon.getGeometryN(i));
+                if (location == Location.INTERIOR) return Location.INTERIOR;
+                if (location == Location.BOUNDARY) boundaries++;
+            }
+            if (boundaries > 1) return Location.NONE;
+            return boundaries == 1 ? Location.BOUNDARY : Location.EXTERIOR;
+        }
+        return Location.NONE;
+    }
+
+    private static <P extends C2D> int locate(double x, double y, Polygon<P> polygon) {
+        if (polygon.isEmpty()) return Location.EXTERIOR;
+        int location = locate(x, y, polygon.getExteriorRing());
+        if (location != Location.INTERIOR) return location;
+        for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+            int holeLocation = locate(x, y, polygon.getInteriorRingN(i));
+            if (holeLocation == Location.INTERIOR) return Location.EXTERIOR;
+            if (holeLocation == Location.BOUNDARY) return Location.BOUNDARY;
+        }
+        return Location.INTERIOR;
+    }
+
+    /**
+     * Locates a point in a ring by counting the crossings of the ring with a ray from the point in the positive
+     * X-direction, following the JTS {@code RayCrossingCounter}.
+     */
+    private static <P extends C2D> int locate(double x, double y, LinearRing<P> ring) {
+        if (!contains(ring.getEnvelope(), x, y)) return Location.EXTERIOR;
+        PositionSequence<P> positions = ring.getPositions();
+        double[] coordinates = new double[positions.getCoordinateDimension()];
+        positions.getCoordinates(0, coordinates);
+        double x2 = coordinates[0];
+        double y2 = coordinates[1];
+        int crossings = 0;
+        for (int i = 1; i < positions.size(); i++) {
+            double x1 = x2;
+            double y1 = y2;
+            positions.getCoordinates(i, coordinates);
+            x2 = coordinates[0];
+            y2 = coordinates[1];
+            if (x1 < x && x2 < x) continue;
+            if (x2 == x && y2 == y) return Location.BOUNDARY;
+            if (y1 == y && y2 == y) {
+                if (x >= Math.min(x1, x2) && x <= Math.max(x1, x2)) return Location.BOUNDARY;
+                continue;
+            }
+            if ((y1 > y && y2 <= y) || (y2 > y && y1 <= y)) {
+                int orientation = NumericalMethods.orientationIndex(x1, y1, x2, y2, x, y);
+                if (orientation == 0) return Location.BOUNDARY;
+                if (y2 < y1) orientation = -orientation;
+                if (orientation > 0) crossings++;
+            }
+        }
+        return crossings % 2 == 1 ? Location.INTERIOR : Location.EXTERIOR;
+    }
+
+    /**
+     * Determines whether any segment of the positions intersects the rectangle. A segment that has an end point in the
+     * rectangle, or that passes through it, has corners of the rectangle on both sides of (or on) its line.
+     */
+    private static <P extends C2D> boolean intersects(Envelope<P> rectangle, PositionSequence<P> positions) {
+        double minX = rectangle.getMinC0();
+        double minY = rectangle.getMinC1();
+        double maxX = rectangle.getMaxC0();
+        double maxY = rectangle.getMaxC1();
+        double[] coordinates = new double[positions.getCoordinateDimension()];
+        positions.getCoordinates(0, coordinates);
+        double x2 = coordinates[0];
+        double y2 = coordinates[1];
+        if (contains(rectangle, x2, y2)) return true;
+        for (int i = 1; i < positions.size(); i++) {
+            double x1 = x2;
+            double y1 = y2;
+            positions.getCoordinates(i, coordinates);
+            x2 = coordinates[0];
+            y2 = coordinates[1];
+            if (contains(rectangle, x2, y2)) return true;
+            if (Math.max(x1, x2) < minX || Math.min(x1, x2) > maxX
+                    || Math.max(y1, y2) < minY || Math.min(y1, y2) > maxY) {
+                continue;
+            }
+            int side = NumericalMethods.orientationIndex(x1, y1, x2, y2, minX, minY);
+            if (side == 0
+                    || NumericalMethods.orientationIndex(x1, y1, x2, y2, maxX, minY) != side
+                    || NumericalMethods.orientationIndex(x1, y1, x2, y2, maxX, maxY) != side
+                    || NumericalMethods.orientationIndex(x1, y1, x2, y2, minX, maxY) != side) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <P extends C2D> boolean contains(Envelope<P> envelope, double x, double y) {
+        return envelope.getMinC0() <= x && x <= envelope.getMaxC0()
+                && envelope.getMinC1() <= y && y <= envelope.getMaxC1();
+    }
+
+    /**
+     * Determines whether a {@code Geometry} is a polygon without holes, the exterior ring of which is an axis-aligned
+     * rectangle, following the JTS {@code Polygon.isRectangle()}.
+     */
+    private static <P extends C2D> boolean isRectangle(Geometry<P> geometry) {
+        if (!(geometry instanceof Polygon)) return false;
+        Polygon<P> polygon = (Polygon<P>) geometry;
+        if (polygon.getNumInteriorRing() != 0) return false;
+        PositionSequence<P> positions = polygon.getExteriorRing().getPositions();
+        if (positions.size() != 5) return false;
+        Envelope<P> envelope = polygon.getEnvelope();
+        double[] coordinates = new double[positions.getCoordinateDimension()];
+        double previousX = Double.NaN;
+        double previousY = Double.NaN;
+        for (int i = 0; i < 5; i++) {
+            positions.getCoordinates(i, coordinates);
+            double x = coordinates[0];
+            double y = coordinates[1];
+            if (x != envelope.getMinC0() && x != envelope.getMaxC0()) return false;
+            if (y != envelope.getMinC1() && y != envelope.getMaxC1()) return false;
+            if (i > 0 && (x != previousX) == (y != previousY)) return false;
+            previousX = x;
+            previousY = y;
+        }
+        return true;
+    }
+}
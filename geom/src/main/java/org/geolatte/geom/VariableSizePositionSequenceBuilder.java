@@ -55,6 +55,6 @@ class VariableSizePositionSequenceBuilder<P extends Position> extends AbstractPo
 
     @Override
     public PositionSequence<P> toPositionSequence() {
-        return new PackedPositionSequence<P>(factory, Arrays.copyOf(coordinates, index));
+        return new PackedPositionSequence<P>(factory, Arrays.copyOf(coordinates, index), addedBounds());
     }
 }
@@ -4,6 +4,7 @@ import org.geolatte.geom.LinearRing;
 import org.geolatte.geom.Position;
 import org.geolatte.geom.PositionSequence;
 
+import java.math.BigDecimal;
 import java.util.stream.IntStream;
 
 /**
@@ -136,6 +137,30 @@ public class NumericalMethods {
         return Math.signum(d);
     }
 
+    /**
+     * Determines on which side of the directed line p0 - p1 the point p2 lies.
+     *
+     * <p>The result is exact: the determinant is evaluated in floating point, and only recomputed exactly when it is
+     * too close to zero for its sign to be certain.</p>
+     *
+     * @return 1 if p2 is to the left of the line, -1 if it is to the right, and 0 if the points are collinear
+     */
+    public static int orientationIndex(double x0, double y0, double x1, double y1, double x2, double y2) {
+        double detLeft = (x1 - x0) * (y2 - y0);
+        double detRight = (y1 - y0) * (x2 - x0);
+        double det = detLeft - detRight;
+        // the error bound of Shewchuk's orient2d filter
+        double errorBound = 3.3306690738754716e-16 * (Math.abs(detLeft) + Math.abs(detRight));
+        if (det > errorBound) return 1;
+        if (-det > errorBound) return -1;
+        // doubles and their differences and products are represented exactly by BigDecimal
+        BigDecimal bx0 = new BigDecimal(x0);
+        BigDecimal by0 = new BigDecimal(y0);
+        BigDecimal exact = new BigDecimal(x1).subtract(bx0).multiply(new BigDecimal(y2).subtract(by0))
+                .subtract(new BigDecimal(y1).subtract(by0).multiply(new BigDecimal(x2).subtract(bx0)));
+        return exact.signum();
+    }
+
     public static boolean collinear(Position p0, Position p1, Position p2) {
         double det = deltaDeterminant(p0, p1, p2);
         return det == 0;
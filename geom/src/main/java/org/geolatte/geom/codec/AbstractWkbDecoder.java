@@ -32,6 +32,9 @@ import static org.geolatte.geom.Geometries.*;
 /**
  * Base class for <code>WkbDecoder</code>s.
  *
+ * <p>Implementations keep no state between or during calls to <code>decode</code>, so instances can be
+ * shared between threads.</p>
+ *
  * @author Karel Maesen, Geovise BVBA
  *         creation-date: 11/1/12
  */
@@ -41,7 +44,7 @@ abstract class AbstractWkbDecoder implements WkbDecoder {
     public <P extends Position> Geometry<P> decode(ByteBuffer byteBuffer, CoordinateReferenceSystem<P> crs) {
         byteBuffer.rewind();
         try {
-            prepare(byteBuffer);
+            crs = prepare(byteBuffer, crs);
             Geometry<P> geom = decodeGeometry(byteBuffer, crs);
             byteBuffer.rewind();
             return geom;
@@ -50,6 +53,17 @@ abstract class AbstractWkbDecoder implements WkbDecoder {
         }
     }
 
+    /**
+     * Decodes the WKB record that starts at the current position of the buffer, and leaves the buffer positioned
+     * at the end of the record.
+     *
+     * @throws BufferAccessException if the buffer ends before the end of the record
+     */
+    <P extends Position> Geometry<P> decodeNext(ByteBuffer byteBuffer, CoordinateReferenceSystem<P> crs) {
+        crs = prepare(byteBuffer, crs);
+        return decodeGeometry(byteBuffer, crs);
+    }
+
     @Override
     public Geometry<?> decode(ByteBuffer byteBuffer) {
         return decode(byteBuffer, (CoordinateReferenceSystem<?>) null);
@@ -58,7 +72,7 @@ abstract class AbstractWkbDecoder implements WkbDecoder {
     private <P extends Position> Geometry<P> decodeGeometry(ByteBuffer byteBuffer, CoordinateReferenceSystem<P> crs) {
         alignByteOrder(byteBuffer);
         int typeCode = readTypeCode(byteBuffer);
-        WkbGeometryType wkbType = WkbGeometryType.parse((byte) typeCode);
+        WkbGeometryType wkbType = WkbGeometryType.parse(toGeometryTypeCode(typeCode));
         crs = (CoordinateReferenceSystem<P>)readCrs(byteBuffer, typeCode, crs);
         switch (wkbType) {
             case POINT:
@@ -184,8 +198,10 @@ abstract class AbstractWkbDecoder implements WkbDecoder {
      * starting the decoding.
      *
      * @param byteBuffer
+     * @param crs the <code>CoordinateReferenceSystem</code> specified by the caller (may be null)
+     * @return the <code>CoordinateReferenceSystem</code> to pass on to the decoding of the geometry
      */
-    protected abstract void prepare(ByteBuffer byteBuffer);
+    protected abstract <P extends Position> CoordinateReferenceSystem<P> prepare(ByteBuffer byteBuffer, CoordinateReferenceSystem<P> crs);
 
     /**
      * Read and set the SRID (if it is present)
@@ -202,6 +218,16 @@ abstract class AbstractWkbDecoder implements WkbDecoder {
         return (int) byteBuffer.getUInt();
     }
 
+    /**
+     * Extracts the WKB geometry type code from the type code read from the buffer.
+     *
+     * @param typeCode the type code as returned by {@link #readTypeCode(ByteBuffer)}
+     * @return the code of the WKB geometry type
+     */
+    protected byte toGeometryTypeCode(int typeCode) {
+        return (byte) typeCode;
+    }
+
 
     private void alignByteOrder(ByteBuffer byteBuffer) {
         byte orderByte = byteBuffer.get();
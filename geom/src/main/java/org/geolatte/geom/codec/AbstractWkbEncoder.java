@@ -23,6 +23,8 @@ package org.geolatte.geom.codec;
 
 import org.geolatte.geom.*;
 
+import java.nio.BufferOverflowException;
+
 /**
  * @author Karel Maesen, Geovise BVBA
  *         creation-date: 11/1/12
@@ -37,15 +39,45 @@ abstract class AbstractWkbEncoder implements WkbEncoder {
      */
     @Override
     public  <P extends Position> ByteBuffer encode(Geometry<P> geometry, ByteOrder byteOrder) {
-        ByteBuffer output = ByteBuffer.allocate(calculateSize(geometry, true));
+        ByteBuffer output = ByteBuffer.allocate(encodedSize(geometry));
         if (byteOrder != null) {
             output.setByteOrder(byteOrder);
         }
-        writeGeometry(geometry, output);
+        write(geometry, output);
         output.rewind();
         return output;
     }
 
+    @Override
+    public <P extends Position> int encode(Geometry<P> geometry, ByteOrder byteOrder, java.nio.ByteBuffer target) {
+        int size = encodedSize(geometry);
+        if (target.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+        ByteBuffer output = ByteBuffer.from(target);
+        if (byteOrder != null) {
+            output.setByteOrder(byteOrder);
+        }
+        write(geometry, output);
+        target.position(target.position() + size);
+        return size;
+    }
+
+    @Override
+    public <P extends Position> int encodedSize(Geometry<P> geometry) {
+        return calculateSize(geometry, true);
+    }
+
+    /**
+     * Writes the WKB representation of the geometry to the output, starting at its current position.
+     *
+     * @param geometry the geometry to encode
+     * @param output the buffer to write to, which has at least {@link #encodedSize(Geometry)} bytes remaining
+     */
+    protected <P extends Position> void write(Geometry<P> geometry, ByteBuffer output) {
+        writeGeometry(geometry, output);
+    }
+
     protected <P extends Position> void writeGeometry(Geometry<P> geom, ByteBuffer output) {
         geom.accept(newWkbVisitor(output, geom));
     }
@@ -0,0 +1,144 @@
+package org.geolatte.geom.codec;
+
+import java.math.BigInteger;
+
+/**
+ * Converts a decimal number, given as a significand and a power of ten, to the nearest <code>double</code>.
+ *
+ * <p>Numbers with a small significand and exponent take Clinger's fast path, where a single exact floating-point
+ * multiplication or division gives the correctly rounded result. The other numbers are converted with the
+ * Eisel-Lemire algorithm, which uses a 128-bit approximation of the power of ten. Both give the same result as
+ * <code>Double.parseDouble()</code>, but without creating any objects.</p>
+ *
+ * <p>See: Daniel Lemire, "Number Parsing at a Gigabyte per Second", Software: Practice and Experience 51 (8), 2021,
+ * and Noble Mushtak and Daniel Lemire, "Fast Number Parsing Without Fallback", Software: Practice and Experience
+ * 53 (6), 2023.</p>
+ */
+final class FastDoubleParser {
+
+    /**
+     * The maximum number of significant decimal digits that fit in the (unsigned) significand.
+     */
+    static final int MAX_DIGITS = 19;
+
+    private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+    private static final int MAX_EXACT_EXPONENT = 22;
+
+    private static final int MIN_EXPONENT = -342;
+    private static final int MAX_EXPONENT = 308;
+
+    private static final double[] POWERS_OF_TEN = new double[MAX_EXACT_EXPONENT + 1];
+
+    /**
+     * The 128-bit truncated powers of five, from 5^-342 to 5^308, normalized so that the most significant bit is set.
+     * Each power takes two entries: the high and the low 64 bits.
+     */
+    private static final long[] POWERS_OF_FIVE = new long[2 * (MAX_EXPONENT - MIN_EXPONENT + 1)];
+
+    static {
+        double p = 1.0d;
+        for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = p;
+            p *= 10;
+        }
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = MIN_EXPONENT; q <= MAX_EXPONENT; q++) {
+            BigInteger power;
+            if (q < 0) {
+                BigInteger power5 = five.pow(-q);
+                int z = power5.bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                power = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+            } else {
+                power = five.pow(q);
+                if (power.bitLength() < 128) {
+                    power = power.shiftLeft(128 - power.bitLength());
+                }
+            }
+            power = power.shiftRight(Math.max(0, power.bitLength() - 128));
+            int index = 2 * (q - MIN_EXPONENT);
+            POWERS_OF_FIVE[index] = power.shiftRight(64).longValue();
+            POWERS_OF_FIVE[index + 1] = power.longValue();
+        }
+    }
+
+    private FastDoubleParser() {
+    }
+
+    /**
+     * Returns the <code>double</code> nearest to <code>significand * 10^exponent</code>, negated if
+     * <code>negative</code> is true.
+     *
+     * @param negative    whether the number is negative
+     * @param significand the decimal significand, interpreted as an unsigned long (so it can hold any number of at
+     *                    most {@link #MAX_DIGITS} digits)
+     * @param exponent    the power of ten
+     * @return the nearest <code>double</code>, or <code>Double.NaN</code> if the number can not be converted on the
+     * fast path (subnormal results and exponents outside the range of the table). The caller should then fall back to
+     * <code>Double.parseDouble()</code>.
+     */
+    static double toDouble(boolean negative, long significand, int exponent) {
+        double value;
+        if (significand == 0) {
+            value = 0.0d;
+        } else if (significand > 0 && significand <= MAX_EXACT_SIGNIFICAND
+                && exponent >= -MAX_EXACT_EXPONENT && exponent <= MAX_EXACT_EXPONENT) {
+            value = exponent < 0 ?
+                    significand / POWERS_OF_TEN[-exponent] :
+                    significand * POWERS_OF_TEN[exponent];
+        } else if (exponent >= MIN_EXPONENT && exponent <= MAX_EXPONENT) {
+            value = eiselLemire(significand, exponent);
+        } else {
+            return Double.NaN;
+        }
+        return negative ? -value : value;
+    }
+
+    private static double eiselLemire(long significand, int exponent) {
+        int lz = Long.numberOfLeadingZeros(significand);
+        long w = significand << lz;
+        int index = 2 * (exponent - MIN_EXPONENT);
+        long high = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        // only when the bits below the 55 most significant bits are all ones can the truncated low half of the power
+        // change the result
+        if ((high & 0x1FF) == 0x1FF) {
+            long secondHigh = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+        int upperBit = (int) (high >>> 63);
+        long mantissa = high >>> (upperBit + 9);
+        int power2 = (((152170 + 65536) * exponent) >> 16) + 63 + upperBit - lz + 1023;
+        if (power2 <= 0) {
+            return Double.NaN;
+        }
+        // exactly halfway between two doubles: round to even
+        if (Long.compareUnsigned(low, 1) <= 0 && exponent >= -4 && exponent <= 23 && (mantissa & 3) == 1
+                && (mantissa << (upperBit + 9)) == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << 52)) {
+            mantissa = 1L << 52;
+            power2++;
+        }
+        if (power2 >= 0x7FF) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Double.longBitsToDouble((mantissa & ~(1L << 52)) | ((long) power2 << 52));
+    }
+
+    private static long unsignedMultiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long p01 = x0 * y1;
+        long middle = x1 * y0 + ((x0 * y0) >>> 32) + (p01 & 0xFFFFFFFFL);
+        return x1 * y1 + (middle >>> 32) + (p01 >>> 32);
+    }
+}
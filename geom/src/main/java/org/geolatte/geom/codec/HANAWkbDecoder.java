@@ -31,25 +31,23 @@ import org.geolatte.geom.crs.CoordinateReferenceSystem;
  */
 class HANAWkbDecoder extends PostgisWkbDecoder {
 
-	private int currentTypeCode;
-
 	@Override
 	protected <P extends Position> CoordinateReferenceSystem<P> readCrs(ByteBuffer byteBuffer, int typeCode, CoordinateReferenceSystem<P> crs) {
-		boolean hasM = ( this.currentTypeCode & PostgisWkbTypeMasks.M_FLAG ) == PostgisWkbTypeMasks.M_FLAG;
-		boolean hasZ = ( this.currentTypeCode & PostgisWkbTypeMasks.Z_FLAG ) == PostgisWkbTypeMasks.Z_FLAG;
+		boolean hasM = ( typeCode & PostgisWkbTypeMasks.M_FLAG ) == PostgisWkbTypeMasks.M_FLAG;
+		boolean hasZ = ( typeCode & PostgisWkbTypeMasks.Z_FLAG ) == PostgisWkbTypeMasks.Z_FLAG;
 
-		if ( ( this.currentTypeCode & 0xFFFF ) > 3000 ) {
+		if ( ( typeCode & 0xFFFF ) > 3000 ) {
 			hasM = true;
 			hasZ = true;
 		}
-		else if ( ( this.currentTypeCode & 0xFFFF ) > 2000 ) {
+		else if ( ( typeCode & 0xFFFF ) > 2000 ) {
 			hasM = true;
 		}
-		else if ( ( this.currentTypeCode & 0xFFFF ) > 1000 ) {
+		else if ( ( typeCode & 0xFFFF ) > 1000 ) {
 			hasZ = true;
 		}
 
-		int modifiedTypeCode = this.currentTypeCode;
+		int modifiedTypeCode = typeCode;
 		if ( hasM ) {
 			modifiedTypeCode = modifiedTypeCode | PostgisWkbTypeMasks.M_FLAG;
 		}
@@ -60,8 +58,7 @@ class HANAWkbDecoder extends PostgisWkbDecoder {
 	}
 
 	@Override
-	protected int readTypeCode(ByteBuffer byteBuffer) {
-		this.currentTypeCode = super.readTypeCode( byteBuffer );
-		return (this.currentTypeCode & 0xFFFF) % 100;
+	protected byte toGeometryTypeCode(int typeCode) {
+		return (byte) ( ( typeCode & 0xFFFF ) % 100 );
 	}
 }
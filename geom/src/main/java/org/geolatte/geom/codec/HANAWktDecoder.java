@@ -38,7 +38,9 @@ class HANAWktDecoder extends PostgisWktDecoder {
 	protected void setTokenizer(AbstractWktTokenizer tokenizer) {
 		if ( tokenizer instanceof WktTokenizer ) {
 			WktTokenizer wktTokenizer = (WktTokenizer) tokenizer;
-			super.setTokenizer( new HANAWktTokenizer( wktTokenizer.wkt, WKT_GEOM_TOKENS, wktTokenizer.baseCRS, wktTokenizer.forceToCRS ) );
+			HANAWktTokenizer hanaTokenizer = new HANAWktTokenizer( wktTokenizer.wkt, WKT_GEOM_TOKENS, wktTokenizer.baseCRS, wktTokenizer.forceToCRS );
+			hanaTokenizer.currentPos = wktTokenizer.currentPos;
+			super.setTokenizer( hanaTokenizer );
 		}
 		else {
 			throw new IllegalArgumentException( "The tokenizer must be an instance of " + WktTokenizer.class.getName() );
@@ -34,28 +34,27 @@ import org.geolatte.geom.crs.CrsRegistry;
  */
 class MySqlWkbDecoder extends AbstractWkbDecoder {
 
-    private int srid;
-
-
     /**
      * Read the first four bytes: this contains the SRID
      *
      * @param byteBuffer
+     * @param crs
      */
     @Override
-    protected void prepare(ByteBuffer byteBuffer) {
+    protected <P extends Position> CoordinateReferenceSystem<P> prepare(ByteBuffer byteBuffer, CoordinateReferenceSystem<P> crs) {
         byteBuffer.setByteOrder(ByteOrder.NDR);
-        srid = byteBuffer.getInt();
-
+        int srid = byteBuffer.getInt();
+        // if a CRS is already specified, ignore this value
+        if (crs != null) return crs;
+        CoordinateReferenceSystem crsDeclared = CrsRegistry.getCoordinateReferenceSystemForEPSG(srid, CoordinateReferenceSystems.PROJECTED_2D_METER);
+        return (CoordinateReferenceSystem<P>)crsDeclared;
     }
 
 
     @Override
     protected <P extends Position> CoordinateReferenceSystem<P> readCrs(ByteBuffer byteBuffer, int typeCode, CoordinateReferenceSystem<P> crs) {
-        // if a CRS is already specified, ignore this value
-        if (crs != null) return crs;
-        CoordinateReferenceSystem crsDeclared = CrsRegistry.getCoordinateReferenceSystemForEPSG(srid, CoordinateReferenceSystems.PROJECTED_2D_METER);
-        return (CoordinateReferenceSystem<P>)crsDeclared;
+        // the CRS is determined by the SRID that precedes the WKB (see prepare())
+        return crs;
     }
 
     @Override
@@ -32,15 +32,37 @@ class MySqlWkbEncoder extends AbstractWkbEncoder {
     @Override
     public <P extends Position> ByteBuffer encode(Geometry<P> geometry, ByteOrder byteOrder) {
         if (geometry == null || hasEmpty(geometry)) return null;
+        return super.encode(geometry, byteOrder);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Geometries that are, or contain, empty geometries have no MySQL WKB representation. For these nothing is
+     * written, and 0 is returned.</p>
+     */
+    @Override
+    public <P extends Position> int encode(Geometry<P> geometry, ByteOrder byteOrder, java.nio.ByteBuffer target) {
+        if (geometry == null || hasEmpty(geometry)) return 0;
+        return super.encode(geometry, byteOrder, target);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Returns 0 for geometries that are, or contain, empty geometries, since nothing is written for these.</p>
+     */
+    @Override
+    public <P extends Position> int encodedSize(Geometry<P> geometry) {
+        if (hasEmpty(geometry)) return 0;
         //size is size for WKB + 4 bytes for the SRID
-        ByteBuffer output = ByteBuffer.allocate(calculateSize(geometry, false) + 4);
-        if (byteOrder != null) {
-            output.setByteOrder(byteOrder);
-        }
+        return calculateSize(geometry, false) + 4;
+    }
+
+    @Override
+    protected <P extends Position> void write(Geometry<P> geometry, ByteBuffer output) {
         output.putInt(geometry.getSRID() == -1 ? 0 : geometry.getSRID());
         writeGeometry(geometry, output);
-        output.rewind();
-        return output;
     }
 
     @Override
@@ -32,18 +32,19 @@ import static org.geolatte.geom.crs.CoordinateSystemAxisDirection.OTHER;
 /**
  * A Wkb Decoder for PostGIS EWKB
  * <p>This WKBDecoder supports the EWKB dialect of PostGIS versions 1.0 tot 1.5+.</p>
- * <p>This implementation is not thread-safe.</p>
+ * <p>This implementation is thread-safe.</p>
  *
  * @author Karel Maesen, Geovise BVBA
  *         creation-date: Nov 11, 2010
  */
 class PostgisWkbDecoder extends AbstractWkbDecoder {
 
-    private CoordinateSystemExpander expander = new DefaultCoordinateSystemExpander();
+    private final CoordinateSystemExpander expander = new DefaultCoordinateSystemExpander();
 
     @Override
-    protected void prepare(ByteBuffer byteBuffer) {
+    protected <P extends Position> CoordinateReferenceSystem<P> prepare(ByteBuffer byteBuffer, CoordinateReferenceSystem<P> crs) {
         //do nothing
+        return crs;
     }
 
 
@@ -53,8 +54,11 @@ class PostgisWkbDecoder extends AbstractWkbDecoder {
         boolean hasM = (typeCode & PostgisWkbTypeMasks.M_FLAG) == PostgisWkbTypeMasks.M_FLAG;
         boolean hasZ = (typeCode & PostgisWkbTypeMasks.Z_FLAG) == PostgisWkbTypeMasks.Z_FLAG;
 
-        // if set, just validate
+        // if set, just validate (and skip the SRID, if present)
         if (crs != null) {
+            if (hasSrid(typeCode)) {
+                byteBuffer.getInt();
+            }
             validateCrs(crs, hasM, hasZ);
             return crs;
         }
@@ -28,8 +28,6 @@ import org.geolatte.geom.crs.CrsRegistry;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static org.geolatte.geom.Geometries.*;
 
@@ -43,9 +41,10 @@ import static org.geolatte.geom.Geometries.*;
 class PostgisWktDecoder extends AbstractWktDecoder<Geometry<?>> implements WktDecoder {
 
     private final static PostgisWktVariant WKT_GEOM_TOKENS = new PostgisWktVariant();
-    private final static Pattern SRID_RE = Pattern.compile("^SRID=(.*);", Pattern.CASE_INSENSITIVE);
+    private final static String SRID_PREFIX = "SRID=";
 
     private String wktString;
+    private int wktStart;
     private CoordinateReferenceSystem<?> crs;
 
     public PostgisWktDecoder() {
@@ -73,25 +72,29 @@ class PostgisWktDecoder extends AbstractWktDecoder<Geometry<?>> implements WktDe
     }
 
     /**
-     * The instance fields wktString and crsId are initialized prior to decoding. For postgis EWKT that entails
+     * The instance fields wktString, wktStart and crs are initialized prior to decoding. For postgis EWKT that entails
      * extracting the SRID prefix (if any) from the WKT string.
      *
      * @param wkt the WKT representation
      */
     private <P extends Position> void prepare(String wkt, CoordinateReferenceSystem<P> crs) {
-        Matcher matcher = SRID_RE.matcher(wkt);
-        if (matcher.find()) {
-            int srid = Integer.parseInt(matcher.group(1));
+        int sridEnd = wkt.regionMatches(true, 0, SRID_PREFIX, 0, SRID_PREFIX.length()) ? wkt.indexOf(';') : -1;
+        if (sridEnd >= 0) {
+            int srid = Integer.parseInt(wkt.substring(SRID_PREFIX.length(), sridEnd));
             this.crs = crs != null? crs : CrsRegistry.getCoordinateReferenceSystemForEPSG(srid, CoordinateReferenceSystems.PROJECTED_2D_METER);
-            wktString = wkt.substring(matcher.end());
+            wktStart = sridEnd + 1;
         } else {
             this.crs = crs != null ? crs : CoordinateReferenceSystems.PROJECTED_2D_METER;
-            wktString = wkt;
+            wktStart = 0;
         }
+        wktString = wkt;
     }
 
     private void initializeTokenizer(boolean forceToCRS) {
-        setTokenizer(new WktTokenizer(wktString, getWktVariant(), crs, forceToCRS));
+        // start the tokenizer after the SRID prefix, rather than copying the remainder of the WKT
+        WktTokenizer tokenizer = new WktTokenizer(wktString, getWktVariant(), crs, forceToCRS);
+        tokenizer.currentPos = wktStart;
+        setTokenizer(tokenizer);
         nextToken();
     }
 
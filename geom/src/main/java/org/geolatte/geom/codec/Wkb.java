@@ -25,14 +25,16 @@ import org.geolatte.geom.ByteBuffer;
 import org.geolatte.geom.ByteOrder;
 import org.geolatte.geom.Geometry;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Creates encoders/decoders for WKB geometry representations.
  *
- * <p>Note that the <coder>WkbEncoder</coder>/<code>WkbDecoder</code> instances returned by the factory
- * methods are not thread-safe.</p>
+ * <p>The <code>WkbEncoder</code>/<code>WkbDecoder</code> instances returned by the factory
+ * methods are thread-safe. The instances returned by {@link #getEncoder(Dialect)} and {@link #getDecoder(Dialect)}
+ * are shared, and should be preferred over creating new instances.</p>
  *
  * @author Karel Maesen, Geovise BVBA
  *         creation-date: Oct 29, 2010
@@ -48,16 +50,22 @@ public class Wkb {
 
     private static final Dialect DEFAULT_DIALECT = Dialect.POSTGIS_EWKB_1;
 
-    private static final Map<Dialect, Class<? extends WkbDecoder>> DECODERS = new HashMap<Dialect, Class<? extends WkbDecoder>>();
-    private static final Map<Dialect, Class<? extends WkbEncoder>> ENCODERS = new HashMap<Dialect, Class<? extends WkbEncoder>>();
+    private static final Map<Dialect, Supplier<WkbDecoder>> DECODERS = new EnumMap<>(Dialect.class);
+    private static final Map<Dialect, Supplier<WkbEncoder>> ENCODERS = new EnumMap<>(Dialect.class);
+    private static final Map<Dialect, WkbDecoder> SHARED_DECODERS = new EnumMap<>(Dialect.class);
+    private static final Map<Dialect, WkbEncoder> SHARED_ENCODERS = new EnumMap<>(Dialect.class);
 
     static {
-        DECODERS.put(Dialect.POSTGIS_EWKB_1, PostgisWkbDecoder.class);
-        DECODERS.put(Dialect.MYSQL_WKB, MySqlWkbDecoder.class);
-        DECODERS.put(Dialect.HANA_EWKB, HANAWkbDecoder.class);
-        ENCODERS.put(Dialect.POSTGIS_EWKB_1, PostgisWkbEncoder.class);
-        ENCODERS.put(Dialect.MYSQL_WKB, MySqlWkbEncoder.class);
-        ENCODERS.put(Dialect.HANA_EWKB, HANAWkbEncoder.class);
+        DECODERS.put(Dialect.POSTGIS_EWKB_1, PostgisWkbDecoder::new);
+        DECODERS.put(Dialect.MYSQL_WKB, MySqlWkbDecoder::new);
+        DECODERS.put(Dialect.HANA_EWKB, HANAWkbDecoder::new);
+        ENCODERS.put(Dialect.POSTGIS_EWKB_1, PostgisWkbEncoder::new);
+        ENCODERS.put(Dialect.MYSQL_WKB, MySqlWkbEncoder::new);
+        ENCODERS.put(Dialect.HANA_EWKB, HANAWkbEncoder::new);
+        for (Dialect dialect : Dialect.values()) {
+            SHARED_DECODERS.put(dialect, newDecoder(dialect));
+            SHARED_ENCODERS.put(dialect, newEncoder(dialect));
+        }
     }
 
 
@@ -82,7 +90,7 @@ public class Wkb {
      * @return A buffer of bytes that contains the WKB-encoded <code>Geometry</code>.
      */
     public static ByteBuffer toWkb(Geometry<?> geometry, ByteOrder byteOrder) {
-        WkbEncoder encoder = newEncoder(DEFAULT_DIALECT);
+        WkbEncoder encoder = getEncoder(DEFAULT_DIALECT);
         return encoder.encode(geometry, byteOrder);
     }
 
@@ -94,10 +102,30 @@ public class Wkb {
      * @return The <code>Geometry</code> that is encoded in the WKB.
      */
     public static Geometry<?> fromWkb(ByteBuffer byteBuffer) {
-        WkbDecoder decoder = newDecoder(DEFAULT_DIALECT);
+        WkbDecoder decoder = getDecoder(DEFAULT_DIALECT);
         return decoder.decode(byteBuffer);
     }
 
+    /**
+     * Returns the shared <code>WkbDecoder</code> for the specified WKB <code>Dialect</code>.
+     *
+     * @param dialect the WKB dialect
+     * @return the thread-safe <code>WkbDecoder</code> that supports the specified dialect
+     */
+    public static WkbDecoder getDecoder(Dialect dialect) {
+        return lookup(SHARED_DECODERS, dialect);
+    }
+
+    /**
+     * Returns the shared <code>WkbEncoder</code> for the specified WKB <code>Dialect</code>.
+     *
+     * @param dialect the WKB dialect
+     * @return the thread-safe <code>WkbEncoder</code> that supports the specified dialect
+     */
+    public static WkbEncoder getEncoder(Dialect dialect) {
+        return lookup(SHARED_ENCODERS, dialect);
+    }
+
     /**
      * Creates a <code>WkbDecoder</code> for the specified WKB <code>Dialect</code>.
      *
@@ -105,9 +133,7 @@ public class Wkb {
      * @return an <code>WkbDecoder</code> that supports the specified dialect
      */
     public static WkbDecoder newDecoder(Dialect dialect) {
-        Class<? extends WkbDecoder> decoderClass = DECODERS.get(dialect);
-        assert (decoderClass != null) : "A variant declared, but no encoder/decoder registered.";
-        return createInstance(decoderClass);
+        return lookup(DECODERS, dialect).get();
     }
 
     /**
@@ -116,9 +142,7 @@ public class Wkb {
      * @return an <code>WkbDecoder</code> that supports the specified dialect
      */
     public static WkbDecoder newDecoder() {
-        Class<? extends WkbDecoder> decoderClass = DECODERS.get(DEFAULT_DIALECT);
-        assert (decoderClass != null) : "A variant declared, but no encoder/decoder registered.";
-        return createInstance(decoderClass);
+        return newDecoder(DEFAULT_DIALECT);
     }
 
 
@@ -129,9 +153,7 @@ public class Wkb {
      * @return an <code>WkbEncoder</code> that supports the specified dialect
      */
     public static WkbEncoder newEncoder(Dialect dialect) {
-        Class<? extends WkbEncoder> decoderClass = ENCODERS.get(dialect);
-        assert (decoderClass != null) : "A variant declared, but no encoder/decoder registered.";
-        return createInstance(decoderClass);
+        return lookup(ENCODERS, dialect).get();
     }
 
     /**
@@ -140,22 +162,16 @@ public class Wkb {
      * @return an <code>WkbEncoder</code> that supports the specified dialect
      */
     public static WkbEncoder newEncoder() {
-        Class<? extends WkbEncoder> decoderClass = ENCODERS.get(DEFAULT_DIALECT);
-        assert (decoderClass != null) : "A variant declared, but no encoder/decoder registered.";
-        return createInstance(decoderClass);
+        return newEncoder(DEFAULT_DIALECT);
     }
 
-    private static <T> T createInstance(Class<? extends T> codecClass) {
-        if (codecClass == null) {
-            throw new IllegalArgumentException("Null WKB codec class argument not allowed.");
-        }
-        try {
-            return codecClass.newInstance();
-        } catch (InstantiationException e) {
-            throw new RuntimeException(e);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
+    private static <T> T lookup(Map<Dialect, T> registry, Dialect dialect) {
+        if (dialect == null) {
+            throw new IllegalArgumentException("Null WKB dialect argument not allowed.");
         }
+        T codec = registry.get(dialect);
+        assert (codec != null) : "A variant declared, but no encoder/decoder registered.";
+        return codec;
     }
 
 }
@@ -26,10 +26,14 @@ import org.geolatte.geom.Geometry;
 import org.geolatte.geom.Position;
 import org.geolatte.geom.crs.CoordinateReferenceSystem;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
 /**
  * A decoder for WKB (Well-Known Binary) encoded <code>Geometries</code>.
  *
- * <p>In general <code>WkbDecoder</code> implementations are not be thread-safe.</p>
+ * <p>The <code>WkbDecoder</code> implementations provided by {@link Wkb} are thread-safe.</p>
  *
  * @author Karel Maesen, Geovise BVBA
  *         creation-date: 9/29/12
@@ -57,4 +61,106 @@ public interface WkbDecoder {
      * @throws WkbDecodeException if the specified ByteBuffer is an illegal or unsupported WKB representation
      */
     <P extends Position> Geometry<P> decode(ByteBuffer byteBuffer, CoordinateReferenceSystem<P> crs);
+
+    /**
+     * Decodes the WKB encoded representation of a <code>Geometry</code> in a region of a byte array.
+     *
+     * <p>The bytes are read in place, without copying.</p>
+     *
+     * @param bytes  the array that holds the WKB encoded binary representation
+     * @param offset the offset of the WKB in the array
+     * @param length the length in bytes of the WKB
+     * @return the represented <code>Geometry</code>
+     * @throws WkbDecodeException if the specified bytes are an illegal or unsupported WKB representation
+     */
+    default Geometry<?> decode(byte[] bytes, int offset, int length) {
+        return decode(ByteBuffer.from(bytes, offset, length));
+    }
+
+    /**
+     * Decodes the WKB encoded representation of a <code>Geometry</code> in a region of a byte array, assuming the
+     * specified {@code CoordinateReferenceSystem}
+     *
+     * @param bytes  the array that holds the WKB encoded binary representation
+     * @param offset the offset of the WKB in the array
+     * @param length the length in bytes of the WKB
+     * @param crs    the base coordinate reference system assumed for the wkb
+     * @param <P>    the Position type for the (base)
+     * @return the represented <code>Geometry</code>
+     * @throws WkbDecodeException if the specified bytes are an illegal or unsupported WKB representation
+     */
+    default <P extends Position> Geometry<P> decode(byte[] bytes, int offset, int length, CoordinateReferenceSystem<P> crs) {
+        return decode(ByteBuffer.from(bytes, offset, length), crs);
+    }
+
+    /**
+     * Decodes the WKB encoded representation of a <code>Geometry</code> in the remaining bytes of a
+     * <code>java.nio.ByteBuffer</code>.
+     *
+     * <p>The bytes are read in place, so this can be used to decode WKB from direct or memory-mapped buffers without
+     * copying. The position of the buffer is not modified.</p>
+     *
+     * @param buffer the buffer that holds the WKB encoded binary representation
+     * @return the represented <code>Geometry</code>
+     * @throws WkbDecodeException if the specified bytes are an illegal or unsupported WKB representation
+     */
+    default Geometry<?> decode(java.nio.ByteBuffer buffer) {
+        return decode(ByteBuffer.from(buffer));
+    }
+
+    /**
+     * Decodes the WKB encoded representation of a <code>Geometry</code> in the remaining bytes of a
+     * <code>java.nio.ByteBuffer</code>, assuming the specified {@code CoordinateReferenceSystem}
+     *
+     * @param buffer the buffer that holds the WKB encoded binary representation
+     * @param crs    the base coordinate reference system assumed for the wkb
+     * @param <P>    the Position type for the (base)
+     * @return the represented <code>Geometry</code>
+     * @throws WkbDecodeException if the specified bytes are an illegal or unsupported WKB representation
+     */
+    default <P extends Position> Geometry<P> decode(java.nio.ByteBuffer buffer, CoordinateReferenceSystem<P> crs) {
+        return decode(ByteBuffer.from(buffer), crs);
+    }
+
+    /**
+     * Decodes the WKB encoded representation of a <code>Geometry</code> read from an <code>InputStream</code>.
+     *
+     * <p>The stream is read until its end, but is not closed.</p>
+     *
+     * @param in the stream that holds the WKB encoded binary representation
+     * @return the represented <code>Geometry</code>
+     * @throws WkbDecodeException if the stream can't be read, or holds an illegal or unsupported WKB representation
+     */
+    default Geometry<?> decode(InputStream in) {
+        return decode(in, (CoordinateReferenceSystem<?>) null);
+    }
+
+    /**
+     * Decodes the WKB encoded representation of a <code>Geometry</code> read from an <code>InputStream</code>,
+     * assuming the specified {@code CoordinateReferenceSystem}
+     *
+     * <p>The stream is read until its end, but is not closed.</p>
+     *
+     * @param in  the stream that holds the WKB encoded binary representation
+     * @param crs the base coordinate reference system assumed for the wkb
+     * @param <P> the Position type for the (base)
+     * @return the represented <code>Geometry</code>
+     * @throws WkbDecodeException if the stream can't be read, or holds an illegal or unsupported WKB representation
+     */
+    default <P extends Position> Geometry<P> decode(InputStream in, CoordinateReferenceSystem<P> crs) {
+        byte[] bytes = new byte[8192];
+        int length = 0;
+        try {
+            int read;
+            while ((read = in.read(bytes, length, bytes.length - length)) != -1) {
+                length += read;
+                if (length == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                }
+            }
+        } catch (IOException e) {
+            throw new WkbDecodeException(e);
+        }
+        return decode(ByteBuffer.from(bytes, 0, length), crs);
+    }
 }
@@ -26,10 +26,15 @@ import org.geolatte.geom.ByteOrder;
 import org.geolatte.geom.Geometry;
 import org.geolatte.geom.Position;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.util.List;
+
 /**
  * An encoder for WKB (Well-Known Binary) encoded <code>Geometries</code>.
  *
- * <p>In general <code>WkbEncoder</code> implementations are not be thread-safe.</p>
+ * <p>The <code>WkbEncoder</code> implementations provided by {@link Wkb} are thread-safe.</p>
  *
  * @author Karel Maesen, Geovise BVBA
  *         creation-date: 9/29/12
@@ -42,4 +47,87 @@ public interface WkbEncoder {
      * @return a ByteBuffer containing the binary WKB representation of the specified geometry using the specified byte-order
      */
     <P extends Position> ByteBuffer encode(Geometry<P> geometry, ByteOrder byteOrder);
+
+    /**
+     * Returns the number of bytes in the WKB representation of the specified geometry.
+     *
+     * <p>This can be used to size the buffers passed to {@link #encode(Geometry, ByteOrder, java.nio.ByteBuffer)}.</p>
+     *
+     * @param geometry the geometry to encode
+     * @return the size in bytes of the WKB representation
+     */
+    default <P extends Position> int encodedSize(Geometry<P> geometry) {
+        ByteBuffer encoded = encode(geometry, ByteOrder.NDR);
+        return encoded == null ? 0 : encoded.limit();
+    }
+
+    /**
+     * Encodes a <code>Geometry</code> into the specified buffer, starting at its current position.
+     *
+     * <p>The buffer can be a heap, direct or memory-mapped buffer. On return, the position of the buffer is
+     * advanced by the number of bytes written.</p>
+     *
+     * @param geometry the geometry to encode
+     * @param byteOrder the bye-order for the WKB representation
+     * @param target the buffer to write to
+     * @return the number of bytes written
+     * @throws BufferOverflowException if the buffer has not enough bytes remaining; nothing is written in that case
+     */
+    default <P extends Position> int encode(Geometry<P> geometry, ByteOrder byteOrder, java.nio.ByteBuffer target) {
+        ByteBuffer encoded = encode(geometry, byteOrder);
+        if (encoded == null) return 0;
+        byte[] bytes = encoded.toByteArray();
+        target.put(bytes);
+        return bytes.length;
+    }
+
+    /**
+     * Encodes a <code>Geometry</code> and writes it to the specified <code>OutputStream</code>.
+     *
+     * <p>Unlike {@link #encode(Geometry, ByteOrder, java.nio.ByteBuffer)}, this does not encode in place: the WKB is
+     * first encoded into a heap array of {@link #encodedSize(Geometry)} bytes that is allocated for each call, and then
+     * written to the stream. To encode large geometries, or many geometries, without allocating per geometry, encode
+     * them into a reusable <code>java.nio.ByteBuffer</code> and write that to the stream or channel.</p>
+     *
+     * @param geometry the geometry to encode
+     * @param byteOrder the bye-order for the WKB representation
+     * @param out the stream to write to
+     * @return the number of bytes written
+     * @throws IOException if writing to the stream fails
+     */
+    default <P extends Position> int encode(Geometry<P> geometry, ByteOrder byteOrder, OutputStream out) throws IOException {
+        ByteBuffer encoded = encode(geometry, byteOrder);
+        if (encoded == null) return 0;
+        byte[] bytes = encoded.toByteArray();
+        out.write(bytes);
+        return bytes.length;
+    }
+
+    /**
+     * Encodes the <code>Geometry</code>s one after the other into the specified buffer, starting at its current
+     * position.
+     *
+     * <p>The returned array has one more element than the list of geometries. Element <code>i</code> is the offset
+     * of the WKB of the <code>i</code>-th geometry relative to the initial position of the buffer. The last element
+     * is the total number of bytes written, so the WKB of the <code>i</code>-th geometry ends at
+     * <code>offsets[i + 1]</code>. A geometry that has no WKB representation in the dialect takes 0 bytes. The offsets
+     * can be passed as is to {@link WkbStreamDecoder#spliterator(java.nio.ByteBuffer, int[], Wkb.Dialect)} to decode
+     * the geometries. The required size of the buffer is the sum of the {@link #encodedSize(Geometry)} of the
+     * geometries.</p>
+     *
+     * @param geometries the geometries to encode
+     * @param byteOrder the bye-order for the WKB representation
+     * @param target the buffer to write to
+     * @return the offsets of the WKB representations in the buffer
+     * @throws BufferOverflowException if the buffer has not enough bytes remaining
+     */
+    default int[] encodeAll(List<? extends Geometry<?>> geometries, ByteOrder byteOrder, java.nio.ByteBuffer target) {
+        int[] offsets = new int[geometries.size() + 1];
+        int i = 0;
+        for (Geometry<?> geometry : geometries) {
+            offsets[i + 1] = offsets[i] + encode(geometry, byteOrder, target);
+            i++;
+        }
+        return offsets;
+    }
 }
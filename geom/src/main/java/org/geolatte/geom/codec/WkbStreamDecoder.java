@@ -0,0 +1,262 @@
+package org.geolatte.geom.codec;
+
+import org.geolatte.geom.BufferAccessException;
+import org.geolatte.geom.ByteBuffer;
+import org.geolatte.geom.Geometries;
+import org.geolatte.geom.Geometry;
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.geolatte.geom.crs.CoordinateReferenceSystems;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Decodes a sequence of back-to-back WKB records read from a <code>ReadableByteChannel</code>.
+ *
+ * <p>The records are read through a single buffer that is reused for all records, so memory use does not depend on
+ * the size of the input, only on the size of the largest record. The buffer grows as needed to hold a record.</p>
+ *
+ * <p>When the boundaries of the records are known in advance (e.g. from a length-prefixed export format), use
+ * {@link #spliterator(java.nio.ByteBuffer, int[], Wkb.Dialect)} to decode the records in parallel.</p>
+ *
+ * <p>The channel must be blocking: a read that returns no bytes is taken to mean the buffer is full, so a
+ * non-blocking <code>SelectableChannel</code> is rejected, and must not be switched to non-blocking mode while it is
+ * read by this decoder.</p>
+ *
+ * <p>Instances are not thread-safe. The channel is not closed by this decoder.</p>
+ */
+public class WkbStreamDecoder implements Iterator<Geometry<?>> {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final AbstractWkbDecoder decoder;
+    private final CoordinateReferenceSystem<?> crs;
+    private java.nio.ByteBuffer window;
+    private ByteBuffer records;
+    private boolean endOfInput = false;
+
+    /**
+     * Creates an instance that reads records of the specified WKB dialect from the channel.
+     *
+     * @param channel the channel to read from
+     * @param dialect the WKB dialect of the records
+     */
+    public WkbStreamDecoder(ReadableByteChannel channel, Wkb.Dialect dialect) {
+        this(channel, dialect, null, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates an instance that reads records of the specified WKB dialect from the channel, assuming the specified
+     * <code>CoordinateReferenceSystem</code>.
+     *
+     * @param channel    the channel to read from
+     * @param dialect    the WKB dialect of the records
+     * @param crs        the base coordinate reference system assumed for the records (may be null)
+     * @param bufferSize the initial size of the read buffer
+     * @throws IllegalArgumentException if the channel is a <code>SelectableChannel</code> in non-blocking mode
+     */
+    public WkbStreamDecoder(ReadableByteChannel channel, Wkb.Dialect dialect, CoordinateReferenceSystem<?> crs,
+                            int bufferSize) {
+        if (channel == null) throw new IllegalArgumentException("Null channel argument not allowed.");
+        if (bufferSize < 1) throw new IllegalArgumentException("Buffer size must be positive.");
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+            throw new IllegalArgumentException("Non-blocking channels are not supported.");
+        }
+        this.channel = channel;
+        this.decoder = (AbstractWkbDecoder) Wkb.getDecoder(dialect);
+        this.crs = crs;
+        this.window = java.nio.ByteBuffer.allocate(bufferSize);
+        this.window.flip();
+        this.records = ByteBuffer.from(window);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (records.position() < records.limit()) {
+            return true;
+        }
+        refill(records.position(), false);
+        return records.limit() > 0;
+    }
+
+    @Override
+    public Geometry<?> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        while (true) {
+            int start = records.position();
+            try {
+                return decoder.decodeNext(records, crs);
+            } catch (BufferAccessException e) {
+                if (endOfInput) {
+                    throw new WkbDecodeException("Input ends with an incomplete WKB record.");
+                }
+                refill(start, true);
+            }
+        }
+    }
+
+    /**
+     * Returns a <code>Spliterator</code> over the remaining records.
+     *
+     * <p>The returned <code>Spliterator</code> does not split, since the record boundaries are not known.</p>
+     *
+     * @return a <code>Spliterator</code> over the remaining records
+     */
+    public Spliterator<Geometry<?>> spliterator() {
+        return new Spliterators.AbstractSpliterator<Geometry<?>>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Geometry<?>> action) {
+                if (!hasNext()) return false;
+                action.accept(next());
+                return true;
+            }
+
+            @Override
+            public Spliterator<Geometry<?>> trySplit() {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Returns a sequential <code>Stream</code> over the remaining records.
+     *
+     * @return a <code>Stream</code> over the remaining records
+     */
+    public Stream<Geometry<?>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Discards the bytes before <code>start</code> and reads more bytes from the channel. If the unread bytes
+     * already fill the buffer, the buffer is enlarged.
+     *
+     * <p>When <code>fill</code> is set, this reads until the buffer is full or the input ends, rather than until some
+     * bytes are read. This is used to retry an incomplete record: since the buffer is then either full, or holds the
+     * rest of the input, a record that still doesn't fit doubles the buffer on the next retry. A record is then decoded
+     * a logarithmic number of times, however few bytes the channel returns per read.</p>
+     */
+    private void refill(int start, boolean fill) {
+        window.position(start);
+        window.compact();
+        if (!window.hasRemaining()) {
+            java.nio.ByteBuffer larger = java.nio.ByteBuffer.allocate(window.capacity() * 2);
+            window.flip();
+            larger.put(window);
+            window = larger;
+        }
+        try {
+            int read = 0;
+            while ((read == 0 || fill) && window.hasRemaining() && !endOfInput) {
+                read = channel.read(window);
+                if (read < 0) {
+                    endOfInput = true;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        window.flip();
+        records = ByteBuffer.from(window);
+    }
+
+    /**
+     * Returns a <code>Spliterator</code> over WKB records in a buffer, whose boundaries are known.
+     *
+     * <p>The offsets are relative to the position of the buffer, and hold one more element than there are records:
+     * record <code>i</code> is the range from <code>offsets[i]</code> (inclusive) to <code>offsets[i + 1]</code>
+     * (exclusive). These are the offsets that {@link WkbEncoder#encodeAll(java.util.List, org.geolatte.geom.ByteOrder,
+     * java.nio.ByteBuffer)} returns.</p>
+     *
+     * <p>There is one element per record, so that the elements line up by index with the geometries that were passed
+     * to <code>encodeAll</code>. A record of length 0 stands for a <code>Geometry</code> that has no WKB
+     * representation, such as an empty <code>Geometry</code> in MySQL WKB. Since neither its type nor its reference
+     * system is known, it is returned as an empty <code>GeometryCollection</code> in
+     * {@link CoordinateReferenceSystems#PROJECTED_2D_METER}, the system that MySQL WKB without a known SRID is
+     * decoded to.</p>
+     *
+     * <p>The offsets include the end of the last record. Before, they only held the start of each record, and the last
+     * record ended at the limit of the buffer; such offsets now leave out the last record.</p>
+     *
+     * <p>The records are decoded in place, so this works well with memory-mapped buffers. The returned
+     * <code>Spliterator</code> splits in halves, so it can be used for parallel streams.</p>
+     *
+     * @param buffer  the buffer that holds the records
+     * @param offsets the start offsets of the records, followed by the end offset of the last record, in
+     *                non-decreasing order
+     * @param dialect the WKB dialect of the records
+     * @return a <code>Spliterator</code> over the decoded records
+     */
+    public static Spliterator<Geometry<?>> spliterator(java.nio.ByteBuffer buffer, int[] offsets, Wkb.Dialect dialect) {
+        if (buffer == null || offsets == null) throw new IllegalArgumentException("Null arguments not allowed.");
+        if (offsets.length == 0) throw new IllegalArgumentException("Offsets must include the end of the last record.");
+        return new RecordSpliterator(buffer.slice(), offsets, 0, offsets.length - 1, Wkb.getDecoder(dialect));
+    }
+
+    private static class RecordSpliterator implements Spliterator<Geometry<?>> {
+
+        private final java.nio.ByteBuffer buffer;
+        private final int[] offsets;
+        private final WkbDecoder decoder;
+        private int index;
+        private final int end;
+
+        RecordSpliterator(java.nio.ByteBuffer buffer, int[] offsets, int index, int end, WkbDecoder decoder) {
+            this.buffer = buffer;
+            this.offsets = offsets;
+            this.index = index;
+            this.end = end;
+            this.decoder = decoder;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Geometry<?>> action) {
+            if (index >= end) {
+                return false;
+            }
+            int from = offsets[index];
+            int to = offsets[index + 1];
+            index++;
+            if (from == to) {
+                action.accept(Geometries.mkEmptyGeometryCollection(CoordinateReferenceSystems.PROJECTED_2D_METER));
+                return true;
+            }
+            java.nio.ByteBuffer record = buffer.duplicate();
+            record.limit(to).position(from);
+            action.accept(decoder.decode(record));
+            return true;
+        }
+
+        @Override
+        public Spliterator<Geometry<?>> trySplit() {
+            int mid = (index + end) >>> 1;
+            if (mid <= index) return null;
+            RecordSpliterator prefix = new RecordSpliterator(buffer, offsets, index, mid, decoder);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -93,29 +93,40 @@ class WktTokenizer extends AbstractWktTokenizer {
 
     /**
      * Reads a number at the current position.
-     * <p>Note that this method loses precision, e.g. 51.16666723333333 becomes 51.16666723333332) </p>
      *
-     * @return
+     * <p>The digits are accumulated directly from the WKT, and converted to the nearest double by
+     * {@link FastDoubleParser}. Only numbers with more than {@link FastDoubleParser#MAX_DIGITS} significant digits, or
+     * with subnormal values, are delegated to <code>Double.parseDouble()</code>.</p>
+     *
+     * @return the number at the current position
      */
     protected double fastReadNumber() {
         skipWhitespace();
         int startPos = currentPos;
         char c = wkt.charAt(currentPos);
-        double sign = 1.0d;
+        boolean negative = false;
         //read the sign
         if (c == '-') {
-            sign = -1.0d;
+            negative = true;
             c = wkt.charAt(++currentPos);
         }
 
-        //read the number and put it in form <long>E<long>
-        long s = 0l;
+        //read the number and put it in form <long>E<int>
+        long s = 0L;
+        int digits = 0;
+        int decimals = 0;
         boolean decPntSeen = false;
-        long decPos = -1;
+        boolean truncated = false;
         while (true) {
-            if (Character.isDigit(c)) {
-                s = 10 * s + (c - '0');
-            } else if (c == '.' ) {
+            if (c >= '0' && c <= '9') {
+                if (digits < FastDoubleParser.MAX_DIGITS) {
+                    s = 10 * s + (c - '0');
+                    if (s != 0) digits++;
+                    if (decPntSeen) decimals++;
+                } else {
+                    truncated = true;
+                }
+            } else if (c == '.') {
                 if (decPntSeen) {
                     throw new WktDecodeException("Invalid number format at position " + currentPos);
                 }
@@ -123,31 +134,31 @@ class WktTokenizer extends AbstractWktTokenizer {
             } else {
                 break;
             }
-            if (decPntSeen) {
-                decPos++;
-            }
             c = wkt.charAt(++currentPos);
         }
 
-
-
         //read the exponent (scientific notation)
-        long exp = 0l;
-        long expSign = 1l;
+        int exp = 0;
+        boolean negativeExp = false;
         if (c == 'e' || c == 'E') {
             c = wkt.charAt(++currentPos);
-            if (c == '-')  {
-                expSign = -1l;
+            if (c == '-' || c == '+') {
+                negativeExp = c == '-';
                 c = wkt.charAt(++currentPos);
             }
-            while (Character.isDigit(c)) {
-                exp = 10 * exp + (c - '0');
+            while (c >= '0' && c <= '9') {
+                // larger exponents are out of range anyway, and are left to Double.parseDouble()
+                if (exp < 100000) exp = 10 * exp + (c - '0');
                 c = wkt.charAt(++currentPos);
             }
         }
-        long p =  decPos >= 0 ? expSign * exp - decPos : expSign * exp;
-        int endPos = currentPos;
-        return toDouble(sign, s, p, startPos, endPos);
+        if (!truncated) {
+            double value = FastDoubleParser.toDouble(negative, s, (negativeExp ? -exp : exp) - decimals);
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
+        return Double.parseDouble(wkt.subSequence(startPos, currentPos).toString());
     }
 
 
@@ -220,41 +231,4 @@ class WktTokenizer extends AbstractWktTokenizer {
         return token;
     }
 
-    /**
-     * Converts the decimal number representation into a double
-     *
-     * This routine tries to apply the "Fast path" to get a really fast conversion, if applicable. If not, it
-     * delegates to the more expensive Double.parseDouble() StdLib conversion.
-     *
-     * See: http://www.exploringbinary.com/fast-path-decimal-to-floating-point-conversion/
-     * and Handbook of Floating-Point Arithmetic, p. 47-8 (Muller e.a)
-     *
-     * @param sign the sign of the number
-     * @param s the decimal mantissa or significand as a long
-     * @param p the exponent as a long
-     * @param startPos the start position in the Wkt for the parsed number
-     * @param endPos the end position in the wkt for the parsed number
-     * @return
-     */
-    protected double toDouble(double sign, long s, long p, int startPos, int endPos) {
-        //check if the Fast-path is applicable.
-        // we also test for negative s values to account for overrun/underrun conditions in the calling fastNumber procedure
-        if (s == 0) {
-            return 0.0d;
-        } else if (s > 0 && s <= S_MAX && Math.abs(p) <= P_MAX) {
-            if (p == 0l) {
-                return sign * s;
-            } else if (p < 0) {
-                return sign * (s / Math.pow(10,-p));
-            } else {
-                return sign * (s * Math.pow(10,p));
-            }
-        } else {
-            return Double.parseDouble(wkt.subSequence(startPos, endPos).toString());
-        }
-    }
-
-    private static long S_MAX = 9007199254740991L;
-    private static long P_MAX = 22l;
-
 }
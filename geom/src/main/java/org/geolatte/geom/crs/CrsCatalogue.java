@@ -0,0 +1,529 @@
+package org.geolatte.geom.crs;
+
+import org.geolatte.geom.codec.CrsWktDecoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A binary catalogue of the coordinate reference systems in spatial_ref_sys.txt.
+ *
+ * <p>The catalogue is generated when the module is built (see {@link #main(String[])}), so that the
+ * {@code CrsRegistry} doesn't have to parse the WKT definitions at runtime. It is memory-mapped when it is a file on
+ * the class path, and read in memory when it is packaged in a jar. Reference systems are then decoded directly from
+ * the buffer when they are first requested.</p>
+ *
+ * <p>The catalogue starts with a header (a magic number, a version and the number of entries), followed by the sorted
+ * srids and the offsets of their entries. The remainder is a pool of records (strings, units, ellipsoids, datums,
+ * prime meridians, axes and geographic reference systems) that refer to each other by offset, and in which identical
+ * records are only stored once. Geographic 2D and projected reference systems are stored in decoded form, the other
+ * ones (e.g. geocentric or compound reference systems) as WKT.</p>
+ */
+public final class CrsCatalogue {
+
+    final private static Logger LOGGER = LoggerFactory.getLogger(CrsCatalogue.class);
+
+    static final String RESOURCE = "crs_catalogue.bin";
+    static final String DEFINITIONS = "spatial_ref_sys.txt";
+
+    private static final int MAGIC = 0x47435243;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+
+    private static final byte ENTRY_WKT = 0;
+    private static final byte ENTRY_GEOGRAPHIC = 1;
+    private static final byte ENTRY_PROJECTED = 2;
+
+    private static final byte LINEAR_UNIT = 0;
+    private static final byte ANGULAR_UNIT = 1;
+
+    private static final byte LONGITUDE_AXIS = 0;
+    private static final byte LATITUDE_AXIS = 1;
+    private static final byte STRAIGHT_LINE_AXIS = 2;
+
+    private static final CoordinateSystemAxisDirection[] DIRECTIONS = CoordinateSystemAxisDirection.values();
+
+    final private ByteBuffer data;
+    final private int count;
+    final private int base;
+    final private boolean[] failed;
+
+    CrsCatalogue(ByteBuffer data) {
+        if (data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a CRS catalogue, or one of an unsupported version");
+        }
+        this.data = data;
+        this.count = data.getInt(8);
+        this.base = HEADER_SIZE + 8 * count;
+        this.failed = new boolean[count];
+    }
+
+    /**
+     * Loads the catalogue from the class path.
+     *
+     * @return the catalogue, or null if it's not on the class path
+     * @throws IOException if the catalogue can't be read
+     */
+    static CrsCatalogue load() throws IOException {
+        URL url = CrsCatalogue.class.getClassLoader().getResource(RESOURCE);
+        URL definitions = CrsCatalogue.class.getClassLoader().getResource(DEFINITIONS);
+        // when another spatial_ref_sys.txt precedes the one from which the catalogue was generated, it is used instead
+        if (url == null || definitions == null || !location(url, RESOURCE).equals(location(definitions, DEFINITIONS))) {
+            return null;
+        }
+        if ("file".equals(url.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+                return new CrsCatalogue(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } catch (URISyntaxException e) {
+                // fall through, and read it as any other resource
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+            byte[] buffer = new byte[1 << 16];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new CrsCatalogue(ByteBuffer.wrap(out.toByteArray()));
+        }
+    }
+
+    private static String location(URL url, String resource) {
+        String external = url.toExternalForm();
+        return external.substring(0, external.length() - resource.length());
+    }
+
+    /**
+     * Decodes the reference system for the srid, or returns null if there is no (valid) definition.
+     */
+    CoordinateReferenceSystem<?> decode(int srid) {
+        int idx = indexOf(srid);
+        if (idx < 0 || failed[idx]) {
+            return null;
+        }
+        ByteBuffer in = at(data.getInt(HEADER_SIZE + 4 * count + 4 * idx));
+        switch (in.get()) {
+            case ENTRY_GEOGRAPHIC:
+                return geographic(at(in.getInt()));
+            case ENTRY_PROJECTED:
+                return projected(in);
+            default:
+                CoordinateReferenceSystem<?> crs = CrsRegistry.decodeWkt(string(in.getInt()), srid);
+                if (crs == null) {
+                    // don't try again
+                    failed[idx] = true;
+                }
+                return crs;
+        }
+    }
+
+    private int indexOf(int srid) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midSrid = data.getInt(HEADER_SIZE + 4 * mid);
+            if (midSrid < srid) {
+                low = mid + 1;
+            } else if (midSrid > srid) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a view on the data, positioned at the record with the specified offset. Each decoding step uses its own
+     * view, so that the catalogue can be used from several threads.
+     */
+    private ByteBuffer at(int offset) {
+        ByteBuffer view = data.duplicate();
+        view.position(base + offset);
+        return view;
+    }
+
+    private String string(int offset) {
+        ByteBuffer in = at(offset);
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private CrsId crsId(ByteBuffer in) {
+        String authority = string(in.getInt());
+        return new CrsId(authority, in.getInt());
+    }
+
+    private Unit unit(ByteBuffer in) {
+        byte kind = in.get();
+        CrsId crsId = crsId(in);
+        String name = string(in.getInt());
+        double conversionFactor = in.getDouble();
+        return kind == ANGULAR_UNIT ?
+                new AngularUnit(crsId, name, conversionFactor) :
+                new LinearUnit(crsId, name, conversionFactor);
+    }
+
+    private Ellipsoid ellipsoid(ByteBuffer in) {
+        CrsId crsId = crsId(in);
+        String name = string(in.getInt());
+        return new Ellipsoid(crsId, name, in.getDouble(), in.getDouble());
+    }
+
+    private Datum datum(ByteBuffer in) {
+        CrsId crsId = crsId(in);
+        String name = string(in.getInt());
+        Ellipsoid ellipsoid = ellipsoid(at(in.getInt()));
+        double[] toWGS84 = new double[in.get()];
+        for (int i = 0; i < toWGS84.length; i++) {
+            toWGS84[i] = in.getDouble();
+        }
+        return new Datum(crsId, ellipsoid, name, toWGS84);
+    }
+
+    private PrimeMeridian primeMeridian(ByteBuffer in) {
+        CrsId crsId = crsId(in);
+        String name = string(in.getInt());
+        return new PrimeMeridian(crsId, name, in.getDouble());
+    }
+
+    private CoordinateSystemAxis axis(ByteBuffer in) {
+        byte kind = in.get();
+        String name = string(in.getInt());
+        CoordinateSystemAxisDirection direction = DIRECTIONS[in.get()];
+        int normalOrder = in.get();
+        Unit unit = unit(at(in.getInt()));
+        switch (kind) {
+            case LONGITUDE_AXIS:
+                return new GeodeticLongitudeCSAxis(name, (AngularUnit) unit);
+            case LATITUDE_AXIS:
+                return new GeodeticLatitudeCSAxis(name, (AngularUnit) unit);
+            default:
+                return new StraightLineAxis(name, direction, normalOrder, unit);
+        }
+    }
+
+    private Geographic2DCoordinateReferenceSystem geographic(ByteBuffer in) {
+        CrsId crsId = crsId(in);
+        String name = string(in.getInt());
+        Datum datum = datum(at(in.getInt()));
+        PrimeMeridian primeMeridian = primeMeridian(at(in.getInt()));
+        EllipsoidalAxis first = (EllipsoidalAxis) axis(at(in.getInt()));
+        EllipsoidalAxis second = (EllipsoidalAxis) axis(at(in.getInt()));
+        Geographic2DCoordinateReferenceSystem crs = new Geographic2DCoordinateReferenceSystem(crsId, name,
+                new EllipsoidalCoordinateSystem2D(first, second));
+        crs.setDatum(datum);
+        crs.setPrimeMeridian(primeMeridian);
+        return crs;
+    }
+
+    private ProjectedCoordinateReferenceSystem projected(ByteBuffer in) {
+        CrsId crsId = crsId(in);
+        String name = string(in.getInt());
+        Geographic2DCoordinateReferenceSystem geographic = geographic(at(in.getInt()));
+        CrsId projectionId = crsId(in);
+        Projection projection = new Projection(projectionId, string(in.getInt()));
+        int numParameters = in.getShort();
+        List<CrsParameter> parameters = new ArrayList<>(numParameters);
+        for (int i = 0; i < numParameters; i++) {
+            String parameterName = string(in.getInt());
+            parameters.add(new CrsParameter(parameterName, in.getDouble()));
+        }
+        StraightLineAxis first = (StraightLineAxis) axis(at(in.getInt()));
+        StraightLineAxis second = (StraightLineAxis) axis(at(in.getInt()));
+        int extensionName = in.getInt();
+        int extensionValue = in.getInt();
+        Extension extension = extensionName < 0 ? null : new Extension(string(extensionName), string(extensionValue));
+        return new ProjectedCoordinateReferenceSystem(crsId, name, geographic, projection, parameters,
+                new CartesianCoordinateSystem2D(first, second), extension);
+    }
+
+    /**
+     * Generates the catalogue. This is run by the build, after the resources have been processed.
+     *
+     * <p>When spatial_ref_sys.txt doesn't exist, no catalogue is generated.</p>
+     *
+     * @param args the path of spatial_ref_sys.txt, and the path of the catalogue to write
+     * @throws IOException if the definitions can't be read, or the catalogue can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: CrsCatalogue <spatial_ref_sys.txt> <catalogue>");
+        }
+        Path source = Paths.get(args[0]);
+        Path target = Paths.get(args[1]);
+        if (!Files.exists(source)) {
+            // the registry then falls back to the definitions on the class path, if any
+            LOGGER.info(String.format("No %s found, CRS catalogue not generated.", source));
+            Files.deleteIfExists(target);
+            return;
+        }
+        Map<Integer, String> definitions = readDefinitions(source);
+        Path tmp = Paths.get(args[1] + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+            out.write(write(definitions));
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads the EPSG definitions (one per line, as "EPSG|srid|wkt", optionally followed by "|proj4"). A later
+     * definition for a srid overrides an earlier one.
+     */
+    static Map<Integer, String> readDefinitions(Path source) throws IOException {
+        Map<Integer, String> definitions = new TreeMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] tokens = line.split("\\|");
+                if (tokens.length >= 3 && "EPSG".equals(tokens[0]) && tokens[1].matches("[0-9]{1,9}")) {
+                    definitions.put(Integer.valueOf(tokens[1]), tokens[2]);
+                }
+            }
+        }
+        return definitions;
+    }
+
+    /**
+     * Returns the catalogue for the definitions.
+     */
+    static byte[] write(Map<Integer, String> definitions) throws IOException {
+        Writer writer = new Writer();
+        int[] srids = new int[definitions.size()];
+        int[] entries = new int[definitions.size()];
+        int idx = 0;
+        for (Map.Entry<Integer, String> definition : new TreeMap<>(definitions).entrySet()) {
+            srids[idx] = definition.getKey();
+            entries[idx] = writer.entry(definition.getKey(), definition.getValue());
+            idx++;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(srids.length);
+        for (int srid : srids) {
+            out.writeInt(srid);
+        }
+        for (int entry : entries) {
+            out.writeInt(entry);
+        }
+        writer.pool.writeTo(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes the records to the pool.
+     */
+    private static final class Writer {
+
+        final private ByteArrayOutputStream pool = new ByteArrayOutputStream(1 << 20);
+        final private Map<ByteBuffer, Integer> offsets = new HashMap<>();
+
+        /**
+         * Adds the record to the pool, unless an identical record is already there, and returns its offset.
+         */
+        private int intern(ByteArrayOutputStream record) {
+            byte[] bytes = record.toByteArray();
+            Integer offset = offsets.get(ByteBuffer.wrap(bytes));
+            if (offset == null) {
+                offset = pool.size();
+                pool.write(bytes, 0, bytes.length);
+                offsets.put(ByteBuffer.wrap(bytes), offset);
+            }
+            return offset;
+        }
+
+        int entry(int srid, String wkt) throws IOException {
+            CoordinateReferenceSystem<?> crs;
+            try {
+                crs = new CrsWktDecoder().decode(wkt, srid);
+            } catch (RuntimeException e) {
+                // stored as WKT, so that the registry reports the problem when the srid is requested
+                crs = null;
+            }
+            ByteArrayOutputStream record = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(record);
+            if (isSupportedGeographic(crs)) {
+                out.writeByte(ENTRY_GEOGRAPHIC);
+                out.writeInt(geographic((Geographic2DCoordinateReferenceSystem) crs));
+            } else if (isSupportedProjected(crs)) {
+                out.writeByte(ENTRY_PROJECTED);
+                projected((ProjectedCoordinateReferenceSystem) crs, out);
+            } else {
+                out.writeByte(ENTRY_WKT);
+                out.writeInt(string(wkt));
+            }
+            return intern(record);
+        }
+
+        private static boolean isSupportedGeographic(CoordinateReferenceSystem<?> crs) {
+            if (crs == null || crs.getClass() != Geographic2DCoordinateReferenceSystem.class) {
+                return false;
+            }
+            Geographic2DCoordinateReferenceSystem geographic = (Geographic2DCoordinateReferenceSystem) crs;
+            return isSupported(crs.getCrsId())
+                    && geographic.getDatum() != null
+                    && geographic.getDatum().getToWGS84() != null
+                    && isSupported(geographic.getDatum().getCrsId())
+                    && isSupported(geographic.getDatum().getEllipsoid().getCrsId())
+                    && geographic.getPrimeMeridian() != null
+                    && isSupported(geographic.getPrimeMeridian().getCrsId())
+                    && areSupported(crs.getCoordinateSystem().getAxes());
+        }
+
+        private static boolean isSupportedProjected(CoordinateReferenceSystem<?> crs) {
+            if (crs == null || crs.getClass() != ProjectedCoordinateReferenceSystem.class) {
+                return false;
+            }
+            ProjectedCoordinateReferenceSystem projected = (ProjectedCoordinateReferenceSystem) crs;
+            return isSupported(crs.getCrsId())
+                    && isSupportedGeographic(projected.getGeographicCoordinateSystem())
+                    && isSupported(projected.getProjection().getCrsId())
+                    && projected.getParameters().size() <= Short.MAX_VALUE
+                    && areSupported(crs.getCoordinateSystem().getAxes());
+        }
+
+        private static boolean isSupported(CrsId crsId) {
+            return crsId.getClass() == CrsId.class;
+        }
+
+        private static boolean areSupported(CoordinateSystemAxis[] axes) {
+            for (CoordinateSystemAxis axis : axes) {
+                if (axis.getClass() != GeodeticLongitudeCSAxis.class
+                        && axis.getClass() != GeodeticLatitudeCSAxis.class
+                        && axis.getClass() != StraightLineAxis.class) {
+                    return false;
+                }
+                if (!isSupported(axis.getUnit().getCrsId())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int string(String value) throws IOException {
+            ByteArrayOutputStream record = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(record);
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            return intern(record);
+        }
+
+        private void crsId(CrsId crsId, DataOutputStream out) throws IOException {
+            out.writeInt(string(crsId.getAuthority()));
+            out.writeInt(crsId.getCode());
+        }
+
+        private int unit(Unit unit) throws IOException {
+            ByteArrayOutputStream record = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(record);
+            out.writeByte(unit.isAngular() ? ANGULAR_UNIT : LINEAR_UNIT);
+            crsId(unit.getCrsId(), out);
+            out.writeInt(string(unit.getName()));
+            out.writeDouble(unit.getConversionFactor());
+            return intern(record);
+        }
+
+        private int ellipsoid(Ellipsoid ellipsoid) throws IOException {
+            ByteArrayOutputStream record = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(record);
+            crsId(ellipsoid.getCrsId(), out);
+            out.writeInt(string(ellipsoid.getName()));
+            out.writeDouble(ellipsoid.getSemiMajorAxis());
+            out.writeDouble(ellipsoid.getInverseFlattening());
+            return intern(record);
+        }
+
+        private int datum(Datum datum) throws IOException {
+            ByteArrayOutputStream record = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(record);
+            crsId(datum.getCrsId(), out);
+            out.writeInt(string(datum.getName()));
+            out.writeInt(ellipsoid(datum.getEllipsoid()));
+            double[] toWGS84 = datum.getToWGS84();
+            out.writeByte(toWGS84.length);
+            for (double parameter : toWGS84) {
+                out.writeDouble(parameter);
+            }
+            return intern(record);
+        }
+
+        private int primeMeridian(PrimeMeridian primeMeridian) throws IOException {
+            ByteArrayOutputStream record = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(record);
+            crsId(primeMeridian.getCrsId(), out);
+            out.writeInt(string(primeMeridian.getName()));
+            out.writeDouble(primeMeridian.getLongitude());
+            return intern(record);
+        }
+
+        private int axis(CoordinateSystemAxis axis) throws IOException {
+            ByteArrayOutputStream record = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(record);
+            if (axis instanceof GeodeticLongitudeCSAxis) {
+                out.writeByte(LONGITUDE_AXIS);
+            } else if (axis instanceof GeodeticLatitudeCSAxis) {
+                out.writeByte(LATITUDE_AXIS);
+            } else {
+                out.writeByte(STRAIGHT_LINE_AXIS);
+            }
+            out.writeInt(string(axis.getAxisName()));
+            out.writeByte(axis.getAxisDirection().ordinal());
+            out.writeByte(axis.getNormalOrder());
+            out.writeInt(unit(axis.getUnit()));
+            return intern(record);
+        }
+
+        private int geographic(Geographic2DCoordinateReferenceSystem crs) throws IOException {
+            ByteArrayOutputStream record = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(record);
+            crsId(crs.getCrsId(), out);
+            out.writeInt(string(crs.getName()));
+            out.writeInt(datum(crs.getDatum()));
+            out.writeInt(primeMeridian(crs.getPrimeMeridian()));
+            out.writeInt(axis(crs.getCoordinateSystem().getAxes()[0]));
+            out.writeInt(axis(crs.getCoordinateSystem().getAxes()[1]));
+            return intern(record);
+        }
+
+        private void projected(ProjectedCoordinateReferenceSystem crs, DataOutputStream out) throws IOException {
+            crsId(crs.getCrsId(), out);
+            out.writeInt(string(crs.getName()));
+            out.writeInt(geographic((Geographic2DCoordinateReferenceSystem) crs.getGeographicCoordinateSystem()));
+            crsId(crs.getProjection().getCrsId(), out);
+            out.writeInt(string(crs.getProjection().getName()));
+            out.writeShort(crs.getParameters().size());
+            for (CrsParameter parameter : crs.getParameters()) {
+                out.writeInt(string(parameter.getName()));
+                out.writeDouble(parameter.getValue());
+            }
+            out.writeInt(axis(crs.getCoordinateSystem().getAxes()[0]));
+            out.writeInt(axis(crs.getCoordinateSystem().getAxes()[1]));
+            Extension extension = crs.getExtension();
+            out.writeInt(extension == null ? -1 : string(extension.getName()));
+            out.writeInt(extension == null ? -1 : string(extension.getValue()));
+        }
+    }
+}
@@ -29,10 +29,11 @@ import org.geolatte.geom.codec.WktDecodeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
@@ -50,53 +51,180 @@ public class CrsRegistry {
     final private static ConcurrentHashMap<CrsId, CoordinateReferenceSystem<? extends Position>> crsMap =
             new ConcurrentHashMap<>(4000);
 
-    final private static String DELIM = "\\|";
+    final private static String EPSG_PREFIX = "EPSG|";
+
+    /**
+     * The catalogue that is generated from spatial_ref_sys.txt when the module is built, or null if it isn't available.
+     */
+    final private static CrsCatalogue catalogue;
+
+    /**
+     * The definitions in spatial_ref_sys.txt, when there is no catalogue. They are only indexed when this class is
+     * initialized, and decoded when they are first requested.
+     */
+    final private static Definitions definitions;
 
     static {
         try {
-            loadCRS();
+            catalogue = CrsCatalogue.load();
+            definitions = catalogue == null ? Definitions.load() : null;
         } catch (IOException e) {
             throw new RuntimeException("Can't read spatial ref system definitions.");
         }
     }
 
-    private static void loadCRS() throws IOException {
-        BufferedReader reader = createReader();
-        try {
-            String line = reader.readLine();
-            CrsWktDecoder decoder = new CrsWktDecoder();
-            while (line != null) {
-                addDefinition(line, decoder);
-                line = reader.readLine();
-            }
-        } finally {
-            reader.close();
+    /**
+     * Returns the registered coordinate reference system, decoding its definition if it hasn't been requested
+     * before.
+     */
+    private static CoordinateReferenceSystem<?> lookup(CrsId crsId) {
+        CoordinateReferenceSystem<?> crs = crsMap.get(crsId);
+        if (crs != null || crsId.getClass() != CrsId.class || !CrsId.DEFAULT_AUTHORITY.equals(crsId.getAuthority())) {
+            return crs;
+        }
+        crs = catalogue != null ? catalogue.decode(crsId.getCode()) : definitions.decode(crsId.getCode());
+        if (crs == null) {
+            return null;
         }
+        // not decoded within computeIfAbsent(), because decoding may recursively use the registry
+        CoordinateReferenceSystem<?> existing = crsMap.putIfAbsent(crsId, crs);
+        return existing != null ? existing : crs;
     }
 
-    private static BufferedReader createReader() {
-        InputStream in = CrsRegistry.class.getClassLoader().getResourceAsStream("spatial_ref_sys.txt");
-        if (in == null) {
-            throw new IllegalStateException("Can't find spatial_ref_sys definitions.");
+    /**
+     * An index of the EPSG definitions (one per line, as "EPSG|srid|wkt", optionally followed by "|proj4") in
+     * spatial_ref_sys.txt. The srids are sorted, with for each the offset and length of its WKT in the file content.
+     */
+    static final class Definitions {
+
+        final private byte[] content;
+        final private int[] srids;
+        final private int[] offsets;
+        final private int[] lengths;
+
+        private Definitions(byte[] content, int[] srids, int[] offsets, int[] lengths) {
+            this.content = content;
+            this.srids = srids;
+            this.offsets = offsets;
+            this.lengths = lengths;
+        }
+
+        static Definitions load() throws IOException {
+            return parse(readContent());
+        }
+
+        static Definitions parse(byte[] content) {
+            int count = 0;
+            // entries are sorted on srid, then on line number, so that a later definition overrides an earlier one
+            long[] entries = new long[1024];
+            int[] lineOffsets = new int[1024];
+            for (int lineStart = 0, line = 0; lineStart < content.length; line++) {
+                int lineEnd = lineStart;
+                while (lineEnd < content.length && content[lineEnd] != '\n') lineEnd++;
+                if (line == lineOffsets.length) {
+                    lineOffsets = Arrays.copyOf(lineOffsets, 2 * line);
+                }
+                lineOffsets[line] = lineStart;
+                int srid = parseEpsgCode(content, lineStart, lineEnd);
+                if (srid > 0) {
+                    if (count == entries.length) {
+                        entries = Arrays.copyOf(entries, 2 * count);
+                    }
+                    entries[count++] = ((long) srid << 32) | line;
+                } else if (lineEnd > lineStart) {
+                    LOGGER.debug(String.format("Non-EPSG CRS ignored: %s",
+                            new String(content, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8)));
+                }
+                lineStart = lineEnd + 1;
+            }
+            Arrays.sort(entries, 0, count);
+
+            int[] srids = new int[count];
+            int[] offsets = new int[count];
+            int[] lengths = new int[count];
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                int srid = (int) (entries[i] >>> 32);
+                if (i + 1 < count && (int) (entries[i + 1] >>> 32) == srid) continue;
+                int lineStart = lineOffsets[(int) entries[i]];
+                int wktStart = lineStart + EPSG_PREFIX.length();
+                while (content[wktStart] != '|') wktStart++;
+                wktStart++;
+                int wktEnd = wktStart;
+                while (wktEnd < content.length && content[wktEnd] != '|' && content[wktEnd] != '\n'
+                        && content[wktEnd] != '\r') wktEnd++;
+                srids[n] = srid;
+                offsets[n] = wktStart;
+                lengths[n] = wktEnd - wktStart;
+                n++;
+            }
+            return new Definitions(content, Arrays.copyOf(srids, n), Arrays.copyOf(offsets, n), Arrays.copyOf(lengths, n));
+        }
+
+        private static byte[] readContent() throws IOException {
+            InputStream in = CrsRegistry.class.getClassLoader().getResourceAsStream("spatial_ref_sys.txt");
+            if (in == null) {
+                throw new IllegalStateException("Can't find spatial_ref_sys definitions.");
+            }
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 22);
+                byte[] buffer = new byte[1 << 16];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+                return out.toByteArray();
+            } finally {
+                in.close();
+            }
+        }
+
+        /**
+         * Returns the srid of a line that starts with "EPSG|srid|", or -1.
+         */
+        private static int parseEpsgCode(byte[] content, int lineStart, int lineEnd) {
+            int pos = lineStart;
+            for (int i = 0; i < EPSG_PREFIX.length(); i++, pos++) {
+                if (pos >= lineEnd || content[pos] != EPSG_PREFIX.charAt(i)) return -1;
+            }
+            int srid = 0;
+            int digits = 0;
+            for (; pos < lineEnd && content[pos] >= '0' && content[pos] <= '9' && digits < 9; pos++, digits++) {
+                srid = 10 * srid + (content[pos] - '0');
+            }
+            return digits > 0 && pos < lineEnd && content[pos] == '|' ? srid : -1;
         }
-        return new BufferedReader(new InputStreamReader(in));
-    }
 
-    private static void addDefinition(String line, CrsWktDecoder decoder) {
-        String[] tokens = line.split(DELIM);
-        if (!"EPSG".equals(tokens[0])) {
-            LOGGER.debug(String.format("Non-EPSG CRS ignored: %s", tokens[2]));
-            return;
+        /**
+         * Decodes the definition for the srid, or returns null if there is no (valid) definition.
+         */
+        CoordinateReferenceSystem<?> decode(int srid) {
+            int idx = Arrays.binarySearch(srids, srid);
+            if (idx < 0 || lengths[idx] < 0) {
+                return null;
+            }
+            String wkt = new String(content, offsets[idx], lengths[idx], StandardCharsets.UTF_8);
+            CoordinateReferenceSystem<?> crs = decodeWkt(wkt, srid);
+            if (crs == null) {
+                // don't try again
+                lengths[idx] = -1;
+            }
+            return crs;
         }
-        int srid = Integer.parseInt(tokens[1]);
+    }
+
+    /**
+     * Decodes a WKT definition, or returns null (and logs a warning) if it isn't valid.
+     */
+    static CoordinateReferenceSystem<?> decodeWkt(String wkt, int srid) {
         try {
-            CoordinateReferenceSystem<?> crs = decoder.decode(tokens[2], srid);
-            crsMap.put(CrsId.valueOf(srid), crs);
+            return new CrsWktDecoder().decode(wkt, srid);
         } catch (WktDecodeException e) {
-            LOGGER.warn(String.format("Can't parse srid %d (%s). \n%s", srid, tokens[2], e.getMessage()));
+            LOGGER.warn(String.format("Can't parse srid %d (%s). \n%s", srid, wkt, e.getMessage()));
         } catch (RuntimeException e) {
-            LOGGER.warn(String.format("Can't parse srid %d (%s) -- inconsistent coordinate system. \n%s", srid, tokens[2], e.getMessage()));
+            LOGGER.warn(String.format("Can't parse srid %d (%s) -- inconsistent coordinate system. \n%s", srid, wkt, e.getMessage()));
         }
+        return null;
     }
 
     /**
@@ -124,7 +252,7 @@ public class CrsRegistry {
     public static CoordinateReferenceSystem<?> getCoordinateReferenceSystem(CrsId crsId,
                                                                             CoordinateReferenceSystem<?>
                                                                                            fallback) {
-        CoordinateReferenceSystem<?> crs = crsMap.get(crsId);
+        CoordinateReferenceSystem<?> crs = lookup(crsId);
         return crs != null ? crs : fallback;
     }
 
@@ -160,7 +288,8 @@ public class CrsRegistry {
      * @return the current (existing or computed) coordinate reference system identified by the specified {@code CrsId} identifier
      */
     public static CoordinateReferenceSystem<?> computeIfAbsent(CrsId crsId, Function<? super CrsId, ? extends CoordinateReferenceSystem<? extends Position>> buildCrs) {
-        return crsMap.computeIfAbsent(crsId, buildCrs);
+        CoordinateReferenceSystem<?> crs = lookup(crsId);
+        return crs != null ? crs : crsMap.computeIfAbsent(crsId, buildCrs);
     }
 
     /**
@@ -190,11 +319,12 @@ public class CrsRegistry {
      * @return true iff the registry has a corresponding {@code CoordinateReferenceSystem}
      */
     public static boolean hasCoordinateReferenceSystemForEPSG(int epsgCode) {
-        return crsMap.containsKey(CrsId.valueOf(epsgCode));
+        CrsId crsId = CrsId.valueOf(epsgCode);
+        return crsMap.containsKey(crsId) || lookup(crsId) != null;
     }
 
     public static Geographic2DCoordinateReferenceSystem getGeographicCoordinateReferenceSystemForEPSG(int epsgCode) {
-        CoordinateReferenceSystem<? extends Position> crs = crsMap.get(CrsId.valueOf(epsgCode));
+        CoordinateReferenceSystem<? extends Position> crs = lookup(CrsId.valueOf(epsgCode));
         if (crs == null) return null;
         if (crs.getPositionClass().equals(G2D.class)) {
             return (Geographic2DCoordinateReferenceSystem) crs;
@@ -203,7 +333,7 @@ public class CrsRegistry {
     }
 
     public static ProjectedCoordinateReferenceSystem getProjectedCoordinateReferenceSystemForEPSG(int epsgCode) {
-        CoordinateReferenceSystem<? extends Position> crs = crsMap.get(CrsId.valueOf(epsgCode));
+        CoordinateReferenceSystem<? extends Position> crs = lookup(CrsId.valueOf(epsgCode));
         if (crs == null) return null;
         if (crs.getPositionClass().equals(C2D.class)) {
             return (ProjectedCoordinateReferenceSystem) crs;
@@ -221,7 +351,7 @@ public class CrsRegistry {
      */
     public static CrsId getCrsIdForEPSG(int epsgCode) {
         CrsId crsId = CrsId.valueOf(epsgCode);
-        return crsMap.containsKey(crsId) ? crsId : null;
+        return hasCoordinateReferenceSystemForEPSG(epsgCode) ? crsId : null;
     }
 
 }
@@ -0,0 +1,165 @@
+package org.geolatte.geom.crs.trans;
+
+import java.util.Arrays;
+
+/**
+ * An affine operation in the 3D (geocentric) domain.
+ *
+ * <p>Instances are created by {@link ConcatenatedOperation} to replace a run of adjacent Helmert transformations
+ * ({@link PositionVectorTransformation}, {@link CoordinateFrameRotation}) by a single matrix multiplication. The
+ * forward and reverse directions each have their own matrix, so that the fused operation computes the same results
+ * as the steps it replaces, in both directions.</p>
+ *
+ * <p>The matrices are stored row-major as 3 x 4 arrays, with the translation in the last column.</p>
+ */
+class AffineOperation implements CoordinateOperation {
+
+    private static final double[] IDENTITY = {1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0};
+
+    /**
+     * The magnitude of the unit vectors used to determine the matrix of an operation. It is of the order of the
+     * geocentric coordinates, which keeps the rounding errors in the derived matrix well below those of the
+     * operation itself.
+     */
+    private static final double PROBE = 1 << 20;
+
+    private final double[] forward;
+    private final double[] reverse;
+
+    private AffineOperation(double[] forward, double[] reverse) {
+        this.forward = forward;
+        this.reverse = reverse;
+    }
+
+    /**
+     * Returns true if the specified operation is (or wraps) an affine operation, that can be converted by
+     * {@link #from(CoordinateOperation)}.
+     */
+    static boolean isAffine(CoordinateOperation operation) {
+        return operation instanceof PositionVectorTransformation
+                || operation instanceof CoordinateFrameRotation
+                || operation instanceof AffineOperation;
+    }
+
+    /**
+     * Determines the forward and reverse matrices of an affine operation, by applying it to the origin and to the
+     * unit vectors.
+     *
+     * @param operation an operation that is affine in both directions
+     * @return an equivalent <code>AffineOperation</code>
+     */
+    static AffineOperation from(CoordinateOperation operation) {
+        if (operation instanceof AffineOperation) {
+            return (AffineOperation) operation;
+        }
+        double[] forward = new double[12];
+        double[] reverse = new double[12];
+        double[] in = new double[3];
+        double[] origin = new double[3];
+        double[] out = new double[3];
+        operation.forward(in, origin);
+        operation.reverse(in, out);
+        for (int i = 0; i < 3; i++) {
+            forward[4 * i + 3] = origin[i];
+            reverse[4 * i + 3] = out[i];
+        }
+        for (int j = 0; j < 3; j++) {
+            Arrays.fill(in, 0);
+            in[j] = PROBE;
+            operation.forward(in, out);
+            for (int i = 0; i < 3; i++) {
+                forward[4 * i + j] = (out[i] - forward[4 * i + 3]) / PROBE;
+            }
+            operation.reverse(in, out);
+            for (int i = 0; i < 3; i++) {
+                reverse[4 * i + j] = (out[i] - reverse[4 * i + 3]) / PROBE;
+            }
+        }
+        return new AffineOperation(forward, reverse);
+    }
+
+    /**
+     * Returns the operation that first applies this operation, and then the specified operation.
+     */
+    AffineOperation andThen(AffineOperation next) {
+        return new AffineOperation(compose(next.forward, this.forward), compose(this.reverse, next.reverse));
+    }
+
+    /**
+     * Returns the operation with the forward and reverse directions swapped.
+     */
+    AffineOperation inverse() {
+        return new AffineOperation(reverse, forward);
+    }
+
+    boolean isIdentity() {
+        return Arrays.equals(forward, IDENTITY) && Arrays.equals(reverse, IDENTITY);
+    }
+
+    /**
+     * Returns the matrix of the affine map that first applies <code>first</code> and then <code>second</code>.
+     */
+    private static double[] compose(double[] second, double[] first) {
+        double[] result = new double[12];
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 4; j++) {
+                double v = j == 3 ? second[4 * i + 3] : 0;
+                for (int k = 0; k < 3; k++) {
+                    v += second[4 * i + k] * first[4 * k + j];
+                }
+                result[4 * i + j] = v;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isReversible() {
+        return true;
+    }
+
+    @Override
+    public int inCoordinateDimension() {
+        return 3;
+    }
+
+    @Override
+    public int outCoordinateDimension() {
+        return 3;
+    }
+
+    @Override
+    public void forward(double[] inCoordinate, double[] outCoordinate) {
+        apply(forward, inCoordinate, 0, 0, outCoordinate, 0, 0, 1);
+    }
+
+    @Override
+    public void reverse(double[] inCoordinate, double[] outCoordinate) {
+        apply(reverse, inCoordinate, 0, 0, outCoordinate, 0, 0, 1);
+    }
+
+    @Override
+    public void forward(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        apply(forward, src, srcOff, srcStride, dst, dstOff, dstStride, count);
+    }
+
+    @Override
+    public void reverse(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        apply(reverse, src, srcOff, srcStride, dst, dstOff, dstStride, count);
+    }
+
+    private static void apply(double[] m, double[] src, int srcOff, int srcStride, double[] dst, int dstOff,
+                              int dstStride, int count) {
+        double m00 = m[0], m01 = m[1], m02 = m[2], m03 = m[3];
+        double m10 = m[4], m11 = m[5], m12 = m[6], m13 = m[7];
+        double m20 = m[8], m21 = m[9], m22 = m[10], m23 = m[11];
+        for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+            double x = src[s];
+            double y = src[s + 1];
+            double z = src[s + 2];
+            dst[d] = m00 * x + m01 * y + m02 * z + m03;
+            dst[d + 1] = m10 * x + m11 * y + m12 * z + m13;
+            dst[d + 2] = m20 * x + m21 * y + m22 * z + m23;
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package org.geolatte.geom.crs.trans;
+
+import org.geolatte.geom.Envelope;
+import org.geolatte.geom.Position;
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+
+import java.util.Arrays;
+
+/**
+ * A {@code TransformOperation} that approximates the forward transformation of another operation within an extent,
+ * by bilinear interpolation on an adaptive grid.
+ *
+ * <p>The grid is a quadtree over the extent. A cell is subdivided as long as a bound on its interpolation error
+ * exceeds the maximum error. Cells that do not meet it at the maximum depth (e.g. near a singularity of the
+ * projection), and positions outside the extent, are transformed with the exact operation.</p>
+ *
+ * <p>The error of bilinear interpolation in a cell of width h<sub>x</sub> and height h<sub>y</sub> is at most
+ * h<sub>x</sub><sup>2</sup>/8 max|f<sub>xx</sub>| + h<sub>y</sub><sup>2</sup>/8 max|f<sub>yy</sub>| for each output
+ * coordinate f. The second derivatives are estimated from the second differences of the exact positions at a lattice
+ * of 5 x 5 points in the cell. As a margin for their variation between the lattice points, twice the largest change
+ * between adjacent second differences is added to the largest second difference. The bound is therefore conservative for the
+ * transformations between reference systems, which are smooth within the extent of the grid cells, but not for an
+ * operation whose curvature varies faster than the lattice resolves.</p>
+ *
+ * <p>The interpolation error decreases with the square of the cell size, so that a ten times smaller maximum error
+ * requires about ten times as many cells.</p>
+ *
+ * <p>The errors are measured as the Euclidean distance in the units of the target reference system. The reverse
+ * transformation is not approximated.</p>
+ *
+ * <p>The grid is built when the instance is created. Instances are immutable and thread-safe, provided that the
+ * exact operation is.</p>
+ *
+ * @param <P> the {@code Position} type of the source reference system
+ * @param <Q> the {@code Position} type of the target reference system
+ */
+public class ApproximateTransformOperation<P extends Position, Q extends Position> implements TransformOperation<P, Q> {
+
+    /**
+     * The default maximum depth of the grid, i.e. the finest cells are 1/256th of the extent in each direction. This
+     * limits the grid to 65536 cells.
+     */
+    public static final int DEFAULT_MAX_DEPTH = 8;
+
+    // the number of points along each side of the lattice at which the exact operation is evaluated for a cell
+    private static final int LATTICE = 5;
+
+    // the interpolation error bound per unit of second difference at the lattice spacing, i.e. (LATTICE - 1)^2 / 8
+    private static final double ERROR_PER_SECOND_DIFFERENCE = (LATTICE - 1) * (LATTICE - 1) / 8.0;
+
+    // the child index of leaves that are transformed with the exact operation
+    private static final int EXACT = -1;
+
+    // the child index of leaves that are interpolated
+    private static final int LEAF = 0;
+
+    final private TransformOperation<P, Q> exact;
+    final private Envelope<P> extent;
+    final private double maxError;
+    final private int maxDepth;
+    final private Grid grid;
+
+    /**
+     * Creates an instance with a grid of the default maximum depth.
+     *
+     * @param exact    the operation to approximate
+     * @param extent   the extent, in the source reference system, in which positions are interpolated
+     * @param maxError the maximum error, in the units of the target reference system, of the interpolated positions
+     */
+    public ApproximateTransformOperation(TransformOperation<P, Q> exact, Envelope<P> extent, double maxError) {
+        this(exact, extent, maxError, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param exact    the operation to approximate
+     * @param extent   the extent, in the source reference system, in which positions are interpolated
+     * @param maxError the maximum error, in the units of the target reference system
+     * @param maxDepth the maximum number of times the extent is subdivided
+     */
+    public ApproximateTransformOperation(TransformOperation<P, Q> exact, Envelope<P> extent, double maxError, int maxDepth) {
+        if (exact == null || extent == null) {
+            throw new IllegalArgumentException("No null parameters accepted");
+        }
+        if (extent.isEmpty()) {
+            throw new IllegalArgumentException("Extent must not be empty");
+        }
+        if (!(maxError > 0)) {
+            throw new IllegalArgumentException("Maximum error must be positive");
+        }
+        if (maxDepth < 0 || maxDepth > 20) {
+            throw new IllegalArgumentException("Maximum depth must be between 0 and 20");
+        }
+        CoordinateOperation op = exact.getOperation();
+        if (op.inCoordinateDimension() != 2 || op.outCoordinateDimension() != 2) {
+            throw new IllegalArgumentException("Only operations between 2D coordinates can be approximated");
+        }
+        this.exact = exact;
+        this.extent = extent;
+        this.maxError = maxError;
+        this.maxDepth = maxDepth;
+        this.grid = new Grid(op, extent, maxError, maxDepth);
+    }
+
+    @Override
+    public CoordinateReferenceSystem<P> getSource() {
+        return exact.getSource();
+    }
+
+    @Override
+    public CoordinateReferenceSystem<Q> getTarget() {
+        return exact.getTarget();
+    }
+
+    @Override
+    public CoordinateOperation getOperation() {
+        return grid;
+    }
+
+    /**
+     * Returns the exact reverse operation.
+     */
+    @Override
+    public TransformOperation<Q, P> reversed() {
+        return exact.reversed();
+    }
+
+    /**
+     * Returns the operation that is approximated.
+     */
+    public TransformOperation<P, Q> getExactOperation() {
+        return exact;
+    }
+
+    public Envelope<P> getExtent() {
+        return extent;
+    }
+
+    /**
+     * Returns the maximum error of the interpolated positions, in the units of the target reference system.
+     */
+    public double getMaxError() {
+        return maxError;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Returns the number of cells in which positions are interpolated.
+     */
+    public int getInterpolatedCellCount() {
+        return grid.count(LEAF);
+    }
+
+    /**
+     * Returns the number of cells in which positions are transformed with the exact operation.
+     */
+    public int getExactCellCount() {
+        return grid.count(EXACT);
+    }
+
+    /**
+     * Returns the bounds of the cells in which positions are interpolated, as the minimum x, minimum y, maximum x and
+     * maximum y of each cell in turn.
+     */
+    double[] getInterpolatedCellBounds() {
+        double[] bounds = new double[4 * grid.count(LEAF)];
+        grid.collect(0, grid.minX, grid.minY, grid.maxX, grid.maxY, bounds, 0);
+        return bounds;
+    }
+
+    /**
+     * The quadtree, stored in flat arrays. For each node, {@code children} holds the index of the first of its four
+     * children (ordered lower-left, lower-right, upper-left, upper-right), or {@code LEAF} or {@code EXACT}. For the
+     * interpolated leaves, {@code coefficients} holds the bilinear coefficients {@code a + b u + c v + d u v} of both
+     * output coordinates, in terms of the coordinates (u, v) within the cell, which range from 0 to 1.
+     */
+    private static class Grid implements CoordinateOperation {
+
+        final private CoordinateOperation exact;
+        final private double minX;
+        final private double minY;
+        final private double maxX;
+        final private double maxY;
+        final private double scaleX;
+        final private double scaleY;
+        private int[] children;
+        private double[] coefficients;
+        private int size;
+
+        // scratch space for the construction
+        private final double[] lattice = new double[2 * LATTICE * LATTICE];
+        private final double[] transformed = new double[2 * LATTICE * LATTICE];
+
+        Grid(CoordinateOperation exact, Envelope<?> extent, double maxError, int maxDepth) {
+            this.exact = exact;
+            this.minX = extent.lowerLeft().getCoordinate(0);
+            this.minY = extent.lowerLeft().getCoordinate(1);
+            this.maxX = extent.upperRight().getCoordinate(0);
+            this.maxY = extent.upperRight().getCoordinate(1);
+            this.scaleX = maxX > minX ? 1 / (maxX - minX) : 0;
+            this.scaleY = maxY > minY ? 1 / (maxY - minY) : 0;
+            this.children = new int[64];
+            this.coefficients = new double[8 * 64];
+            this.size = 1;
+            build(0, minX, minY, maxX, maxY, maxError, maxDepth);
+            this.children = Arrays.copyOf(children, size);
+            this.coefficients = Arrays.copyOf(coefficients, 8 * size);
+        }
+
+        private void build(int node, double x0, double y0, double x1, double y1, double maxError, int depth) {
+            int n = LATTICE - 1;
+            for (int j = 0, o = 0; j <= n; j++) {
+                for (int i = 0; i <= n; i++, o += 2) {
+                    lattice[o] = i == n ? x1 : x0 + i * (x1 - x0) / n;
+                    lattice[o + 1] = j == n ? y1 : y0 + j * (y1 - y0) / n;
+                }
+            }
+            exact.forward(lattice, 0, 2, transformed, 0, 2, LATTICE * LATTICE);
+
+            int c = 8 * node;
+            for (int k = 0; k < 2; k++) {
+                double f00 = transformed[k];
+                double f10 = transformed[2 * n + k];
+                double f01 = transformed[2 * n * LATTICE + k];
+                double f11 = transformed[2 * (n * LATTICE + n) + k];
+                coefficients[c + 4 * k] = f00;
+                coefficients[c + 4 * k + 1] = f10 - f00;
+                coefficients[c + 4 * k + 2] = f01 - f00;
+                coefficients[c + 4 * k + 3] = f11 - f10 - f01 + f00;
+            }
+            double errorX = ERROR_PER_SECOND_DIFFERENCE * (maxSecondDifference(0, 2, 2 * LATTICE)
+                    + maxSecondDifference(0, 2 * LATTICE, 2));
+            double errorY = ERROR_PER_SECOND_DIFFERENCE * (maxSecondDifference(1, 2, 2 * LATTICE)
+                    + maxSecondDifference(1, 2 * LATTICE, 2));
+            // also fails on NaN
+            boolean fits = errorX * errorX + errorY * errorY <= maxError * maxError;
+            if (fits) {
+                children[node] = LEAF;
+                return;
+            }
+            if (depth == 0) {
+                children[node] = EXACT;
+                return;
+            }
+            int first = allocate();
+            children[node] = first;
+            double xm = 0.5 * (x0 + x1);
+            double ym = 0.5 * (y0 + y1);
+            build(first, x0, y0, xm, ym, maxError, depth - 1);
+            build(first + 1, xm, y0, x1, ym, maxError, depth - 1);
+            build(first + 2, x0, ym, xm, y1, maxError, depth - 1);
+            build(first + 3, xm, ym, x1, y1, maxError, depth - 1);
+        }
+
+        /**
+         * Returns the largest absolute second difference of an output coordinate along the lines of the lattice in
+         * one direction, plus twice the largest change between adjacent second differences (along or across the lines).
+         * The offsets are those between successive lattice points along and across the lines. Returns NaN if any
+         * of the exact positions is NaN.
+         */
+        private double maxSecondDifference(int k, int along, int across) {
+            int n = LATTICE - 1;
+            double max = 0;
+            double variation = 0;
+            for (int a = 0; a <= n; a++) {
+                for (int b = 1; b < n; b++) {
+                    int o = a * across + b * along + k;
+                    double d = secondDifference(o, along);
+                    max = Math.max(max, Math.abs(d));
+                    if (b > 1) {
+                        variation = Math.max(variation, Math.abs(d - secondDifference(o - along, along)));
+                    }
+                    if (a > 0) {
+                        variation = Math.max(variation, Math.abs(d - secondDifference(o - across, along)));
+                    }
+                }
+            }
+            return max + 2 * variation;
+        }
+
+        private double secondDifference(int o, int step) {
+            return transformed[o - step] - 2 * transformed[o] + transformed[o + step];
+        }
+
+        private int allocate() {
+            int first = size;
+            size += 4;
+            if (size > children.length) {
+                children = Arrays.copyOf(children, 2 * size);
+                coefficients = Arrays.copyOf(coefficients, 16 * size);
+            }
+            return first;
+        }
+
+        private double interpolate(int c, double u, double v) {
+            return coefficients[c] + coefficients[c + 1] * u + (coefficients[c + 2] + coefficients[c + 3] * u) * v;
+        }
+
+        /**
+         * Stores the bounds of the interpolated leaves below a node, starting at the specified index, and returns the
+         * index after the last stored bound.
+         */
+        int collect(int node, double x0, double y0, double x1, double y1, double[] bounds, int index) {
+            int first = children[node];
+            if (first == LEAF) {
+                bounds[index] = x0;
+                bounds[index + 1] = y0;
+                bounds[index + 2] = x1;
+                bounds[index + 3] = y1;
+                return index + 4;
+            }
+            if (first == EXACT) {
+                return index;
+            }
+            double xm = 0.5 * (x0 + x1);
+            double ym = 0.5 * (y0 + y1);
+            index = collect(first, x0, y0, xm, ym, bounds, index);
+            index = collect(first + 1, xm, y0, x1, ym, bounds, index);
+            index = collect(first + 2, x0, ym, xm, y1, bounds, index);
+            return collect(first + 3, xm, ym, x1, y1, bounds, index);
+        }
+
+        int count(int type) {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (children[i] == type) count++;
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isReversible() {
+            return exact.isReversible();
+        }
+
+        @Override
+        public int inCoordinateDimension() {
+            return 2;
+        }
+
+        @Override
+        public int outCoordinateDimension() {
+            return 2;
+        }
+
+        @Override
+        public void forward(double[] inCoordinate, double[] outCoordinate) {
+            forward(inCoordinate, 0, 0, outCoordinate, 0, 0, 1);
+        }
+
+        @Override
+        public void reverse(double[] inCoordinate, double[] outCoordinate) {
+            exact.reverse(inCoordinate, outCoordinate);
+        }
+
+        @Override
+        public void forward(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+            // the last interpolated leaf, as successive positions (e.g. the vertices of a geometry) tend to be close
+            int leaf = -1;
+            double leafScale = 1;
+            int leafU = 0;
+            int leafV = 0;
+            for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+                double x = src[s];
+                double y = src[s + 1];
+                // also excludes NaN
+                if (!(x >= minX && x <= maxX && y >= minY && y <= maxY)) {
+                    exact.forward(src, s, 0, dst, d, 0, 1);
+                    continue;
+                }
+                // scaling by powers of two is exact, so that the coordinates within a cell do not depend on whether
+                // the cell is found by descending the quadtree or as the last leaf
+                double u = (x - minX) * scaleX;
+                double v = (y - minY) * scaleY;
+                double su = u * leafScale;
+                double sv = v * leafScale;
+                if (leaf >= 0 && (int) su == leafU && (int) sv == leafV) {
+                    u = su - leafU;
+                    v = sv - leafV;
+                } else {
+                    int node = 0;
+                    int first;
+                    int cellU = 0;
+                    int cellV = 0;
+                    double scale = 1;
+                    while ((first = children[node]) > 0) {
+                        u *= 2;
+                        v *= 2;
+                        int cu = u >= 1 ? 1 : 0;
+                        int cv = v >= 1 ? 1 : 0;
+                        u -= cu;
+                        v -= cv;
+                        cellU = 2 * cellU + cu;
+                        cellV = 2 * cellV + cv;
+                        scale *= 2;
+                        node = first + cu + 2 * cv;
+                    }
+                    if (first == EXACT) {
+                        exact.forward(src, s, 0, dst, d, 0, 1);
+                        continue;
+                    }
+                    leaf = node;
+                    leafScale = scale;
+                    leafU = cellU;
+                    leafV = cellV;
+                }
+                int c = 8 * leaf;
+                dst[d] = interpolate(c, u, v);
+                dst[d + 1] = interpolate(c + 4, u, v);
+            }
+        }
+
+        @Override
+        public void reverse(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+            exact.reverse(src, srcOff, srcStride, dst, dstOff, dstStride, count);
+        }
+    }
+}
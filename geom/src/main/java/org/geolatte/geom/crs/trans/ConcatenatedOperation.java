@@ -1,31 +1,158 @@
 package org.geolatte.geom.crs.trans;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
+ * A sequence of {@code CoordinateOperation}s that are applied one after the other.
+ *
+ * <p>The sequence is simplified when it is built: nested concatenations are flattened, identity operations are
+ * dropped, adjacent operations that cancel each other out (e.g. a conversion from geographic to geocentric
+ * coordinates, followed by the reverse conversion for the same ellipsoid) are removed, and adjacent Helmert
+ * transformations are merged into a single {@link AffineOperation}.</p>
+ *
+ * <p>Instances are thread-safe: the intermediate results are kept in buffers that are allocated per call. For the
+ * batch methods, this is one pair of blocks per call, whatever the number of positions. Instances hold no per-thread
+ * state, so nothing is retained after an instance is discarded (e.g. evicted from the
+ * {@link TransformOperationCache}).</p>
+ *
  * Created by Karel Maesen, Geovise BVBA on 21/07/17.
  */
 public class ConcatenatedOperation implements CoordinateOperation {
 
+    /**
+     * The number of positions that are transformed per block in the batch methods. The intermediate results of a
+     * block are kept small enough to stay in the CPU cache.
+     */
+    private static final int BLOCK_SIZE = 256;
+
     final private CoordinateOperation[] coordinateOperations;
-    private double[][] buffers;
+    final private int maxIntermediateDimension;
 
     private ConcatenatedOperation(List<CoordinateOperation> coordinateOperations) {
-        this.coordinateOperations = coordinateOperations.toArray( new CoordinateOperation[coordinateOperations.size()]);
-        setupIntermediateBuffers();
+        List<CoordinateOperation> steps = flatten(coordinateOperations);
+        checkDimensions(steps);
+        List<CoordinateOperation> fused = fuse(steps);
+        if (fused.isEmpty() && !steps.isEmpty()) {
+            fused.add(CoordinateOperations.identity(steps.get(0).inCoordinateDimension()));
+        }
+        this.coordinateOperations = fused.toArray(new CoordinateOperation[0]);
+        int maxDimension = 0;
+        for (int idx = 0; idx < this.coordinateOperations.length - 1; idx++) {
+            maxDimension = Math.max(maxDimension, this.coordinateOperations[idx].outCoordinateDimension());
+        }
+        this.maxIntermediateDimension = maxDimension;
     }
 
-    private void setupIntermediateBuffers(){
-        this.buffers = new double[this.coordinateOperations.length + 1][];
-        for( int idx = 0; idx < coordinateOperations.length-1; idx++) {
-            if (coordinateOperations[idx].outCoordinateDimension() != coordinateOperations[idx+1].inCoordinateDimension()) {
+    private static void checkDimensions(List<CoordinateOperation> steps) {
+        for (int idx = 0; idx < steps.size() - 1; idx++) {
+            if (steps.get(idx).outCoordinateDimension() != steps.get(idx + 1).inCoordinateDimension()) {
                 throw new IllegalArgumentException("Coordinate dimensions don't match at step " + idx);
             }
-            this.buffers[idx+1] =new double[coordinateOperations[idx].outCoordinateDimension()];
         }
     }
 
+    private double[][] newIntermediateBuffers() {
+        double[][] buffers = new double[this.coordinateOperations.length + 1][];
+        for (int idx = 0; idx < coordinateOperations.length - 1; idx++) {
+            buffers[idx + 1] = new double[coordinateOperations[idx].outCoordinateDimension()];
+        }
+        return buffers;
+    }
+
+    private double[][] newIntermediateBlocks(int count) {
+        int size = Math.min(BLOCK_SIZE, count) * maxIntermediateDimension;
+        return new double[][]{new double[size], new double[size]};
+    }
+
+    /**
+     * Replaces nested concatenations by their operations, and unwraps the operations that are applied in the
+     * forward direction.
+     */
+    private static List<CoordinateOperation> flatten(List<CoordinateOperation> operations) {
+        List<CoordinateOperation> result = new ArrayList<>(operations.size());
+        for (CoordinateOperation operation : operations) {
+            boolean reversed = operation instanceof Step && ((Step) operation).direction == Step.REVERSE;
+            CoordinateOperation base = operation instanceof Step ? ((Step) operation).coordinateOperation : operation;
+            if (base instanceof ConcatenatedOperation) {
+                CoordinateOperation[] nested = ((ConcatenatedOperation) base).coordinateOperations;
+                if (reversed) {
+                    for (int idx = nested.length - 1; idx >= 0; idx--) {
+                        result.add(inverse(nested[idx]));
+                    }
+                } else {
+                    for (CoordinateOperation op : nested) {
+                        result.add(op);
+                    }
+                }
+            } else {
+                result.add(reversed ? operation : base);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the operation that applies the specified operation in the other direction.
+     */
+    private static CoordinateOperation inverse(CoordinateOperation operation) {
+        if (operation instanceof Step) {
+            Step step = (Step) operation;
+            return step.direction == Step.REVERSE ? step.coordinateOperation : step;
+        }
+        return new Step(operation, Step.REVERSE);
+    }
+
+    /**
+     * Simplifies a flat list of operations, see the class documentation.
+     */
+    private static List<CoordinateOperation> fuse(List<CoordinateOperation> operations) {
+        List<CoordinateOperation> result = new ArrayList<>(operations.size());
+        for (CoordinateOperation operation : operations) {
+            CoordinateOperation base = baseOf(operation);
+            if (base instanceof CoordinateOperations.IdentityOp) {
+                continue;
+            }
+            if (AffineOperation.isAffine(base)) {
+                AffineOperation affine = AffineOperation.from(base);
+                operation = operation == base ? affine : affine.inverse();
+            }
+            CoordinateOperation previous = result.isEmpty() ? null : result.get(result.size() - 1);
+            if (previous instanceof AffineOperation && operation instanceof AffineOperation) {
+                result.remove(result.size() - 1);
+                operation = ((AffineOperation) previous).andThen((AffineOperation) operation);
+            } else if (previous != null && cancelOut(previous, operation)) {
+                result.remove(result.size() - 1);
+                continue;
+            }
+            if (!(operation instanceof AffineOperation && ((AffineOperation) operation).isIdentity())) {
+                result.add(operation);
+            }
+        }
+        return result;
+    }
+
+    private static CoordinateOperation baseOf(CoordinateOperation operation) {
+        return operation instanceof Step ? ((Step) operation).coordinateOperation : operation;
+    }
+
+    /**
+     * Returns true if applying first and then second is an identity. This is the case when they apply the same
+     * operation in opposite directions, unless the first drops a coordinate that the second can't restore (e.g.
+     * a 3D to 2D conversion, followed by its reverse).
+     */
+    private static boolean cancelOut(CoordinateOperation first, CoordinateOperation second) {
+        boolean firstReversed = first instanceof Step;
+        boolean secondReversed = second instanceof Step;
+        CoordinateOperation base = baseOf(first);
+        if (firstReversed == secondReversed || !base.equals(baseOf(second))) {
+            return false;
+        }
+        return firstReversed ?
+                base.inCoordinateDimension() >= base.outCoordinateDimension() :
+                base.outCoordinateDimension() >= base.inCoordinateDimension();
+    }
+
     @Override
     public boolean isReversible() {
         for(CoordinateOperation s : coordinateOperations ) {
@@ -46,6 +173,11 @@ public class ConcatenatedOperation implements CoordinateOperation {
 
     @Override
     public void forward(double[] inCoordinate, double[] outCoordinate) {
+        if (coordinateOperations.length == 1) {
+            coordinateOperations[0].forward(inCoordinate, outCoordinate);
+            return;
+        }
+        double[][] buffers = newIntermediateBuffers();
         buffers[0] = inCoordinate;
         buffers[buffers.length - 1] = outCoordinate;
         for ( int idx = 0; idx < coordinateOperations.length; idx++ ) {
@@ -56,6 +188,11 @@ public class ConcatenatedOperation implements CoordinateOperation {
 
     @Override
     public void reverse(double[] inCoordinate, double[] outCoordinate) {
+        if (coordinateOperations.length == 1) {
+            coordinateOperations[0].reverse(inCoordinate, outCoordinate);
+            return;
+        }
+        double[][] buffers = newIntermediateBuffers();
         buffers[0] = outCoordinate;
         buffers[buffers.length - 1] = inCoordinate;
         for ( int idx = coordinateOperations.length-1; idx >= 0; idx-- ) {
@@ -64,10 +201,71 @@ public class ConcatenatedOperation implements CoordinateOperation {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The positions are transformed in blocks, step by step, so that each step runs a tight loop over the whole
+     * block.</p>
+     */
+    @Override
+    public void forward(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        int last = coordinateOperations.length - 1;
+        if (last == 0) {
+            coordinateOperations[0].forward(src, srcOff, srcStride, dst, dstOff, dstStride, count);
+            return;
+        }
+        double[][] blocks = newIntermediateBlocks(count);
+        for (int start = 0; start < count; start += BLOCK_SIZE) {
+            int n = Math.min(BLOCK_SIZE, count - start);
+            double[] in = src;
+            int inOff = srcOff + start * srcStride;
+            int inStride = srcStride;
+            for (int idx = 0; idx < last; idx++) {
+                double[] out = blocks[idx % 2];
+                int outStride = coordinateOperations[idx].outCoordinateDimension();
+                coordinateOperations[idx].forward(in, inOff, inStride, out, 0, outStride, n);
+                in = out;
+                inOff = 0;
+                inStride = outStride;
+            }
+            coordinateOperations[last].forward(in, inOff, inStride, dst, dstOff + start * dstStride, dstStride, n);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The positions are transformed in blocks, step by step, so that each step runs a tight loop over the whole
+     * block.</p>
+     */
+    @Override
+    public void reverse(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        int last = coordinateOperations.length - 1;
+        if (last == 0) {
+            coordinateOperations[0].reverse(src, srcOff, srcStride, dst, dstOff, dstStride, count);
+            return;
+        }
+        double[][] blocks = newIntermediateBlocks(count);
+        for (int start = 0; start < count; start += BLOCK_SIZE) {
+            int n = Math.min(BLOCK_SIZE, count - start);
+            double[] in = src;
+            int inOff = srcOff + start * srcStride;
+            int inStride = srcStride;
+            for (int idx = last; idx > 0; idx--) {
+                double[] out = blocks[idx % 2];
+                int outStride = coordinateOperations[idx].inCoordinateDimension();
+                coordinateOperations[idx].reverse(in, inOff, inStride, out, 0, outStride, n);
+                in = out;
+                inOff = 0;
+                inStride = outStride;
+            }
+            coordinateOperations[0].reverse(in, inOff, inStride, dst, dstOff + start * dstStride, dstStride, n);
+        }
+    }
 
     public static class Builder {
 
-        private List<CoordinateOperation> coordinateOperations = new LinkedList<>();
+        private final List<CoordinateOperation> coordinateOperations = new ArrayList<>();
 
         public Builder forward(CoordinateOperation t) {
             coordinateOperations.add( new Step( t, Step.FORWARD));
@@ -137,6 +335,24 @@ public class ConcatenatedOperation implements CoordinateOperation {
                 this.coordinateOperation.forward( inCoordinate, outCoordinate);
             }
         }
+
+        @Override
+        public void forward(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+            if(direction == FORWARD) {
+                this.coordinateOperation.forward(src, srcOff, srcStride, dst, dstOff, dstStride, count);
+            } else {
+                this.coordinateOperation.reverse(src, srcOff, srcStride, dst, dstOff, dstStride, count);
+            }
+        }
+
+        @Override
+        public void reverse(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+            if(direction == FORWARD) {
+                this.coordinateOperation.reverse(src, srcOff, srcStride, dst, dstOff, dstStride, count);
+            } else {
+                this.coordinateOperation.forward(src, srcOff, srcStride, dst, dstOff, dstStride, count);
+            }
+        }
     }
 
 }
@@ -17,6 +17,61 @@ public interface CoordinateOperation {
 
     void reverse(double[] inCoordinate, double[] outCoordinate);
 
+    /**
+     * Transforms a batch of coordinates in the forward direction.
+     *
+     * <p>The coordinates of position <code>i</code> are read from <code>src</code>, starting at index
+     * <code>srcOff + i * srcStride</code>, and its transformed coordinates are written to <code>dst</code> starting at
+     * <code>dstOff + i * dstStride</code>. The strides must be at least the input, resp. output coordinate dimension
+     * of this operation; any additional coordinates in the destination are left untouched. Source and destination
+     * may be the same array, provided that offsets and strides are equal.</p>
+     *
+     * <p>The default implementation transforms the positions one by one. Implementations are encouraged to override
+     * this with a tight loop.</p>
+     *
+     * @param src       the source coordinates
+     * @param srcOff    the index in src of the first source coordinate
+     * @param srcStride the number of array elements between successive source positions
+     * @param dst       the destination array
+     * @param dstOff    the index in dst of the first destination coordinate
+     * @param dstStride the number of array elements between successive destination positions
+     * @param count     the number of positions to transform
+     */
+    default void forward(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        double[] in = new double[inCoordinateDimension()];
+        double[] out = new double[outCoordinateDimension()];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(src, srcOff + i * srcStride, in, 0, in.length);
+            forward(in, out);
+            System.arraycopy(out, 0, dst, dstOff + i * dstStride, out.length);
+        }
+    }
+
+    /**
+     * Transforms a batch of coordinates in the reverse direction.
+     *
+     * <p>The array layout is as for {@link #forward(double[], int, int, double[], int, int, int)}, except that the
+     * source coordinates have the output coordinate dimension, and the destination coordinates the input
+     * coordinate dimension, of this operation.</p>
+     *
+     * @param src       the source coordinates
+     * @param srcOff    the index in src of the first source coordinate
+     * @param srcStride the number of array elements between successive source positions
+     * @param dst       the destination array
+     * @param dstOff    the index in dst of the first destination coordinate
+     * @param dstStride the number of array elements between successive destination positions
+     * @param count     the number of positions to transform
+     */
+    default void reverse(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        double[] in = new double[outCoordinateDimension()];
+        double[] out = new double[inCoordinateDimension()];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(src, srcOff + i * srcStride, in, 0, in.length);
+            reverse(in, out);
+            System.arraycopy(out, 0, dst, dstOff + i * dstStride, out.length);
+        }
+    }
+
     /**
      * Creates a new {@code CoordinateOperation} from this instance by appending and the specified instance in the forward direction;
      *
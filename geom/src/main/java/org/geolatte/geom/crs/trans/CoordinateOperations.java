@@ -24,12 +24,23 @@ public class CoordinateOperations {
      * @return a Transformation conforming to EPSG method 9606
      */
     static public CoordinateOperation positionVectorTransformation2D(GeographicCoordinateReferenceSystem<G2D> source, GeographicCoordinateReferenceSystem<G2D> target) {
+        return positionVectorTransformation2D(source, target, MathMode.STRICT);
+    }
+
+    /**
+     * Returns the Position Vector transformation for the geographic 2D domain, using the specified arithmetic for the
+     * conversions between geographic and geocentric coordinates.
+     *
+     * @return a Transformation conforming to EPSG method 9606
+     * @see #positionVectorTransformation2D(GeographicCoordinateReferenceSystem, GeographicCoordinateReferenceSystem)
+     */
+    static public CoordinateOperation positionVectorTransformation2D(GeographicCoordinateReferenceSystem<G2D> source, GeographicCoordinateReferenceSystem<G2D> target, MathMode mathMode) {
         CoordinateOperation datumTransformation = positionVectorTransformation(source.getDatum(), target.getDatum());
             return new ConcatenatedOperation.Builder()
                     .reverse(new Geographic3DTo2DConversion())
-                    .forward(new GeographicToGeocentricConversion(source))
+                    .forward(new GeographicToGeocentricConversion(source, mathMode))
                     .forward(datumTransformation)
-                    .reverse(new GeographicToGeocentricConversion(target))
+                    .reverse(new GeographicToGeocentricConversion(target, mathMode))
                     .forward(new Geographic3DTo2DConversion())
                     .build();
 
@@ -45,11 +56,22 @@ public class CoordinateOperations {
      * @return a Transformation conforming to EPSG method 1037
      */
     static public CoordinateOperation positionVectorTransformation3D(GeographicCoordinateReferenceSystem<G3D> source, GeographicCoordinateReferenceSystem<G3D> target) {
+        return positionVectorTransformation3D(source, target, MathMode.STRICT);
+    }
+
+    /**
+     * Returns the Position Vector transformation for the geographic 3D domain, using the specified arithmetic for the
+     * conversions between geographic and geocentric coordinates.
+     *
+     * @return a Transformation conforming to EPSG method 1037
+     * @see #positionVectorTransformation3D(GeographicCoordinateReferenceSystem, GeographicCoordinateReferenceSystem)
+     */
+    static public CoordinateOperation positionVectorTransformation3D(GeographicCoordinateReferenceSystem<G3D> source, GeographicCoordinateReferenceSystem<G3D> target, MathMode mathMode) {
         CoordinateOperation datumTransformation = positionVectorTransformation(source.getDatum(), target.getDatum());
         return new ConcatenatedOperation.Builder()
-                .forward(new GeographicToGeocentricConversion(source))
+                .forward(new GeographicToGeocentricConversion(source, mathMode))
                 .forward(datumTransformation)
-                .reverse(new GeographicToGeocentricConversion(target))
+                .reverse(new GeographicToGeocentricConversion(target, mathMode))
                 .build();
     }
 
@@ -87,6 +109,19 @@ public class CoordinateOperations {
     }
 
     static public <P extends Position, Q extends Position> CoordinateOperation transform(CoordinateReferenceSystem<P> source, CoordinateReferenceSystem<Q> target) {
+        return transform(source, target, MathMode.STRICT);
+    }
+
+    /**
+     * Creates a transformation from source to target CRS's, using the specified arithmetic.
+     *
+     * @param source   the source CRS
+     * @param target   the target CRS
+     * @param mathMode the arithmetic to use
+     * @return a CoordinateOperation whose forward operation transforms source to target
+     * @throws UnsupportedTransformException when no transform could be determined
+     */
+    static public <P extends Position, Q extends Position> CoordinateOperation transform(CoordinateReferenceSystem<P> source, CoordinateReferenceSystem<Q> target, MathMode mathMode) {
         if (source == null || target == null) {
             throw new IllegalArgumentException("No null parameters accepted");
         }
@@ -95,7 +130,7 @@ public class CoordinateOperations {
 
         if (source instanceof ProjectedCoordinateReferenceSystem) {
             ProjectedCoordinateReferenceSystem projectedSource = (ProjectedCoordinateReferenceSystem)source;
-            builder.reverse( Projections.buildFrom(projectedSource) ); // "unproject" to datum
+            builder.reverse( Projections.buildFrom(projectedSource, mathMode) ); // "unproject" to datum
             sourceGeodetic = projectedSource.getGeographicCoordinateSystem();
         } else if (source instanceof GeographicCoordinateReferenceSystem) {
             sourceGeodetic = ((GeographicCoordinateReferenceSystem)source);
@@ -107,14 +142,14 @@ public class CoordinateOperations {
         if (target instanceof GeographicCoordinateReferenceSystem) {
             targetGeodetic = ((GeographicCoordinateReferenceSystem) target);
             if (!sourceGeodetic.equals(targetGeodetic)) {
-                builder.forward(positionVectorTransformation2D(sourceGeodetic, targetGeodetic));
+                builder.forward(positionVectorTransformation2D(sourceGeodetic, targetGeodetic, mathMode));
             }
         } else if (target instanceof ProjectedCoordinateReferenceSystem) {
             ProjectedCoordinateReferenceSystem projectedTarget = (ProjectedCoordinateReferenceSystem)target;
             targetGeodetic = projectedTarget.getGeographicCoordinateSystem();
-            CoordinateOperation forwardOp = Projections.buildFrom(projectedTarget);// "project" from datum
+            CoordinateOperation forwardOp = Projections.buildFrom(projectedTarget, mathMode);// "project" from datum
             if (!sourceGeodetic.equals(targetGeodetic)) {
-                builder.forward(positionVectorTransformation2D(sourceGeodetic, targetGeodetic));
+                builder.forward(positionVectorTransformation2D(sourceGeodetic, targetGeodetic, mathMode));
             }
             builder.forward(forwardOp);
         } else {
@@ -129,7 +164,7 @@ public class CoordinateOperations {
         return new IdentityOp(dim);
     }
 
-    private static class IdentityOp implements CoordinateOperation{
+    static class IdentityOp implements CoordinateOperation{
         final private int dimension;
         IdentityOp(int dimension){
             this.dimension = dimension;
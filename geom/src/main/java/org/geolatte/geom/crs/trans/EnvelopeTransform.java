@@ -3,33 +3,190 @@ package org.geolatte.geom.crs.trans;
 import org.geolatte.geom.Envelope;
 import org.geolatte.geom.Position;
 import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.geolatte.geom.crs.GeographicCoordinateReferenceSystem;
 
 /**
+ * Transforms {@code Envelope}s.
+ *
+ * <p>The result covers the transformed area. Each edge is divided in a number of segments, and the start and the
+ * midpoint of all segments are transformed in a single batch. Within each segment, the transformed edge is
+ * approximated by the parabola through these points and the start of the next segment, so that the bulge of curved
+ * edges is covered. (The extremes of a smooth transformation of the envelope lie on its boundary, unless it
+ * contains a pole.)</p>
+ *
+ * <p>When the result is in a geographic reference system, the longitude range is extended to [-180, 180] if the
+ * boundary crosses the antimeridian, and the latitude range is extended to the pole (and the longitude range to
+ * [-180, 180]) if the envelope contains a pole.</p>
+ *
  * Created by Karel Maesen, Geovise BVBA on 2019-03-28.
  */
 public class EnvelopeTransform<P extends Position, Q extends Position> {
 
+    /**
+     * The default number of segments in which each edge is divided.
+     */
+    public static final int DEFAULT_DENSIFICATION = 4;
+
     final private TransformOperation<P,Q> operation;
+    final private int densification;
 
     public EnvelopeTransform(TransformOperation<P, Q> operation) {
-        this.operation = operation;
+        this(operation, DEFAULT_DENSIFICATION);
+    }
 
+    /**
+     * Creates an instance.
+     *
+     * @param operation     the operation to apply
+     * @param densification the number of segments in which each edge is divided
+     */
+    public EnvelopeTransform(TransformOperation<P, Q> operation, int densification) {
+        if (densification < 1) {
+            throw new IllegalArgumentException("Densification must be at least 1");
+        }
+        this.operation = operation;
+        this.densification = densification;
     }
 
     public Envelope<Q> forward(Envelope<P> envelope) {
-        P ll = envelope.lowerLeft();
-        P ur = envelope.upperRight();
-        Q tll = operation.forward(ll);
-        Q tur = operation.forward(ur);
-        return new Envelope<>(tll, tur, operation.getTarget());
+        return transform(envelope, operation.getSource(), operation.getTarget(), true);
     }
 
     public Envelope<P> reverse(Envelope<Q> envelope) {
-        Q ll = envelope.lowerLeft();
-        Q ur = envelope.upperRight();
-        P tll = operation.reverse(ll);
-        P tur = operation.reverse(ur);
-        return new Envelope<>(tll, tur, operation.getSource());
+        return transform(envelope, operation.getTarget(), operation.getSource(), false);
+    }
+
+    private <S extends Position, T extends Position> Envelope<T> transform(Envelope<S> envelope,
+                                                                            CoordinateReferenceSystem<S> sourceCrs,
+                                                                            CoordinateReferenceSystem<T> targetCrs,
+                                                                            boolean forward) {
+        if (envelope.isEmpty()) {
+            return new Envelope<>(targetCrs);
+        }
+        int inDim = sourceCrs.getCoordinateDimension();
+        int outDim = targetCrs.getCoordinateDimension();
+        int count = 8 * densification;
+        double[] src = sampleBoundary(envelope, inDim);
+        double[] dst = new double[count * outDim];
+        apply(forward, src, inDim, dst, outDim, count);
+
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        boolean geographic = targetCrs instanceof GeographicCoordinateReferenceSystem;
+        boolean crossesAntimeridian = false;
+        for (int i = 0; i < count; i += 2) {
+            int start = i * outDim;
+            int mid = start + outDim;
+            int end = (i + 2) % count * outDim;
+            if (geographic && (Math.abs(dst[mid] - dst[start]) > 180 || Math.abs(dst[end] - dst[mid]) > 180)) {
+                crossesAntimeridian = true;
+            }
+            // NaN for points outside the domain of the operation
+            if (Double.isNaN(dst[start]) || Double.isNaN(dst[start + 1])) continue;
+            minX = Math.min(minX, dst[start]);
+            maxX = Math.max(maxX, dst[start]);
+            minY = Math.min(minY, dst[start + 1]);
+            maxY = Math.max(maxY, dst[start + 1]);
+            double vx = vertex(dst[start], dst[mid], dst[end]);
+            double vy = vertex(dst[start + 1], dst[mid + 1], dst[end + 1]);
+            if (!Double.isNaN(vx)) {
+                minX = Math.min(minX, vx);
+                maxX = Math.max(maxX, vx);
+            }
+            if (!Double.isNaN(vy)) {
+                minY = Math.min(minY, vy);
+                maxY = Math.max(maxY, vy);
+            }
+        }
+        if (geographic) {
+            if (contains(envelope, pole(90, forward, inDim, outDim))) {
+                maxY = 90;
+                crossesAntimeridian = true;
+            }
+            if (contains(envelope, pole(-90, forward, inDim, outDim))) {
+                minY = -90;
+                crossesAntimeridian = true;
+            }
+            if (crossesAntimeridian) {
+                minX = -180;
+                maxX = 180;
+            }
+        }
+        return new Envelope<>(minX, minY, maxX, maxY, targetCrs);
+    }
+
+    /**
+     * Returns the positions on the boundary of the envelope, going counter-clockwise from the lower-left corner. Each
+     * segment is represented by its start and its midpoint.
+     */
+    private double[] sampleBoundary(Envelope<?> envelope, int dim) {
+        double minX = envelope.lowerLeft().getCoordinate(0);
+        double minY = envelope.lowerLeft().getCoordinate(1);
+        double maxX = envelope.upperRight().getCoordinate(0);
+        double maxY = envelope.upperRight().getCoordinate(1);
+        int n = 2 * densification;
+        double dx = (maxX - minX) / n;
+        double dy = (maxY - minY) / n;
+        double[] coordinates = new double[4 * n * dim];
+        int o = 0;
+        for (int i = 0; i < n; i++, o += dim) {
+            coordinates[o] = minX + i * dx;
+            coordinates[o + 1] = minY;
+        }
+        for (int i = 0; i < n; i++, o += dim) {
+            coordinates[o] = maxX;
+            coordinates[o + 1] = minY + i * dy;
+        }
+        for (int i = 0; i < n; i++, o += dim) {
+            coordinates[o] = maxX - i * dx;
+            coordinates[o + 1] = maxY;
+        }
+        for (int i = 0; i < n; i++, o += dim) {
+            coordinates[o] = minX;
+            coordinates[o + 1] = maxY - i * dy;
+        }
+        return coordinates;
+    }
+
+    /**
+     * Returns the extreme value of the parabola through the values at the start, the midpoint and the end of a
+     * segment, if that extreme lies within the segment, or else the value at the midpoint. This covers the bulge of
+     * curved edges between the sample points.
+     */
+    private static double vertex(double start, double mid, double end) {
+        double b = 4 * mid - 3 * start - end;
+        double c = 2 * start + 2 * end - 4 * mid;
+        double t = -b / (2 * c);
+        return t > 0 && t < 1 ? start + b * t + c * t * t : mid;
+    }
+
+    /**
+     * Returns the coordinates of the pole at the specified latitude (in the target reference system) in the source
+     * reference system.
+     */
+    private double[] pole(double latitude, boolean forward, int sourceDim, int targetDim) {
+        double[] pole = new double[targetDim];
+        pole[1] = latitude;
+        double[] result = new double[sourceDim];
+        apply(!forward, pole, targetDim, result, sourceDim, 1);
+        return result;
+    }
+
+    private void apply(boolean forward, double[] src, int srcDim, double[] dst, int dstDim, int count) {
+        if (forward) {
+            operation.getOperation().forward(src, 0, srcDim, dst, 0, dstDim, count);
+        } else {
+            operation.getOperation().reverse(src, 0, srcDim, dst, 0, dstDim, count);
+        }
+    }
+
+    private static boolean contains(Envelope<?> envelope, double[] coordinates) {
+        return coordinates[0] >= envelope.lowerLeft().getCoordinate(0)
+                && coordinates[0] <= envelope.upperRight().getCoordinate(0)
+                && coordinates[1] >= envelope.lowerLeft().getCoordinate(1)
+                && coordinates[1] <= envelope.upperRight().getCoordinate(1);
     }
 
 }
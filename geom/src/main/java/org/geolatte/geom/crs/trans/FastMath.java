@@ -0,0 +1,147 @@
+package org.geolatte.geom.crs.trans;
+
+/**
+ * Polynomial approximations of trigonometric functions, for the {@link MathMode#FAST} coordinate operations.
+ *
+ * <p>The argument is reduced to [-&pi;/4, &pi;/4] (with a two-part representation of &pi;/2), where the sine and the
+ * cosine are evaluated with their Taylor polynomials of degree 15 and 16. The truncation error is then below 5e-17,
+ * so that for arguments up to 2<sup>20</sup> in absolute value the results are within 5e-16 of those of
+ * {@code java.lang.Math}. Larger arguments are delegated to {@code java.lang.Math}.</p>
+ */
+public final class FastMath {
+
+    // pi/2 as the sum of a 33-bit and a 53-bit part, so that k * PIO2_HI is exact for |k| <= 2^20
+    private static final double PIO2_HI = 1.57079632673412561417e+00;
+    private static final double PIO2_LO = 6.07710050650619224932e-11;
+    private static final double TWO_OVER_PI = 6.36619772367581382433e-01;
+    private static final double MAX_ARGUMENT = 1 << 20;
+
+    private static final double S1 = -1. / 6;
+    private static final double S2 = 1. / 120;
+    private static final double S3 = -1. / 5040;
+    private static final double S4 = 1. / 362880;
+    private static final double S5 = -1. / 39916800;
+    private static final double S6 = 1. / 6227020800L;
+    private static final double S7 = -1. / 1307674368000L;
+
+    private static final double C1 = -1. / 2;
+    private static final double C2 = 1. / 24;
+    private static final double C3 = -1. / 720;
+    private static final double C4 = 1. / 40320;
+    private static final double C5 = -1. / 3628800;
+    private static final double C6 = 1. / 479001600;
+    private static final double C7 = -1. / 87178291200L;
+    private static final double C8 = 1. / 20922789888000L;
+
+    private FastMath() {
+    }
+
+    /**
+     * Computes the sine and the cosine of an angle, with a single argument reduction.
+     *
+     * @param x      the angle in radians
+     * @param result the array in which the sine (at index 0) and the cosine (at index 1) are stored
+     */
+    public static void sinCos(double x, double[] result) {
+        if (!(Math.abs(x) <= MAX_ARGUMENT)) {
+            result[0] = Math.sin(x);
+            result[1] = Math.cos(x);
+            return;
+        }
+        double k = Math.rint(x * TWO_OVER_PI);
+        double y = (x - k * PIO2_HI) - k * PIO2_LO;
+        double s = sinPolynomial(y);
+        double c = cosPolynomial(y);
+        switch ((int) k & 3) {
+            case 0:
+                result[0] = s;
+                result[1] = c;
+                break;
+            case 1:
+                result[0] = c;
+                result[1] = -s;
+                break;
+            case 2:
+                result[0] = -s;
+                result[1] = -c;
+                break;
+            default:
+                result[0] = -c;
+                result[1] = s;
+        }
+    }
+
+    /**
+     * Returns the sine of an angle.
+     *
+     * @param x the angle in radians
+     * @return the sine of x
+     */
+    public static double sin(double x) {
+        if (!(Math.abs(x) <= MAX_ARGUMENT)) {
+            return Math.sin(x);
+        }
+        double k = Math.rint(x * TWO_OVER_PI);
+        double y = (x - k * PIO2_HI) - k * PIO2_LO;
+        switch ((int) k & 3) {
+            case 0:
+                return sinPolynomial(y);
+            case 1:
+                return cosPolynomial(y);
+            case 2:
+                return -sinPolynomial(y);
+            default:
+                return -cosPolynomial(y);
+        }
+    }
+
+    /**
+     * Returns the cosine of an angle.
+     *
+     * @param x the angle in radians
+     * @return the cosine of x
+     */
+    public static double cos(double x) {
+        if (!(Math.abs(x) <= MAX_ARGUMENT)) {
+            return Math.cos(x);
+        }
+        double k = Math.rint(x * TWO_OVER_PI);
+        double y = (x - k * PIO2_HI) - k * PIO2_LO;
+        switch ((int) k & 3) {
+            case 0:
+                return cosPolynomial(y);
+            case 1:
+                return -sinPolynomial(y);
+            case 2:
+                return -cosPolynomial(y);
+            default:
+                return sinPolynomial(y);
+        }
+    }
+
+    /**
+     * Returns the inverse hyperbolic tangent of a value with an absolute value below 0.1 (e.g. the eccentricity
+     * times the sine of a latitude), from its Taylor series. Larger values are computed with {@code Math.log}.
+     *
+     * @param x the value
+     * @return the inverse hyperbolic tangent of x
+     */
+    public static double atanhSmall(double x) {
+        if (!(Math.abs(x) < 0.1)) {
+            return 0.5 * Math.log((1 + x) / (1 - x));
+        }
+        double x2 = x * x;
+        return x + x * x2 * (1. / 3 + x2 * (1. / 5 + x2 * (1. / 7 + x2 * (1. / 9 + x2 * (1. / 11 + x2 * (1. / 13
+                + x2 * (1. / 15 + x2 / 17)))))));
+    }
+
+    private static double sinPolynomial(double y) {
+        double y2 = y * y;
+        return y + y * y2 * (S1 + y2 * (S2 + y2 * (S3 + y2 * (S4 + y2 * (S5 + y2 * (S6 + y2 * S7))))));
+    }
+
+    private static double cosPolynomial(double y) {
+        double y2 = y * y;
+        return 1 + y2 * (C1 + y2 * (C2 + y2 * (C3 + y2 * (C4 + y2 * (C5 + y2 * (C6 + y2 * (C7 + y2 * C8)))))));
+    }
+}
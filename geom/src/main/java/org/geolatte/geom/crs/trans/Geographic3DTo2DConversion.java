@@ -49,5 +49,20 @@ public class Geographic3DTo2DConversion implements CoordinateOperation, WithEpsg
     public int getMethodId() {
         return 9659;
     }
-}
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Geographic3DTo2DConversion that = (Geographic3DTo2DConversion) o;
+
+        return Double.compare(that.height, height) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        long temp = Double.doubleToLongBits(height);
+        return (int) (temp ^ (temp >>> 32));
+    }
+}
@@ -20,9 +20,23 @@ public class GeographicToGeocentricConversion implements CoordinateOperation, Wi
     final double epsilon;
     final double semiMinorAxis; //b
 
-
+    final MathMode mathMode;
 
     public GeographicToGeocentricConversion(GeographicCoordinateReferenceSystem sourceCRS) {
+        this(sourceCRS, MathMode.STRICT);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * <p>In {@code FAST} mode, the sines and cosines of the forward conversion are approximated with {@link FastMath},
+     * and those of the reverse conversion are computed from the tangents with square roots.</p>
+     *
+     * @param sourceCRS the geographic reference system
+     * @param mathMode  the arithmetic to use
+     */
+    public GeographicToGeocentricConversion(GeographicCoordinateReferenceSystem sourceCRS, MathMode mathMode) {
+        this.mathMode = mathMode;
 
         primeMerid = sourceCRS.getPrimeMeridian().getLongitude();
         semiMajorAxis = sourceCRS.getDatum().getEllipsoid().getSemiMajorAxis();
@@ -50,37 +64,125 @@ public class GeographicToGeocentricConversion implements CoordinateOperation, Wi
 
     @Override
     public void forward(double[] inCoordinate, double[] outCoordinate) {
-        double phi = toRadians(inCoordinate[1]);
-        double lon = toRadians(inCoordinate[0] - primeMerid);
-        double h = inCoordinate[2]; // note this is here assumed to be ellipsoid height (see the note in G7-2, sec. 2.2.1, pag 95)
-
-        double primeVerticalRadius = semiMajorAxis / sqrt(1 - eccentricity2 *pow(sin(phi), 2));
+        forward(inCoordinate, 0, 0, outCoordinate, 0, 0, 1);
+    }
 
-        double vhc = (primeVerticalRadius + h)* cos(phi);
-        outCoordinate[0] =  vhc  * cos(lon);
-        outCoordinate[1] = vhc  * sin(lon);
-        outCoordinate[2] = ((1 - eccentricity2) * primeVerticalRadius + h) * sin(phi);
+    @Override
+    public void reverse(double[] inCoordinate, double[] outCoordinate) {
+        reverse(inCoordinate, 0, 0, outCoordinate, 0, 0, 1);
+    }
 
+    @Override
+    public void forward(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        if (mathMode == MathMode.FAST) {
+            forwardFast(src, srcOff, srcStride, dst, dstOff, dstStride, count);
+            return;
+        }
+        for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+            double phi = toRadians(src[s + 1]);
+            double lon = toRadians(src[s] - primeMerid);
+            double h = src[s + 2]; // note this is here assumed to be ellipsoid height (see the note in G7-2, sec. 2.2.1, pag 95)
+
+            double sinPhi = sin(phi);
+            double primeVerticalRadius = semiMajorAxis / sqrt(1 - eccentricity2 * sinPhi * sinPhi);
+
+            double vhc = (primeVerticalRadius + h) * cos(phi);
+            dst[d] = vhc * cos(lon);
+            dst[d + 1] = vhc * sin(lon);
+            dst[d + 2] = ((1 - eccentricity2) * primeVerticalRadius + h) * sinPhi;
+        }
     }
 
     @Override
-    public void reverse(double[] inCoordinate, double[] outCoordinate) {
-        double x = inCoordinate[0];
-        double y = inCoordinate[1];
-        double z = inCoordinate[2];
-        double p = hypot(x, y);
-        double q = atan( z * semiMajorAxis / (p * semiMinorAxis) );
-        double phi = atan((z + epsilon * semiMinorAxis * pow(sin(q), 3)) /(p - eccentricity2*semiMajorAxis*pow(cos(q),3)) );
-        double lambda = atan(y / x);
-        double primeVerticalRadius = semiMajorAxis / sqrt(1 - eccentricity2 *pow(sin(phi), 2));
-        double h = (p / cos(phi) - primeVerticalRadius);
-        outCoordinate[0] = toDegrees(lambda);
-        outCoordinate[1] = toDegrees(phi);
-        outCoordinate[2] = h;
+    public void reverse(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        if (mathMode == MathMode.FAST) {
+            reverseFast(src, srcOff, srcStride, dst, dstOff, dstStride, count);
+            return;
+        }
+        for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+            double x = src[s];
+            double y = src[s + 1];
+            double z = src[s + 2];
+            double p = hypot(x, y);
+            double q = atan(z * semiMajorAxis / (p * semiMinorAxis));
+            double sinQ = sin(q);
+            double cosQ = cos(q);
+            double phi = atan((z + epsilon * semiMinorAxis * sinQ * sinQ * sinQ) / (p - eccentricity2 * semiMajorAxis * cosQ * cosQ * cosQ));
+            double lambda = atan(y / x);
+            double sinPhi = sin(phi);
+            double primeVerticalRadius = semiMajorAxis / sqrt(1 - eccentricity2 * sinPhi * sinPhi);
+            double h = (p / cos(phi) - primeVerticalRadius);
+            dst[d] = toDegrees(lambda);
+            dst[d + 1] = toDegrees(phi);
+            dst[d + 2] = h;
+        }
+    }
+
+    private void forwardFast(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        double[] phi = new double[2];
+        double[] lon = new double[2];
+        for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+            FastMath.sinCos(toRadians(src[s + 1]), phi);
+            FastMath.sinCos(toRadians(src[s] - primeMerid), lon);
+            double h = src[s + 2];
+            double sinPhi = phi[0];
+            double primeVerticalRadius = semiMajorAxis / sqrt(1 - eccentricity2 * sinPhi * sinPhi);
+            double vhc = (primeVerticalRadius + h) * phi[1];
+            dst[d] = vhc * lon[1];
+            dst[d + 1] = vhc * lon[0];
+            dst[d + 2] = ((1 - eccentricity2) * primeVerticalRadius + h) * sinPhi;
+        }
+    }
+
+    private void reverseFast(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+            double x = src[s];
+            double y = src[s + 1];
+            double z = src[s + 2];
+            double p = sqrt(x * x + y * y);
+            // the sine and cosine of q = atan(tanQ), without evaluating q
+            double tanQ = z * semiMajorAxis / (p * semiMinorAxis);
+            double cosQ = 1 / sqrt(1 + tanQ * tanQ);
+            double sinQ = tanQ * cosQ;
+            double tanPhi = (z + epsilon * semiMinorAxis * sinQ * sinQ * sinQ) / (p - eccentricity2 * semiMajorAxis * cosQ * cosQ * cosQ);
+            double cosPhi = 1 / sqrt(1 + tanPhi * tanPhi);
+            double sinPhi = tanPhi * cosPhi;
+            double primeVerticalRadius = semiMajorAxis / sqrt(1 - eccentricity2 * sinPhi * sinPhi);
+            dst[d] = toDegrees(atan(y / x));
+            dst[d + 1] = toDegrees(atan(tanPhi));
+            dst[d + 2] = p / cosPhi - primeVerticalRadius;
+        }
     }
 
     @Override
     public int getMethodId() {
         return 9602;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        GeographicToGeocentricConversion that = (GeographicToGeocentricConversion) o;
+
+        if (Double.compare(that.eccentricity2, eccentricity2) != 0) return false;
+        if (Double.compare(that.semiMajorAxis, semiMajorAxis) != 0) return false;
+        if (mathMode != that.mathMode) return false;
+        return Double.compare(that.primeMerid, primeMerid) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result;
+        long temp;
+        temp = Double.doubleToLongBits(eccentricity2);
+        result = (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(semiMajorAxis);
+        result = 31 * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(primeMerid);
+        result = 31 * result + (int) (temp ^ (temp >>> 32));
+        result = 31 * result + mathMode.ordinal();
+        return result;
+    }
 }
@@ -0,0 +1,27 @@
+package org.geolatte.geom.crs.trans;
+
+/**
+ * The arithmetic used by the coordinate operations of a {@code TransformOperation}.
+ *
+ * @see TransformOperations#from(org.geolatte.geom.crs.CoordinateReferenceSystem,
+ * org.geolatte.geom.crs.CoordinateReferenceSystem, MathMode)
+ */
+public enum MathMode {
+
+    /**
+     * Evaluates the formulas as documented by EPSG, using {@code java.lang.Math}.
+     */
+    STRICT,
+
+    /**
+     * Evaluates equivalent formulas that need fewer transcendental functions, and uses the polynomial approximations
+     * of {@link FastMath} for sines and cosines. This applies to the geographic/geocentric conversion, and to the
+     * Lambert Conformal Conic (2SP) and Pseudo-Mercator projections; other operations are evaluated as in
+     * {@link #STRICT} mode.
+     *
+     * <p>The results differ from those in {@code STRICT} mode by less than 10 nanometre (a few units in the last
+     * place) for geocentric coordinates and ellipsoidal heights, less than 1 micrometre for projected coordinates and
+     * less than 1e-11 degrees for geographic coordinates.</p>
+     */
+    FAST
+}
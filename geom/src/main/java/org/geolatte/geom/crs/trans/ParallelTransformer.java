@@ -0,0 +1,208 @@
+package org.geolatte.geom.crs.trans;
+
+import org.geolatte.geom.*;
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Transforms geometries in parallel.
+ *
+ * <p>Where the {@link TransformVisitor} transforms a geometry on the calling thread, this class splits the work in
+ * tasks that run on an {@code Executor} (by default the common {@code ForkJoinPool}). Position sequences that are
+ * larger than the chunk size are split in chunks, smaller sequences (e.g. the parts of a collection, or the
+ * geometries of a batch) are grouped until they reach the chunk size. The calling thread only assembles the
+ * results, so the output does not depend on the order in which the tasks complete.</p>
+ *
+ * <p>Instances are thread-safe, provided that the operation is (which is the case for the operations created by
+ * {@link TransformOperations}).</p>
+ *
+ * @param <P> the {@code Position} type of the source geometries
+ * @param <Q> the {@code Position} type of the transformed geometries
+ */
+public class ParallelTransformer<P extends Position, Q extends Position> {
+
+    /**
+     * The default maximum number of positions per task. Smaller tasks make the scheduling overhead noticeable.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    final private TransformOperation<P, Q> operation;
+    final private Executor executor;
+    final private int chunkSize;
+
+    /**
+     * Creates an instance that runs on the common {@code ForkJoinPool}.
+     *
+     * @param operation the operation to apply
+     */
+    public ParallelTransformer(TransformOperation<P, Q> operation) {
+        this(operation, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param operation the operation to apply
+     * @param executor  the executor that runs the tasks
+     * @param chunkSize the maximum number of positions per task
+     */
+    public ParallelTransformer(TransformOperation<P, Q> operation, Executor executor, int chunkSize) {
+        if (operation == null || executor == null) {
+            throw new IllegalArgumentException("No null parameters accepted");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.operation = operation;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Transforms a geometry.
+     *
+     * @param geometry the geometry to transform
+     * @return the transformed geometry
+     */
+    public Geometry<Q> transform(Geometry<P> geometry) {
+        return transformAll(Collections.singletonList(geometry)).get(0);
+    }
+
+    /**
+     * Transforms a batch of geometries.
+     *
+     * @param geometries the geometries to transform
+     * @return the transformed geometries, in the iteration order of the input
+     */
+    public List<Geometry<Q>> transformAll(Collection<? extends Geometry<P>> geometries) {
+        List<PositionSequence<P>> sources = new ArrayList<>();
+        for (Geometry<P> geometry : geometries) {
+            collect(geometry, sources);
+        }
+        List<PositionSequence<Q>> transformed = transform(sources);
+
+        Iterator<PositionSequence<Q>> it = transformed.iterator();
+        List<Geometry<Q>> result = new ArrayList<>(geometries.size());
+        for (Geometry<P> geometry : geometries) {
+            result.add(assemble(geometry, it));
+        }
+        return result;
+    }
+
+    /**
+     * Adds the position sequences of the non-empty points, linestrings and rings of the geometry to the list, in the
+     * order in which {@link #assemble(Geometry, Iterator)} consumes them.
+     */
+    private void collect(Geometry<P> geometry, List<PositionSequence<P>> sources) {
+        if (geometry.isEmpty()) {
+            return;
+        }
+        if (geometry instanceof Polygon) {
+            for (LinearRing<P> ring : ((Polygon<P>) geometry).components()) {
+                sources.add(ring.getPositions());
+            }
+        } else if (geometry instanceof AbstractGeometryCollection) {
+            for (Geometry<P> part : ((AbstractGeometryCollection<P, ?>) geometry).components()) {
+                collect(part, sources);
+            }
+        } else {
+            sources.add(geometry.getPositions());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Geometry<Q> assemble(Geometry<P> geometry, Iterator<PositionSequence<Q>> transformed) {
+        CoordinateReferenceSystem<Q> target = operation.getTarget();
+        if (geometry.isEmpty()) {
+            return geometry instanceof LinearRing ?
+                    new LinearRing<>(target) :
+                    Geometries.mkEmptyGeometry(geometry.getGeometryType(), target);
+        }
+        if (geometry instanceof Polygon) {
+            LinearRing<Q>[] rings = (LinearRing<Q>[]) new LinearRing[((Polygon<P>) geometry).getNumInteriorRing() + 1];
+            for (int idx = 0; idx < rings.length; idx++) {
+                rings[idx] = new LinearRing<>(transformed.next(), target);
+            }
+            return new Polygon<>(rings);
+        }
+        if (geometry instanceof AbstractGeometryCollection) {
+            List<Geometry<Q>> parts = new ArrayList<>();
+            for (Geometry<P> part : ((AbstractGeometryCollection<P, ?>) geometry).components()) {
+                parts.add(assemble(part, transformed));
+            }
+            return Geometries.mkGeometry(geometry.getClass(), parts);
+        }
+        return Geometries.mkGeometry(geometry.getClass(), transformed.next(), target);
+    }
+
+    /**
+     * Transforms the sequences, and waits until all tasks are done.
+     */
+    @SuppressWarnings("unchecked")
+    private List<PositionSequence<Q>> transform(List<PositionSequence<P>> sources) {
+        PositionSequence<Q>[] results = (PositionSequence<Q>[]) new PositionSequence[sources.size()];
+        List<CompletableFuture<?>> tasks = new ArrayList<>();
+        int groupStart = 0;
+        int groupSize = 0;
+        for (int idx = 0; idx < sources.size(); idx++) {
+            PositionSequence<P> source = sources.get(idx);
+            if (source.size() > chunkSize) {
+                int i = idx;
+                tasks.add(Positions.transformAsync(source, operation.getOperation(), targetPositionClass(), executor, chunkSize)
+                        .thenAccept(seq -> results[i] = seq));
+                continue;
+            }
+            if (groupSize == 0) {
+                groupStart = idx;
+            }
+            groupSize += source.size() + 1;
+            if (groupSize >= chunkSize) {
+                tasks.add(transformGroup(sources, groupStart, idx + 1, results));
+                groupSize = 0;
+            }
+        }
+        if (groupSize > 0) {
+            tasks.add(transformGroup(sources, groupStart, sources.size(), results));
+        }
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        List<PositionSequence<Q>> list = new ArrayList<>(results.length);
+        Collections.addAll(list, results);
+        return list;
+    }
+
+    /**
+     * Transforms the small sequences in the range [from, to) in a single task. The large sequences in the range are
+     * skipped, they have their own tasks.
+     */
+    private CompletableFuture<?> transformGroup(List<PositionSequence<P>> sources, int from, int to,
+                                                PositionSequence<Q>[] results) {
+        return CompletableFuture.runAsync(() -> {
+            for (int idx = from; idx < to; idx++) {
+                PositionSequence<P> source = sources.get(idx);
+                if (source.size() <= chunkSize) {
+                    results[idx] = Positions.transform(source, operation.getOperation(), targetPositionClass());
+                }
+            }
+        }, executor);
+    }
+
+    private Class<Q> targetPositionClass() {
+        return operation.getTarget().getPositionClass();
+    }
+}
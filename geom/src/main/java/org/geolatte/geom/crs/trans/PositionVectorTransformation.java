@@ -68,27 +68,40 @@ public class PositionVectorTransformation implements CoordinateOperation, WithEp
 
     @Override
     public void forward(double[] inCoordinate, double[] outCoordinate) {
-
-        double sx = inCoordinate[0];
-        double sy = inCoordinate[1];
-        double sz = inCoordinate[2];
-
-        outCoordinate[0] = m * (sx - rz*sy + ry*sz) + tx;
-        outCoordinate[1] = m * (rz * sx + sy - rx*sz) + ty;
-        outCoordinate[2] = m * (-ry*sx + rx*sy + sz) + tz;
+        forward(inCoordinate, 0, 0, outCoordinate, 0, 0, 1);
     }
 
     @Override
     public void reverse(double[] inCoordinate, double[] outCoordinate) {
-        // the rotation matrix is orthogonal, so the inverse matrix equals the transpose
-        double sx = inCoordinate[0];
-        double sy = inCoordinate[1];
-        double sz = inCoordinate[2];
+        reverse(inCoordinate, 0, 0, outCoordinate, 0, 0, 1);
+    }
 
-        outCoordinate[0] = (1/m) * (sx + rz*sy - ry*sz) - tx;
-        outCoordinate[1] = (1/m) * (-rz * sx + sy + rx*sz) - ty;
-        outCoordinate[2] = (1/m) * (ry*sx - rx*sy + sz) - tz;
+    @Override
+    public void forward(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+            double sx = src[s];
+            double sy = src[s + 1];
+            double sz = src[s + 2];
+
+            dst[d] = m * (sx - rz*sy + ry*sz) + tx;
+            dst[d + 1] = m * (rz * sx + sy - rx*sz) + ty;
+            dst[d + 2] = m * (-ry*sx + rx*sy + sz) + tz;
+        }
+    }
 
+    @Override
+    public void reverse(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        // the rotation matrix is orthogonal, so the inverse matrix equals the transpose
+        double im = 1/m;
+        for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+            double sx = src[s];
+            double sy = src[s + 1];
+            double sz = src[s + 2];
+
+            dst[d] = im * (sx + rz*sy - ry*sz) - tx;
+            dst[d + 1] = im * (-rz * sx + sy + rx*sz) - ty;
+            dst[d + 2] = im * (ry*sx - rx*sy + sz) - tz;
+        }
     }
 
     @Override
@@ -0,0 +1,283 @@
+package org.geolatte.geom.crs.trans;
+
+import org.geolatte.geom.Position;
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * A bounded cache of {@code TransformOperation}s, keyed by their source and target
+ * {@code CoordinateReferenceSystem}s.
+ *
+ * <p>The cache is bounded by the number of operations, and by their total weight, as determined by a weigher. When
+ * either maximum is exceeded, the least recently used operations are evicted. The cache keeps count of hits, misses and evictions.</p>
+ *
+ * <p>Lookups don't block. The recency order is kept in an access-ordered {@code LinkedHashMap} under a lock, so
+ * that evicting an operation takes constant time. A hit only updates the order when the lock isn't held by another
+ * thread, so that under contention the order is approximate.</p>
+ *
+ * <p>Instances are thread-safe. The cached operations are shared, so they must be thread-safe as well, which is
+ * the case for the operations created by {@link TransformOperations}.</p>
+ */
+public class TransformOperationCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    // guarded by lock, as is weight
+    private final LinkedHashMap<Key, Entry> order = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ToLongFunction<TransformOperation<?, ?>> weigher;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long weight;
+    private volatile int maximumSize;
+    private volatile long maximumWeight;
+
+    /**
+     * Creates a cache that is only bounded by the number of operations.
+     *
+     * @param maximumSize the maximum number of operations in the cache. If 0, nothing is cached.
+     */
+    public TransformOperationCache(int maximumSize) {
+        this(maximumSize, Long.MAX_VALUE, operation -> 1);
+    }
+
+    /**
+     * Creates a cache that is bounded by the number of operations and by their total weight.
+     *
+     * @param maximumSize   the maximum number of operations in the cache. If 0, nothing is cached.
+     * @param maximumWeight the maximum total weight of the operations in the cache
+     * @param weigher       returns the (non-negative) weight of an operation. It is called once, when the operation
+     *                      is added to the cache.
+     */
+    public TransformOperationCache(int maximumSize, long maximumWeight, ToLongFunction<TransformOperation<?, ?>> weigher) {
+        if (weigher == null) {
+            throw new IllegalArgumentException("No null parameters accepted");
+        }
+        this.weigher = weigher;
+        setMaximumSize(maximumSize);
+        setMaximumWeight(maximumWeight);
+    }
+
+    /**
+     * Returns the operation that transforms from source to target, creating it if it is not in the cache.
+     *
+     * @param source the source {@code CoordinateReferenceSystem}
+     * @param target the target {@code CoordinateReferenceSystem}
+     * @return the operation that transforms from source to target
+     */
+    public <P extends Position, Q extends Position> TransformOperation<P, Q> get(CoordinateReferenceSystem<P> source,
+                                                                                   CoordinateReferenceSystem<Q> target) {
+        return get(source, target, MathMode.STRICT);
+    }
+
+    /**
+     * Returns the operation that transforms from source to target with the specified arithmetic, creating it if it
+     * is not in the cache.
+     *
+     * @param source   the source {@code CoordinateReferenceSystem}
+     * @param target   the target {@code CoordinateReferenceSystem}
+     * @param mathMode the arithmetic to use
+     * @return the operation that transforms from source to target
+     */
+    @SuppressWarnings("unchecked")
+    public <P extends Position, Q extends Position> TransformOperation<P, Q> get(CoordinateReferenceSystem<P> source,
+                                                                                   CoordinateReferenceSystem<Q> target,
+                                                                                   MathMode mathMode) {
+        Key key = new Key(source, target, mathMode);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits.increment();
+            if (lock.tryLock()) {
+                try {
+                    // moves the entry to the end of the order, if it hasn't been evicted in the meantime
+                    order.get(key);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return (TransformOperation<P, Q>) entry.operation;
+        }
+        misses.increment();
+        // the operation is built without holding a lock, so concurrent misses for the same key may build it twice
+        TransformOperation<P, Q> operation = TransformOperations.create(source, target, mathMode);
+        if (maximumSize == 0) {
+            return operation;
+        }
+        long operationWeight = weigher.applyAsLong(operation);
+        if (operationWeight < 0) {
+            throw new IllegalStateException("Weight of an operation must be non-negative");
+        }
+        entry = new Entry(operation, operationWeight);
+        lock.lock();
+        try {
+            Entry existing = entries.putIfAbsent(key, entry);
+            if (existing != null) {
+                return (TransformOperation<P, Q>) existing.operation;
+            }
+            order.put(key, entry);
+            weight += operationWeight;
+            evict();
+        } finally {
+            lock.unlock();
+        }
+        return operation;
+    }
+
+    /**
+     * Evicts the least recently used operations until neither maximum is exceeded. Must be called with the lock held.
+     */
+    private void evict() {
+        Iterator<Map.Entry<Key, Entry>> eldest = order.entrySet().iterator();
+        while ((order.size() > maximumSize || weight > maximumWeight) && eldest.hasNext()) {
+            Map.Entry<Key, Entry> evicted = eldest.next();
+            eldest.remove();
+            entries.remove(evicted.getKey());
+            weight -= evicted.getValue().weight;
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Sets the maximum number of operations in the cache, and evicts operations if it is exceeded.
+     *
+     * @param maximumSize the maximum number of operations in the cache. If 0, nothing is cached.
+     */
+    public void setMaximumSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size must be non-negative");
+        }
+        lock.lock();
+        try {
+            this.maximumSize = maximumSize;
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum total weight of the operations in the cache, and evicts operations if it is exceeded.
+     *
+     * @param maximumWeight the maximum total weight of the operations in the cache
+     */
+    public void setMaximumWeight(long maximumWeight) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Maximum weight must be non-negative");
+        }
+        lock.lock();
+        try {
+            this.maximumWeight = maximumWeight;
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Returns the number of operations in the cache.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the total weight of the operations in the cache.
+     */
+    public long weight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all operations from the cache. The counters are not reset.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            order.clear();
+            weight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of lookups that found the operation in the cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to create the operation.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of operations that were evicted because the cache was full.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private static final class Key {
+        private final CoordinateReferenceSystem<?> source;
+        private final CoordinateReferenceSystem<?> target;
+        private final MathMode mathMode;
+        private final int hashCode;
+
+        Key(CoordinateReferenceSystem<?> source, CoordinateReferenceSystem<?> target, MathMode mathMode) {
+            this.source = source;
+            this.target = target;
+            this.mathMode = mathMode;
+            this.hashCode = 31 * (31 * source.hashCode() + target.hashCode()) + mathMode.ordinal();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return hashCode == key.hashCode && mathMode == key.mathMode && source.equals(key.source) && target.equals(key.target);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class Entry {
+        private final TransformOperation<?, ?> operation;
+        private final long weight;
+
+        Entry(TransformOperation<?, ?> operation, long weight) {
+            this.operation = operation;
+            this.weight = weight;
+        }
+    }
+}
@@ -10,9 +10,57 @@ import java.util.Optional;
  */
 public class TransformOperations {
 
-
+   final private static TransformOperationCache cache =
+           new TransformOperationCache(TransformOperationCache.DEFAULT_MAXIMUM_SIZE);
+
+   /**
+    * Returns the operation that transforms from source to target.
+    *
+    * <p>Operations are cached, so repeated calls for the same source and target return the same (thread-safe)
+    * instance. Use {@link #getCache()} to configure the cache or to inspect its statistics.</p>
+    *
+    * @param source the source {@code CoordinateReferenceSystem}
+    * @param target the target {@code CoordinateReferenceSystem}
+    * @return the operation that transforms from source to target
+    */
    public static <P extends Position, Q extends Position> TransformOperation<P,Q> from(CoordinateReferenceSystem<P> source, CoordinateReferenceSystem<Q> target){
-       return new DefaultTransformOperation<>(source, target);
+       return cache.get(source, target);
+   }
+
+   /**
+    * Returns the operation that transforms from source to target, using the specified arithmetic.
+    *
+    * <p>With {@code MathMode.FAST}, the operation trades a bounded loss of accuracy for speed (see {@link MathMode}).
+    * Operations are cached per mode.</p>
+    *
+    * @param source   the source {@code CoordinateReferenceSystem}
+    * @param target   the target {@code CoordinateReferenceSystem}
+    * @param mathMode the arithmetic to use
+    * @return the operation that transforms from source to target
+    */
+   public static <P extends Position, Q extends Position> TransformOperation<P,Q> from(CoordinateReferenceSystem<P> source, CoordinateReferenceSystem<Q> target, MathMode mathMode){
+       return cache.get(source, target, mathMode);
+   }
+
+   /**
+    * Returns the cache used by {@link #from(CoordinateReferenceSystem, CoordinateReferenceSystem)}.
+    */
+   public static TransformOperationCache getCache() {
+       return cache;
+   }
+
+   /**
+    * Builds a new, uncached operation that transforms from source to target, using the specified arithmetic.
+    */
+   static <P extends Position, Q extends Position> TransformOperation<P,Q> create(CoordinateReferenceSystem<P> source, CoordinateReferenceSystem<Q> target, MathMode mathMode){
+       return new DefaultTransformOperation<>(source, target, mathMode);
+   }
+
+   /**
+    * Wraps a {@code CoordinateOperation} in an operation that transforms from source to target.
+    */
+   static <P extends Position, Q extends Position> TransformOperation<P,Q> create(CoordinateReferenceSystem<P> source, CoordinateReferenceSystem<Q> target, CoordinateOperation operation){
+       return new DefaultTransformOperation<>(source, target, operation);
    }
 }
 
@@ -20,9 +68,13 @@ class DefaultTransformOperation<P extends Position, Q extends Position> implemen
 
     final private CoordinateReferenceSystem<P> source;
     final private CoordinateReferenceSystem<Q> target;
-    private CoordinateOperation op;
+    final private CoordinateOperation op;
 
     DefaultTransformOperation(CoordinateReferenceSystem<P> source, CoordinateReferenceSystem<Q> target) {
+        this(source, target, MathMode.STRICT);
+    }
+
+    DefaultTransformOperation(CoordinateReferenceSystem<P> source, CoordinateReferenceSystem<Q> target, MathMode mathMode) {
         this.source = source;
         this.target = target;
 
@@ -49,7 +101,7 @@ class DefaultTransformOperation<P extends Position, Q extends Position> implemen
         } else {
             targetBase = (SingleCoordinateReferenceSystem<?>) target;
         }
-        op = CoordinateOperations.transform(sourceBase, targetBase);
+        CoordinateOperation op = CoordinateOperations.transform(sourceBase, targetBase, mathMode);
 
         if (targetVertical != null || sourceVertical != null) {
             op = extend(op, sourceVertical, targetVertical);
@@ -57,6 +109,7 @@ class DefaultTransformOperation<P extends Position, Q extends Position> implemen
         if (targetLinear != null || sourceLinear != null) {
             op = extend(op, sourceLinear, targetLinear);
         }
+        this.op = op;
 
     }
 
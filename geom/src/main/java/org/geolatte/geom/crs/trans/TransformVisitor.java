@@ -46,9 +46,7 @@ public class TransformVisitor<P extends Position, Q extends Position> implements
             transformed.push(new LineString<>(operation.getTarget()));
         } else {
 
-            ConvertingVisitor llv = new ConvertingVisitor( lineString.getNumPositions());
-            lineString.getPositions().accept(llv);
-            transformed.push(new LineString<>(llv.build(), operation.getTarget()));
+            transformed.push(new LineString<>(transform(lineString.getPositions()), operation.getTarget()));
         }
 
     }
@@ -61,9 +59,7 @@ public class TransformVisitor<P extends Position, Q extends Position> implements
             LinearRing<Q>[] rings = (LinearRing<Q>[]) new LinearRing[polygon.getNumInteriorRing()+1];
             int idx = 0;
             for (LinearRing<P> ring: polygon.components()) {
-                ConvertingVisitor llv = new ConvertingVisitor( ring.getNumPositions());
-                ring.getPositions().accept(llv);
-                rings[idx++] = new LinearRing<Q>(llv.build(), operation.getTarget());
+                rings[idx++] = new LinearRing<Q>(transform(ring.getPositions()), operation.getTarget());
             }
             transformed.push(new Polygon<>(rings));
         }
@@ -90,26 +86,12 @@ public class TransformVisitor<P extends Position, Q extends Position> implements
             return transformed.pop();
     }
 
-    private class ConvertingVisitor implements LLAPositionVisitor {
-
-        final private PositionSequenceBuilder<Q> builder;
-        final private double[] coordinates;
-
-        ConvertingVisitor(int size ) {
-            builder = PositionSequenceBuilders.fixedSized(size, operation.getTarget().getPositionClass());
-            int coordinateDimension =  operation.getTarget().getCoordinateDimension();
-            coordinates = new double[coordinateDimension];
-        }
-
-        @Override
-        public void visit(double[] inCoordinates) {
-            operation.getOperation().forward(inCoordinates, coordinates);
-            builder.add(coordinates);
-        }
-
-        PositionSequence<Q> build() {
-            return builder.toPositionSequence();
-        }
+    /**
+     * Transforms the positions in one pass, from the coordinates of the source into the coordinate array of the
+     * result.
+     */
+    private PositionSequence<Q> transform(PositionSequence<P> positions) {
+        return Positions.transform(positions, operation.getOperation(), operation.getTarget().getPositionClass());
     }
 
 }
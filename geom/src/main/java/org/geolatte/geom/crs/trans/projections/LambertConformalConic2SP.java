@@ -5,6 +5,8 @@ import org.geolatte.geom.crs.Ellipsoid;
 import org.geolatte.geom.crs.Geographic2DCoordinateReferenceSystem;
 import org.geolatte.geom.crs.GeographicCoordinateReferenceSystem;
 import org.geolatte.geom.crs.trans.CoordinateOperation;
+import org.geolatte.geom.crs.trans.FastMath;
+import org.geolatte.geom.crs.trans.MathMode;
 import org.geolatte.geom.crs.trans.WithEpsgGOperationMethod;
 
 import java.util.List;
@@ -29,19 +31,24 @@ public class LambertConformalConic2SP implements CoordinateOperation, WithEpsgGO
     private final double northingAtFO;
     private final double ecc; // eccentricity
     private final double a; // semi-major axis
+    private final MathMode mathMode;
 
     //general parameters
-    double m1;
-    double m2;
-    double t1;
-    double t2;
-    double tF;
-    double n;
-    double F;
-    double rF;
+    final double m1;
+    final double m2;
+    final double t1;
+    final double t2;
+    final double tF;
+    final double n;
+    final double F;
+    final double rF;
 
 
     static LambertConformalConic2SP fromCrsParameters(GeographicCoordinateReferenceSystem baseCrs, List<CrsParameter> params) {
+        return fromCrsParameters(baseCrs, params, MathMode.STRICT);
+    }
+
+    static LambertConformalConic2SP fromCrsParameters(GeographicCoordinateReferenceSystem baseCrs, List<CrsParameter> params, MathMode mathMode) {
         Map<String, CrsParameter> map = CrsParameter.toMap(params);
         double latitudeOfFO = map.get("latitude_of_origin").getValue();
         double longitudeOfFO = map.get("central_meridian").getValue();
@@ -49,7 +56,7 @@ public class LambertConformalConic2SP implements CoordinateOperation, WithEpsgGO
         double lat2SPDeg = map.get("standard_parallel_2").getValue();
         double eastingAtFO = map.get("false_easting").getValue();
         double northingAtFO = map.get("false_northing").getValue();
-        return new LambertConformalConic2SP(baseCrs, latitudeOfFO, longitudeOfFO, lat1SPDeg, lat2SPDeg, eastingAtFO, northingAtFO);
+        return new LambertConformalConic2SP(baseCrs, latitudeOfFO, longitudeOfFO, lat1SPDeg, lat2SPDeg, eastingAtFO, northingAtFO, mathMode);
     }
 
     public LambertConformalConic2SP(GeographicCoordinateReferenceSystem baseCrs,
@@ -59,8 +66,27 @@ public class LambertConformalConic2SP implements CoordinateOperation, WithEpsgGO
                                     double lat2SPDeg,
                                     double eastingAtFO,
                                     double northingAtFO) {
+        this(baseCrs, latitudeOfFO, longitudeOfFO, lat1SPDeg, lat2SPDeg, eastingAtFO, northingAtFO, MathMode.STRICT);
+    }
+
+    /**
+     * Creates an instance.
+     * <p>
+     * In {@code FAST} mode, t^n is computed as exp(n ln t), with ln t = e atanh(e sin(phi)) - atanh(sin(phi)), which
+     * replaces the tangent and the two powers of the strict formulas by a logarithm and an exponential. The sines and
+     * cosines are approximated with {@link FastMath}.
+     */
+    public LambertConformalConic2SP(GeographicCoordinateReferenceSystem baseCrs,
+                                    double latitudeOfFO,
+                                    double longitudeOfFO,
+                                    double lat1SPDeg,
+                                    double lat2SPDeg,
+                                    double eastingAtFO,
+                                    double northingAtFO,
+                                    MathMode mathMode) {
 
         this.baseCrs = baseCrs;
+        this.mathMode = mathMode;
         this.latOfFO = toRadians(latitudeOfFO);
         this.lonOfFO = toRadians(longitudeOfFO);
         this.lat1SP = toRadians(lat1SPDeg);
@@ -101,42 +127,108 @@ public class LambertConformalConic2SP implements CoordinateOperation, WithEpsgGO
 
 
     private double t(double phi) {
-        return tan(PI / 4 - phi / 2) / pow(((1 - ecc * sin(phi)) / (1 + ecc * sin(phi))), ecc / 2);
+        double eSinPhi = ecc * sin(phi);
+        return tan(PI / 4 - phi / 2) / pow(((1 - eSinPhi) / (1 + eSinPhi)), ecc / 2);
     }
 
     @Override
     public void forward(double[] inCoordinate, double[] outCoordinate) {
-        double phi = toRadians(inCoordinate[1]);
-        double lambda = toRadians(inCoordinate[0]);
-        double tPhi = t(phi);
-        double r = a * F * pow(tPhi, n);
-        double theta = n * (lambda - lonOfFO);
-        outCoordinate[0] = eastingAtFO + r * sin(theta);
-        outCoordinate[1] = northingAtFO + rF - r * cos(theta);
+        forward(inCoordinate, 0, 0, outCoordinate, 0, 0, 1);
     }
 
     @Override
     public void reverse(double[] inCoordinate, double[] outCoordinate) {
-        double E = inCoordinate[0];
-        double N = inCoordinate[1];
-        double rNN = this.rF - (N - northingAtFO);
-        double rPrime = signum(n) * sqrt(pow(E - eastingAtFO, 2) + pow(rNN, 2));
-        double tPrime = pow(rPrime / (a * F), 1 / n);
-        double thetaPrime = atan((E - eastingAtFO) / rNN);
-
-        double phi = PI / 2 - 2 * atan(tPrime);
-        double phi0;
-        int iters = 0;
-        do {
-            iters++;
-            phi0 = phi;
-            phi = PI / 2 - 2 * atan(tPrime * pow((1 - ecc * sin(phi0)) / (1 + ecc * sin(phi0)), ecc / 2));
-        } while ((abs(phi - phi0) > 0.001) && iters < 5);
-        double lambda = thetaPrime / n + lonOfFO;
-
-        outCoordinate[0] = toDegrees(lambda);
-        outCoordinate[1] = toDegrees(phi);
+        reverse(inCoordinate, 0, 0, outCoordinate, 0, 0, 1);
+    }
+
+    @Override
+    public void forward(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        if (mathMode == MathMode.FAST) {
+            forwardFast(src, srcOff, srcStride, dst, dstOff, dstStride, count);
+            return;
+        }
+        double aF = a * F;
+        for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+            double phi = toRadians(src[s + 1]);
+            double lambda = toRadians(src[s]);
+            double r = aF * pow(t(phi), n);
+            double theta = n * (lambda - lonOfFO);
+            dst[d] = eastingAtFO + r * sin(theta);
+            dst[d + 1] = northingAtFO + rF - r * cos(theta);
+        }
+    }
+
+    @Override
+    public void reverse(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        if (mathMode == MathMode.FAST) {
+            reverseFast(src, srcOff, srcStride, dst, dstOff, dstStride, count);
+            return;
+        }
+        double aF = a * F;
+        double halfEcc = ecc / 2;
+        for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+            double E = src[s];
+            double N = src[s + 1];
+            double rNN = this.rF - (N - northingAtFO);
+            double rPrime = signum(n) * sqrt(pow(E - eastingAtFO, 2) + pow(rNN, 2));
+            double tPrime = pow(rPrime / aF, 1 / n);
+            double thetaPrime = atan((E - eastingAtFO) / rNN);
+
+            double phi = PI / 2 - 2 * atan(tPrime);
+            double phi0;
+            int iters = 0;
+            do {
+                iters++;
+                phi0 = phi;
+                double eSinPhi = ecc * sin(phi0);
+                phi = PI / 2 - 2 * atan(tPrime * pow((1 - eSinPhi) / (1 + eSinPhi), halfEcc));
+            } while ((abs(phi - phi0) > 0.001) && iters < 5);
+            double lambda = thetaPrime / n + lonOfFO;
+
+            dst[d] = toDegrees(lambda);
+            dst[d + 1] = toDegrees(phi);
+        }
+    }
+
+    private void forwardFast(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        double aF = a * F;
+        double[] phi = new double[2];
+        double[] theta = new double[2];
+        for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+            // atanh(sin) as log((1 + |sin|) / cos), since 1 - |sin| loses its digits near the poles
+            FastMath.sinCos(toRadians(src[s + 1]), phi);
+            double lnT = ecc * FastMath.atanhSmall(ecc * phi[0])
+                    - Math.copySign(log((1 + Math.abs(phi[0])) / phi[1]), phi[0]);
+            double r = aF * exp(n * lnT);
+            FastMath.sinCos(n * (toRadians(src[s]) - lonOfFO), theta);
+            dst[d] = eastingAtFO + r * theta[0];
+            dst[d + 1] = northingAtFO + rF - r * theta[1];
+        }
+    }
 
+    private void reverseFast(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        double aF = a * F;
+        for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+            double dE = src[s] - eastingAtFO;
+            double rNN = this.rF - (src[s + 1] - northingAtFO);
+            double rPrime = signum(n) * sqrt(dE * dE + rNN * rNN);
+            double tPrime = exp(log(rPrime / aF) / n);
+            double thetaPrime = atan(dE / rNN);
+
+            double phi = PI / 2 - 2 * atan(tPrime);
+            double phi0;
+            int iters = 0;
+            do {
+                iters++;
+                phi0 = phi;
+                // ((1 - e sin(phi)) / (1 + e sin(phi)))^(e/2)
+                phi = PI / 2 - 2 * atan(tPrime * exp(-ecc * FastMath.atanhSmall(ecc * FastMath.sin(phi0))));
+            } while ((abs(phi - phi0) > 0.001) && iters < 5);
+            double lambda = thetaPrime / n + lonOfFO;
+
+            dst[d] = toDegrees(lambda);
+            dst[d + 1] = toDegrees(phi);
+        }
     }
 
     @Override
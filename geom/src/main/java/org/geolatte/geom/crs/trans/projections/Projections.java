@@ -6,6 +6,7 @@ import org.geolatte.geom.crs.ProjectedCoordinateReferenceSystem;
 import org.geolatte.geom.crs.Projection;
 import org.geolatte.geom.crs.trans.CoordinateOperation;
 import org.geolatte.geom.crs.trans.CoordinateOperations;
+import org.geolatte.geom.crs.trans.MathMode;
 import org.geolatte.geom.crs.trans.UnsupportedTransformException;
 
 import java.util.HashMap;
@@ -23,20 +24,37 @@ public class Projections {
         //TODO do this using reflection
         METHODS.put(CrsId.valueOf(1024), PseudoMercator.class);
         METHODS.put(CrsId.valueOf(9802), PseudoMercator.class);
+        METHODS.put(CrsId.valueOf(9807), TransverseMercator.class);
     }
 
     public static CoordinateOperation buildFrom(ProjectedCoordinateReferenceSystem projected) {
+        return buildFrom(projected, MathMode.STRICT);
+    }
+
+    /**
+     * Returns the projection of the projected reference system.
+     *
+     * @param projected the projected reference system
+     * @param mathMode  the arithmetic to use, for the projections that support {@code MathMode.FAST}
+     * @return the operation that projects coordinates in the base geographic system of the projected system
+     */
+    public static CoordinateOperation buildFrom(ProjectedCoordinateReferenceSystem projected, MathMode mathMode) {
         Projection projection  = projected.getProjection();
         List<CrsParameter> params = projected.getParameters();
 
         if (projection.getName().equalsIgnoreCase("Lambert_Conformal_Conic_2SP") ||
                 projection.getCrsId().getCode() == 9802) {
-            return LambertConformalConic2SP.fromCrsParameters(projected.getGeographicCoordinateSystem(), params);
+            return LambertConformalConic2SP.fromCrsParameters(projected.getGeographicCoordinateSystem(), params, mathMode);
         }
 
         if (projection.getName().equalsIgnoreCase("Mercator_1SP") ||
                 projection.getCrsId().getCode() == 1024) {
-            return PseudoMercator.fromCrsParameters(projected.getGeographicCoordinateSystem(), params);
+            return PseudoMercator.fromCrsParameters(projected.getGeographicCoordinateSystem(), params, mathMode);
+        }
+
+        if (projection.getName().equalsIgnoreCase("Transverse_Mercator") ||
+                projection.getCrsId().getCode() == 9807) {
+            return TransverseMercator.fromCrsParameters(projected.getGeographicCoordinateSystem(), params);
         }
 
         //TODO -- Log a warning in this case
@@ -5,6 +5,8 @@ import org.geolatte.geom.crs.CrsParameter;
 import org.geolatte.geom.crs.Geographic2DCoordinateReferenceSystem;
 import org.geolatte.geom.crs.GeographicCoordinateReferenceSystem;
 import org.geolatte.geom.crs.trans.CoordinateOperation;
+import org.geolatte.geom.crs.trans.FastMath;
+import org.geolatte.geom.crs.trans.MathMode;
 import org.geolatte.geom.crs.trans.WithEpsgGOperationMethod;
 
 import java.util.List;
@@ -24,15 +26,20 @@ public class PseudoMercator implements CoordinateOperation, WithEpsgGOperationMe
     private final double falseN;
 
     private final double a; // ellipsoid semi-major axis;
+    private final MathMode mathMode;
 
 
     static CoordinateOperation fromCrsParameters(GeographicCoordinateReferenceSystem base, List<CrsParameter> params) {
+        return fromCrsParameters(base, params, MathMode.STRICT);
+    }
+
+    static CoordinateOperation fromCrsParameters(GeographicCoordinateReferenceSystem base, List<CrsParameter> params, MathMode mathMode) {
         Map<String, CrsParameter> map = CrsParameter.toMap(params);
         double lonOfNO = map.get("central_meridian").getValue();
         double latOfNO = 0; //no parameter indicated in PostGIS definition
         double falseE = map.get("false_easting").getValue();
         double falseN = map.get("false_northing").getValue();
-        return new PseudoMercator( base, latOfNO, lonOfNO, falseE, falseN);
+        return new PseudoMercator( base, latOfNO, lonOfNO, falseE, falseN, mathMode);
     }
 
     public PseudoMercator() {
@@ -48,7 +55,23 @@ public class PseudoMercator implements CoordinateOperation, WithEpsgGOperationMe
      * @param falseN false Northing in meters
      */
     public PseudoMercator(GeographicCoordinateReferenceSystem baseCrs, double latOfNatOrigin, double lonOfNatOrigin, double falseE, double falseN){
+        this(baseCrs, latOfNatOrigin, lonOfNatOrigin, falseE, falseN, MathMode.STRICT);
+    }
+
+    /**
+     * In {@code FAST} mode, the northing is computed as a atanh(sin(phi)), with the sine approximated by
+     * {@link FastMath}, instead of a ln(tan(pi/4 + phi/2)).
+     *
+     * @param baseCrs  the Base CRS for the projection (source coordinate system)
+     * @param latOfNatOrigin Latitude of Natural Origin in radians
+     * @param lonOfNatOrigin Longitude of Natural Origin in radians
+     * @param falseE false Easting in meters
+     * @param falseN false Northing in meters
+     * @param mathMode the arithmetic to use
+     */
+    public PseudoMercator(GeographicCoordinateReferenceSystem baseCrs, double latOfNatOrigin, double lonOfNatOrigin, double falseE, double falseN, MathMode mathMode){
         this.baseCrs = baseCrs;
+        this.mathMode = mathMode;
         this.latOfNO = latOfNatOrigin;
         this.lonOfNO = lonOfNatOrigin;
         this.falseE = falseE;
@@ -74,19 +97,47 @@ public class PseudoMercator implements CoordinateOperation, WithEpsgGOperationMe
 
     @Override
     public void forward(double[] inCoordinate, double[] outCoordinate) {
-        double l = Math.toRadians( inCoordinate[0]);
-        double p = Math.toRadians( inCoordinate[1]);
-        outCoordinate[0] = falseE + a*(l - lonOfNO);
-        outCoordinate[1] = falseN + a * Math.log(Math.tan(Math.PI / 4 + p / 2));
+        forward(inCoordinate, 0, 0, outCoordinate, 0, 0, 1);
     }
 
     @Override
     public void reverse(double[] inCoordinate, double[] outCoordinate) {
-        double d = - (inCoordinate[1] - falseN) / a;
-        double p = Math.PI/2 - 2*Math.atan( Math.pow(Math.E, d));
-        double l = ((inCoordinate[0] - falseE)/a) + lonOfNO;
-        outCoordinate[0] = Math.toDegrees(l);
-        outCoordinate[1] = Math.toDegrees(p);
+        reverse(inCoordinate, 0, 0, outCoordinate, 0, 0, 1);
+    }
+
+    @Override
+    public void forward(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        if (mathMode == MathMode.FAST) {
+            forwardFast(src, srcOff, srcStride, dst, dstOff, dstStride, count);
+            return;
+        }
+        for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+            double l = Math.toRadians(src[s]);
+            double p = Math.toRadians(src[s + 1]);
+            dst[d] = falseE + a * (l - lonOfNO);
+            dst[d + 1] = falseN + a * Math.log(Math.tan(Math.PI / 4 + p / 2));
+        }
+    }
+
+    private void forwardFast(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        double[] phi = new double[2];
+        for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+            // atanh(sin) as log((1 + |sin|) / cos), since 1 - |sin| loses its digits near the poles
+            FastMath.sinCos(Math.toRadians(src[s + 1]), phi);
+            dst[d] = falseE + a * (Math.toRadians(src[s]) - lonOfNO);
+            dst[d + 1] = falseN + a * Math.copySign(Math.log((1 + Math.abs(phi[0])) / phi[1]), phi[0]);
+        }
+    }
+
+    @Override
+    public void reverse(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+            double dn = -(src[s + 1] - falseN) / a;
+            double p = Math.PI / 2 - 2 * Math.atan(Math.exp(dn));
+            double l = ((src[s] - falseE) / a) + lonOfNO;
+            dst[d] = Math.toDegrees(l);
+            dst[d + 1] = Math.toDegrees(p);
+        }
     }
 
     @Override
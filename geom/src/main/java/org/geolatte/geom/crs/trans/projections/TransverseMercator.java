@@ -0,0 +1,250 @@
+package org.geolatte.geom.crs.trans.projections;
+
+import org.geolatte.geom.crs.CrsParameter;
+import org.geolatte.geom.crs.Ellipsoid;
+import org.geolatte.geom.crs.GeographicCoordinateReferenceSystem;
+import org.geolatte.geom.crs.trans.CoordinateOperation;
+import org.geolatte.geom.crs.trans.WithEpsgGOperationMethod;
+
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.Math.*;
+
+/**
+ * An implementation of the Transverse Mercator map projection (EPSG coordinate operation method 9807), which is
+ * also used for the UTM zones.
+ * <p>
+ * This uses the Krüger series to the sixth order in the third flattening n, as given in C.F.F. Karney,
+ * "Transverse Mercator with an accuracy of a few nanometers", J. Geodesy 85 (2011). The error is less than a
+ * micrometer within 3900 km of the central meridian. The series coefficients only depend on the ellipsoid, and are
+ * computed once, when the operation is created.
+ */
+public class TransverseMercator implements CoordinateOperation, WithEpsgGOperationMethod {
+
+    private static final int ORDER = 6;
+
+    private final GeographicCoordinateReferenceSystem baseCrs;
+    private final double latOfNO;
+    private final double lonOfNO;
+    private final double scaleFactor;
+    private final double falseE;
+    private final double falseN;
+
+    private final double e; // eccentricity
+    private final double e2m; // 1 - e^2
+    private final double kA; // scale factor times the rectifying radius
+    private final double[] alpha = new double[ORDER + 1];
+    private final double[] beta = new double[ORDER + 1];
+    private final double mO; // northing of the natural origin, relative to the equator
+
+    static TransverseMercator fromCrsParameters(GeographicCoordinateReferenceSystem baseCrs, List<CrsParameter> params) {
+        Map<String, CrsParameter> map = CrsParameter.toMap(params);
+        double latOfNO = map.get("latitude_of_origin").getValue();
+        double lonOfNO = map.get("central_meridian").getValue();
+        double scaleFactor = map.get("scale_factor").getValue();
+        double falseE = map.get("false_easting").getValue();
+        double falseN = map.get("false_northing").getValue();
+        return new TransverseMercator(baseCrs, latOfNO, lonOfNO, scaleFactor, falseE, falseN);
+    }
+
+    /**
+     * @param baseCrs        the Base CRS for the projection (source coordinate system)
+     * @param latOfNatOrigin Latitude of Natural Origin in degrees
+     * @param lonOfNatOrigin Longitude of Natural Origin (the central meridian) in degrees
+     * @param scaleFactor    scale factor at the natural origin
+     * @param falseE         false Easting in meters
+     * @param falseN         false Northing in meters
+     */
+    public TransverseMercator(GeographicCoordinateReferenceSystem baseCrs,
+                              double latOfNatOrigin,
+                              double lonOfNatOrigin,
+                              double scaleFactor,
+                              double falseE,
+                              double falseN) {
+        this.baseCrs = baseCrs;
+        this.latOfNO = latOfNatOrigin;
+        this.lonOfNO = lonOfNatOrigin;
+        this.scaleFactor = scaleFactor;
+        this.falseE = falseE;
+        this.falseN = falseN;
+
+        Ellipsoid ellipsoid = baseCrs.getDatum().getEllipsoid();
+        double f = 1 / ellipsoid.getInverseFlattening();
+        this.e2m = (1 - f) * (1 - f);
+        this.e = sqrt(f * (2 - f));
+        double n = f / (2 - f);
+        double n2 = n * n;
+        this.kA = scaleFactor * ellipsoid.getSemiMajorAxis() / (1 + n) * (1 + n2 * (1. / 4 + n2 * (1. / 64 + n2 / 256)));
+
+        alpha[1] = n * (1. / 2 + n * (-2. / 3 + n * (5. / 16 + n * (41. / 180 + n * (-127. / 288 + n * 7891. / 37800)))));
+        alpha[2] = n2 * (13. / 48 + n * (-3. / 5 + n * (557. / 1440 + n * (281. / 630 + n * -1983433. / 1935360))));
+        alpha[3] = n2 * n * (61. / 240 + n * (-103. / 140 + n * (15061. / 26880 + n * 167603. / 181440)));
+        alpha[4] = n2 * n2 * (49561. / 161280 + n * (-179. / 168 + n * 6601661. / 7257600));
+        alpha[5] = n2 * n2 * n * (34729. / 80640 + n * -3418889. / 1995840);
+        alpha[6] = n2 * n2 * n2 * 212378941. / 319334400;
+
+        beta[1] = n * (1. / 2 + n * (-2. / 3 + n * (37. / 96 + n * (-1. / 360 + n * (-81. / 512 + n * 96199. / 604800)))));
+        beta[2] = n2 * (1. / 48 + n * (1. / 15 + n * (-437. / 1440 + n * (46. / 105 + n * -1118711. / 3870720))));
+        beta[3] = n2 * n * (17. / 480 + n * (-37. / 840 + n * (-209. / 4480 + n * 5569. / 90720)));
+        beta[4] = n2 * n2 * (4397. / 161280 + n * (-11. / 504 + n * -830251. / 7257600));
+        beta[5] = n2 * n2 * n * (4583. / 161280 + n * -108847. / 3991680);
+        beta[6] = n2 * n2 * n2 * 20648693. / 638668800;
+
+        // on the central meridian, the projected northing is the (scaled) meridian arc length
+        double[] origin = new double[2];
+        project(toRadians(latOfNatOrigin), 0, origin);
+        this.mO = origin[1];
+    }
+
+    @Override
+    public boolean isReversible() {
+        return true;
+    }
+
+    @Override
+    public int inCoordinateDimension() {
+        return 2;
+    }
+
+    @Override
+    public int outCoordinateDimension() {
+        return 2;
+    }
+
+    @Override
+    public void forward(double[] inCoordinate, double[] outCoordinate) {
+        forward(inCoordinate, 0, 0, outCoordinate, 0, 0, 1);
+    }
+
+    @Override
+    public void reverse(double[] inCoordinate, double[] outCoordinate) {
+        reverse(inCoordinate, 0, 0, outCoordinate, 0, 0, 1);
+    }
+
+    @Override
+    public void forward(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        double[] xy = new double[2];
+        for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+            double dLon = src[s] - lonOfNO;
+            // normalize to [-180, 180)
+            dLon -= 360 * floor((dLon + 180) / 360);
+            project(toRadians(src[s + 1]), toRadians(dLon), xy);
+            dst[d] = falseE + xy[0];
+            dst[d + 1] = falseN + xy[1] - mO;
+        }
+    }
+
+    @Override
+    public void reverse(double[] src, int srcOff, int srcStride, double[] dst, int dstOff, int dstStride, int count) {
+        double[] sum = new double[2];
+        for (int i = 0, s = srcOff, d = dstOff; i < count; i++, s += srcStride, d += dstStride) {
+            double xi = (src[s + 1] - falseN + mO) / kA;
+            double eta = (src[s] - falseE) / kA;
+
+            // xi' + i eta' = zeta - sum(beta[j] sin(2 j zeta)), with zeta = xi + i eta
+            double sin2Xi = sin(2 * xi);
+            double cos2Xi = cos(2 * xi);
+            double sinh2Eta = sinh(2 * eta);
+            double cosh2Eta = cosh(2 * eta);
+            clenshaw(beta, 2 * cos2Xi * cosh2Eta, -2 * sin2Xi * sinh2Eta, sin2Xi * cosh2Eta, cos2Xi * sinh2Eta, sum);
+            double xiP = xi - sum[0];
+            double etaP = eta - sum[1];
+
+            double sinhEtaP = sinh(etaP);
+            double cosXiP = cos(xiP);
+            double tauP = sin(xiP) / sqrt(sinhEtaP * sinhEtaP + cosXiP * cosXiP);
+            double lambda = atan2(sinhEtaP, cosXiP);
+
+            dst[d] = lonOfNO + toDegrees(lambda);
+            dst[d + 1] = toDegrees(atan(tau(tauP)));
+        }
+    }
+
+    /**
+     * Computes the projected coordinates (without false easting and northing, and relative to the equator) for the
+     * latitude and the longitude relative to the central meridian, both in radians.
+     */
+    private void project(double phi, double lambda, double[] xy) {
+        double tau = tan(phi);
+        double tauP = tauPrime(tau);
+        double cosLambda = cos(lambda);
+        double xiP = atan2(tauP, cosLambda);
+        double etaP = asinh(sin(lambda) / sqrt(tauP * tauP + cosLambda * cosLambda));
+
+        // xi + i eta = zeta' + sum(alpha[j] sin(2 j zeta')), with zeta' = xi' + i eta'
+        double sin2XiP = sin(2 * xiP);
+        double cos2XiP = cos(2 * xiP);
+        double sinh2EtaP = sinh(2 * etaP);
+        double cosh2EtaP = cosh(2 * etaP);
+        clenshaw(alpha, 2 * cos2XiP * cosh2EtaP, -2 * sin2XiP * sinh2EtaP, sin2XiP * cosh2EtaP, cos2XiP * sinh2EtaP, xy);
+        double xi = xiP + xy[0];
+        double eta = etaP + xy[1];
+        xy[0] = kA * eta;
+        xy[1] = kA * xi;
+    }
+
+    /**
+     * Evaluates sum(c[j] sin(2 j zeta)) for j = 1..ORDER with Clenshaw's recurrence in complex numbers, given the real and
+     * imaginary parts of 2 cos(2 zeta) and of sin(2 zeta). The real and imaginary part of the sum are stored in the
+     * result array, so that no arrays are allocated per coordinate.
+     */
+    private static void clenshaw(double[] c, double ar, double ai, double sr, double si, double[] result) {
+        double yr0 = 0, yi0 = 0, yr1 = 0, yi1 = 0;
+        for (int j = ORDER; j > 0; j--) {
+            double yr = ar * yr0 - ai * yi0 - yr1 + c[j];
+            double yi = ar * yi0 + ai * yr0 - yi1;
+            yr1 = yr0;
+            yi1 = yi0;
+            yr0 = yr;
+            yi0 = yi;
+        }
+        result[0] = yr0 * sr - yi0 * si;
+        result[1] = yr0 * si + yi0 * sr;
+    }
+
+    /**
+     * Returns the tangent of the conformal latitude, for the tangent of the latitude.
+     */
+    private double tauPrime(double tau) {
+        double tau1 = sqrt(1 + tau * tau);
+        double sig = sinh(e * atanh(e * tau / tau1));
+        return sqrt(1 + sig * sig) * tau - sig * tau1;
+    }
+
+    /**
+     * Returns the tangent of the latitude, for the tangent of the conformal latitude. This inverts
+     * {@link #tauPrime(double)} with Newton's method, which converges in two or three iterations.
+     */
+    private double tau(double tauP) {
+        double tau = tauP / e2m;
+        double tol = 1e-14 * max(1, abs(tauP));
+        for (int i = 0; i < 5; i++) {
+            double tauPi = tauPrime(tau);
+            double dTau = (tauP - tauPi) * (1 + e2m * tau * tau)
+                    / (e2m * sqrt(1 + tau * tau) * sqrt(1 + tauPi * tauPi));
+            tau += dTau;
+            if (abs(dTau) < tol) {
+                break;
+            }
+        }
+        return tau;
+    }
+
+    private static double asinh(double x) {
+        double y = abs(x);
+        y = log1p(y * (1 + y / (sqrt(1 + y * y) + 1)));
+        return x < 0 ? -y : y;
+    }
+
+    private static double atanh(double x) {
+        double y = abs(x);
+        y = log1p(2 * y / (1 - y)) / 2;
+        return x < 0 ? -y : y;
+    }
+
+    @Override
+    public int getMethodId() {
+        return 9807;
+    }
+}
@@ -113,6 +113,9 @@ public class JTS {
     /**
      * Primary Factory method that converts a JTS geometry into an equivalent geolatte geometry
      *
+     * <p>The returned geometry can share its coordinates with the JTS geometry, see {@link #from(Geometry,
+     * CoordinateReferenceSystem)}.</p>
+     *
      * @param jtsGeometry the jts geometry to convert
      * @return an equivalent geolatte geometry
      * @throws IllegalArgumentException when a null object is passed
@@ -147,6 +150,14 @@ public class JTS {
      * Factory method that converts a JTS geometry into an equivalent geolatte geometry and allows the caller to
      * specify the CoordinateReferenceSystem of the resulting geolatte geometry.
      *
+     * <p>The coordinates are not copied if the JTS geometry is backed by <code>PositionSequence</code>s, as are JTS
+     * geometries created by {@link #to(org.geolatte.geom.Geometry)} or with the <code>GeometryFactory</code> of this
+     * class (e.g. when reading WKB with JTS). The returned geometry then shares its coordinates with the JTS geometry,
+     * so changing the JTS geometry afterwards, e.g. with <code>normalize()</code> or
+     * <code>apply(CoordinateSequenceFilter)</code>, also changes the geolatte geometry, which is assumed to be
+     * immutable (its envelope, for one, is computed only once). Convert a copy (<code>jtsGeometry.copy()</code>) of a
+     * JTS geometry that may still be changed.</p>
+     *
      * @param jtsGeometry the jtsGeometry
      * @param crs         the CoordinateReferenceSystem
      * @return A geolatte geometry that corresponds with the given JTS geometry
@@ -179,6 +190,9 @@ public class JTS {
     /**
      * Primary factory method that converts a geolatte geometry into an equivalent jts geometry
      *
+     * <p>The returned JTS geometry shares the positions of the geolatte geometry, so it must not be changed (e.g. by
+     * <code>normalize()</code>); change a <code>copy()</code> instead.</p>
+     *
      * @param geometry the geolatte geometry to start from
      * @param gFact the GeometryFactory to use for creating the JTS Geometry
      * @return the equivalent JTS geometry
@@ -0,0 +1,206 @@
+package org.geolatte.geom.jts;
+
+import org.geolatte.geom.Position;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of the JTS geometries that correspond to geolatte {@code Geometry}s.
+ *
+ * <p>Geolatte {@code Geometry}s are immutable, so their JTS counterparts can be reused by operations that are
+ * repeatedly applied to the same {@code Geometry}. The cache is keyed on the identity of the {@code Geometry}, not
+ * on its equality, and only weakly references it, so that entries are removed once the {@code Geometry} is no longer
+ * in use elsewhere. When the cache grows beyond its maximum size, the least recently used entries are evicted. The
+ * cache keeps count of hits, misses and evictions.</p>
+ *
+ * <p>Instances are thread-safe. The cached JTS geometries are shared, so they must not be modified; JTS operations
+ * don't modify their inputs.</p>
+ */
+public class JTSConversionCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<org.geolatte.geom.Geometry<?>> collected = new ReferenceQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile int maximumSize;
+
+    /**
+     * Creates a cache of the default maximum size.
+     */
+    public JTSConversionCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maximumSize the maximum number of geometries in the cache. If 0, nothing is cached.
+     */
+    public JTSConversionCache(int maximumSize) {
+        setMaximumSize(maximumSize);
+    }
+
+    /**
+     * Returns the JTS geometry that corresponds to the specified {@code Geometry}, converting it with
+     * {@link JTS#to(org.geolatte.geom.Geometry)} if it is not in the cache.
+     *
+     * @param geometry the geolatte geometry
+     * @return the equivalent JTS geometry, which must not be modified
+     * @throws IllegalArgumentException when a null object is passed
+     */
+    public <P extends Position> org.locationtech.jts.geom.Geometry get(org.geolatte.geom.Geometry<P> geometry) {
+        if (geometry == null) {
+            throw new IllegalArgumentException("Null object passed.");
+        }
+        Key key = new Key(geometry, null);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits.increment();
+            entry.lastAccess = System.nanoTime();
+            return entry.jtsGeometry;
+        }
+        misses.increment();
+        org.locationtech.jts.geom.Geometry jtsGeometry = JTS.to(geometry);
+        if (maximumSize == 0) {
+            return jtsGeometry;
+        }
+        // the envelope is computed lazily by JTS; compute it before the geometry is shared
+        jtsGeometry.getEnvelopeInternal();
+        expungeCollected();
+        Entry existing = entries.putIfAbsent(new Key(geometry, collected), new Entry(jtsGeometry));
+        if (existing != null) {
+            return existing.jtsGeometry;
+        }
+        if (entries.size() > maximumSize) {
+            evict();
+        }
+        return jtsGeometry;
+    }
+
+    private void expungeCollected() {
+        Reference<?> reference;
+        while ((reference = collected.poll()) != null) {
+            entries.remove(reference);
+        }
+    }
+
+    /**
+     * Evicts the least recently used geometries, down to 7/8 of the maximum size, so that the entries need only be
+     * sorted once every so many misses.
+     */
+    private synchronized void evict() {
+        int size = entries.size();
+        if (size <= maximumSize) {
+            return;
+        }
+        List<Map.Entry<Key, Entry>> candidates = new ArrayList<>(entries.entrySet());
+        candidates.sort(Comparator.comparingLong(candidate -> candidate.getValue().lastAccess));
+        int target = maximumSize - maximumSize / 8;
+        for (int i = 0; i < candidates.size() && entries.size() > target; i++) {
+            Map.Entry<Key, Entry> eldest = candidates.get(i);
+            if (entries.remove(eldest.getKey(), eldest.getValue())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Sets the maximum number of geometries in the cache, and evicts geometries if it is exceeded.
+     *
+     * @param maximumSize the maximum number of geometries in the cache. If 0, nothing is cached.
+     */
+    public void setMaximumSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size must be non-negative");
+        }
+        this.maximumSize = maximumSize;
+        evict();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the number of geometries in the cache, including those that are no longer referenced but have not yet
+     * been removed.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all geometries from the cache. The counters are not reset.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of lookups that found the geometry in the cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to convert the geometry.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of geometries that were evicted because the cache was full.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * A weak reference to a geometry, that is equal to the other references to the same geometry. Once cleared, a
+     * reference is only equal to itself, which suffices to remove it.
+     */
+    private static final class Key extends WeakReference<org.geolatte.geom.Geometry<?>> {
+        private final int hashCode;
+
+        Key(org.geolatte.geom.Geometry<?> geometry, ReferenceQueue<org.geolatte.geom.Geometry<?>> queue) {
+            super(geometry, queue);
+            this.hashCode = System.identityHashCode(geometry);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            Object referent = get();
+            return hashCode == key.hashCode && referent != null && referent == key.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class Entry {
+        private final org.locationtech.jts.geom.Geometry jtsGeometry;
+        private volatile long lastAccess = System.nanoTime();
+
+        Entry(org.locationtech.jts.geom.Geometry jtsGeometry) {
+            this.jtsGeometry = jtsGeometry;
+        }
+    }
+}
@@ -24,7 +24,6 @@ package org.geolatte.geom.jts;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.CoordinateSequenceFactory;
-import org.locationtech.jts.geom.impl.CoordinateArraySequence;
 import org.geolatte.geom.*;
 import org.geolatte.geom.crs.CoordinateReferenceSystem;
 
@@ -53,21 +52,47 @@ class PointSequenceCoordinateSequenceFactory implements CoordinateSequenceFactor
         return coordSeq;
     }
 
+    /**
+     * Creates a packed {@code PositionSequence} of projected positions, which JTS then fills with
+     * {@code setOrdinate()}. Dimension 3 is taken to be XYZ, and 4 (or more) XYZM.
+     */
     @Override
     public CoordinateSequence create(int size, int dimension) {
-        // This is causing problems when working with Geotools JTS class in
-        // transformation.
-        // This is just a quick fix in order to get this working...
-//        if (dimension > 3)
-//            throw new IllegalArgumentException("dimension must be <= 3");
-        return new CoordinateArraySequence(size, dimension);
+        return create(size, dimension, dimension > 3 ? 1 : 0);
     }
 
+    @Override
+    public CoordinateSequence create(int size, int dimension, int measures) {
+        return (CoordinateSequence) Positions.createPacked(size, positionClass(dimension, measures));
+    }
+
+    private Class<? extends Position> positionClass(int dimension, int measures) {
+        boolean hasM = measures > 0;
+        boolean hasZ = dimension - (hasM ? 1 : 0) > 2;
+        if (hasZ && hasM) {
+            return C3DM.class;
+        } else if (hasM) {
+            return C2DM.class;
+        } else if (hasZ) {
+            return C3D.class;
+        } else {
+            return C2D.class;
+        }
+    }
+
+    /**
+     * Returns the positions of the {@code CoordinateSequence} as a {@code PositionSequence} of the specified type.
+     *
+     * <p>Sequences that are already {@code PositionSequence}s, as are those that JTS creates with this factory, are not
+     * copied if their positions have the same coordinates as the specified type. The returned sequence then shares its
+     * coordinates with the {@code CoordinateSequence}, and changes to either show in the other.</p>
+     */
     @SuppressWarnings("unchecked")
     public <P extends Position> PositionSequence<P> toPositionSequence(CoordinateSequence cs, Class<P> posType,
                                                                        CoordinateReferenceSystem<P> crs) {
-        if (cs instanceof PositionSequence && ((PositionSequence) cs).getPositionClass().equals(posType)) {
-            return (PositionSequence<P>) cs;
+        if (cs instanceof PositionSequence
+                && Positions.haveSameCoordinates(((PositionSequence<?>) cs).getPositionClass(), posType)) {
+            return Positions.reinterpret((PositionSequence<?>) cs, posType);
         }
 
         Coordinate c = new Coordinate();
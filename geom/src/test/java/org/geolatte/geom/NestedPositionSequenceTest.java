@@ -2,7 +2,10 @@ package org.geolatte.geom;
 
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+
+import static org.junit.Assert.*;
 
 /**
  * Created by Karel Maesen, Geovise BVBA on 06/02/16.
@@ -27,4 +30,68 @@ public class NestedPositionSequenceTest {
 
         assertEquals(rnps, nps.reverse());
     }
+
+    @Test
+    public void testOrdinateAccessorsSpanChildren() {
+        PositionSequence<C3DM> p = PositionSequenceBuilders.fixedSized(2, C3DM.class)
+                .add(1, 0, 2, 3).add(2, 3, 4, 5).toPositionSequence();
+        PositionSequence<C3DM> p2 = PositionSequenceBuilders.fixedSized(3, C3DM.class)
+                .add(5, 6, 7, 8).add(7, 8, 9, 10).add(-10, 11, 12, 13).toPositionSequence();
+
+        NestedPositionSequence<C3DM> nps = new NestedPositionSequence<>(new PositionSequence[]{p, p2});
+
+        assertEquals(2, nps.getOrdinateAt(1, 0), 0);
+        assertEquals(5, nps.getOrdinateAt(2, 0), 0);
+        assertEquals(13, nps.getOrdinateAt(4, 3), 0);
+        assertEquals(8, nps.getY(3), 0);
+        assertEquals(9, nps.getOrdinate(3, CoordinateSequence.Z), 0);
+        assertEquals(10, nps.getOrdinate(3, CoordinateSequence.M), 0);
+        assertEquals(new Envelope(-10, 7, 0, 11), nps.expandEnvelope(new Envelope()));
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void testOrdinateAtThrowsOutOfBounds() {
+        PositionSequence<C2D> p = PositionSequenceBuilders.fixedSized(2, C2D.class)
+                .add(1, 0).add(2, 3).toPositionSequence();
+        new NestedPositionSequence<>(new PositionSequence[]{p}).getOrdinateAt(2, 0);
+    }
+
+    @Test
+    public void testRandomAccessSkipsEmptyChildren() {
+        PositionSequence<C2D> empty = PositionSequenceBuilders.fixedSized(0, C2D.class).toPositionSequence();
+        PositionSequence[] children = new PositionSequence[]{empty, null, empty, null, null, empty};
+        int n = 0;
+        for (int i = 0; i < children.length; i++) {
+            if (children[i] == null) {
+                PositionSequenceBuilder<C2D> builder = PositionSequenceBuilders.fixedSized(i + 1, C2D.class);
+                for (int j = 0; j <= i; j++, n++) {
+                    builder.add(n, -n);
+                }
+                children[i] = builder.toPositionSequence();
+            }
+        }
+        NestedPositionSequence<C2D> nps = new NestedPositionSequence<>(children);
+
+        assertEquals(n, nps.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(new C2D(i, -i), nps.getPositionN(i));
+        }
+    }
+
+    @Test
+    public void testFlattenReturnsPackedCopy() {
+        PositionSequence<C3D> p = PositionSequenceBuilders.fixedSized(2, C3D.class)
+                .add(1, 0, 1).add(2, 3, 4).toPositionSequence();
+        PositionSequence<C3D> p2 = PositionSequenceBuilders.fixedSized(1, C3D.class)
+                .add(5, 6, 7).toPositionSequence();
+        NestedPositionSequence<C3D> nps = new NestedPositionSequence<>(new PositionSequence[]{p,
+                new NestedPositionSequence<>(new PositionSequence[]{p2})});
+
+        PositionSequence<C3D> flat = Positions.flatten(nps);
+
+        assertTrue(flat instanceof PackedPositionSequence);
+        assertEquals(PositionSequenceBuilders.fixedSized(3, C3D.class)
+                .add(1, 0, 1).add(2, 3, 4).add(5, 6, 7).toPositionSequence(), flat);
+        assertSame(flat, Positions.flatten(flat));
+    }
 }
@@ -0,0 +1,150 @@
+package org.geolatte.geom;
+
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.geolatte.geom.crs.CoordinateReferenceSystems;
+import org.geolatte.geom.crs.CrsRegistry;
+import org.geolatte.geom.jts.JTS;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.geolatte.geom.builder.DSL.*;
+import static org.junit.Assert.*;
+
+public class PreparedGeometryTest {
+
+    private static CoordinateReferenceSystem<C2D> crs = CoordinateReferenceSystems.PROJECTED_2D_METER;
+
+    private final ProjectedGeometryOperations ops = ProjectedGeometryOperations.Default;
+
+    private final Polygon<C2D> polygon = polygon(
+            ring(crs, c(0, 0), c(0, 10), c(10, 10), c(10, 0), c(0, 0)),
+            ring(crs, c(2, 2), c(4, 2), c(4, 4), c(2, 4), c(2, 2)));
+
+    private final MultiPolygon<C2D> multiPolygon = multipolygon(polygon,
+            polygon(ring(crs, c(20, 0), c(20, 5), c(25, 5), c(25, 0), c(20, 0))));
+
+    private final LineString<C2D> lineString = linestring(crs, c(-2, 5), c(5, 5), c(5, 12));
+
+    @Test
+    public void testPointPredicatesAgreeWithJTS() {
+        for (Geometry<C2D> geometry : new Geometry[]{polygon, multiPolygon, lineString}) {
+            for (PreparedGeometry<C2D> prepared : prepareBoth(geometry)) {
+                assertSame(geometry, prepared.getGeometry());
+                for (double x = -1; x <= 26; x += 0.5) {
+                    for (double y = -1; y <= 11; y += 0.5) {
+                        assertAgreesWithJTS(prepared, point(crs, c(x, y)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGeometryPredicatesAgreeWithJTS() {
+        List<Geometry<C2D>> others = new ArrayList<>();
+        others.add(linestring(crs, c(1, 1), c(3, 3)));
+        others.add(linestring(crs, c(5, 5), c(6, 6)));
+        others.add(linestring(crs, c(-5, 5), c(15, 5)));
+        others.add(linestring(crs, c(0, 0), c(0, 10)));
+        others.add(polygon(ring(crs, c(5, 5), c(5, 8), c(8, 8), c(8, 5), c(5, 5))));
+        others.add(polygon(ring(crs, c(8, 8), c(8, 12), c(12, 12), c(12, 8), c(8, 8))));
+        others.add(polygon(ring(crs, c(10, 0), c(10, 5), c(15, 5), c(15, 0), c(10, 0))));
+        others.add(polygon(ring(crs, c(-1, -1), c(-1, 11), c(11, 11), c(11, -1), c(-1, -1))));
+        others.add(polygon);
+        others.add(multipoint(point(crs, c(1, 1)), point(crs, c(3, 3))));
+        others.add(multipoint(point(crs, c(1, 1)), point(crs, c(5, 5))));
+        for (Geometry<C2D> geometry : new Geometry[]{polygon, multiPolygon, lineString}) {
+            for (PreparedGeometry<C2D> prepared : prepareBoth(geometry)) {
+                for (Geometry<C2D> other : others) {
+                    assertAgreesWithJTS(prepared, other);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyGeometries() {
+        Point<C2D> empty = new Point<>(crs);
+        for (PreparedGeometry<C2D> prepared : prepareBoth(polygon)) {
+            assertFalse(prepared.intersects(empty));
+            assertFalse(prepared.contains(empty));
+            assertFalse(prepared.covers(empty));
+            assertTrue(prepared.disjoint(empty));
+        }
+        for (PreparedGeometry<C2D> preparedEmpty : prepareBoth(new Polygon<>(crs))) {
+            assertFalse(preparedEmpty.intersects(polygon));
+            assertFalse(preparedEmpty.within(polygon));
+            assertFalse(preparedEmpty.coveredBy(polygon));
+            assertTrue(preparedEmpty.disjoint(polygon));
+        }
+    }
+
+    @Test
+    public void testDifferentCrsIsRejected() {
+        CoordinateReferenceSystem<C2D> l72 = CrsRegistry.getProjectedCoordinateReferenceSystemForEPSG(31370);
+        for (PreparedGeometry<C2D> prepared : prepareBoth(polygon)) {
+            try {
+                prepared.intersects(point(l72, c(1, 1)));
+                fail();
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentUse() throws Exception {
+        PreparedGeometry<C2D> prepared = ops.prepare(multiPolygon);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        assertTrue(prepared.contains(point(crs, c(1, 1))));
+                        assertFalse(prepared.contains(point(crs, c(3, 3))));
+                        assertTrue(prepared.intersects(linestring(crs, c(-1, -1), c(1, 1))));
+                        assertFalse(prepared.intersects(linestring(crs, c(11, 1), c(19, 1))));
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Returns the JTS-backed preparation, and the one of the default {@code ProjectedGeometryOperations#prepare}.
+     */
+    private List<PreparedGeometry<C2D>> prepareBoth(Geometry<C2D> geometry) {
+        List<PreparedGeometry<C2D>> prepared = new ArrayList<>();
+        prepared.add(ops.prepare(geometry));
+        prepared.add(new DelegatingPreparedGeometry<>(ops, geometry));
+        return prepared;
+    }
+
+    private void assertAgreesWithJTS(PreparedGeometry<C2D> prepared, Geometry<C2D> other) {
+        Geometry<C2D> geometry = prepared.getGeometry();
+        org.locationtech.jts.geom.Geometry jts = JTS.to(geometry);
+        org.locationtech.jts.geom.Geometry jtsOther = JTS.to(other);
+        String message = geometry + " / " + other;
+        assertEquals(message, ops.intersects(geometry, other), prepared.intersects(other));
+        assertEquals(message, !ops.intersects(geometry, other), prepared.disjoint(other));
+        assertEquals(message, ops.contains(geometry, other), prepared.contains(other));
+        assertEquals(message, ops.touches(geometry, other), prepared.touches(other));
+        assertEquals(message, ops.crosses(geometry, other), prepared.crosses(other));
+        assertEquals(message, ops.overlaps(geometry, other), prepared.overlaps(other));
+        assertEquals(message, jts.relate(jtsOther, "T**FF*FF*"), prepared.containsProperly(other));
+        assertEquals(message, jts.covers(jtsOther), prepared.covers(other));
+        assertEquals(message, jts.coveredBy(jtsOther), prepared.coveredBy(other));
+        assertEquals(message, jts.within(jtsOther), prepared.within(other));
+    }
+}
@@ -0,0 +1,126 @@
+package org.geolatte.geom;
+
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.geolatte.geom.crs.CoordinateReferenceSystems;
+import org.geolatte.geom.jts.JTS;
+import org.junit.Test;
+import org.locationtech.jts.geom.IntersectionMatrix;
+import org.locationtech.jts.operation.relate.RelateOp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.geolatte.geom.builder.DSL.*;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the predicates that are evaluated without JTS agree with {@code RelateOp}.
+ */
+public class SimplePredicatesTest {
+
+    private static CoordinateReferenceSystem<C2D> crs = CoordinateReferenceSystems.PROJECTED_2D_METER;
+
+    private final ProjectedGeometryOperations ops = ProjectedGeometryOperations.Default;
+
+    private final Polygon<C2D> polygon = polygon(
+            ring(crs, c(0, 0), c(0, 10), c(5, 7), c(10, 10), c(10, 0), c(0, 0)),
+            ring(crs, c(2, 2), c(4, 2), c(4, 4), c(2, 4), c(2, 2)),
+            ring(crs, c(6, 2), c(8, 4), c(8, 2), c(6, 2)));
+
+    // the components touch in (10, 0) and along the segment from (10, 10) to (10, 5)
+    private final MultiPolygon<C2D> multiPolygon = multipolygon(polygon,
+            polygon(ring(crs, c(10, 0), c(12, -2), c(14, 0), c(10, 0))),
+            polygon(ring(crs, c(10, 10), c(15, 10), c(15, 5), c(10, 5), c(10, 10))));
+
+    private final Polygon<C2D> rectangle = polygon(ring(crs, c(2, 1), c(2, 6), c(8, 6), c(8, 1), c(2, 1)));
+
+    private final Polygon<C2D> clockwiseRectangle = polygon(ring(crs, c(8, 6), c(2, 6), c(2, 1), c(8, 1), c(8, 6)));
+
+    @Test
+    public void testPointsInPolygonsAgreeWithRelateOp() {
+        for (Geometry<C2D> geometry : new Geometry[]{polygon, multiPolygon, rectangle, clockwiseRectangle}) {
+            for (double x = -1; x <= 16; x += 0.25) {
+                for (double y = -3; y <= 11; y += 0.25) {
+                    Point<C2D> point = point(crs, c(x, y));
+                    assertAgreesWithRelateOp(geometry, point);
+                    assertAgreesWithRelateOp(point, geometry);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPointsNearEdgesAgreeWithRelateOp() {
+        Polygon<C2D> slanted = polygon(ring(crs, c(1, 1), c(1.1, 1.7), c(1.3, 1.9), c(2, 1.2), c(1, 1)));
+        PositionSequence<C2D> positions = slanted.getExteriorRing().getPositions();
+        for (int i = 1; i < positions.size(); i++) {
+            C2D p0 = positions.getPositionN(i - 1);
+            C2D p1 = positions.getPositionN(i);
+            for (double f = 0; f <= 1; f += 0.125) {
+                double x = p0.getX() + f * (p1.getX() - p0.getX());
+                double y = p0.getY() + f * (p1.getY() - p0.getY());
+                for (double dx : new double[]{-Math.ulp(x), 0, Math.ulp(x)}) {
+                    assertAgreesWithRelateOp(slanted, point(crs, c(x + dx, y)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPointsAgreeWithRelateOp() {
+        Point<C2D> point = point(crs, c(1, 2));
+        assertAgreesWithRelateOp(point, point(crs, c(1, 2)));
+        assertAgreesWithRelateOp(point, point(crs, c(1, 3)));
+    }
+
+    @Test
+    public void testLineStringsAndRectanglesAgreeWithRelateOp() {
+        List<Geometry<C2D>> others = new ArrayList<>();
+        others.add(linestring(crs, c(0, 0), c(1, 0.9)));
+        others.add(linestring(crs, c(0, 0), c(2, 1)));
+        others.add(linestring(crs, c(0, 3), c(10, 3)));
+        others.add(linestring(crs, c(2, 7), c(2, 6)));
+        others.add(linestring(crs, c(0, 8), c(3, 5)));
+        others.add(linestring(crs, c(0, 8), c(2, 6)));
+        others.add(linestring(crs, c(0, 8.1), c(2.1, 6)));
+        others.add(linestring(crs, c(0, 7.9), c(1.9, 6)));
+        others.add(linestring(crs, c(8, 0), c(9, 1), c(8.5, 7), c(1, 7)));
+        others.add(linestring(crs, c(5, 0), c(5, 0.5), c(5, 0.5)));
+        others.add(linestring(crs, c(3, 3), c(4, 4)));
+        others.add(ring(crs, c(0, 0), c(0, 10), c(10, 10), c(10, 0), c(0, 0)));
+        others.add(polygon(ring(crs, c(8, 6), c(8, 9), c(9, 9), c(9, 6), c(8, 6))));
+        others.add(polygon(ring(crs, c(3, 3), c(3, 4), c(4, 4), c(4, 3), c(3, 3))));
+        others.add(polygon(ring(crs, c(0, 0), c(0, 10), c(10, 10), c(10, 0), c(0, 0))));
+        others.add(polygon(ring(crs, c(0, 0), c(1.9, 3), c(0, 6), c(0, 0))));
+        others.add(multilinestring(linestring(crs, c(0, 0), c(3, 3)), linestring(crs, c(9, 0), c(9, 9))));
+        for (Geometry<C2D> other : others) {
+            assertAgreesWithRelateOp(rectangle, other);
+            assertAgreesWithRelateOp(other, clockwiseRectangle);
+        }
+    }
+
+    @Test
+    public void testRandomLineStringsAgreeWithRelateOp() {
+        Random random = new Random(17);
+        for (int i = 0; i < 2000; i++) {
+            // coordinates on a coarse grid, so that segments often pass through corners or run along edges
+            PositionSequenceBuilder<C2D> builder = PositionSequenceBuilders.variableSized(C2D.class);
+            int size = 2 + random.nextInt(3);
+            for (int j = 0; j < size; j++) {
+                builder.add(random.nextInt(11), random.nextInt(8));
+            }
+            LineString<C2D> lineString = new LineString<>(builder.toPositionSequence(), crs);
+            assertAgreesWithRelateOp(rectangle, lineString);
+        }
+    }
+
+    private void assertAgreesWithRelateOp(Geometry<C2D> geometry, Geometry<C2D> other) {
+        IntersectionMatrix matrix = new RelateOp(JTS.to(geometry), JTS.to(other)).getIntersectionMatrix();
+        String message = geometry + " / " + other;
+        assertEquals(message, matrix.isIntersects(), ops.intersects(geometry, other));
+        assertEquals(message, matrix.isContains(), ops.contains(geometry, other));
+        assertEquals(message, matrix.isTouches(geometry.getDimension(), other.getDimension()),
+                ops.touches(geometry, other));
+    }
+}
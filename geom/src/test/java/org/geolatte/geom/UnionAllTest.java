@@ -0,0 +1,238 @@
+package org.geolatte.geom;
+
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.geolatte.geom.crs.CoordinateReferenceSystems;
+import org.geolatte.geom.crs.CrsRegistry;
+import org.geolatte.geom.generator.GeometryGenerators;
+import org.geolatte.geom.jts.JTS;
+import org.junit.Test;
+import org.locationtech.jts.operation.union.UnaryUnionOp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.geolatte.geom.builder.DSL.*;
+import static org.junit.Assert.*;
+
+public class UnionAllTest {
+
+    private static CoordinateReferenceSystem<C2D> crs = CoordinateReferenceSystems.PROJECTED_2D_METER;
+
+    private final JTSGeometryOperations ops = new JTSGeometryOperations();
+
+    @Test
+    public void testUnionOfOverlappingSquares() {
+        List<Geometry<C2D>> squares = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            for (int j = 0; j < 20; j++) {
+                squares.add(polygon(ring(crs, c(i, j), c(i, j + 1.5), c(i + 1.5, j + 1.5), c(i + 1.5, j), c(i, j))));
+            }
+        }
+        Collections.shuffle(squares, new Random(1));
+        Geometry<C2D> union = ops.unionAll(squares);
+        assertTrue(union instanceof Polygon);
+        assertEquals(20.5 * 20.5, ops.area((Polygon<C2D>) union), 1e-9);
+        assertEquals(20.5 * 20.5, ops.area((Polygon<C2D>) ops.unionAll(squares, ForkJoinPool.commonPool(), 8)), 1e-9);
+    }
+
+    @Test
+    public void testUnionAgreesWithJTS() {
+        Random random = new Random(7);
+        List<Geometry<C2D>> triangles = triangles(30, 30, random);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int partitionSize : new int[]{2, 7, 64, 10000}) {
+                Geometry<C2D> union = ops.unionAll(triangles, pool, partitionSize);
+                assertEquals(crs, union.getCoordinateReferenceSystem());
+                assertEqualsJTSUnion(triangles, union);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testUnionOfMixedGeometries() {
+        List<Geometry<C2D>> geometries = new ArrayList<>();
+        geometries.add(polygon(ring(crs, c(0, 0), c(0, 10), c(10, 10), c(10, 0), c(0, 0))));
+        geometries.add(point(crs, c(5, 5)));
+        geometries.add(point(crs, c(20, 20)));
+        geometries.add(linestring(crs, c(5, 5), c(15, 5)));
+        geometries.add(polygon(ring(crs, c(20, 0), c(20, 5), c(25, 5), c(25, 0), c(20, 0))));
+        geometries.add(new Point<>(crs));
+        Geometry<C2D> union = ops.unionAll(geometries, ForkJoinPool.commonPool(), 2);
+        assertEqualsJTSUnion(geometries, union);
+    }
+
+    @Test
+    public void testEmptyAndSingleGeometries() {
+        Point<C2D> empty = new Point<>(crs);
+        Polygon<C2D> polygon = polygon(ring(crs, c(0, 0), c(0, 10), c(10, 10), c(10, 0), c(0, 0)));
+        assertSame(empty, ops.unionAll(Arrays.asList(empty, new Polygon<>(crs))));
+        assertSame(polygon, ops.unionAll(Arrays.asList(empty, polygon)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyCollectionIsRejected() {
+        ops.unionAll(Collections.<Geometry<C2D>>emptyList());
+    }
+
+    @Test
+    public void testDefaultUnionAllFoldsWithUnion() {
+        ProjectedGeometryOperations folding = new FoldingOperations(ops);
+        List<Geometry<C2D>> triangles = triangles(8, 8, new Random(11));
+        assertEqualsJTSUnion(triangles, folding.unionAll(triangles));
+        Polygon<C2D> polygon = polygon(ring(crs, c(0, 0), c(0, 10), c(10, 10), c(10, 0), c(0, 0)));
+        assertSame(polygon, folding.unionAll(Arrays.asList(new Point<>(crs), polygon)));
+        try {
+            folding.unionAll(Collections.<Geometry<C2D>>emptyList());
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDifferentCrsIsRejected() {
+        CoordinateReferenceSystem<C2D> l72 = CrsRegistry.getProjectedCoordinateReferenceSystemForEPSG(31370);
+        ops.unionAll(Arrays.asList(point(crs, c(1, 1)), point(l72, c(1, 1))));
+    }
+
+    /**
+     * An implementation that only implements the abstract methods, as a third-party implementation would, by
+     * delegating to another implementation.
+     */
+    private static class FoldingOperations implements ProjectedGeometryOperations {
+
+        final private ProjectedGeometryOperations delegate;
+
+        FoldingOperations(ProjectedGeometryOperations delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public <P extends C2D> boolean isSimple(Geometry<P> geometry) {
+            return delegate.isSimple(geometry);
+        }
+
+        @Override
+        public <P extends C2D> Geometry<P> boundary(Geometry<P> geometry) {
+            return delegate.boundary(geometry);
+        }
+
+        @Override
+        public <P extends C2D, G extends Geometry<P>> G reverse(G geometry) {
+            return delegate.reverse(geometry);
+        }
+
+        @Override
+        public <P extends C2D> boolean intersects(Geometry<P> geometry, Geometry<P> other) {
+            return delegate.intersects(geometry, other);
+        }
+
+        @Override
+        public <P extends C2D> boolean touches(Geometry<P> geometry, Geometry<P> other) {
+            return delegate.touches(geometry, other);
+        }
+
+        @Override
+        public <P extends C2D> boolean crosses(Geometry<P> geometry, Geometry<P> other) {
+            return delegate.crosses(geometry, other);
+        }
+
+        @Override
+        public <P extends C2D> boolean contains(Geometry<P> geometry, Geometry<P> other) {
+            return delegate.contains(geometry, other);
+        }
+
+        @Override
+        public <P extends C2D> boolean overlaps(Geometry<P> geometry, Geometry<P> other) {
+            return delegate.overlaps(geometry, other);
+        }
+
+        @Override
+        public <P extends C2D> boolean relates(Geometry<P> geometry, Geometry<P> other, String matrix) {
+            return delegate.relates(geometry, other, matrix);
+        }
+
+        @Override
+        public <P extends C2D> double distance(Geometry<P> geometry, Geometry<P> other) {
+            return delegate.distance(geometry, other);
+        }
+
+        @Override
+        public <P extends C2D> Geometry<P> buffer(Geometry<P> geometry, double distance) {
+            return delegate.buffer(geometry, distance);
+        }
+
+        @Override
+        public <P extends C2D> Geometry<P> convexHull(Geometry<P> geometry) {
+            return delegate.convexHull(geometry);
+        }
+
+        @Override
+        public <P extends C2D> Geometry<P> intersection(Geometry<P> geometry, Geometry<P> other) {
+            return delegate.intersection(geometry, other);
+        }
+
+        @Override
+        public <P extends C2D> Geometry<P> union(Geometry<P> geometry, Geometry<P> other) {
+            return delegate.union(geometry, other);
+        }
+
+        @Override
+        public <P extends C2D> Geometry<P> difference(Geometry<P> geometry, Geometry<P> other) {
+            return delegate.difference(geometry, other);
+        }
+
+        @Override
+        public <P extends C2D> Geometry<P> symmetricDifference(Geometry<P> geometry, Geometry<P> other) {
+            return delegate.symmetricDifference(geometry, other);
+        }
+
+        @Override
+        public <P extends C2D, G extends Geometry<P> & Linear<P>> double length(G geometry) {
+            return delegate.length(geometry);
+        }
+
+        @Override
+        public <P extends C2D, G extends Geometry<P> & Polygonal<P>> double area(G geometry) {
+            return delegate.area(geometry);
+        }
+
+        @Override
+        public <P extends C2D, G extends Geometry<P> & Polygonal<P>> Point<P> centroid(G geometry) {
+            return delegate.centroid(geometry);
+        }
+    }
+
+    /**
+     * Generates a triangle in each cell of a grid, that may overlap the triangles of the neighbouring cells.
+     */
+    private static List<Geometry<C2D>> triangles(int columns, int rows, Random random) {
+        List<Geometry<C2D>> triangles = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns; i++) {
+            for (int j = 0; j < rows; j++) {
+                Box<C2D> cell = new Box<>(new C2D(i - 0.5, j - 0.5), new C2D(i + 1.5, j + 1.5), crs);
+                triangles.add(GeometryGenerators.polygon(4, cell, random).generate());
+            }
+        }
+        return triangles;
+    }
+
+    /**
+     * Compares to the union of all geometries at once, allowing for the rounding of the intersection points.
+     */
+    private void assertEqualsJTSUnion(List<Geometry<C2D>> geometries, Geometry<C2D> union) {
+        List<org.locationtech.jts.geom.Geometry> jts = new ArrayList<>();
+        for (Geometry<C2D> geometry : geometries) {
+            jts.add(JTS.to(geometry));
+        }
+        org.locationtech.jts.geom.Geometry expected = UnaryUnionOp.union(jts);
+        assertTrue(expected.norm().equalsExact(JTS.to(union).norm(), 1e-9));
+    }
+}
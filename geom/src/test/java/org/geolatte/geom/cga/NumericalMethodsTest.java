@@ -141,4 +141,16 @@ public class NumericalMethodsTest {
         assertTrue(orient2d(poly.getExteriorRing()) != 0.0d);
     }
 
+    @Test
+    public void testOrientationIndex() {
+        assertEquals(1, NumericalMethods.orientationIndex(0, 0, 1, 0, 0.5, 1));
+        assertEquals(-1, NumericalMethods.orientationIndex(0, 0, 1, 0, 0.5, -1));
+        assertEquals(0, NumericalMethods.orientationIndex(0, 0, 1, 1, 3, 3));
+        // collinear in exact arithmetic, but not in floating point
+        assertEquals(0, NumericalMethods.orientationIndex(0.1, 0.1, 0.3, 0.3, 0.7, 0.7));
+        // a point one ulp off the line is detected
+        double y = Math.nextUp(0.7);
+        assertEquals(1, NumericalMethods.orientationIndex(0.1, 0.1, 0.3, 0.3, 0.7, y));
+    }
+
 }
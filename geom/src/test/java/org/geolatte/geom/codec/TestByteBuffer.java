@@ -271,6 +271,25 @@ public class TestByteBuffer {
         }
     }
 
+    @Test
+    public void test_hex_round_trip_for_all_byte_values() {
+        byte[] bytes = new byte[256];
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 256; i++) {
+            bytes[i] = (byte) i;
+            expected.append(String.format("%02X", i));
+        }
+        ByteBuffer buffer = ByteBuffer.from(bytes);
+        assertEquals(expected.toString(), buffer.toString());
+        assertTrue(buffer.hasSameContent(ByteBuffer.from(expected.toString())));
+        assertTrue(buffer.hasSameContent(ByteBuffer.from(expected.toString().toLowerCase())));
+    }
 
+    @Test
+    public void test_toString_does_not_move_position() {
+        ByteBuffer buffer = ByteBuffer.from("0102");
+        buffer.get();
+        assertEquals("0102", buffer.toString());
+        assertEquals(2, buffer.get());
+    }
 }
-
@@ -0,0 +1,84 @@
+package org.geolatte.geom.codec;
+
+import org.geolatte.geom.C2D;
+import org.geolatte.geom.Geometry;
+import org.geolatte.geom.crs.CrsRegistry;
+import org.geolatte.geom.crs.ProjectedCoordinateReferenceSystem;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.geolatte.geom.builder.DSL.*;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that {@link FastDoubleParser} and the WKT number reader give exactly the same results as
+ * <code>Double.parseDouble()</code>.
+ */
+public class TestFastDoubleParser {
+
+    private final ProjectedCoordinateReferenceSystem crs = CrsRegistry.getProjectedCoordinateReferenceSystemForEPSG(31370);
+
+    private double read(String number) {
+        return new WktTokenizer(number + ")", new PostgisWktVariant(), crs).fastReadNumber();
+    }
+
+    private void assertReadsExactly(String number) {
+        assertEquals(number, Double.doubleToRawLongBits(Double.parseDouble(number)), Double.doubleToRawLongBits(read(number)));
+    }
+
+    @Test
+    public void testEdgeCases() {
+        String[] numbers = {
+                "0", "-0", "0.0", "-0.0", "0e10", "1", "-1", ".5", "1.", "0.1", "0.3", "1e23", "8.41e21",
+                "9007199254740992", "9007199254740993", "9007199254740995",
+                "9223372036854775807", "9999999999999999999", "18446744073709551615",
+                "1.7976931348623157E308", "1.7976931348623158E308", "1.7976931348623159E308", "1E309",
+                "2.2250738585072014E-308", "2.2250738585072011E-308", "4.9E-324", "2.4703282292062327E-324",
+                "1E-400", "1E+10", "5e-324", "1.00000000000000011102230246251565404236316680908203125",
+                "7.2057594037927933e16", "2.2250738585072012e-308", "169038.177124", "51.16666723333333",
+                "489823441.12345678912334432212345543211345654332211133455068345928456727",
+                "0.000000000000000000000000000000000000000000001", "123456789012345678901234567890"
+        };
+        for (String number : numbers) {
+            assertReadsExactly(number);
+        }
+    }
+
+    @Test
+    public void testRoundTripOfRandomDoubles() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200000; i++) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(value) || Double.isInfinite(value)) continue;
+            assertReadsExactly(Double.toString(value));
+        }
+    }
+
+    @Test
+    public void testRandomDecimals() {
+        Random random = new Random(7);
+        for (int i = 0; i < 200000; i++) {
+            String significand = Long.toUnsignedString(random.nextLong() >>> random.nextInt(64));
+            int exponent = random.nextInt(700) - 350;
+            assertReadsExactly(significand + "e" + exponent);
+            assertReadsExactly("-" + significand + "." + random.nextInt(1000));
+        }
+    }
+
+    @Test
+    public void testHalfwayCasesRoundToEven() {
+        // 2^53 + 1 and 2^53 + 3 lie exactly halfway between two doubles
+        for (long s = (1L << 53) - 5; s < (1L << 53) + 100; s++) {
+            assertReadsExactly(Long.toString(s));
+            assertReadsExactly(s + "000");
+        }
+    }
+
+    @Test
+    public void testDecodedWktIsExact() {
+        Geometry<C2D> polygon = polygon(crs, ring(c(0.1, 0.30000000000000004), c(169038.17712400001, 51.16666723333333),
+                c(1.0000000000000002, -1234.5678901234567), c(0.1, 0.30000000000000004)));
+        assertEquals(polygon, Wkt.fromWkt(Wkt.toWkt(polygon)));
+    }
+}
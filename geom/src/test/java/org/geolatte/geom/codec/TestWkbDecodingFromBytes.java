@@ -0,0 +1,97 @@
+package org.geolatte.geom.codec;
+
+import org.geolatte.geom.*;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+
+import static org.geolatte.geom.builder.DSL.*;
+import static org.geolatte.geom.crs.CoordinateReferenceSystems.WGS84;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests decoding WKB from byte arrays, nio buffers and streams.
+ */
+public class TestWkbDecodingFromBytes {
+
+    private final WkbDecoder decoder = Wkb.getDecoder(Wkb.Dialect.POSTGIS_EWKB_1);
+    private final Geometry<G2D> polygon = polygon(WGS84, ring(g(0, 0), g(1, 0), g(1, 1), g(0, 0)));
+    private final Geometry<G2D> point = point(WGS84, g(4.5, 50.8));
+
+    private byte[] wkb(Geometry<?> geometry) {
+        return Wkb.toWkb(geometry).toByteArray();
+    }
+
+    @Test
+    public void testDecodeFromByteArrayRegion() {
+        byte[] first = wkb(polygon);
+        byte[] second = wkb(point);
+        byte[] bytes = new byte[3 + first.length + second.length];
+        System.arraycopy(first, 0, bytes, 3, first.length);
+        System.arraycopy(second, 0, bytes, 3 + first.length, second.length);
+
+        assertEquals(polygon, decoder.decode(bytes, 3, first.length));
+        assertEquals(point, decoder.decode(bytes, 3 + first.length, second.length));
+        assertEquals(point, decoder.decode(bytes, 3 + first.length, second.length, WGS84));
+    }
+
+    @Test
+    public void testDecodeFromDirectBuffer() {
+        byte[] bytes = wkb(polygon);
+        java.nio.ByteBuffer direct = java.nio.ByteBuffer.allocateDirect(bytes.length + 2);
+        direct.put((byte) 0).put((byte) 0).put(bytes);
+        direct.position(2);
+
+        assertEquals(polygon, decoder.decode(direct));
+        assertEquals(2, direct.position());
+        assertArrayEquals(bytes, ByteBuffer.from(direct).toByteArray());
+    }
+
+    @Test
+    public void testDecodeFromMemoryMappedFile() throws Exception {
+        byte[] first = wkb(polygon);
+        byte[] second = wkb(point);
+        File file = File.createTempFile("geolatte", ".wkb");
+        file.deleteOnExit();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.write(first);
+            raf.write(second);
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath())) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.limit(first.length);
+            assertEquals(polygon, decoder.decode(mapped));
+            mapped.limit(first.length + second.length).position(first.length);
+            assertEquals(point, decoder.decode(mapped, WGS84));
+        } finally {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    @Test
+    public void testDecodeFromInputStream() {
+        assertEquals(polygon, decoder.decode(new ByteArrayInputStream(wkb(polygon))));
+    }
+
+    @Test
+    public void testDecodeFromInputStreamLargerThanReadBuffer() {
+        PositionSequenceBuilder<G2D> builder = PositionSequenceBuilders.fixedSized(2000, G2D.class);
+        for (int i = 0; i < 2000; i++) {
+            builder.add(i * 0.01, i * 0.005);
+        }
+        Geometry<G2D> lineString = new LineString<>(builder.toPositionSequence(), WGS84);
+        assertEquals(lineString, decoder.decode(new ByteArrayInputStream(wkb(lineString)), WGS84));
+    }
+
+    @Test
+    public void testToByteArrayOfRegionReturnsOnlyRegion() {
+        byte[] bytes = new byte[]{9, 1, 2, 3, 9};
+        assertArrayEquals(new byte[]{1, 2, 3}, ByteBuffer.from(bytes, 1, 3).toByteArray());
+    }
+}
@@ -0,0 +1,122 @@
+package org.geolatte.geom.codec;
+
+import org.geolatte.geom.ByteOrder;
+import org.geolatte.geom.G2D;
+import org.geolatte.geom.Geometry;
+import org.geolatte.geom.Point;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.geolatte.geom.builder.DSL.*;
+import static org.geolatte.geom.crs.CoordinateReferenceSystems.WGS84;
+import static org.junit.Assert.*;
+
+/**
+ * Tests encoding WKB into caller-supplied buffers and streams.
+ */
+public class TestWkbEncodingToBuffers {
+
+    private final Geometry<G2D> polygon = polygon(WGS84, ring(g(0, 0), g(1, 0), g(1, 1), g(0, 0)));
+    private final Geometry<G2D> point = point(WGS84, g(4.5, 50.8));
+
+    @Test
+    public void testEncodeIntoDirectBuffer() {
+        for (Wkb.Dialect dialect : Wkb.Dialect.values()) {
+            WkbEncoder encoder = Wkb.getEncoder(dialect);
+            byte[] expected = encoder.encode(polygon, ByteOrder.XDR).toByteArray();
+            assertEquals(expected.length, encoder.encodedSize(polygon));
+
+            java.nio.ByteBuffer target = java.nio.ByteBuffer.allocateDirect(expected.length + 5);
+            target.position(3);
+            assertEquals(expected.length, encoder.encode(polygon, ByteOrder.XDR, target));
+            assertEquals(3 + expected.length, target.position());
+
+            byte[] written = new byte[expected.length];
+            target.position(3);
+            target.get(written);
+            assertArrayEquals(expected, written);
+        }
+    }
+
+    @Test
+    public void testEncodeIntoTooSmallBufferWritesNothing() {
+        WkbEncoder encoder = Wkb.getEncoder(Wkb.Dialect.POSTGIS_EWKB_1);
+        java.nio.ByteBuffer target = java.nio.ByteBuffer.allocate(encoder.encodedSize(polygon) - 1);
+        try {
+            encoder.encode(polygon, ByteOrder.NDR, target);
+            fail();
+        } catch (BufferOverflowException e) {
+            assertEquals(0, target.position());
+        }
+    }
+
+    @Test
+    public void testEncodeToOutputStream() throws Exception {
+        WkbEncoder encoder = Wkb.getEncoder(Wkb.Dialect.POSTGIS_EWKB_1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = encoder.encode(point, ByteOrder.NDR, out);
+        assertEquals(out.size(), written);
+        assertArrayEquals(encoder.encode(point, ByteOrder.NDR).toByteArray(), out.toByteArray());
+    }
+
+    @Test
+    public void testEncodeAllWithOffsets() {
+        WkbEncoder encoder = Wkb.getEncoder(Wkb.Dialect.HANA_EWKB);
+        List<Geometry<G2D>> geometries = Arrays.asList(polygon, point, point, polygon);
+        int size = geometries.stream().mapToInt(encoder::encodedSize).sum();
+        java.nio.ByteBuffer target = java.nio.ByteBuffer.allocate(size);
+
+        int[] offsets = encoder.encodeAll(geometries, ByteOrder.NDR, target);
+
+        assertEquals(geometries.size() + 1, offsets.length);
+        assertEquals(size, offsets[geometries.size()]);
+        target.flip();
+        List<Geometry<?>> decoded = StreamSupport.stream(
+                WkbStreamDecoder.spliterator(target, offsets, Wkb.Dialect.HANA_EWKB),
+                false).collect(Collectors.toList());
+        assertEquals(geometries, decoded);
+    }
+
+    @Test
+    public void testMySqlEmptyGeometryWritesNothing() {
+        java.nio.ByteBuffer target = java.nio.ByteBuffer.allocate(16);
+        assertEquals(0, Wkb.getEncoder(Wkb.Dialect.MYSQL_WKB).encode(new Point<>(WGS84), ByteOrder.NDR, target));
+        assertEquals(0, target.position());
+    }
+
+    @Test
+    public void testMySqlEncodedSizeOfEmptyGeometryIsZero() {
+        WkbEncoder encoder = Wkb.getEncoder(Wkb.Dialect.MYSQL_WKB);
+        assertEquals(0, encoder.encodedSize(new Point<>(WGS84)));
+        assertEquals(0, encoder.encodedSize(geometrycollection(point, new Point<>(WGS84))));
+    }
+
+    @Test
+    public void testEncodeAllWithMySqlEmptyGeometries() {
+        WkbEncoder encoder = Wkb.getEncoder(Wkb.Dialect.MYSQL_WKB);
+        List<Geometry<G2D>> geometries = Arrays.asList(new Point<>(WGS84), polygon, new Point<>(WGS84), point,
+                new Point<>(WGS84));
+        java.nio.ByteBuffer target = java.nio.ByteBuffer.allocate(256);
+
+        int[] offsets = encoder.encodeAll(geometries, ByteOrder.NDR, target);
+
+        assertArrayEquals(new int[]{0, 0, encoder.encodedSize(polygon), encoder.encodedSize(polygon),
+                target.position(), target.position()}, offsets);
+        target.flip();
+        List<Geometry<?>> decoded = StreamSupport.stream(
+                WkbStreamDecoder.spliterator(target, offsets, Wkb.Dialect.MYSQL_WKB), true)
+                .collect(Collectors.toList());
+        assertEquals(geometries.size(), decoded.size());
+        assertTrue(decoded.get(0).isEmpty());
+        assertEquals(polygon, decoded.get(1));
+        assertTrue(decoded.get(2).isEmpty());
+        assertEquals(point, decoded.get(3));
+        assertTrue(decoded.get(4).isEmpty());
+    }
+}
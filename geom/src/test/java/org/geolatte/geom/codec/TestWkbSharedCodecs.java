@@ -0,0 +1,87 @@
+package org.geolatte.geom.codec;
+
+import org.geolatte.geom.ByteBuffer;
+import org.geolatte.geom.ByteOrder;
+import org.geolatte.geom.Geometry;
+import org.geolatte.geom.crs.CoordinateReferenceSystems;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.geolatte.geom.builder.DSL.*;
+import static org.geolatte.geom.crs.CoordinateReferenceSystems.WGS84;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks that the shared WKB codecs can be used concurrently.
+ */
+public class TestWkbSharedCodecs {
+
+    @Test
+    public void testSharedInstancesAreReturned() {
+        for (Wkb.Dialect dialect : Wkb.Dialect.values()) {
+            assertSame(Wkb.getDecoder(dialect), Wkb.getDecoder(dialect));
+            assertSame(Wkb.getEncoder(dialect), Wkb.getEncoder(dialect));
+        }
+    }
+
+    @Test
+    public void testConcurrentPostgisDecoding() throws Exception {
+        checkConcurrentDecoding(Wkb.Dialect.POSTGIS_EWKB_1, testGeometries(true));
+    }
+
+    @Test
+    public void testConcurrentHanaDecoding() throws Exception {
+        checkConcurrentDecoding(Wkb.Dialect.HANA_EWKB, testGeometries(true));
+    }
+
+    @Test
+    public void testConcurrentMySqlDecoding() throws Exception {
+        checkConcurrentDecoding(Wkb.Dialect.MYSQL_WKB, testGeometries(false));
+    }
+
+    private List<Geometry<?>> testGeometries(boolean withZ) {
+        List<Geometry<?>> geometries = new ArrayList<>();
+        geometries.add(point(WGS84, g(4.5, 50.8)));
+        geometries.add(linestring(CoordinateReferenceSystems.PROJECTED_2D_METER, c(1, 2), c(3, 4), c(5, 6)));
+        geometries.add(polygon(WGS84, ring(g(0, 0), g(1, 0), g(1, 1), g(0, 0))));
+        if (withZ) {
+            geometries.add(linestring(CoordinateReferenceSystems.PROJECTED_3D_METER, c(1, 2, 3), c(3, 4, 5)));
+        }
+        return geometries;
+    }
+
+    private void checkConcurrentDecoding(Wkb.Dialect dialect, List<Geometry<?>> geometries) throws Exception {
+        WkbEncoder encoder = Wkb.getEncoder(dialect);
+        WkbDecoder decoder = Wkb.getDecoder(dialect);
+        List<String> encoded = new ArrayList<>();
+        for (Geometry<?> geometry : geometries) {
+            encoded.add(encoder.encode(geometry, ByteOrder.NDR).toString());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        int idx = (i + offset) % geometries.size();
+                        Geometry<?> decoded = decoder.decode(ByteBuffer.from(encoded.get(idx)));
+                        assertEquals(geometries.get(idx), decoded);
+                        assertEquals(encoded.get(idx), encoder.encode(decoded, ByteOrder.NDR).toString());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
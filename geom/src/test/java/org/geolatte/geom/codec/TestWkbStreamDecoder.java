@@ -0,0 +1,164 @@
+package org.geolatte.geom.codec;
+
+import org.geolatte.geom.*;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.geolatte.geom.builder.DSL.*;
+import static org.geolatte.geom.crs.CoordinateReferenceSystems.WGS84;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests for {@link WkbStreamDecoder}.
+ */
+public class TestWkbStreamDecoder {
+
+    private final List<Geometry<G2D>> geometries = new ArrayList<>();
+    private final List<Integer> offsets = new ArrayList<>();
+
+    private byte[] encode(Wkb.Dialect dialect, int count) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WkbEncoder encoder = Wkb.getEncoder(dialect);
+        for (int i = 0; i < count; i++) {
+            Geometry<G2D> geometry = i % 3 == 0 ?
+                    point(WGS84, g(i % 180, 1)) :
+                    polygon(WGS84, ring(g(0, 0), g(1, i % 90), g(1, 1), g(0, 0)));
+            geometries.add(geometry);
+            offsets.add(out.size());
+            // the MySQL SRID prefix is always little-endian, so only vary the byte order for the other dialects
+            ByteOrder byteOrder = i % 2 == 0 || dialect == Wkb.Dialect.MYSQL_WKB ? ByteOrder.NDR : ByteOrder.XDR;
+            byte[] wkb = encoder.encode(geometry, byteOrder).toByteArray();
+            out.write(wkb, 0, wkb.length);
+        }
+        offsets.add(out.size());
+        return out.toByteArray();
+    }
+
+    private List<Geometry<?>> readAll(WkbStreamDecoder decoder) {
+        List<Geometry<?>> result = new ArrayList<>();
+        decoder.forEachRemaining(result::add);
+        return result;
+    }
+
+    @Test
+    public void testDecodesAllRecords() {
+        byte[] bytes = encode(Wkb.Dialect.POSTGIS_EWKB_1, 1000);
+        WkbStreamDecoder decoder = new WkbStreamDecoder(Channels.newChannel(new ByteArrayInputStream(bytes)),
+                Wkb.Dialect.POSTGIS_EWKB_1);
+        assertEquals(geometries, readAll(decoder));
+        assertFalse(decoder.hasNext());
+    }
+
+    @Test
+    public void testRecordsLargerThanBuffer() {
+        byte[] bytes = encode(Wkb.Dialect.MYSQL_WKB, 50);
+        WkbStreamDecoder decoder = new WkbStreamDecoder(Channels.newChannel(new ByteArrayInputStream(bytes)),
+                Wkb.Dialect.MYSQL_WKB, null, 7);
+        assertEquals(geometries, decoder.stream().collect(Collectors.toList()));
+    }
+
+    /**
+     * A record is only decoded again after the buffer is filled, so a channel that returns a few bytes per read does
+     * not make decoding a large record quadratic.
+     */
+    @Test(timeout = 10000)
+    public void testLargeRecordFromChannelReturningSmallChunks() {
+        PositionSequenceBuilder<G2D> builder = PositionSequenceBuilders.fixedSized(100000, G2D.class);
+        for (int i = 0; i < 100000; i++) {
+            builder.add(i * 0.001, i * 0.0005);
+        }
+        Geometry<G2D> lineString = new LineString<>(builder.toPositionSequence(), WGS84);
+        byte[] large = Wkb.getEncoder(Wkb.Dialect.POSTGIS_EWKB_1).encode(lineString, ByteOrder.NDR).toByteArray();
+        byte[] small = encode(Wkb.Dialect.POSTGIS_EWKB_1, 5);
+        byte[] bytes = new byte[large.length + small.length];
+        System.arraycopy(large, 0, bytes, 0, large.length);
+        System.arraycopy(small, 0, bytes, large.length, small.length);
+        geometries.add(0, lineString);
+
+        WkbStreamDecoder decoder = new WkbStreamDecoder(new ChunkedChannel(bytes, 3), Wkb.Dialect.POSTGIS_EWKB_1,
+                null, 1024);
+        assertEquals(geometries, readAll(decoder));
+    }
+
+    @Test
+    public void testEmptyInput() {
+        WkbStreamDecoder decoder = new WkbStreamDecoder(Channels.newChannel(new ByteArrayInputStream(new byte[0])),
+                Wkb.Dialect.POSTGIS_EWKB_1);
+        assertFalse(decoder.hasNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonBlockingChannelIsRejected() throws IOException {
+        Pipe pipe = Pipe.open();
+        try {
+            pipe.source().configureBlocking(false);
+            new WkbStreamDecoder(pipe.source(), Wkb.Dialect.POSTGIS_EWKB_1);
+        } finally {
+            pipe.source().close();
+            pipe.sink().close();
+        }
+    }
+
+    @Test(expected = WkbDecodeException.class)
+    public void testTruncatedInput() {
+        byte[] bytes = encode(Wkb.Dialect.POSTGIS_EWKB_1, 10);
+        byte[] truncated = new byte[bytes.length - 3];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        readAll(new WkbStreamDecoder(Channels.newChannel(new ByteArrayInputStream(truncated)),
+                Wkb.Dialect.POSTGIS_EWKB_1));
+    }
+
+    @Test
+    public void testParallelDecodingWithKnownOffsets() {
+        byte[] bytes = encode(Wkb.Dialect.HANA_EWKB, 5000);
+        int[] recordOffsets = offsets.stream().mapToInt(Integer::intValue).toArray();
+        List<Geometry<?>> decoded = StreamSupport.stream(
+                WkbStreamDecoder.spliterator(java.nio.ByteBuffer.wrap(bytes), recordOffsets, Wkb.Dialect.HANA_EWKB),
+                true).collect(Collectors.toList());
+        assertEquals(geometries, decoded);
+    }
+
+    /**
+     * A channel that returns at most a given number of bytes per read, like a socket or a pipe may do.
+     */
+    private static class ChunkedChannel implements ReadableByteChannel {
+
+        private final java.nio.ByteBuffer bytes;
+        private final int chunkSize;
+
+        ChunkedChannel(byte[] bytes, int chunkSize) {
+            this.bytes = java.nio.ByteBuffer.wrap(bytes);
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read(java.nio.ByteBuffer dst) {
+            if (!bytes.hasRemaining()) return -1;
+            int count = Math.min(chunkSize, Math.min(dst.remaining(), bytes.remaining()));
+            for (int i = 0; i < count; i++) {
+                dst.put(bytes.get());
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
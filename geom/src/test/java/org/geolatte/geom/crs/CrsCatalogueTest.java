@@ -0,0 +1,127 @@
+package org.geolatte.geom.crs;
+
+import org.geolatte.geom.codec.CrsWktDecoder;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class CrsCatalogueTest {
+
+    private static final String WKT_6190 = "COMPD_CS[\"Belge 1972 / Belgian Lambert 72 + Ostend height\",PROJCS[\"Belge 1972 / Belgian Lambert 72\",GEOGCS[\"Belge 1972\",DATUM[\"Reseau_National_Belge_1972\",SPHEROID[\"International 1924\",6378388,297,AUTHORITY[\"EPSG\",\"7022\"]],TOWGS84[-106.8686,52.2978,-103.7239,0.3366,-0.457,1.8422,-1.2747],AUTHORITY[\"EPSG\",\"6313\"]],PRIMEM[\"Greenwich\",0,AUTHORITY[\"EPSG\",\"8901\"]],UNIT[\"degree\",0.0174532925199433,AUTHORITY[\"EPSG\",\"9122\"]],AUTHORITY[\"EPSG\",\"4313\"]],PROJECTION[\"Lambert_Conformal_Conic_2SP\"],PARAMETER[\"standard_parallel_1\",51.16666723333333],PARAMETER[\"standard_parallel_2\",49.8333339],PARAMETER[\"latitude_of_origin\",90],PARAMETER[\"central_meridian\",4.367486666666666],PARAMETER[\"false_easting\",150000.013],PARAMETER[\"false_northing\",5400088.438],UNIT[\"metre\",1,AUTHORITY[\"EPSG\",\"9001\"]],AXIS[\"X\",EAST],AXIS[\"Y\",NORTH],AUTHORITY[\"EPSG\",\"31370\"]],VERT_CS[\"Ostend height\",VERT_DATUM[\"Ostend\",2005,AUTHORITY[\"EPSG\",\"5110\"]],UNIT[\"metre\",1,AUTHORITY[\"EPSG\",\"9001\"]],AXIS[\"Up\",UP],AUTHORITY[\"EPSG\",\"5710\"]],AUTHORITY[\"EPSG\",\"6190\"]]";
+
+    private static final String WKT_3031 = "PROJCS[\"WGS 84 / Antarctic Polar Stereographic\",GEOGCS[\"WGS 84\",DATUM[\"WGS_1984\",SPHEROID[\"WGS 84\",6378137,298.257223563,AUTHORITY[\"EPSG\",\"7030\"]],AUTHORITY[\"EPSG\",\"6326\"]],PRIMEM[\"Greenwich\",0,AUTHORITY[\"EPSG\",\"8901\"]],UNIT[\"degree\",0.0174532925199433,AUTHORITY[\"EPSG\",\"9122\"]],AUTHORITY[\"EPSG\",\"4326\"]],PROJECTION[\"Polar_Stereographic\"],PARAMETER[\"latitude_of_origin\",-71],PARAMETER[\"central_meridian\",0],PARAMETER[\"scale_factor\",1],PARAMETER[\"false_easting\",0],PARAMETER[\"false_northing\",0],UNIT[\"metre\",1,AUTHORITY[\"EPSG\",\"9001\"]],AXIS[\"Easting\",UNKNOWN],AXIS[\"Northing\",UNKNOWN],EXTENSION[\"PROJ4\",\"+proj=stere +lat_0=-90 +lat_ts=-71\"],AUTHORITY[\"EPSG\",\"3031\"]]";
+
+    @Test
+    public void testCatalogueDecodesAsTheWktDefinitions() throws IOException, URISyntaxException {
+        Path source = Paths.get(getClass().getClassLoader().getResource(CrsCatalogue.DEFINITIONS).toURI());
+        Map<Integer, String> definitions = CrsCatalogue.readDefinitions(source);
+        assertFalse(definitions.isEmpty());
+        CrsCatalogue catalogue = new CrsCatalogue(ByteBuffer.wrap(CrsCatalogue.write(definitions)));
+        for (Map.Entry<Integer, String> definition : definitions.entrySet()) {
+            assertDecodedAsWkt(catalogue, definition.getKey(), definition.getValue());
+        }
+    }
+
+    @Test
+    public void testDefinitionsAreReadWithoutTheProj4Column() throws IOException {
+        File file = File.createTempFile("spatial_ref_sys", ".txt");
+        file.deleteOnExit();
+        String lines = "EPSG|3031|" + WKT_3031 + "|+proj=stere +lat_0=-90 +lat_ts=-71 +datum=WGS84 +units=m +no_defs \n"
+                + "EPSG|6190|" + WKT_6190 + "\n"
+                + "ESRI|3031|GEOGCS[\"Ignored\"]|+proj=longlat\n";
+        Files.write(file.toPath(), lines.getBytes(StandardCharsets.UTF_8));
+
+        Map<Integer, String> definitions = CrsCatalogue.readDefinitions(file.toPath());
+        assertEquals(2, definitions.size());
+        assertEquals(WKT_3031, definitions.get(3031));
+        assertEquals(WKT_6190, definitions.get(6190));
+        CrsCatalogue catalogue = new CrsCatalogue(ByteBuffer.wrap(CrsCatalogue.write(definitions)));
+        assertTrue(catalogue.decode(3031) instanceof ProjectedCoordinateReferenceSystem);
+        assertDecodedAsWkt(catalogue, 3031, WKT_3031);
+    }
+
+    @Test
+    public void testNoCatalogueIsGeneratedWithoutDefinitions() throws IOException {
+        File target = File.createTempFile("crs_catalogue", ".bin");
+        target.deleteOnExit();
+        CrsCatalogue.main(new String[]{target.getPath() + ".missing.txt", target.getPath()});
+        assertFalse(target.exists());
+    }
+
+    @Test
+    public void testUnsupportedAndInvalidDefinitionsAreKeptAsWkt() throws IOException {
+        Map<Integer, String> definitions = new HashMap<>();
+        definitions.put(6190, WKT_6190);
+        definitions.put(3031, WKT_3031);
+        definitions.put(1, "GEOGCS[\"Invalid\"");
+        CrsCatalogue catalogue = new CrsCatalogue(ByteBuffer.wrap(CrsCatalogue.write(definitions)));
+
+        assertTrue(catalogue.decode(6190) instanceof CompoundCoordinateReferenceSystem);
+        assertDecodedAsWkt(catalogue, 6190, WKT_6190);
+        assertDecodedAsWkt(catalogue, 3031, WKT_3031);
+        assertNull(catalogue.decode(1));
+        assertNull(catalogue.decode(2));
+    }
+
+    @Test
+    public void testIdenticalRecordsAreStoredOnce() throws IOException {
+        Map<Integer, String> one = new HashMap<>();
+        one.put(3031, WKT_3031);
+        Map<Integer, String> two = new HashMap<>(one);
+        two.put(3032, WKT_3031.replace("Antarctic Polar Stereographic", "Copy").replace("3031", "3032"));
+        // only the index, the entry and the new name are added
+        assertTrue(CrsCatalogue.write(two).length < CrsCatalogue.write(one).length + 150);
+    }
+
+    private static void assertDecodedAsWkt(CrsCatalogue catalogue, int srid, String wkt) {
+        CoordinateReferenceSystem<?> expected = new CrsWktDecoder().decode(wkt, srid);
+        CoordinateReferenceSystem<?> decoded = catalogue.decode(srid);
+        assertEquals(expected, decoded);
+        assertEquals(describe(expected), describe(decoded));
+    }
+
+    /**
+     * Returns a description that includes the properties that are ignored by the equals() methods (e.g. names).
+     */
+    private static String describe(CoordinateReferenceSystem<?> crs) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(crs.getClass().getSimpleName()).append(' ').append(crs.getName()).append(' ').append(crs.getCrsId());
+        for (CoordinateSystemAxis axis : crs.getCoordinateSystem().getAxes()) {
+            builder.append(' ').append(axis.getClass().getSimpleName()).append(axis)
+                    .append(axis.getUnit().getCrsId()).append(axis.getUnit().getClass().getSimpleName());
+        }
+        if (crs instanceof ProjectedCoordinateReferenceSystem) {
+            ProjectedCoordinateReferenceSystem projected = (ProjectedCoordinateReferenceSystem) crs;
+            Extension extension = projected.getExtension();
+            builder.append(' ').append(projected.getProjection())
+                    .append(' ').append(projected.getParameters())
+                    .append(' ').append(extension == null ? null : extension.getName() + "=" + extension.getValue())
+                    .append(' ').append(describe(projected.getGeographicCoordinateSystem()));
+        }
+        if (crs instanceof GeographicCoordinateReferenceSystem) {
+            GeographicCoordinateReferenceSystem<?> geographic = (GeographicCoordinateReferenceSystem<?>) crs;
+            Datum datum = geographic.getDatum();
+            Ellipsoid ellipsoid = datum.getEllipsoid();
+            PrimeMeridian primeMeridian = geographic.getPrimeMeridian();
+            builder.append(' ').append(datum.getName()).append(datum.getCrsId())
+                    .append(Arrays.toString(datum.getToWGS84()))
+                    .append(' ').append(ellipsoid.getName()).append(ellipsoid.getCrsId())
+                    .append(ellipsoid.getSemiMajorAxis()).append('/').append(ellipsoid.getInverseFlattening())
+                    .append(' ').append(primeMeridian.getName()).append(primeMeridian.getCrsId())
+                    .append(primeMeridian.getLongitude());
+        }
+        return builder.toString();
+    }
+}
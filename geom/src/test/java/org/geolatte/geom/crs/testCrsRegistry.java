@@ -23,8 +23,13 @@ package org.geolatte.geom.crs;
 
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -51,4 +56,36 @@ public class testCrsRegistry {
         assertEquals(4326,crs.getCode());
     }
 
+    @Test
+    public void testDefinitionsAreDecodedOnceOnFirstRequest(){
+        CoordinateReferenceSystem<?> crs = CrsRegistry.getCoordinateReferenceSystemForEPSG(31370, null);
+        assertTrue(crs instanceof ProjectedCoordinateReferenceSystem);
+        assertSame(crs, CrsRegistry.getCoordinateReferenceSystemForEPSG(31370, null));
+        assertSame(crs, CrsRegistry.getProjectedCoordinateReferenceSystemForEPSG(31370));
+        assertSame(crs, CrsRegistry.computeIfAbsent(CrsId.valueOf(31370), key -> CoordinateReferenceSystems.PROJECTED_2D_METER));
+    }
+
+    @Test
+    public void testDefinitionsWithProj4Column(){
+        String wkt = "GEOGCS[\"WGS 84\",DATUM[\"WGS_1984\",SPHEROID[\"WGS 84\",6378137,298.257223563,AUTHORITY[\"EPSG\",\"7030\"]],AUTHORITY[\"EPSG\",\"6326\"]],PRIMEM[\"Greenwich\",0,AUTHORITY[\"EPSG\",\"8901\"]],UNIT[\"degree\",0.0174532925199433,AUTHORITY[\"EPSG\",\"9122\"]],AUTHORITY[\"EPSG\",\"4326\"]]";
+        String content = "EPSG|4326|" + wkt + "|+proj=longlat +datum=WGS84 +no_defs \r\n"
+                + "EPSG|4327|" + wkt.replace("4326", "4327") + "\n";
+        CrsRegistry.Definitions definitions = CrsRegistry.Definitions.parse(content.getBytes(StandardCharsets.UTF_8));
+        CoordinateReferenceSystem<?> crs = definitions.decode(4326);
+        assertTrue(crs instanceof Geographic2DCoordinateReferenceSystem);
+        assertEquals(4326, crs.getCrsId().getCode());
+        assertEquals("WGS 84", crs.getName());
+        assertEquals(4327, definitions.decode(4327).getCrsId().getCode());
+        assertNull(definitions.decode(4328));
+    }
+
+    @Test
+    public void testUnknownCodes(){
+        assertFalse(CrsRegistry.hasCoordinateReferenceSystemForEPSG(999999));
+        assertNull(CrsRegistry.getCrsIdForEPSG(999999));
+        assertNull(CrsRegistry.getCoordinateReferenceSystemForEPSG(999999, null));
+        assertNull(CrsRegistry.getCoordinateReferenceSystem(new CrsId("ESRI", 4326), null));
+        assertTrue(CrsRegistry.hasCoordinateReferenceSystemForEPSG(3857));
+    }
+
 }
@@ -0,0 +1,155 @@
+package org.geolatte.geom.crs.trans;
+
+import org.geolatte.geom.C2D;
+import org.geolatte.geom.Envelope;
+import org.geolatte.geom.G2D;
+import org.geolatte.geom.Position;
+import org.geolatte.geom.crs.CrsRegistry;
+import org.geolatte.geom.crs.ProjectedCoordinateReferenceSystem;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.geolatte.geom.crs.CoordinateReferenceSystems.WEB_MERCATOR;
+import static org.geolatte.geom.crs.CoordinateReferenceSystems.WGS84;
+import static org.junit.Assert.*;
+
+public class ApproximateTransformOperationTest {
+
+    private final ProjectedCoordinateReferenceSystem lambert72 = CrsRegistry.getProjectedCoordinateReferenceSystemForEPSG(31370);
+    private final Envelope<G2D> belgium = new Envelope<>(2.5, 49.5, 6.4, 51.5, WGS84);
+
+    @Test
+    public void testErrorIsBelowMaximum() {
+        for (double maxError : new double[]{10, 1, 0.1}) {
+            assertMaxError(TransformOperations.from(WGS84, lambert72), belgium, maxError);
+        }
+        assertMaxError(TransformOperations.from(WGS84, WEB_MERCATOR), new Envelope<>(-180, -85, 180, 85, WGS84), 1);
+        assertMaxError(TransformOperations.from(lambert72, WGS84), new Envelope<>(20000, 20000, 300000, 250000, lambert72), 1e-6);
+    }
+
+    @Test
+    public void testErrorIsBelowMaximumWithinEachCell() {
+        for (double maxError : new double[]{10, 1, 0.1}) {
+            assertMaxErrorWithinCells(TransformOperations.from(WGS84, lambert72), belgium, maxError);
+        }
+        ProjectedCoordinateReferenceSystem utm31 = CrsRegistry.getProjectedCoordinateReferenceSystemForEPSG(32631);
+        assertMaxErrorWithinCells(TransformOperations.from(WGS84, utm31), new Envelope<>(-10, 0, 20, 80, WGS84), 1);
+        assertMaxErrorWithinCells(TransformOperations.from(lambert72, WGS84),
+                new Envelope<>(20000, 20000, 300000, 250000, lambert72), 1e-6);
+    }
+
+    @Test
+    public void testGridIsRefinedForSmallerErrors() {
+        TransformOperation<G2D, C2D> exact = TransformOperations.from(WGS84, lambert72);
+        ApproximateTransformOperation<G2D, C2D> coarse = new ApproximateTransformOperation<>(exact, belgium, 1);
+        ApproximateTransformOperation<G2D, C2D> fine = new ApproximateTransformOperation<>(exact, belgium, 0.1);
+        assertTrue(coarse.getInterpolatedCellCount() < fine.getInterpolatedCellCount());
+        assertEquals(0, fine.getExactCellCount());
+        // beyond the maximum depth
+        ApproximateTransformOperation<G2D, C2D> exceeded = new ApproximateTransformOperation<>(exact, belgium, 0.1, 6);
+        assertEquals(0, exceeded.getInterpolatedCellCount());
+        assertEquals(4096, exceeded.getExactCellCount());
+    }
+
+    @Test
+    public void testExactOperationIsUsedOutsideExtentAndBeyondMaximumDepth() {
+        TransformOperation<G2D, C2D> exact = TransformOperations.from(WGS84, lambert72);
+        ApproximateTransformOperation<G2D, C2D> approximate = new ApproximateTransformOperation<>(exact, belgium, 1e-9, 2);
+        assertEquals(0, approximate.getInterpolatedCellCount());
+        assertEquals(16, approximate.getExactCellCount());
+
+        double[] src = new double[]{4.4, 50.8, 10, 50, Double.NaN, 50, 2.5, 49.5};
+        double[] expected = new double[src.length];
+        double[] actual = new double[src.length];
+        exact.getOperation().forward(src, 0, 2, expected, 0, 2, 4);
+        approximate.getOperation().forward(src, 0, 2, actual, 0, 2, 4);
+        assertArrayEquals(expected, actual, 0.0);
+    }
+
+    @Test
+    public void testReverseIsExact() {
+        TransformOperation<G2D, C2D> exact = TransformOperations.from(WGS84, lambert72);
+        ApproximateTransformOperation<G2D, C2D> approximate = new ApproximateTransformOperation<>(exact, belgium, 0.1);
+        C2D pos = new C2D(150000, 170000);
+        assertEquals(exact.reverse(pos), approximate.reverse(pos));
+        assertSame(exact.reversed().getOperation().getClass(), approximate.reversed().getOperation().getClass());
+        assertEquals(WGS84, approximate.getSource());
+        assertEquals(lambert72, approximate.getTarget());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaximumErrorMustBePositive() {
+        new ApproximateTransformOperation<>(TransformOperations.from(WGS84, lambert72), belgium, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExtentMustNotBeEmpty() {
+        new ApproximateTransformOperation<>(TransformOperations.from(WGS84, lambert72), new Envelope<>(WGS84), 1);
+    }
+
+    /**
+     * Checks the error at random positions within each interpolated cell, rather than within the whole extent.
+     */
+    private static <P extends Position, Q extends Position> void assertMaxErrorWithinCells(TransformOperation<P, Q> exact,
+                                                                                         Envelope<P> extent,
+                                                                                         double maxError) {
+        ApproximateTransformOperation<P, Q> approximate = new ApproximateTransformOperation<>(exact, extent, maxError);
+        double[] bounds = approximate.getInterpolatedCellBounds();
+        int cells = bounds.length / 4;
+        assertEquals(approximate.getInterpolatedCellCount(), cells);
+        int perCell = Math.max(8, 262144 / cells);
+        Random random = new Random(7);
+        double[] src = new double[2 * perCell];
+        double[] expected = new double[src.length];
+        double[] actual = new double[src.length];
+        for (int c = 0; c < bounds.length; c += 4) {
+            for (int i = 0; i < perCell; i++) {
+                src[2 * i] = bounds[c] + random.nextDouble() * (bounds[c + 2] - bounds[c]);
+                src[2 * i + 1] = bounds[c + 1] + random.nextDouble() * (bounds[c + 3] - bounds[c + 1]);
+            }
+            exact.getOperation().forward(src, 0, 2, expected, 0, 2, perCell);
+            approximate.getOperation().forward(src, 0, 2, actual, 0, 2, perCell);
+            for (int i = 0; i < perCell; i++) {
+                double dx = expected[2 * i] - actual[2 * i];
+                double dy = expected[2 * i + 1] - actual[2 * i + 1];
+                assertTrue(Math.sqrt(dx * dx + dy * dy) <= maxError);
+            }
+        }
+    }
+
+    private static <P extends Position, Q extends Position> void assertMaxError(TransformOperation<P, Q> exact,
+                                                                              Envelope<P> extent, double maxError) {
+        ApproximateTransformOperation<P, Q> approximate = new ApproximateTransformOperation<>(exact, extent, maxError);
+        double minX = extent.lowerLeft().getCoordinate(0);
+        double minY = extent.lowerLeft().getCoordinate(1);
+        double width = extent.upperRight().getCoordinate(0) - minX;
+        double height = extent.upperRight().getCoordinate(1) - minY;
+        Random random = new Random(42);
+        int count = 100000;
+        double[] src = new double[2 * count];
+        for (int i = 0; i < count; i++) {
+            // alternately scattered and close to the previous position
+            double x = i % 2 == 0 ? random.nextDouble() : (src[2 * i - 2] - minX) / width + 1e-6;
+            double y = i % 2 == 0 ? random.nextDouble() : (src[2 * i - 1] - minY) / height;
+            src[2 * i] = minX + Math.min(x, 1) * width;
+            src[2 * i + 1] = minY + y * height;
+        }
+        double[] expected = new double[src.length];
+        double[] actual = new double[src.length];
+        exact.getOperation().forward(src, 0, 2, expected, 0, 2, count);
+        approximate.getOperation().forward(src, 0, 2, actual, 0, 2, count);
+        for (int i = 0; i < count; i++) {
+            double dx = expected[2 * i] - actual[2 * i];
+            double dy = expected[2 * i + 1] - actual[2 * i + 1];
+            assertTrue(Math.sqrt(dx * dx + dy * dy) <= maxError);
+        }
+        // the batch does not depend on the order of the positions
+        double[] out = new double[2];
+        for (int i = 0; i < count; i += 997) {
+            approximate.getOperation().forward(new double[]{src[2 * i], src[2 * i + 1]}, out);
+            assertEquals(actual[2 * i], out[0], 0.0);
+            assertEquals(actual[2 * i + 1], out[1], 0.0);
+        }
+    }
+}
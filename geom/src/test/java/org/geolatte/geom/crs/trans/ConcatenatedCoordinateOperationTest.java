@@ -6,7 +6,15 @@ import org.geolatte.geom.crs.GeographicCoordinateReferenceSystem;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Created by Karel Maesen, Geovise BVBA on 22/07/17.
@@ -53,6 +61,119 @@ public class ConcatenatedCoordinateOperationTest {
     }
 
 
+    @Test
+    public void testBatchForwardAndReverseMatchSingleCoordinate() {
+        // more positions than fit in a single block
+        int count = 1000;
+        double[] src = new double[3 * count];
+        for (int i = 0; i < count; i++) {
+            src[3 * i] = 2.5 + i * 0.003;
+            src[3 * i + 1] = 49.5 + i * 0.002;
+            src[3 * i + 2] = Double.NaN; // not read by the chain
+        }
+        double[] dst = new double[1 + 3 * count];
+        chain.forward(src, 0, 3, dst, 1, 3, count);
+
+        double[] out = new double[3];
+        double[] back = new double[2];
+        double[] reversed = new double[2 * count];
+        chain.reverse(dst, 1, 3, reversed, 0, 2, count);
+        for (int i = 0; i < count; i++) {
+            chain.forward(new double[]{src[3 * i], src[3 * i + 1]}, out);
+            assertEquals(out[0], dst[1 + 3 * i], 0.0);
+            assertEquals(out[1], dst[2 + 3 * i], 0.0);
+            assertEquals(out[2], dst[3 + 3 * i], 0.0);
+
+            chain.reverse(out, back);
+            assertEquals(back[0], reversed[2 * i], 0.0);
+            assertEquals(back[1], reversed[2 * i + 1], 0.0);
+        }
+    }
+
+    @Test
+    public void testInversePairsAndIdentitiesAreEliminated() {
+        GeographicCoordinateReferenceSystem wgs84 = CoordinateReferenceSystems.WGS84;
+        ConcatenatedOperation identity = new ConcatenatedOperation.Builder()
+                .reverse(new Geographic3DTo2DConversion())
+                .forward(new GeographicToGeocentricConversion(wgs84))
+                .forward(PositionVectorTransformation.fromTOWGS84(new double[7]))
+                .reverse(new GeographicToGeocentricConversion(wgs84))
+                .forward(new Geographic3DTo2DConversion())
+                .build();
+
+        // without simplification, the iterative reverse geocentric conversion would introduce rounding errors
+        double[] inCoordinate = new double[]{4.123456789, 50.987654321};
+        double[] outCoordinate = new double[2];
+        identity.forward(inCoordinate, outCoordinate);
+        assertEquals(inCoordinate[0], outCoordinate[0], 0.0);
+        assertEquals(inCoordinate[1], outCoordinate[1], 0.0);
+        identity.reverse(inCoordinate, outCoordinate);
+        assertEquals(inCoordinate[0], outCoordinate[0], 0.0);
+        assertEquals(inCoordinate[1], outCoordinate[1], 0.0);
+    }
+
+    @Test
+    public void testAdjacentHelmertTransformationsAreMerged() {
+        GeographicCoordinateReferenceSystem bd72 = CrsRegistry.getGeographicCoordinateReferenceSystemForEPSG(4313);
+        GeographicCoordinateReferenceSystem ed50 = CrsRegistry.getGeographicCoordinateReferenceSystemForEPSG(4231);
+        PositionVectorTransformation toWgs84 = PositionVectorTransformation.fromTOWGS84(bd72.getDatum().getToWGS84());
+        CoordinateFrameRotation rotation = new CoordinateFrameRotation(-81.07, -89.36, -115.75, 0.485, 0.024, 0.413, -0.54);
+        PositionVectorTransformation fromWgs84 = PositionVectorTransformation.fromTOWGS84(ed50.getDatum().getToWGS84());
+        ConcatenatedOperation merged = new ConcatenatedOperation.Builder()
+                .forward(toWgs84)
+                .forward(rotation)
+                .reverse(rotation)
+                .reverse(fromWgs84)
+                .build();
+
+        double[] geocentric = new double[]{4027894.006, 307045.600, 4919474.910};
+        double[] expected = new double[3];
+        double[] tmp = new double[3];
+        toWgs84.forward(geocentric, expected);
+        rotation.forward(expected, tmp);
+        rotation.reverse(tmp, expected);
+        fromWgs84.reverse(expected, tmp);
+        double[] outCoordinate = new double[3];
+        merged.forward(geocentric, outCoordinate);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(tmp[i], outCoordinate[i], 0.0001);
+        }
+
+        fromWgs84.forward(tmp, expected);
+        rotation.forward(expected, tmp);
+        rotation.reverse(tmp, expected);
+        toWgs84.reverse(expected, tmp);
+        merged.reverse(outCoordinate, expected);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(tmp[i], expected[i], 0.0001);
+        }
+    }
+
+    @Test
+    public void testChainIsThreadSafe() throws Exception {
+        double[] expected = new double[3];
+        chain.forward(new double[]{4, 50}, expected);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(executor.submit(() -> {
+                    double[] out = new double[3];
+                    for (int i = 0; i < 10000; i++) {
+                        chain.forward(new double[]{4, 50}, out);
+                        if (!Arrays.equals(expected, out)) return false;
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testThrowsExceptionWhenDimensionsDoNotMatch() {
         CoordinateOperation testOp = new TrivialOp();
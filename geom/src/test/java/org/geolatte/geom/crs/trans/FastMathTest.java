@@ -0,0 +1,105 @@
+package org.geolatte.geom.crs.trans;
+
+import org.geolatte.geom.G2D;
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.geolatte.geom.crs.CrsRegistry;
+import org.geolatte.geom.crs.GeographicCoordinateReferenceSystem;
+import org.junit.Test;
+
+import static org.geolatte.geom.crs.CoordinateReferenceSystems.WGS84;
+import static org.junit.Assert.*;
+
+public class FastMathTest {
+
+    @Test
+    public void testSinCosAgainstMath() {
+        double[] sc = new double[2];
+        for (double x = -20; x <= 20; x += 0.000713) {
+            FastMath.sinCos(x, sc);
+            assertEquals(Math.sin(x), sc[0], 5e-16);
+            assertEquals(Math.cos(x), sc[1], 5e-16);
+            assertEquals(sc[0], FastMath.sin(x), 0.0);
+            assertEquals(sc[1], FastMath.cos(x), 0.0);
+        }
+        // beyond the range of the argument reduction
+        FastMath.sinCos(1e7, sc);
+        assertEquals(Math.sin(1e7), sc[0], 1e-15);
+        assertEquals(Math.cos(1e7), sc[1], 1e-15);
+    }
+
+    @Test
+    public void testAtanhSmallAgainstLog() {
+        for (double x = -0.3; x <= 0.3; x += 0.00037) {
+            double expected = 0.5 * Math.log((1 + x) / (1 - x));
+            assertEquals(expected, FastMath.atanhSmall(x), 1e-16 + Math.abs(expected) * 1e-15);
+        }
+    }
+
+    @Test
+    public void testGeocentricConversionWithinBound() {
+        GeographicToGeocentricConversion strict = new GeographicToGeocentricConversion(WGS84);
+        GeographicToGeocentricConversion fast = new GeographicToGeocentricConversion(WGS84, MathMode.FAST);
+        assertNotEquals(strict, fast);
+        double[] geo = new double[3];
+        double[] strictGeo = new double[3];
+        double[] expected = new double[3];
+        double[] actual = new double[3];
+        for (double lon = -180; lon <= 180; lon += 7.3) {
+            for (double lat = -89.9; lat <= 90; lat += 3.1) {
+                strict.forward(new double[]{lon, lat, 120}, expected);
+                fast.forward(new double[]{lon, lat, 120}, actual);
+                assertArrayEquals(expected, actual, 1e-8);
+
+                strict.reverse(expected, strictGeo);
+                fast.reverse(expected, geo);
+                assertEquals(strictGeo[0], geo[0], 1e-11);
+                assertEquals(strictGeo[1], geo[1], 1e-11);
+                assertEquals(strictGeo[2], geo[2], 1e-8);
+            }
+        }
+    }
+
+    @Test
+    public void testProjectionsWithinBound() {
+        assertWithinBound(WGS84, 3857, -179, 179, -85, 85);
+        assertWithinBound(WGS84, 3857, -179, 179, -89.9, -85);
+        assertWithinBound(WGS84, 3857, -179, 179, 85, 89.9);
+        assertWithinBound(WGS84, 31370, 2, 7, 49, 52);
+        assertWithinBound(WGS84, 31370, 2, 7, 52, 89.9);
+        assertWithinBound(CrsRegistry.getGeographicCoordinateReferenceSystemForEPSG(4313), 31370, 2, 7, 49, 52);
+        assertWithinBound(CrsRegistry.getGeographicCoordinateReferenceSystemForEPSG(4313), 4231, -10, 30, 35, 70);
+    }
+
+    @Test
+    public void testOperationsAreCachedPerMode() {
+        CoordinateReferenceSystem<?> lambert72 = CrsRegistry.getProjectedCoordinateReferenceSystemForEPSG(31370);
+        TransformOperation<G2D, ?> fast = TransformOperations.from(WGS84, lambert72, MathMode.FAST);
+        assertSame(fast, TransformOperations.from(WGS84, lambert72, MathMode.FAST));
+        assertNotSame(fast, TransformOperations.from(WGS84, lambert72));
+        assertSame(TransformOperations.from(WGS84, lambert72), TransformOperations.from(WGS84, lambert72, MathMode.STRICT));
+    }
+
+    private static void assertWithinBound(GeographicCoordinateReferenceSystem<?> source, int target,
+                                          double minLon, double maxLon, double minLat, double maxLat) {
+        CoordinateReferenceSystem<?> targetCrs = CrsRegistry.getCoordinateReferenceSystemForEPSG(target, null);
+        CoordinateOperation strict = CoordinateOperations.transform(source, targetCrs);
+        CoordinateOperation fast = CoordinateOperations.transform(source, targetCrs, MathMode.FAST);
+        double tolerance = targetCrs instanceof GeographicCoordinateReferenceSystem ? 1e-11 : 1e-6;
+        double[] expected = new double[2];
+        double[] actual = new double[2];
+        double[] back = new double[2];
+        for (int i = 0; i <= 37; i++) {
+            for (int j = 0; j <= 41; j++) {
+                double lon = minLon + (maxLon - minLon) * i / 37;
+                double lat = minLat + (maxLat - minLat) * j / 41;
+                strict.forward(new double[]{lon, lat}, expected);
+                fast.forward(new double[]{lon, lat}, actual);
+                assertArrayEquals(expected, actual, tolerance);
+
+                strict.reverse(expected, back);
+                fast.reverse(expected, actual);
+                assertArrayEquals(back, actual, 1e-11);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.geolatte.geom.crs.trans;
+
+import org.geolatte.geom.*;
+import org.geolatte.geom.crs.CrsRegistry;
+import org.geolatte.geom.crs.ProjectedCoordinateReferenceSystem;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.geolatte.geom.builder.DSL.*;
+import static org.geolatte.geom.crs.CoordinateReferenceSystems.WGS84;
+import static org.junit.Assert.assertEquals;
+
+public class ParallelTransformerTest {
+
+    private final ProjectedCoordinateReferenceSystem lambert72 = CrsRegistry.getProjectedCoordinateReferenceSystemForEPSG(31370);
+    private final TransformOperation<G2D, C2D> op = TransformOperations.from(WGS84, lambert72);
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testResultsEqualThoseOfTransformVisitor() {
+        List<Geometry<G2D>> geometries = new ArrayList<>();
+        geometries.add(point(WGS84, g(4.5, 50.5)));
+        geometries.add(Geometries.mkEmptyPolygon(WGS84));
+        geometries.add(polygon(ring(WGS84, circle(3.5, 50.5, 1000)), ring(WGS84, circle(3.5, 50.5, 10))));
+        geometries.add(multipolygon(
+                polygon(ring(WGS84, circle(4.0, 50.0, 37))),
+                polygon(ring(WGS84, circle(5.0, 51.0, 5)))));
+        geometries.add(geometrycollection(point(WGS84, g(5, 51)), linestring(WGS84, circle(4.2, 50.8, 64))));
+        geometries.add(linestring(WGS84, circle(4.4, 50.2, 3)));
+        geometries.add(Geometries.mkEmptyMultiPoint(WGS84));
+
+        // a small chunk size, so that sequences are both split and grouped
+        ParallelTransformer<G2D, C2D> transformer = new ParallelTransformer<>(op, executor, 16);
+        List<Geometry<C2D>> transformed = transformer.transformAll(geometries);
+
+        assertEquals(geometries.size(), transformed.size());
+        for (int i = 0; i < geometries.size(); i++) {
+            assertEquals(transformVisitor(geometries.get(i)), transformed.get(i));
+            assertEquals(transformVisitor(geometries.get(i)), transformer.transform(geometries.get(i)));
+        }
+    }
+
+    @Test
+    public void testOutputOrderIsDeterministic() {
+        List<Geometry<G2D>> geometries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            geometries.add(point(WGS84, g(3 + i * 0.002, 50 + i * 0.001)));
+        }
+        List<Geometry<C2D>> transformed = new ParallelTransformer<>(op, executor, 7).transformAll(geometries);
+        for (int i = 0; i < geometries.size(); i++) {
+            assertEquals(transformVisitor(geometries.get(i)), transformed.get(i));
+        }
+    }
+
+    @Test
+    public void testDefaultsToCommonPool() {
+        Geometry<G2D> polygon = polygon(ring(WGS84, circle(4.0, 50.5, 10000)));
+        assertEquals(transformVisitor(polygon), new ParallelTransformer<>(op).transform(polygon));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testChunkSizeMustBePositive() {
+        new ParallelTransformer<>(op, executor, 0);
+    }
+
+    private Geometry<C2D> transformVisitor(Geometry<G2D> geometry) {
+        TransformVisitor<G2D, C2D> visitor = new TransformVisitor<>(op);
+        geometry.accept(visitor);
+        return visitor.getTransformed();
+    }
+
+    /**
+     * Returns a closed ring of n + 1 positions around the center.
+     */
+    private static G2D[] circle(double lon, double lat, int n) {
+        G2D[] positions = new G2D[n + 1];
+        for (int i = 0; i < n; i++) {
+            double angle = 2 * Math.PI * i / n;
+            positions[i] = g(lon + 0.1 * Math.cos(angle), lat + 0.1 * Math.sin(angle));
+        }
+        positions[n] = positions[0];
+        return positions;
+    }
+}
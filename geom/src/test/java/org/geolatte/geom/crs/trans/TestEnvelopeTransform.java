@@ -3,6 +3,8 @@ package org.geolatte.geom.crs.trans;
 import org.geolatte.geom.C2D;
 import org.geolatte.geom.Envelope;
 import org.geolatte.geom.G2D;
+import org.geolatte.geom.crs.CrsRegistry;
+import org.geolatte.geom.crs.ProjectedCoordinateReferenceSystem;
 import org.junit.Test;
 
 import static org.geolatte.geom.AssertHelpers.assertEquals;
@@ -10,6 +12,9 @@ import static org.geolatte.geom.builder.DSL.c;
 import static org.geolatte.geom.builder.DSL.g;
 import static org.geolatte.geom.crs.CoordinateReferenceSystems.WEB_MERCATOR;
 import static org.geolatte.geom.crs.CoordinateReferenceSystems.WGS84;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Created by Karel Maesen, Geovise BVBA on 2019-03-28.
@@ -31,4 +36,97 @@ public class TestEnvelopeTransform {
         Envelope<G2D> exp = new Envelope<>(g(5, 50), g(6, 51), WGS84);
         assertEquals(exp, transform.reverse(env), 0.00001);
     }
+
+    @Test
+    public void testDensifiedEnvelopeCoversTransformedArea() {
+        ProjectedCoordinateReferenceSystem lambert72 = CrsRegistry.getProjectedCoordinateReferenceSystemForEPSG(31370);
+        TransformOperation<G2D, C2D> op = TransformOperations.from(WGS84, lambert72);
+        Envelope<G2D> env = new Envelope<>(g(2.5, 49.5), g(6.5, 51.5), WGS84);
+
+        Envelope<C2D> corners = new Envelope<>(op.forward(env.lowerLeft()), op.forward(env.upperRight()), lambert72);
+        Envelope<C2D> densified = new EnvelopeTransform<>(op).forward(env);
+        assertTrue(densified.contains(corners));
+        assertFalse(corners.contains(densified));
+        for (double lon = 2.5; lon <= 6.5; lon += 0.05) {
+            for (double lat = 49.5; lat <= 51.5; lat += 0.05) {
+                C2D p = op.forward(g(lon, lat));
+                assertTrue(p.toString(), densified.contains(p));
+            }
+        }
+        // the parabolic interpolation keeps coarse densifications accurate
+        assertEquals(densified, new EnvelopeTransform<>(op, 1).forward(env), 0.01);
+
+        Envelope<G2D> reversed = new EnvelopeTransform<>(op).reverse(densified);
+        assertTrue(reversed.contains(env));
+    }
+
+    @Test
+    public void testEnvelopeContainingPoleExtendsToPole() {
+        ProjectedCoordinateReferenceSystem lambert72 = CrsRegistry.getProjectedCoordinateReferenceSystemForEPSG(31370);
+        TransformOperation<G2D, C2D> op = TransformOperations.from(WGS84, lambert72);
+        // the north pole is the apex of the cone
+        C2D pole = op.forward(g(0, 90));
+        Envelope<C2D> env = new Envelope<>(pole.getX() - 1000, pole.getY() - 1000, pole.getX() + 1000, pole.getY() + 1000, lambert72);
+
+        Envelope<G2D> reversed = new EnvelopeTransform<>(op).reverse(env);
+        assertEquals(90, reversed.upperRight().getLat(), 0.0);
+        assertEquals(-180, reversed.lowerLeft().getLon(), 0.0);
+        assertEquals(180, reversed.upperRight().getLon(), 0.0);
+        assertTrue(reversed.lowerLeft().getLat() > 89);
+    }
+
+    @Test
+    public void testEnvelopeCrossingAntimeridianCoversAllLongitudes() {
+        TransformOperation<G2D, G2D> shift = TransformOperations.create(WGS84, WGS84, new LongitudeShift(10));
+        Envelope<G2D> env = new Envelope<>(g(165, 10), g(175, 20), WGS84);
+
+        Envelope<G2D> shifted = new EnvelopeTransform<>(shift).forward(env);
+        assertEquals(new Envelope<>(g(-180, 10), g(180, 20), WGS84), shifted, 0.0);
+
+        Envelope<G2D> notCrossing = new EnvelopeTransform<>(shift).forward(new Envelope<>(g(150, 10), g(160, 20), WGS84));
+        assertEquals(new Envelope<>(g(160, 10), g(170, 20), WGS84), notCrossing, 1e-9);
+    }
+
+    /**
+     * Shifts longitudes, and normalizes them to [-180, 180).
+     */
+    static class LongitudeShift implements CoordinateOperation {
+
+        final private double shift;
+
+        LongitudeShift(double shift) {
+            this.shift = shift;
+        }
+
+        @Override
+        public boolean isReversible() {
+            return true;
+        }
+
+        @Override
+        public int inCoordinateDimension() {
+            return 2;
+        }
+
+        @Override
+        public int outCoordinateDimension() {
+            return 2;
+        }
+
+        @Override
+        public void forward(double[] inCoordinate, double[] outCoordinate) {
+            outCoordinate[0] = normalize(inCoordinate[0] + shift);
+            outCoordinate[1] = inCoordinate[1];
+        }
+
+        @Override
+        public void reverse(double[] inCoordinate, double[] outCoordinate) {
+            outCoordinate[0] = normalize(inCoordinate[0] - shift);
+            outCoordinate[1] = inCoordinate[1];
+        }
+
+        private static double normalize(double lon) {
+            return ((lon + 180) % 360 + 360) % 360 - 180;
+        }
+    }
 }
@@ -0,0 +1,141 @@
+package org.geolatte.geom.crs.trans;
+
+import org.geolatte.geom.C2D;
+import org.geolatte.geom.G2D;
+import org.geolatte.geom.crs.CrsRegistry;
+import org.geolatte.geom.crs.Geographic2DCoordinateReferenceSystem;
+import org.geolatte.geom.crs.ProjectedCoordinateReferenceSystem;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.geolatte.geom.crs.CoordinateReferenceSystems.WEB_MERCATOR;
+import static org.geolatte.geom.crs.CoordinateReferenceSystems.WGS84;
+import static org.junit.Assert.*;
+
+public class TransformOperationCacheTest {
+
+    private final ProjectedCoordinateReferenceSystem lambert72 = CrsRegistry.getProjectedCoordinateReferenceSystemForEPSG(31370);
+    private final Geographic2DCoordinateReferenceSystem bd72 = (Geographic2DCoordinateReferenceSystem) CrsRegistry.getGeographicCoordinateReferenceSystemForEPSG(4313);
+
+    @Test
+    public void testRepeatedLookupsReturnTheCachedOperation() {
+        TransformOperationCache cache = new TransformOperationCache(10);
+        TransformOperation<G2D, C2D> first = cache.get(WGS84, WEB_MERCATOR);
+        TransformOperation<G2D, C2D> second = cache.get(WGS84, WEB_MERCATOR);
+        assertSame(first, second);
+        assertEquals(WGS84, first.getSource());
+        assertEquals(WEB_MERCATOR, first.getTarget());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.size());
+
+        assertNotSame(first, cache.get(WEB_MERCATOR, WGS84));
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedOperationIsEvicted() throws InterruptedException {
+        TransformOperationCache cache = new TransformOperationCache(2);
+        TransformOperation<G2D, C2D> toMercator = cache.get(WGS84, WEB_MERCATOR);
+        Thread.sleep(1);
+        TransformOperation<G2D, C2D> toLambert = cache.get(WGS84, lambert72);
+        Thread.sleep(1);
+        assertSame(toMercator, cache.get(WGS84, WEB_MERCATOR));
+        Thread.sleep(1);
+        cache.get(bd72, WGS84);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertSame(toMercator, cache.get(WGS84, WEB_MERCATOR));
+        assertNotSame(toLambert, cache.get(WGS84, lambert72));
+    }
+
+    @Test
+    public void testSizeZeroDisablesCaching() {
+        TransformOperationCache cache = new TransformOperationCache(0);
+        assertNotSame(cache.get(WGS84, WEB_MERCATOR), cache.get(WGS84, WEB_MERCATOR));
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testShrinkingEvicts() {
+        TransformOperationCache cache = new TransformOperationCache(10);
+        cache.get(WGS84, WEB_MERCATOR);
+        cache.get(WGS84, lambert72);
+        cache.get(bd72, WGS84);
+        cache.setMaximumSize(1);
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testOperationsAreEvictedWhenMaximumWeightIsExceeded() {
+        TransformOperationCache cache = new TransformOperationCache(10, 5,
+                operation -> operation.getTarget().equals(WGS84) ? 3 : 2);
+        TransformOperation<G2D, C2D> toMercator = cache.get(WGS84, WEB_MERCATOR);
+        TransformOperation<G2D, C2D> toLambert = cache.get(WGS84, lambert72);
+        assertEquals(4, cache.weight());
+        assertSame(toMercator, cache.get(WGS84, WEB_MERCATOR));
+        cache.get(bd72, WGS84);
+
+        assertEquals(2, cache.size());
+        assertEquals(5, cache.weight());
+        assertEquals(1, cache.getEvictionCount());
+        assertSame(toMercator, cache.get(WGS84, WEB_MERCATOR));
+        assertNotSame(toLambert, cache.get(WGS84, lambert72));
+
+        cache.setMaximumWeight(2);
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.weight());
+        cache.clear();
+        assertEquals(0, cache.weight());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeightIsRejected() {
+        new TransformOperationCache(10, -1, operation -> 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeSizeIsRejected() {
+        new TransformOperationCache(-1);
+    }
+
+    @Test
+    public void testTransformOperationsUsesCache() {
+        assertSame(TransformOperations.from(WGS84, lambert72), TransformOperations.from(WGS84, lambert72));
+    }
+
+    @Test
+    public void testConcurrentLookups() throws Exception {
+        TransformOperationCache cache = new TransformOperationCache(2);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        assertEquals(WEB_MERCATOR, cache.get(WGS84, WEB_MERCATOR).getTarget());
+                        assertEquals(lambert72, cache.get(WGS84, lambert72).getTarget());
+                        assertEquals(WGS84, cache.get(bd72, WGS84).getTarget());
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(cache.size() <= 2);
+        assertEquals(12000, cache.getHitCount() + cache.getMissCount());
+    }
+}
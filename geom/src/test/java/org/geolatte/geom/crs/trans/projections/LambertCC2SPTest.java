@@ -72,4 +72,23 @@ public class LambertCC2SPTest {
 
     }
 
+    @Test
+    public void testBatchMatchesSingleCoordinate() {
+        double[] src = new double[]{5.3876389, 52.1561606, 2.5, 49.5, 6.4, 50.1, 4.35, 50.85};
+        double[] dst = new double[src.length];
+        BLambert72.forward(src, 0, 2, dst, 0, 2, 4);
+        double[] out = new double[2];
+        for (int i = 0; i < 4; i++) {
+            BLambert72.forward(new double[]{src[2 * i], src[2 * i + 1]}, out);
+            assertEquals(out[0], dst[2 * i], 0.0);
+            assertEquals(out[1], dst[2 * i + 1], 0.0);
+        }
+
+        // in place
+        BLambert72.reverse(dst, 0, 2, dst, 0, 2, 4);
+        for (int i = 0; i < src.length; i++) {
+            assertEquals(src[i], dst[i], 0.00001);
+        }
+    }
+
 }
@@ -37,4 +37,26 @@ public class PseudoMercatorTest {
 
     }
 
+    @Test
+    public void testBatchWithOffsetsAndStrides() {
+        PseudoMercator pseudoMercator = new PseudoMercator();
+        // lon/lat/height triples, starting at index 1
+        double[] src = new double[]{Double.NaN, 3, 50, 100, -120, -33.5, 200, 179.9, 85, 300};
+        double[] dst = new double[8];
+        pseudoMercator.forward(src, 1, 3, dst, 2, 2, 3);
+        double[] out = new double[2];
+        for (int i = 0; i < 3; i++) {
+            pseudoMercator.forward(new double[]{src[1 + 3 * i], src[2 + 3 * i]}, out);
+            assertEquals(out[0], dst[2 + 2 * i], 0.0);
+            assertEquals(out[1], dst[3 + 2 * i], 0.0);
+        }
+
+        double[] back = new double[6];
+        pseudoMercator.reverse(dst, 2, 2, back, 0, 2, 3);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(src[1 + 3 * i], back[2 * i], 0.00001);
+            assertEquals(src[2 + 3 * i], back[2 * i + 1], 0.00001);
+        }
+    }
+
 }
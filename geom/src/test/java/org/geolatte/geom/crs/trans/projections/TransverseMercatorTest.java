@@ -0,0 +1,120 @@
+package org.geolatte.geom.crs.trans.projections;
+
+import org.geolatte.geom.crs.*;
+import org.geolatte.geom.crs.trans.CoordinateOperation;
+import org.junit.Test;
+
+import static org.geolatte.geom.DecimalDegree.parseDMSLat;
+import static org.geolatte.geom.DecimalDegree.parseDMSLon;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TransverseMercatorTest {
+
+    private static final Geographic2DCoordinateReferenceSystem OSGB36 = osgb36();
+
+    // British National Grid, the example of the EPSG Guidance Note 7-2
+    private final TransverseMercator bng = new TransverseMercator(OSGB36,
+            parseDMSLat("49 0' 00''N"),
+            parseDMSLon("2 0' 00''W"),
+            0.9996012717,
+            400000,
+            -100000);
+
+    private final ProjectedCoordinateReferenceSystem utm31N = CrsRegistry.getProjectedCoordinateReferenceSystemForEPSG(32631);
+    private final CoordinateOperation utm = Projections.buildFrom(utm31N);
+
+    @Test
+    public void testForwardEpsgExample() {
+        double[] out = new double[2];
+        bng.forward(new double[]{parseDMSLon("0 30' 00''E"), parseDMSLat("50 30' 00''N")}, out);
+        assertEquals(577274.99, out[0], 0.01);
+        assertEquals(69740.50, out[1], 0.01);
+    }
+
+    @Test
+    public void testReverseEpsgExample() {
+        double[] out = new double[2];
+        bng.reverse(new double[]{577274.99, 69740.50}, out);
+        assertEquals(parseDMSLon("0 30' 00''E"), out[0], 1e-7);
+        assertEquals(parseDMSLat("50 30' 00''N"), out[1], 1e-7);
+    }
+
+    @Test
+    public void testUtmIsBuiltFromProjectedCrs() {
+        assertTrue(utm instanceof TransverseMercator);
+        double[] out = new double[2];
+        utm.forward(new double[]{3, 0}, out);
+        assertEquals(500000, out[0], 1e-6);
+        assertEquals(0, out[1], 1e-6);
+    }
+
+    @Test
+    public void testNorthingOnCentralMeridianIsScaledMeridianArc() {
+        Ellipsoid wgs84 = utm31N.getGeographicCoordinateSystem().getDatum().getEllipsoid();
+        double[] out = new double[2];
+        for (int lat = 10; lat <= 80; lat += 10) {
+            utm.forward(new double[]{3, lat}, out);
+            assertEquals(0.9996 * meridianArc(wgs84, Math.toRadians(lat)), out[1], 1e-6);
+        }
+    }
+
+    @Test
+    public void testRoundTripOverZone() {
+        double[] projected = new double[2];
+        double[] out = new double[2];
+        for (double lon = -6; lon <= 12; lon += 0.75) {
+            for (double lat = -80; lat <= 84; lat += 2) {
+                utm.forward(new double[]{lon, lat}, projected);
+                utm.reverse(projected, out);
+                assertEquals(lon, out[0], 1e-9);
+                assertEquals(lat, out[1], 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testBatchMatchesSingleCoordinate() {
+        double[] src = new double[]{5.3876389, 52.1561606, 2.5, 49.5, -1.4, 40.1, 8.35, -30.85};
+        double[] dst = new double[src.length];
+        utm.forward(src, 0, 2, dst, 0, 2, 4);
+        double[] out = new double[2];
+        for (int i = 0; i < 4; i++) {
+            utm.forward(new double[]{src[2 * i], src[2 * i + 1]}, out);
+            assertEquals(out[0], dst[2 * i], 0.0);
+            assertEquals(out[1], dst[2 * i + 1], 0.0);
+        }
+
+        // in place
+        utm.reverse(dst, 0, 2, dst, 0, 2, 4);
+        for (int i = 0; i < src.length; i++) {
+            assertEquals(src[i], dst[i], 1e-9);
+        }
+    }
+
+    /**
+     * Integrates the meridian radius of curvature numerically (Simpson's rule).
+     */
+    private static double meridianArc(Ellipsoid ellipsoid, double phi) {
+        double f = 1 / ellipsoid.getInverseFlattening();
+        double e2 = f * (2 - f);
+        double a = ellipsoid.getSemiMajorAxis();
+        int n = 10000;
+        double h = phi / n;
+        double sum = 0;
+        for (int i = 0; i <= n; i++) {
+            double sin = Math.sin(i * h);
+            double m = a * (1 - e2) / Math.pow(1 - e2 * sin * sin, 1.5);
+            sum += (i == 0 || i == n ? 1 : i % 2 == 1 ? 4 : 2) * m;
+        }
+        return sum * h / 3;
+    }
+
+    private static Geographic2DCoordinateReferenceSystem osgb36() {
+        Geographic2DCoordinateReferenceSystem crs = new Geographic2DCoordinateReferenceSystem(CrsId.valueOf(4277),
+                "OSGB 1936", new EllipsoidalCoordinateSystem2D(CoordinateSystemAxis.mkLonAxis(), CoordinateSystemAxis.mkLatAxis()));
+        crs.setDatum(new Datum(CrsId.valueOf(6277), new Ellipsoid(CrsId.valueOf(7001), "Airy 1830", 6377563.396,
+                299.3249646), "OSGB_1936", new double[0]));
+        return crs;
+    }
+}
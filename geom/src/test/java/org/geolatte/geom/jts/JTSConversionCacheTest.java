@@ -0,0 +1,104 @@
+package org.geolatte.geom.jts;
+
+import org.geolatte.geom.*;
+import org.geolatte.geom.crs.CoordinateReferenceSystem;
+import org.geolatte.geom.crs.CoordinateReferenceSystems;
+import org.junit.Test;
+
+import static org.geolatte.geom.builder.DSL.*;
+import static org.junit.Assert.*;
+
+public class JTSConversionCacheTest {
+
+    private static CoordinateReferenceSystem<C2D> crs = CoordinateReferenceSystems.PROJECTED_2D_METER;
+
+    private final Polygon<C2D> polygon = polygon(ring(crs, c(0, 0), c(0, 10), c(10, 10), c(10, 0), c(0, 0)));
+    private final Polygon<C2D> other = polygon(ring(crs, c(5, 5), c(5, 15), c(15, 15), c(15, 5), c(5, 5)));
+
+    @Test
+    public void testRepeatedLookupsReturnTheCachedGeometry() {
+        JTSConversionCache cache = new JTSConversionCache(10);
+        org.locationtech.jts.geom.Geometry first = cache.get(polygon);
+        assertSame(first, cache.get(polygon));
+        assertEquals(JTS.to(polygon), first);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testCacheIsKeyedOnIdentity() {
+        JTSConversionCache cache = new JTSConversionCache(10);
+        Polygon<C2D> copy = polygon(ring(crs, c(0, 0), c(0, 10), c(10, 10), c(10, 0), c(0, 0)));
+        assertEquals(polygon, copy);
+        assertNotSame(cache.get(polygon), cache.get(copy));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedGeometriesAreEvicted() throws InterruptedException {
+        JTSConversionCache cache = new JTSConversionCache(8);
+        org.locationtech.jts.geom.Geometry cached = cache.get(polygon);
+        for (int i = 0; i < 8; i++) {
+            Thread.sleep(1);
+            cache.get(point(crs, c(i, i)));
+            cache.get(polygon);
+        }
+        assertEquals(7, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+        assertSame(cached, cache.get(polygon));
+        cache.setMaximumSize(2);
+        assertTrue(cache.size() <= 2);
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testEntriesOfCollectedGeometriesAreRemoved() throws InterruptedException {
+        JTSConversionCache cache = new JTSConversionCache(100);
+        for (int i = 0; i < 10; i++) {
+            cache.get(point(crs, c(i, i)));
+        }
+        for (int attempt = 0; attempt < 50 && cache.size() > 1; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+            // collected entries are removed on a miss
+            cache.get(point(crs, c(attempt, 0)));
+        }
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testSizeZeroDisablesCaching() {
+        JTSConversionCache cache = new JTSConversionCache(0);
+        assertNotSame(cache.get(polygon), cache.get(polygon));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testOperationsReuseConversions() {
+        JTSConversionCache cache = new JTSConversionCache();
+        ProjectedGeometryOperations cached = new JTSGeometryOperations(cache);
+        ProjectedGeometryOperations uncached = new JTSGeometryOperations();
+        // intersects is evaluated without converting two rectangles, see testRectanglePredicatesSkipTheCache
+        assertEquals(uncached.intersects(polygon, other), cached.intersects(polygon, other));
+        assertEquals(uncached.intersection(polygon, other), cached.intersection(polygon, other));
+        assertEquals(uncached.area(polygon), cached.area(polygon), 0.0);
+        assertEquals(uncached.prepare(polygon).contains(point(crs, c(1, 1))), cached.prepare(polygon).contains(point(crs, c(1, 1))));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void testRectanglePredicatesSkipTheCache() {
+        JTSConversionCache cache = new JTSConversionCache();
+        ProjectedGeometryOperations cached = new JTSGeometryOperations(cache);
+        ProjectedGeometryOperations uncached = new JTSGeometryOperations();
+        assertEquals(uncached.intersects(polygon, other), cached.intersects(polygon, other));
+        assertEquals(uncached.contains(polygon, point(crs, c(1, 1))), cached.contains(polygon, point(crs, c(1, 1))));
+        assertEquals(uncached.touches(point(crs, c(0, 5)), other), cached.touches(point(crs, c(0, 5)), other));
+        assertEquals(0, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.size());
+    }
+}
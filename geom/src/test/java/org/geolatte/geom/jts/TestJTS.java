@@ -21,10 +21,15 @@
 
 package org.geolatte.geom.jts;
 
+import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.CoordinateXYM;
 import org.locationtech.jts.geom.CoordinateXYZM;
 import org.locationtech.jts.io.ParseException;
 import org.locationtech.jts.io.WKTReader;
+import org.geolatte.geom.C2D;
+import org.geolatte.geom.C2DM;
+import org.geolatte.geom.C3DM;
+import org.geolatte.geom.G2D;
 import org.geolatte.geom.Geometry;
 import org.geolatte.geom.AbstractGeometryCollection;
 import org.geolatte.geom.Measured;
@@ -32,6 +37,7 @@ import org.geolatte.geom.Point;
 import org.geolatte.geom.Position;
 import org.geolatte.geom.PositionSequence;
 import org.geolatte.geom.codec.Wkt;
+import org.geolatte.geom.crs.CoordinateReferenceSystems;
 import org.geolatte.geom.codec.WktDecodeException;
 import org.geolatte.geom.codec.WktDecoder;
 import org.geolatte.geom.support.PostgisJDBCUnitTestInputs;
@@ -44,6 +50,7 @@ import org.junit.Test;
 import static org.geolatte.geom.CrsMock.*;
 import static org.geolatte.geom.builder.DSL.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -219,6 +226,54 @@ public class TestJTS {
         }
     }
 
+    @Test
+    public void test_from_shares_sequences_created_by_jts() {
+        org.locationtech.jts.geom.GeometryFactory factory = JTS.to(point(CoordinateReferenceSystems.PROJECTED_2D_METER, c(1, 2))).getFactory();
+        CoordinateSequence cs = factory.getCoordinateSequenceFactory().create(3, 2);
+        for (int i = 0; i < cs.size(); i++) {
+            cs.setOrdinate(i, CoordinateSequence.X, i);
+            cs.setOrdinate(i, CoordinateSequence.Y, 2 * i);
+            // ignored, rather than written to the next position
+            cs.setOrdinate(i, CoordinateSequence.Z, -1);
+        }
+        org.locationtech.jts.geom.LineString jtsLineString = factory.createLineString(cs);
+
+        Geometry<C2D> projected = JTS.from(jtsLineString, CoordinateReferenceSystems.PROJECTED_2D_METER);
+        assertSame(cs, projected.getPositions());
+        assertEquals(linestring(CoordinateReferenceSystems.PROJECTED_2D_METER, c(0, 0), c(1, 2), c(2, 4)), projected);
+
+        Geometry<G2D> geographic = JTS.from(jtsLineString, CoordinateReferenceSystems.WGS84);
+        assertEquals(linestring(CoordinateReferenceSystems.WGS84, g(0, 0), g(1, 2), g(2, 4)), geographic);
+        // the coordinates are shared with the JTS sequence, not copied
+        cs.setOrdinate(0, CoordinateSequence.X, 10);
+        assertEquals(10, geographic.getPositionN(0).getLon(), 0);
+    }
+
+    @Test
+    public void test_from_copy_is_not_changed_by_normalize() {
+        org.locationtech.jts.geom.Geometry jtsLineString = JTS.to(linestring(CoordinateReferenceSystems.PROJECTED_2D_METER, c(2, 4), c(1, 2), c(0, 0)));
+        Geometry<C2D> converted = JTS.from(jtsLineString.copy(), CoordinateReferenceSystems.PROJECTED_2D_METER);
+        jtsLineString.normalize();
+        assertEquals(0, jtsLineString.getCoordinates()[0].x, 0);
+        assertEquals(linestring(CoordinateReferenceSystems.PROJECTED_2D_METER, c(2, 4), c(1, 2), c(0, 0)), converted);
+    }
+
+    @Test
+    public void test_created_sequences_with_measures() {
+        org.locationtech.jts.geom.GeometryFactory factory = JTS.to(point(CoordinateReferenceSystems.PROJECTED_2D_METER, c(1, 2))).getFactory();
+        CoordinateSequence xym = factory.getCoordinateSequenceFactory().create(2, 3, 1);
+        assertEquals(C2DM.class, ((PositionSequence<?>) xym).getPositionClass());
+        xym.setOrdinate(0, CoordinateSequence.M, 7);
+        assertEquals(7, xym.getM(0), 0);
+        assertEquals(0, xym.getX(1), 0);
+        CoordinateSequence xyzm = factory.getCoordinateSequenceFactory().create(2, 4);
+        assertEquals(C3DM.class, ((PositionSequence<?>) xyzm).getPositionClass());
+        xyzm.setOrdinate(1, CoordinateSequence.Z, 3);
+        xyzm.setOrdinate(1, CoordinateSequence.M, 4);
+        assertEquals(3, xyzm.getZ(1), 0);
+        assertEquals(4, xyzm.getM(1), 0);
+    }
+
     private org.locationtech.jts.geom.Geometry parseWKTtoJTS(String wkt, org.locationtech.jts.geom.Geometry jtsGeom) {
         try {
             jtsGeom = jtsWktDecoder.read(wkt);
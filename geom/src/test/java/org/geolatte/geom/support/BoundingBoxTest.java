@@ -1,13 +1,14 @@
 package org.geolatte.geom.support;
 
-import org.geolatte.geom.Box;
-import org.geolatte.geom.C2D;
-import org.geolatte.geom.MultiPoint;
+import org.geolatte.geom.*;
 import org.junit.Test;
+import org.locationtech.jts.geom.CoordinateSequence;
 
 import static org.geolatte.geom.builder.DSL.*;
+import static org.geolatte.geom.crs.CoordinateReferenceSystems.PROJECTED_3DM_METER;
 import static org.geolatte.geom.crs.CoordinateReferenceSystems.WEB_MERCATOR;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class BoundingBoxTest {
@@ -21,4 +22,30 @@ public class BoundingBoxTest {
         assertEquals(bb.lowerLeft(), p1);
         assertEquals(bb.upperRight(), p2);
     }
+
+    @Test
+    public void checkBoundingBoxCoversAllOrdinates(){
+        MultiLineString<C3DM> mls = multilinestring(PROJECTED_3DM_METER,
+                linestring(c(1, 2, 3, 4), c(5, -6, 7, 8)),
+                linestring(c(-1, 2, 30, -4), c(0, 0, 0, 0), c(2, 1, 1, 1)));
+        Box<C3DM> bb = mls.getBoundingBox();
+        assertEquals(c(-1, -6, 0, -4), bb.lowerLeft());
+        assertEquals(c(5, 2, 30, 8), bb.upperRight());
+        assertEquals(new Envelope<>(-1, -6, 5, 2, PROJECTED_3DM_METER), mls.getEnvelope());
+    }
+
+    @Test
+    public void checkBoundingBoxAndEnvelopeAreRetained(){
+        LineString<C2D> ls = linestring(WEB_MERCATOR, c(1, 2), c(3, 4));
+        assertSame(ls.getBoundingBox(), ls.getBoundingBox());
+        assertSame(ls.getEnvelope(), ls.getEnvelope());
+    }
+
+    @Test
+    public void checkBoundsReflectModifiedPositions(){
+        LineString<C2D> ls = linestring(WEB_MERCATOR, c(1, 2), c(3, 4));
+        ((CoordinateSequence) ls.getPositions()).setOrdinate(1, CoordinateSequence.X, 10);
+        LineString<C2D> modified = new LineString<>(ls.getPositions(), WEB_MERCATOR);
+        assertEquals(c(10, 4), modified.getBoundingBox().upperRight());
+    }
 }